@@ -0,0 +1,267 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.smartcollections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An indexed d-ary min-heap of integer elements (e.g., node IDs) from a fixed range {@code [0, capacity)}, ordered by
+ * a {@code float} key per element.
+ * <p>
+ * In contrast to {@link BinaryHeap}, this heap does not allocate any per-element objects: elements, keys and the
+ * positions of the elements in the heap are stored in flat primitive arrays. Tracking the positions allows to check
+ * for containment in constant time and to decrease the key of a contained element in logarithmic time, as required by,
+ * e.g., Dijkstra's algorithm. Compared to a binary heap, a higher arity results in shallower heaps (and hence cheaper
+ * {@link #decreaseKey(int, float) decrease-key} operations) at the cost of more comparisons during {@link
+ * #extractMin()}.
+ *
+ * @author frohme
+ */
+public final class IntDaryHeap {
+
+    private static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private final int[] heap;
+    private final int[] positions;
+    private final float[] keys;
+    private int size;
+
+    /**
+     * Constructor. Creates a heap with the default arity of 4.
+     *
+     * @param capacity
+     *         the (exclusive) upper bound for elements of this heap
+     */
+    public IntDaryHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *         the (exclusive) upper bound for elements of this heap
+     * @param arity
+     *         the maximum number of children of each heap node
+     */
+    public IntDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity must be at least 2, but was " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new float[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Returns the number of elements currently contained in the heap.
+     *
+     * @return the number of contained elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     *
+     * @return {@code true} if the heap contains no elements, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether the given element is currently contained in the heap.
+     *
+     * @param elem
+     *         the element
+     *
+     * @return {@code true} if the element is contained in the heap, {@code false} otherwise
+     */
+    public boolean contains(int elem) {
+        return positions[elem] >= 0;
+    }
+
+    /**
+     * Returns the key of the given element. If the element is not contained in the heap, the key it had when it was
+     * last contained in the heap is returned.
+     *
+     * @param elem
+     *         the element
+     *
+     * @return the key of the element
+     */
+    public float getKey(int elem) {
+        return keys[elem];
+    }
+
+    /**
+     * Inserts the given element with the given key.
+     *
+     * @param elem
+     *         the element
+     * @param key
+     *         the key of the element
+     *
+     * @throws IllegalArgumentException
+     *         if the element is already contained in the heap
+     */
+    public void insert(int elem, float key) {
+        if (positions[elem] >= 0) {
+            throw new IllegalArgumentException("Element " + elem + " is already contained in the heap");
+        }
+        keys[elem] = key;
+        siftUp(elem, size++);
+    }
+
+    /**
+     * Decreases the key of the given (contained) element. If the given key is not smaller than the current key, the
+     * heap is not modified.
+     *
+     * @param elem
+     *         the element
+     * @param key
+     *         the new key of the element
+     *
+     * @throws IllegalArgumentException
+     *         if the element is not contained in the heap
+     */
+    public void decreaseKey(int elem, float key) {
+        final int pos = positions[elem];
+        if (pos < 0) {
+            throw new IllegalArgumentException("Element " + elem + " is not contained in the heap");
+        }
+        if (key < keys[elem]) {
+            keys[elem] = key;
+            siftUp(elem, pos);
+        }
+    }
+
+    /**
+     * Returns (but does not remove) the element with the minimal key.
+     *
+     * @return the element with the minimal key
+     *
+     * @throws NoSuchElementException
+     *         if the heap is empty
+     */
+    public int peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Returns the minimal key of all contained elements.
+     *
+     * @return the minimal key
+     *
+     * @throws NoSuchElementException
+     *         if the heap is empty
+     */
+    public float peekMinKey() {
+        return keys[peekMin()];
+    }
+
+    /**
+     * Removes and returns the element with the minimal key.
+     *
+     * @return the element with the minimal key
+     *
+     * @throws NoSuchElementException
+     *         if the heap is empty
+     */
+    public int extractMin() {
+        final int min = peekMin();
+        positions[min] = -1;
+
+        final int last = heap[--size];
+        if (size > 0) {
+            siftDown(last, 0);
+        }
+
+        return min;
+    }
+
+    /**
+     * Removes all elements from the heap. The cost of this operation is proportional to the number of contained
+     * elements, not to the capacity of the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int elem, int pos) {
+        final float key = keys[elem];
+
+        while (pos > 0) {
+            final int parentPos = (pos - 1) / arity;
+            final int parent = heap[parentPos];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[pos] = parent;
+            positions[parent] = pos;
+            pos = parentPos;
+        }
+
+        heap[pos] = elem;
+        positions[elem] = pos;
+    }
+
+    private void siftDown(int elem, int pos) {
+        final float key = keys[elem];
+
+        while (true) {
+            final int firstChild = pos * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+
+            int minPos = firstChild;
+            float minKey = keys[heap[firstChild]];
+            final int lastChild = Math.min(firstChild + arity, size);
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                final float childKey = keys[heap[c]];
+                if (childKey < minKey) {
+                    minPos = c;
+                    minKey = childKey;
+                }
+            }
+
+            if (key <= minKey) {
+                break;
+            }
+
+            final int child = heap[minPos];
+            heap[pos] = child;
+            positions[child] = pos;
+            pos = minPos;
+        }
+
+        heap[pos] = elem;
+        positions[elem] = pos;
+    }
+}
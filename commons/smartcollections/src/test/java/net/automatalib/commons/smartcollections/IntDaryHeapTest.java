@@ -0,0 +1,115 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.smartcollections;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class IntDaryHeapTest {
+
+    @Test
+    public void testHeapOps() {
+        final IntDaryHeap heap = new IntDaryHeap(50);
+
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertThrows(NoSuchElementException.class, heap::extractMin);
+
+        heap.insert(42, 42f);
+        heap.insert(37, 37f);
+        heap.insert(13, 13f);
+
+        Assert.assertEquals(heap.size(), 3);
+        Assert.assertTrue(heap.contains(37));
+        Assert.assertFalse(heap.contains(12));
+        Assert.assertThrows(IllegalArgumentException.class, () -> heap.insert(37, 1f));
+        Assert.assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(12, 1f));
+
+        Assert.assertEquals(heap.peekMin(), 13);
+        Assert.assertEquals(heap.peekMinKey(), 13f);
+
+        heap.decreaseKey(42, 1f);
+        Assert.assertEquals(heap.peekMin(), 42);
+
+        // not a decrease
+        heap.decreaseKey(37, 50f);
+        Assert.assertEquals(heap.getKey(37), 37f);
+
+        Assert.assertEquals(heap.extractMin(), 42);
+        Assert.assertFalse(heap.contains(42));
+        Assert.assertEquals(heap.extractMin(), 13);
+        Assert.assertEquals(heap.extractMin(), 37);
+        Assert.assertTrue(heap.isEmpty());
+
+        heap.insert(1, 1f);
+        heap.insert(2, 2f);
+        heap.clear();
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertFalse(heap.contains(1));
+        Assert.assertFalse(heap.contains(2));
+    }
+
+    @Test
+    public void testRandomOps() {
+        final Random random = new Random(42);
+
+        for (int arity = 2; arity <= 5; arity++) {
+            final int capacity = 200;
+            final IntDaryHeap heap = new IntDaryHeap(capacity, arity);
+            final float[] keys = new float[capacity];
+            final PriorityQueue<Integer> reference =
+                    new PriorityQueue<>(capacity, (a, b) -> Float.compare(keys[a], keys[b]));
+
+            for (int i = 0; i < 5000; i++) {
+                final int elem = random.nextInt(capacity);
+                final float key = random.nextFloat();
+
+                if (!heap.contains(elem)) {
+                    heap.insert(elem, key);
+                    keys[elem] = key;
+                    reference.add(elem);
+                } else if (key < keys[elem]) {
+                    heap.decreaseKey(elem, key);
+                    reference.remove(elem);
+                    keys[elem] = key;
+                    reference.add(elem);
+                }
+
+                if (random.nextInt(3) == 0) {
+                    final int expected = reference.poll();
+                    Assert.assertEquals(heap.peekMinKey(), keys[expected]);
+                    Assert.assertEquals(keys[heap.extractMin()], keys[expected]);
+                }
+
+                Assert.assertEquals(heap.size(), reference.size());
+            }
+
+            float last = Float.NEGATIVE_INFINITY;
+            while (!heap.isEmpty()) {
+                final float key = heap.peekMinKey();
+                Assert.assertTrue(last <= key);
+                last = key;
+                heap.extractMin();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, thread-safe bit set. Bits are stored in an {@link AtomicLongArray}, so that concurrent updates of
+ * different words never contend with each other, and updates of the same word are resolved by a (lock-free)
+ * compare-and-set loop.
+ * <p>
+ * This class is intended for concurrent visited sets over integer IDs, where {@link #set(int)} atomically tests and
+ * sets a bit.
+ *
+ * @author frohme
+ */
+public final class ConcurrentBitSet {
+
+    private final AtomicLongArray words;
+    private final int size;
+
+    /**
+     * Constructor.
+     *
+     * @param size
+     *         the number of bits
+     */
+    public ConcurrentBitSet(int size) {
+        this.words = new AtomicLongArray((size + Long.SIZE - 1) / Long.SIZE);
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of bits of this bit set.
+     *
+     * @return the number of bits
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the given bit is set.
+     *
+     * @param index
+     *         the index of the bit
+     *
+     * @return {@code true} if the bit is set, {@code false} otherwise
+     */
+    public boolean get(int index) {
+        checkIndex(index);
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Atomically sets the given bit.
+     *
+     * @param index
+     *         the index of the bit
+     *
+     * @return {@code true} if the bit has been set by this call, {@code false} if it has already been set before
+     */
+    public boolean set(int index) {
+        checkIndex(index);
+        final int wordIndex = index >>> 6;
+        final long mask = 1L << index;
+
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(wordIndex, word, word | mask));
+
+        return true;
+    }
+
+    /**
+     * Returns the number of set bits. Note that the result may not reflect concurrent updates.
+     *
+     * @return the number of set bits
+     */
+    public int cardinality() {
+        int result = 0;
+        for (int i = 0; i < words.length(); i++) {
+            result += Long.bitCount(words.get(i));
+        }
+        return result;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Utility methods for processing integer ranges in parallel on a {@link ForkJoinPool}.
+ *
+ * @author frohme
+ */
+public final class ParallelRanges {
+
+    private ParallelRanges() {
+        // prevent instantiation
+    }
+
+    /**
+     * Applies the given action to each index of the range {@code [low, high)}. The range is recursively bisected until
+     * each task processes at most {@code granularity} indices, so that cheap actions may be batched by choosing a
+     * larger granularity. If no pool is given or the range does not exceed the given granularity, the indices are
+     * processed sequentially by the calling thread.
+     * <p>
+     * Different indices may be processed concurrently, so the action must only write to index-disjoint locations. All
+     * writes of the action are visible to the calling thread once this method returns.
+     *
+     * @param pool
+     *         the pool to execute the tasks on, may be {@code null} to process the range sequentially
+     * @param low
+     *         the lower bound (inclusive) of the range
+     * @param high
+     *         the upper bound (exclusive) of the range
+     * @param granularity
+     *         the maximum number of indices processed sequentially by a single task, must be positive
+     * @param action
+     *         the action to apply to each index
+     */
+    public static void forEach(@Nullable ForkJoinPool pool, int low, int high, int granularity, IntConsumer action) {
+        if (granularity < 1) {
+            throw new IllegalArgumentException("Granularity must be positive: " + granularity);
+        }
+
+        if (pool == null || high - low <= granularity) {
+            for (int i = low; i < high; i++) {
+                action.accept(i);
+            }
+        } else {
+            pool.invoke(new RangeAction(low, high, granularity, action));
+        }
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int low;
+        private final int high;
+        private final int granularity;
+        private final transient IntConsumer action;
+
+        RangeAction(int low, int high, int granularity, IntConsumer action) {
+            this.low = low;
+            this.high = high;
+            this.granularity = granularity;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= granularity) {
+                for (int i = low; i < high; i++) {
+                    action.accept(i);
+                }
+            } else {
+                final int mid = (low + high) >>> 1;
+                invokeAll(new RangeAction(low, mid, granularity, action),
+                          new RangeAction(mid, high, granularity, action));
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.fixpoint;
+
+import java.util.BitSet;
+
+import net.automatalib.commons.util.fixpoint.WorklistSolver.Dependents;
+
+/**
+ * Utility methods for computing (greatest) relations between the states of two labeled transition systems, such as
+ * simulation or refinement relations, by means of a {@link WorklistSolver}.
+ * <p>
+ * States are given by their integer IDs and transitions as successor tables, in which the successors of state {@code
+ * s} for label {@code l} are stored at index {@code s * numLabels + l}. A relation is represented as a {@link BitSet}
+ * in which the pair {@code (p, q)} is stored at index {@code p * numRight + q}, where {@code numRight} denotes the
+ * number of states of the right system.
+ *
+ * @author frohme
+ */
+public final class PairRelations {
+
+    private PairRelations() {
+        // prevent instantiation
+    }
+
+    /**
+     * Inverts the given successor table.
+     *
+     * @param successors
+     *         the successor table
+     * @param numStates
+     *         the number of states
+     * @param numLabels
+     *         the number of labels
+     *
+     * @return the predecessor table, in which the predecessors of state {@code s} for label {@code l} are stored at
+     * index {@code s * numLabels + l}
+     */
+    public static int[][] predecessors(int[][] successors, int numStates, int numLabels) {
+        final int[] counts = new int[numStates * numLabels];
+
+        for (int s = 0; s < numStates; s++) {
+            for (int l = 0; l < numLabels; l++) {
+                for (int succ : successors[s * numLabels + l]) {
+                    counts[succ * numLabels + l]++;
+                }
+            }
+        }
+
+        final int[][] predecessors = new int[counts.length][];
+        for (int i = 0; i < counts.length; i++) {
+            predecessors[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+
+        for (int s = 0; s < numStates; s++) {
+            for (int l = 0; l < numLabels; l++) {
+                for (int succ : successors[s * numLabels + l]) {
+                    final int idx = succ * numLabels + l;
+                    predecessors[idx][counts[idx]++] = s;
+                }
+            }
+        }
+
+        return predecessors;
+    }
+
+    /**
+     * Returns the dependency relation of a pair relation whose pairs only depend on the pairs of their successors with
+     * the same label: The pair {@code (p, q)} is a dependent of every pair {@code (p', q')} such that {@code p'} and
+     * {@code q'} are successors of {@code p} and {@code q} for the same label.
+     *
+     * @param leftPredecessors
+     *         the {@link #predecessors(int[][], int, int) predecessor table} of the left system
+     * @param rightPredecessors
+     *         the {@link #predecessors(int[][], int, int) predecessor table} of the right system
+     * @param numRight
+     *         the number of states of the right system
+     * @param numLabels
+     *         the number of labels
+     *
+     * @return the dependency relation
+     */
+    public static Dependents dependents(int[][] leftPredecessors,
+                                        int[][] rightPredecessors,
+                                        int numRight,
+                                        int numLabels) {
+        return (pair, action) -> {
+            final int p = pair / numRight;
+            final int q = pair % numRight;
+
+            for (int l = 0; l < numLabels; l++) {
+                final int[] qPreds = rightPredecessors[q * numLabels + l];
+                for (int pPred : leftPredecessors[p * numLabels + l]) {
+                    for (int qPred : qPreds) {
+                        action.accept(pPred * numRight + qPred);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Checks whether every transition of {@code source} in {@code a} is matched by a transition of {@code coSource} in
+     * {@code b} with the same label, such that the pair of their successors is contained in the given relation.
+     *
+     * @param a
+     *         the successor table of the system to which {@code source} belongs
+     * @param b
+     *         the successor table of the system to which {@code coSource} belongs
+     * @param source
+     *         the state whose transitions need to be matched
+     * @param coSource
+     *         the state whose transitions match
+     * @param numLabels
+     *         the number of labels
+     * @param relation
+     *         the relation
+     * @param numRight
+     *         the number of states of the right system
+     * @param swapped
+     *         if {@code false}, {@code a} describes the left system and {@code b} the right system, otherwise vice
+     *         versa
+     *
+     * @return {@code true} if every transition of {@code source} is matched, {@code false} otherwise
+     */
+    public static boolean isMatched(int[][] a,
+                                    int[][] b,
+                                    int source,
+                                    int coSource,
+                                    int numLabels,
+                                    BitSet relation,
+                                    int numRight,
+                                    boolean swapped) {
+
+        for (int l = 0; l < numLabels; l++) {
+            final int[] partners = b[coSource * numLabels + l];
+
+            succ_loop:
+            for (int target : a[source * numLabels + l]) {
+                for (int coTarget : partners) {
+                    final int pair = swapped ? coTarget * numRight + target : target * numRight + coTarget;
+                    if (relation.get(pair)) {
+                        continue succ_loop;
+                    }
+                }
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,210 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.fixpoint;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * A generic, integer-based worklist solver for fixpoint computations with dependency tracking.
+ * <p>
+ * The solver works on a system of (monotone) equations over the variables {@code 0, ..., numVariables - 1}. The
+ * values of the variables are maintained by the client, e.g., as bits of a {@link java.util.BitSet} or as
+ * {@code long[]} bitsets over integer abstractions of states, whereas the solver only decides <i>which</i> variable to
+ * re-evaluate next: Whenever the re-evaluation of a variable changes its value, only the variables that (directly)
+ * depend on it are put back into the worklist. Compared to round-based iteration, in which every variable is
+ * re-evaluated until no value changes anymore, each variable is only re-evaluated as often as the values of its
+ * dependencies change. For boolean-valued problems such as (backwards) reachability, co-reachability or the
+ * refinement of (bi-)simulation relations, this amounts to a total effort that is linear in the size of the
+ * dependency relation.
+ * <p>
+ * The worklist is processed in FIFO order and each variable is contained at most once in the worklist at any time.
+ *
+ * @author frohme
+ * @see Worksets
+ */
+public final class WorklistSolver {
+
+    private WorklistSolver() {
+        // prevent instantiation
+    }
+
+    /**
+     * Solves the given equation system, initially evaluating every variable once (in ascending order). During this
+     * initial sweep, changes only re-schedule dependents that have already been evaluated (including the changed
+     * variable itself), because all others are still going to be evaluated by the sweep itself.
+     *
+     * @param numVariables
+     *         the number of variables
+     * @param update
+     *         the (re-)evaluation function of a variable. Returns {@code true} if the value of the given variable has
+     *         changed, {@code false} otherwise
+     * @param dependents
+     *         the dependency relation of the variables
+     *
+     * @return the total number of evaluations of {@code update}
+     */
+    public static long solve(int numVariables, IntPredicate update, Dependents dependents) {
+        final Worklist worklist = new Worklist(numVariables);
+
+        for (int v = 0; v < numVariables; v++) {
+            if (update.test(v)) {
+                worklist.limit = v + 1;
+                dependents.forEachDependent(v, worklist);
+            }
+        }
+
+        worklist.limit = numVariables;
+        return numVariables + process(worklist, update, dependents);
+    }
+
+    /**
+     * Solves the given equation system, initially evaluating the given variables (in the given order). This is useful
+     * if the initial values of all remaining variables already satisfy their equations, or if a specific evaluation
+     * order (e.g., a topological one) is known to reduce the number of re-evaluations.
+     *
+     * @param numVariables
+     *         the number of variables
+     * @param initial
+     *         the variables to evaluate initially. Duplicates are ignored
+     * @param update
+     *         the (re-)evaluation function of a variable. Returns {@code true} if the value of the given variable has
+     *         changed, {@code false} otherwise
+     * @param dependents
+     *         the dependency relation of the variables
+     *
+     * @return the total number of evaluations of {@code update}
+     */
+    public static long solve(int numVariables, int[] initial, IntPredicate update, Dependents dependents) {
+        final Worklist worklist = new Worklist(numVariables);
+        worklist.limit = numVariables;
+
+        for (int v : initial) {
+            worklist.accept(v);
+        }
+
+        return process(worklist, update, dependents);
+    }
+
+    private static long process(Worklist worklist, IntPredicate update, Dependents dependents) {
+        long evaluations = 0;
+
+        while (!worklist.isEmpty()) {
+            final int v = worklist.poll();
+            evaluations++;
+
+            if (update.test(v)) {
+                dependents.forEachDependent(v, worklist);
+            }
+        }
+
+        return evaluations;
+    }
+
+    /**
+     * The dependency relation of an equation system. Variable {@code w} is a dependent of variable {@code v} if the
+     * evaluation of {@code w} reads the value of {@code v}.
+     */
+    @FunctionalInterface
+    public interface Dependents {
+
+        /**
+         * Calls the given action for each variable that depends on the given variable.
+         *
+         * @param variable
+         *         the variable whose value has changed
+         * @param action
+         *         the action to call for each dependent variable
+         */
+        void forEachDependent(int variable, IntConsumer action);
+
+        /**
+         * Returns a dependency relation given in compressed sparse row format: The dependents of variable {@code v}
+         * are stored in {@code dependents} from index {@code offsets[v]} (inclusive) to {@code offsets[v + 1]}
+         * (exclusive).
+         *
+         * @param offsets
+         *         the offsets of the dependents of each variable, of length {@code numVariables + 1}
+         * @param dependents
+         *         the concatenated dependents of all variables
+         *
+         * @return the dependency relation
+         */
+        static Dependents of(int[] offsets, int[] dependents) {
+            return (variable, action) -> {
+                for (int i = offsets[variable]; i < offsets[variable + 1]; i++) {
+                    action.accept(dependents[i]);
+                }
+            };
+        }
+    }
+
+    /**
+     * A FIFO queue of variables (backed by a growing ring buffer) that contains each variable at most once.
+     */
+    private static final class Worklist implements IntConsumer {
+
+        private final long[] queued;
+        private int[] queue;
+        private int head;
+        private int size;
+
+        /**
+         * Only variables below this limit are accepted (used by the initial sweep).
+         */
+        int limit;
+
+        Worklist(int numVariables) {
+            this.queued = new long[(numVariables + Long.SIZE - 1) / Long.SIZE];
+            this.queue = new int[Math.min(Math.max(numVariables, 1), 16)];
+        }
+
+        @Override
+        public void accept(int v) {
+            final long mask = 1L << v;
+            if (v < limit && (queued[v >>> 6] & mask) == 0) {
+                queued[v >>> 6] |= mask;
+                if (size == queue.length) {
+                    grow();
+                }
+                final int idx = head + size;
+                queue[idx >= queue.length ? idx - queue.length : idx] = v;
+                size++;
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int poll() {
+            final int v = queue[head];
+            head = head + 1 == queue.length ? 0 : head + 1;
+            size--;
+            queued[v >>> 6] &= ~(1L << v);
+            return v;
+        }
+
+        private void grow() {
+            final int[] newQueue = new int[queue.length * 2];
+            final int firstPart = queue.length - head;
+            System.arraycopy(queue, head, newQueue, 0, firstPart);
+            System.arraycopy(queue, 0, newQueue, firstPart, head);
+            queue = newQueue;
+            head = 0;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class ConcurrentBitSetTest {
+
+    @Test
+    public void testSetAndGet() {
+        final ConcurrentBitSet bits = new ConcurrentBitSet(130);
+
+        Assert.assertEquals(bits.size(), 130);
+        Assert.assertFalse(bits.get(64));
+        Assert.assertTrue(bits.set(64));
+        Assert.assertFalse(bits.set(64));
+        Assert.assertTrue(bits.get(64));
+        Assert.assertFalse(bits.get(0));
+        Assert.assertTrue(bits.set(129));
+        Assert.assertEquals(bits.cardinality(), 2);
+
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> bits.set(130));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> bits.get(-1));
+    }
+
+    @Test(timeOut = 10000)
+    public void testConcurrentSet() throws Exception {
+        final int size = 10000;
+        final int threads = 4;
+        final ConcurrentBitSet bits = new ConcurrentBitSet(size);
+        final AtomicInteger successes = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = executor.submit(() -> {
+                    for (int i = 0; i < size; i++) {
+                        if (bits.set(i)) {
+                            successes.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+
+        // each bit is claimed exactly once
+        Assert.assertEquals(successes.get(), size);
+        Assert.assertEquals(bits.cardinality(), size);
+    }
+}
@@ -0,0 +1,67 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class ParallelRangesTest {
+
+    @Test
+    public void testEachIndexOnce() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (int granularity : new int[] {1, 7, 1000}) {
+                final AtomicIntegerArray counts = new AtomicIntegerArray(1000);
+                ParallelRanges.forEach(pool, 10, 990, granularity, counts::incrementAndGet);
+
+                for (int i = 0; i < counts.length(); i++) {
+                    Assert.assertEquals(counts.get(i), i >= 10 && i < 990 ? 1 : 0);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSequential() {
+        final int[] order = new int[5];
+        final int[] next = new int[1];
+
+        ParallelRanges.forEach(null, 0, order.length, 1, i -> order[next[0]++] = i);
+
+        Assert.assertEquals(order, new int[] {0, 1, 2, 3, 4});
+    }
+
+    @Test
+    public void testEmptyRange() {
+        ParallelRanges.forEach(ForkJoinPool.commonPool(), 5, 5, 1, i -> Assert.fail());
+        ParallelRanges.forEach(ForkJoinPool.commonPool(), 5, 3, 1, i -> Assert.fail());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidGranularity() {
+        ParallelRanges.forEach(null, 0, 1, 0, i -> {});
+    }
+}
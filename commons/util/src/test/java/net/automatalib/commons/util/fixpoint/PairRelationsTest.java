@@ -0,0 +1,149 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.fixpoint;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class PairRelationsTest {
+
+    private static final int LEFT_SIZE = 60;
+    private static final int RIGHT_SIZE = 40;
+    private static final int NUM_LABELS = 3;
+
+    @Test
+    public void testPredecessors() {
+        final Random random = new Random(42);
+        final int[][] successors = randomSystem(random, LEFT_SIZE, NUM_LABELS);
+        final int[][] predecessors = PairRelations.predecessors(successors, LEFT_SIZE, NUM_LABELS);
+
+        for (int s = 0; s < LEFT_SIZE; s++) {
+            for (int l = 0; l < NUM_LABELS; l++) {
+                // each state has at most two successors per label
+                final int[] expected = new int[2 * LEFT_SIZE];
+                int count = 0;
+                for (int p = 0; p < LEFT_SIZE; p++) {
+                    for (int succ : successors[p * NUM_LABELS + l]) {
+                        if (succ == s) {
+                            expected[count++] = p;
+                        }
+                    }
+                }
+
+                final int[] actual = predecessors[s * NUM_LABELS + l].clone();
+                Arrays.sort(actual);
+                Assert.assertEquals(actual, Arrays.copyOf(expected, count));
+            }
+        }
+    }
+
+    @Test
+    public void testSimulation() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 10; i++) {
+            final int[][] left = randomSystem(random, LEFT_SIZE, NUM_LABELS);
+            final int[][] right = randomSystem(random, RIGHT_SIZE, NUM_LABELS);
+            final int numPairs = LEFT_SIZE * RIGHT_SIZE;
+
+            final BitSet expected = new BitSet(numPairs);
+            expected.set(0, numPairs);
+
+            // naive round-based computation of the greatest simulation relation
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int pair = expected.nextSetBit(0); pair >= 0; pair = expected.nextSetBit(pair + 1)) {
+                    if (!simulates(left, right, pair / RIGHT_SIZE, pair % RIGHT_SIZE, expected)) {
+                        expected.clear(pair);
+                        changed = true;
+                    }
+                }
+            }
+
+            final BitSet actual = new BitSet(numPairs);
+            actual.set(0, numPairs);
+
+            WorklistSolver.solve(numPairs, pair -> {
+                if (actual.get(pair) && !PairRelations.isMatched(left,
+                                                                 right,
+                                                                 pair / RIGHT_SIZE,
+                                                                 pair % RIGHT_SIZE,
+                                                                 NUM_LABELS,
+                                                                 actual,
+                                                                 RIGHT_SIZE,
+                                                                 false)) {
+                    actual.clear(pair);
+                    return true;
+                }
+                return false;
+            }, PairRelations.dependents(PairRelations.predecessors(left, LEFT_SIZE, NUM_LABELS),
+                                        PairRelations.predecessors(right, RIGHT_SIZE, NUM_LABELS),
+                                        RIGHT_SIZE,
+                                        NUM_LABELS));
+
+            Assert.assertEquals(actual, expected);
+        }
+    }
+
+    @Test
+    public void testSwapped() {
+        // left: 0 -a-> 1, right: 0 -a-> 1, 0 -a-> 2
+        final int[][] left = {{1}, {}};
+        final int[][] right = {{1, 2}, {}, {}};
+        final BitSet relation = new BitSet();
+        relation.set(1 * 3 + 2);
+
+        Assert.assertTrue(PairRelations.isMatched(left, right, 0, 0, 1, relation, 3, false));
+        Assert.assertFalse(PairRelations.isMatched(right, left, 0, 0, 1, relation, 3, true));
+
+        relation.set(1 * 3 + 1);
+        Assert.assertTrue(PairRelations.isMatched(right, left, 0, 0, 1, relation, 3, true));
+    }
+
+    private static boolean simulates(int[][] left, int[][] right, int p, int q, BitSet relation) {
+        for (int l = 0; l < NUM_LABELS; l++) {
+            for (int pSucc : left[p * NUM_LABELS + l]) {
+                boolean matched = false;
+                for (int qSucc : right[q * NUM_LABELS + l]) {
+                    matched |= relation.get(pSucc * RIGHT_SIZE + qSucc);
+                }
+                if (!matched) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int[][] randomSystem(Random random, int size, int numLabels) {
+        final int[][] successors = new int[size * numLabels][];
+        for (int i = 0; i < successors.length; i++) {
+            successors[i] = new int[random.nextInt(3)];
+            for (int j = 0; j < successors[i].length; j++) {
+                successors[i][j] = random.nextInt(size);
+            }
+        }
+        return successors;
+    }
+}
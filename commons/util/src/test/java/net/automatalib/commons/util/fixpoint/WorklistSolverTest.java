@@ -0,0 +1,224 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.fixpoint;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.commons.util.fixpoint.WorklistSolver.Dependents;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class WorklistSolverTest {
+
+    private static final int SIZE = 500;
+
+    @Test
+    public void testCoReachability() {
+        final Random random = new Random(42);
+        final int[][] successors = randomGraph(random, SIZE, 2);
+        final int[][] predecessors = reverse(successors);
+        final BitSet targets = new BitSet(SIZE);
+
+        for (int i = 0; i < 5; i++) {
+            targets.set(random.nextInt(SIZE));
+        }
+
+        // a node is co-reachable if it is a target or one of its successors is co-reachable
+        final BitSet coReachable = new BitSet(SIZE);
+        final long evaluations = WorklistSolver.solve(SIZE, v -> {
+            if (!coReachable.get(v) && (targets.get(v) || Arrays.stream(successors[v]).anyMatch(coReachable::get))) {
+                coReachable.set(v);
+                return true;
+            }
+            return false;
+        }, toDependents(predecessors));
+
+        Assert.assertEquals(coReachable, backwardReachable(predecessors, targets));
+
+        // every node changes its value at most once, hence each predecessor edge triggers at most one re-evaluation
+        final int numEdges = Arrays.stream(successors).mapToInt(s -> s.length).sum();
+        Assert.assertTrue(evaluations <= SIZE + numEdges);
+    }
+
+    @Test
+    public void testShortestDistances() {
+        final Random random = new Random(1337);
+        final int[][] successors = randomGraph(random, SIZE, 3);
+        final int[][] predecessors = reverse(successors);
+
+        // distance (number of edges) to node 0, decreasing from "infinity"
+        final int[] distances = new int[SIZE];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        distances[0] = 0;
+
+        // only the predecessors of node 0 may be affected by its initial value (duplicates are ignored)
+        final int[] initial = new int[predecessors[0].length * 2];
+        System.arraycopy(predecessors[0], 0, initial, 0, predecessors[0].length);
+        System.arraycopy(predecessors[0], 0, initial, predecessors[0].length, predecessors[0].length);
+
+        WorklistSolver.solve(SIZE, initial, v -> {
+            int min = distances[v];
+            for (int succ : successors[v]) {
+                if (distances[succ] != Integer.MAX_VALUE) {
+                    min = Math.min(min, distances[succ] + 1);
+                }
+            }
+            if (min < distances[v]) {
+                distances[v] = min;
+                return true;
+            }
+            return false;
+        }, toDependents(predecessors));
+
+        final int[] expected = new int[SIZE];
+        Arrays.fill(expected, Integer.MAX_VALUE);
+        expected[0] = 0;
+
+        final Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            final int v = queue.poll();
+            for (int pred : predecessors[v]) {
+                if (expected[pred] == Integer.MAX_VALUE) {
+                    expected[pred] = expected[v] + 1;
+                    queue.add(pred);
+                }
+            }
+        }
+
+        Assert.assertEquals(distances, expected);
+    }
+
+    @Test
+    public void testChainEvaluations() {
+        // a chain 0 -> 1 -> ... -> n-1 in which the value of each node depends on its predecessor (forward flow)
+        final int n = 1000;
+        final boolean[] reached = new boolean[n];
+        final int[] counts = new int[n];
+        final Dependents dependents = (v, action) -> {
+            if (v + 1 < n) {
+                action.accept(v + 1);
+            }
+        };
+
+        // with an ascending sweep, every node is evaluated exactly once
+        final long evaluations = WorklistSolver.solve(n, v -> {
+            counts[v]++;
+            if (!reached[v] && (v == 0 || reached[v - 1])) {
+                reached[v] = true;
+                return true;
+            }
+            return false;
+        }, dependents);
+
+        Assert.assertEquals(evaluations, n);
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(reached[i]);
+            Assert.assertEquals(counts[i], 1);
+        }
+
+        // seeding only the source node explores the chain via the worklist
+        final boolean[] reached2 = new boolean[n];
+        final long evaluations2 = WorklistSolver.solve(n, new int[] {0}, v -> {
+            if (!reached2[v] && (v == 0 || reached2[v - 1])) {
+                reached2[v] = true;
+                return true;
+            }
+            return false;
+        }, dependents);
+
+        Assert.assertEquals(evaluations2, n);
+        for (boolean r : reached2) {
+            Assert.assertTrue(r);
+        }
+    }
+
+    @Test
+    public void testCSRDependents() {
+        final int[] offsets = {0, 2, 2, 3};
+        final int[] targets = {1, 2, 0};
+        final List<Integer> collected = new ArrayList<>();
+
+        final Dependents dependents = Dependents.of(offsets, targets);
+        dependents.forEachDependent(0, collected::add);
+        dependents.forEachDependent(1, collected::add);
+        dependents.forEachDependent(2, collected::add);
+
+        Assert.assertEquals(collected, Arrays.asList(1, 2, 0));
+    }
+
+    private static int[][] randomGraph(Random random, int size, int maxDegree) {
+        final int[][] successors = new int[size][];
+        for (int v = 0; v < size; v++) {
+            successors[v] = new int[random.nextInt(maxDegree + 1)];
+            for (int j = 0; j < successors[v].length; j++) {
+                successors[v][j] = random.nextInt(size);
+            }
+        }
+        return successors;
+    }
+
+    private static int[][] reverse(int[][] successors) {
+        final List<List<Integer>> preds = new ArrayList<>(successors.length);
+        for (int i = 0; i < successors.length; i++) {
+            preds.add(new ArrayList<>());
+        }
+        for (int v = 0; v < successors.length; v++) {
+            for (int succ : successors[v]) {
+                preds.get(succ).add(v);
+            }
+        }
+
+        final int[][] result = new int[successors.length][];
+        for (int v = 0; v < successors.length; v++) {
+            result[v] = preds.get(v).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return result;
+    }
+
+    private static Dependents toDependents(int[][] dependents) {
+        return (v, action) -> {
+            for (int d : dependents[v]) {
+                action.accept(d);
+            }
+        };
+    }
+
+    private static BitSet backwardReachable(int[][] predecessors, BitSet targets) {
+        final BitSet result = (BitSet) targets.clone();
+        final Deque<Integer> stack = new ArrayDeque<>();
+        targets.stream().forEach(stack::push);
+
+        while (!stack.isEmpty()) {
+            for (int pred : predecessors[stack.pop()]) {
+                if (!result.get(pred)) {
+                    result.set(pred);
+                    stack.push(pred);
+                }
+            }
+        }
+        return result;
+    }
+}
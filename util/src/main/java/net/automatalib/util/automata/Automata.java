@@ -19,8 +19,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.Automaton;
+import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.DeterministicAutomaton;
 import net.automatalib.automata.MutableDeterministic;
 import net.automatalib.automata.UniversalAutomaton;
@@ -35,12 +37,15 @@ import net.automatalib.util.automata.cover.Covers;
 import net.automatalib.util.automata.equivalence.CharacterizingSets;
 import net.automatalib.util.automata.equivalence.DeterministicEquivalenceTest;
 import net.automatalib.util.automata.equivalence.NearLinearEquivalenceTest;
+import net.automatalib.util.automata.minimizer.paigetarjan.PaigeTarjanMinimization;
 import net.automatalib.util.automata.oca.OCAUtil;
 import net.automatalib.util.automata.vpda.OneSEVPAUtil;
 import net.automatalib.util.minimizer.Block;
 import net.automatalib.util.minimizer.BlockMap;
 import net.automatalib.util.minimizer.MinimizationResult;
 import net.automatalib.util.minimizer.Minimizer;
+import net.automatalib.util.partitionrefinement.AutomatonInitialPartitioning;
+import net.automatalib.util.partitionrefinement.PaigeTarjan;
 import net.automatalib.util.ts.TS;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.VPDAlphabet;
@@ -99,6 +104,47 @@ public class Automata extends TS {
         return output;
     }
 
+    /**
+     * Minimizes the given automaton using the parallel partition refinement of {@link PaigeTarjan}. States are
+     * distinguished by their full signature, i.e., by their state properties and the properties (and definedness) of
+     * their outgoing transitions. Unreachable states are pruned.
+     * <p>
+     * This is a convenience method acting as a shortcut to {@link PaigeTarjanMinimization#minimizeUniversal(
+     * UniversalDeterministicAutomaton, Alphabet, AutomatonCreator, AutomatonInitialPartitioning, Object,
+     * ForkJoinPool)}.
+     *
+     * @param automaton
+     *         the automaton to minimize
+     * @param inputs
+     *         the input alphabet (this will be the input alphabet of the resulting automaton)
+     * @param creator
+     *         the creator for constructing the automaton instance to return
+     * @param pool
+     *         the pool used for the parallel partition refinement
+     * @param <I>
+     *         input symbol type
+     * @param <SP>
+     *         state property type
+     * @param <TP>
+     *         transition property type
+     * @param <A>
+     *         automaton type
+     *
+     * @return the minimized automaton, constructed from the given {@code creator}
+     */
+    public static <I, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A minimize(UniversalDeterministicAutomaton<?, I, ?, SP, TP> automaton,
+                                                                                         Alphabet<I> inputs,
+                                                                                         AutomatonCreator<A, I> creator,
+                                                                                         ForkJoinPool pool) {
+        // a fresh classification for the sink makes undefined transitions distinguishable from all existing states
+        return PaigeTarjanMinimization.minimizeUniversal(automaton,
+                                                         inputs,
+                                                         creator,
+                                                         AutomatonInitialPartitioning.BY_FULL_SIGNATURE,
+                                                         new Object(),
+                                                         pool);
+    }
+
     public static <S, I, T, SP, TP> UniversalGraph<S, TransitionEdge<I, T>, SP, TransitionEdge.Property<I, TP>> asUniversalGraph(
             UniversalAutomaton<S, I, T, SP, TP> automaton,
             Collection<? extends I> inputs) {
@@ -300,6 +346,56 @@ public class Automata extends TS {
         CharacterizingSets.findCharacterizingSet(automaton, inputs, result);
     }
 
+    /**
+     * Computes a characterizing set in parallel, and returns it as a {@link List}.
+     *
+     * @param <I>
+     *         input symbol type
+     * @param automaton
+     *         the automaton for which to determine the characterizing set
+     * @param inputs
+     *         the input symbols to consider
+     * @param pool
+     *         the pool used for the parallel computations
+     *
+     * @return a list containing the characterizing words
+     *
+     * @see CharacterizingSets
+     */
+    public static <I> List<Word<I>> characterizingSet(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                      Collection<? extends I> inputs,
+                                                      ForkJoinPool pool) {
+        List<Word<I>> result = new ArrayList<>();
+        characterizingSet(automaton, inputs, result, pool);
+        return result;
+    }
+
+    /**
+     * Computes a characterizing set for the given automaton in parallel.
+     * <p>
+     * This is a convenience method acting as a shortcut to {@link CharacterizingSets#findCharacterizingSet(
+     * UniversalDeterministicAutomaton, Collection, Collection, ForkJoinPool)}.
+     *
+     * @param <I>
+     *         input symbol type
+     * @param automaton
+     *         the automaton for which to determine the characterizing set
+     * @param inputs
+     *         the input symbols to consider
+     * @param result
+     *         the collection in which to store the characterizing words
+     * @param pool
+     *         the pool used for the parallel computations
+     *
+     * @see CharacterizingSets
+     */
+    public static <I> void characterizingSet(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                             Collection<? extends I> inputs,
+                                             Collection<? super Word<I>> result,
+                                             ForkJoinPool pool) {
+        CharacterizingSets.findCharacterizingSet(automaton, inputs, result, pool);
+    }
+
     public static <I> boolean incrementalCharacterizingSet(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
                                                            Collection<? extends I> inputs,
                                                            Collection<? extends Word<I>> oldSuffixes,
@@ -24,9 +24,11 @@ import com.google.common.math.LongMath;
 import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.commons.util.Pair;
 import net.automatalib.graphs.ads.ADSNode;
+import net.automatalib.graphs.ads.impl.ADSLeafNode;
 import net.automatalib.graphs.ads.impl.ADSSymbolNode;
 import net.automatalib.words.Word;
 import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Utility class, that offers some operations revolving around adaptive distinguishing sequences.
@@ -82,6 +84,36 @@ public final class ADSUtil {
         return Pair.of(head, tempADS);
     }
 
+    /**
+     * Creates a copy of the given ADS, in which the hypothesis states of the leaves are replaced according to the given
+     * mapping.
+     *
+     * @param node
+     *         the root of the ADS to copy
+     * @param mapping
+     *         the mapping of the hypothesis states
+     * @param parent
+     *         the parent of the copied root
+     *
+     * @return the root of the copied ADS
+     */
+    @SuppressWarnings("nullness") // leaves always have a hypothesis state, inner nodes always have a symbol
+    static <S, I, O> ADSNode<S, I, O> remap(final ADSNode<S, I, O> node,
+                                            final Map<S, S> mapping,
+                                            final @Nullable ADSNode<S, I, O> parent) {
+        if (node.isLeaf()) {
+            return new ADSLeafNode<>(parent, mapping.get(node.getHypothesisState()));
+        }
+
+        final ADSNode<S, I, O> result = new ADSSymbolNode<>(parent, node.getSymbol());
+
+        for (final Map.Entry<O, ADSNode<S, I, O>> entry : node.getChildren().entrySet()) {
+            result.getChildren().put(entry.getKey(), remap(entry.getValue(), mapping, result));
+        }
+
+        return result;
+    }
+
     public static <S, I, O> Set<ADSNode<S, I, O>> collectLeaves(final ADSNode<S, I, O> root) {
         final Set<ADSNode<S, I, O>> result = new LinkedHashSet<>();
         collectLeavesRecursively(result, root);
@@ -15,15 +15,21 @@
  */
 package net.automatalib.util.automata.ads;
 
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -39,6 +45,7 @@ import net.automatalib.graphs.ads.impl.ADSSymbolNode;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A class containing methods for computing adaptive distinguishing sequences (for arbitrary sets of states) by means of
@@ -48,6 +55,11 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  */
 public final class BacktrackingSearch {
 
+    /**
+     * Maximum number of states for which the optimal search is no longer forked into parallel sub-tasks.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+
     private BacktrackingSearch() {}
 
     /**
@@ -83,6 +95,51 @@ public final class BacktrackingSearch {
         return compute(automaton, input, node);
     }
 
+    /**
+     * Computes an ADS like {@link #compute(MealyMachine, Alphabet, Set)}, but re-uses the solutions of sub-problems
+     * stored in the given transposition table and stores the solutions of newly explored sub-problems in it.
+     *
+     * @param automaton
+     *         The automaton for which an ADS should be computed
+     * @param input
+     *         the input alphabet of the automaton
+     * @param states
+     *         the set of states which should be distinguished by the computed ADS
+     * @param table
+     *         the transposition table for caching the solutions of sub-problems
+     * @param <S>
+     *         (hypothesis) state type
+     * @param <I>
+     *         input alphabet type
+     * @param <O>
+     *         output alphabet type
+     *
+     * @return {@code Optional.empty()} if there exists no ADS that distinguishes the given states, a valid ADS
+     * otherwise.
+     *
+     * @throws IllegalArgumentException
+     *         if the table is already used for a different automaton
+     */
+    public static <S, I, O> Optional<ADSNode<S, I, O>> compute(final MealyMachine<S, I, ?, O> automaton,
+                                                               final Alphabet<I> input,
+                                                               final Set<S> states,
+                                                               final TranspositionTable table) {
+
+        if (states.size() == 1) {
+            return ADS.compute(automaton, input, states);
+        }
+
+        table.bind(automaton);
+
+        final SplitTree<S, I, O> node = new SplitTree<>(states, new ReflexiveMapView<>(states));
+
+        if (states.size() == 2) {
+            return StateEquivalence.compute(automaton, input, node, table);
+        }
+
+        return compute(automaton, input, node, states.size(), table);
+    }
+
     /**
      * See {@link #compute(MealyMachine, Alphabet, Set)}. Internal version, that uses the {@link SplitTree}
      * representation.
@@ -90,13 +147,46 @@ public final class BacktrackingSearch {
     static <S, I, O> Optional<ADSNode<S, I, O>> compute(final MealyMachine<S, I, ?, O> automaton,
                                                         final Alphabet<I> input,
                                                         final SplitTree<S, I, O> node) {
-        return compute(automaton, input, node, node.getPartition().size());
+        return compute(automaton, input, node, node.getPartition().size(), null);
+    }
+
+    private static <S, I, O> Optional<ADSNode<S, I, O>> compute(final MealyMachine<S, I, ?, O> automaton,
+                                                                final Alphabet<I> input,
+                                                                final SplitTree<S, I, O> node,
+                                                                final int originalPartitionSize,
+                                                                final @Nullable TranspositionTable table) {
+
+        if (table == null) {
+            return computeUncached(automaton, input, node, originalPartitionSize, null);
+        }
+
+        final Set<S> partition = node.getPartition();
+        final TranspositionTable.Key key = TranspositionTable.key(TranspositionTable.BACKTRACKING,
+                                                                  originalPartitionSize,
+                                                                  partition,
+                                                                  automaton.stateIDs());
+
+        @SuppressWarnings("unchecked")
+        Optional<ADSNode<S, I, O>> template = (Optional<ADSNode<S, I, O>>) table.lookup(key);
+
+        // solutions are stored with respect to the current states and re-mapped to the initial states of the node
+        if (template == null) {
+            template = computeUncached(automaton,
+                                       input,
+                                       new SplitTree<>(partition, new ReflexiveMapView<>(partition)),
+                                       originalPartitionSize,
+                                       table);
+            table.store(key, template);
+        }
+
+        return template.map(t -> ADSUtil.remap(t, node.getMapping(), null));
     }
 
-    private static <S, I, T, O> Optional<ADSNode<S, I, O>> compute(final MealyMachine<S, I, T, O> automaton,
-                                                                   final Alphabet<I> input,
-                                                                   final SplitTree<S, I, O> node,
-                                                                   final int originalPartitionSize) {
+    private static <S, I, T, O> Optional<ADSNode<S, I, O>> computeUncached(final MealyMachine<S, I, T, O> automaton,
+                                                                           final Alphabet<I> input,
+                                                                           final SplitTree<S, I, O> node,
+                                                                           final int originalPartitionSize,
+                                                                           final @Nullable TranspositionTable table) {
 
         final long maximumSplittingWordLength = ADSUtil.computeMaximumSplittingWordLength(automaton.size(),
                                                                                           node.getPartition().size(),
@@ -177,7 +267,13 @@ public final class BacktrackingSearch {
 
                         final Optional<ADSNode<S, I, O>> succ;
                         if (currentNode.getPartition().size() > 2) {
-                            succ = BacktrackingSearch.compute(automaton, input, currentNode, originalPartitionSize);
+                            succ = BacktrackingSearch.compute(automaton,
+                                                              input,
+                                                              currentNode,
+                                                              originalPartitionSize,
+                                                              table);
+                        } else if (currentNode.getPartition().size() == 2) {
+                            succ = StateEquivalence.compute(automaton, input, currentNode, table);
                         } else {
                             succ = ADS.compute(automaton, input, currentNode);
                         }
@@ -244,26 +340,122 @@ public final class BacktrackingSearch {
             return ADS.compute(automaton, input, states);
         }
 
+        return computeOptimal(automaton, input, states, costAggregator, new TranspositionTable());
+    }
+
+    /**
+     * Computes an optimal ADS like {@link #computeOptimal(MealyMachine, Alphabet, Set, CostAggregator)}, but uses the
+     * given transposition table for caching the solutions of explored sets of states. A size-bounded table allows to
+     * limit the memory consumption of the search at the cost of re-exploring evicted sets of states.
+     *
+     * @param automaton
+     *         The automaton for which an ADS should be computed
+     * @param input
+     *         the input alphabet of the automaton
+     * @param states
+     *         the set of states which should be distinguished by the computed ADS
+     * @param costAggregator
+     *         the optimization function by which solutions should be pruned
+     * @param table
+     *         the transposition table for caching the solutions of explored sets of states
+     * @param <S>
+     *         (hypothesis) state type
+     * @param <I>
+     *         input alphabet type
+     * @param <O>
+     *         output alphabet type
+     *
+     * @return {@code Optional.empty()} if there exists no ADS that distinguishes the given states, a valid ADS
+     * otherwise.
+     *
+     * @throws IllegalArgumentException
+     *         if the table is already used for a different automaton
+     */
+    public static <S, I, O> Optional<ADSNode<S, I, O>> computeOptimal(final MealyMachine<S, I, ?, O> automaton,
+                                                                      final Alphabet<I> input,
+                                                                      final Set<S> states,
+                                                                      final CostAggregator costAggregator,
+                                                                      final TranspositionTable table) {
+
+        if (states.size() == 1) {
+            return ADS.compute(automaton, input, states);
+        }
+
+        table.bind(automaton);
+
         final Optional<SearchState<S, I, O>> searchState = exploreSearchSpace(automaton,
                                                                               input,
                                                                               states,
                                                                               costAggregator,
-                                                                              new HashMap<>(),
+                                                                              table,
                                                                               new HashSet<>(),
                                                                               Integer.MAX_VALUE);
 
         return searchState.map(s -> constructADS(automaton, new ReflexiveMapView<>(states), s));
     }
 
+    /**
+     * Parallel version of {@link #computeOptimal(MealyMachine, Alphabet, Set, CostAggregator)}. The successor tree is
+     * explored by means of a parallel branch-and-bound search: for each set of states, the input symbols are explored
+     * by individual (work-stealing) tasks which share the costs of the currently best solution, so that inferior
+     * branches are pruned as soon as possible. Small sets of states are explored sequentially. Explored sets of states
+     * are cached in a concurrent cache that is shared among all tasks.
+     * <p>
+     * The returned ADS is optimal with respect to the given cost function. If there exist multiple optimal ADSs, the
+     * returned one may differ from the one returned by the sequential search. The given automaton must not be modified
+     * during the computation.
+     *
+     * @param automaton
+     *         The automaton for which an ADS should be computed
+     * @param input
+     *         the input alphabet of the automaton
+     * @param states
+     *         the set of states which should be distinguished by the computed ADS
+     * @param costAggregator
+     *         the optimization function by which solutions should be pruned
+     * @param pool
+     *         the pool used for executing the parallel search
+     * @param <S>
+     *         (hypothesis) state type
+     * @param <I>
+     *         input alphabet type
+     * @param <O>
+     *         output alphabet type
+     *
+     * @return {@code Optional.empty()} if there exists no ADS that distinguishes the given states, a valid ADS
+     * otherwise.
+     */
+    public static <S, I, O> Optional<ADSNode<S, I, O>> computeOptimal(final MealyMachine<S, I, ?, O> automaton,
+                                                                      final Alphabet<I> input,
+                                                                      final Set<S> states,
+                                                                      final CostAggregator costAggregator,
+                                                                      final ForkJoinPool pool) {
+
+        if (states.size() == 1) {
+            return ADS.compute(automaton, input, states);
+        }
+
+        final Optional<SearchState<S, I, O>> searchState = pool.invoke(new OptimalSearchTask<>(automaton,
+                                                                                              input,
+                                                                                              states,
+                                                                                              costAggregator,
+                                                                                              new TranspositionTable(),
+                                                                                              new HashSet<>(),
+                                                                                              Integer.MAX_VALUE));
+
+        return searchState.map(s -> constructADS(automaton, new ReflexiveMapView<>(states), s));
+    }
+
     private static <S, I, T, O> Optional<SearchState<S, I, O>> exploreSearchSpace(final MealyMachine<S, I, T, O> automaton,
                                                                                   final Alphabet<I> alphabet,
                                                                                   final Set<S> targets,
                                                                                   final CostAggregator costAggregator,
-                                                                                  final Map<Set<S>, Optional<SearchState<S, I, O>>> stateCache,
+                                                                                  final TranspositionTable stateCache,
                                                                                   final Set<Set<S>> currentTraceCache,
                                                                                   final int costsBound) {
 
-        final Optional<SearchState<S, I, O>> cachedValue = stateCache.get(targets);
+        final TranspositionTable.Key key = optimalKey(automaton, targets, costAggregator);
+        final Optional<SearchState<S, I, O>> cachedValue = lookup(stateCache, key);
 
         if (cachedValue != null) {
             return cachedValue;
@@ -276,7 +468,7 @@ public final class BacktrackingSearch {
         if (targets.size() == 1) {
             final SearchState<S, I, O> resultSS = new SearchState<>();
             final Optional<SearchState<S, I, O>> result = Optional.of(resultSS);
-            stateCache.put(targets, result);
+            stateCache.store(key, result);
             return result;
         }
 
@@ -294,31 +486,11 @@ public final class BacktrackingSearch {
         alphabetLoop:
         for (final I i : alphabet) {
 
-            // compute successors
-            final Map<O, Set<S>> successors = new HashMap<>();
-
-            for (final S s : targets) {
-                final T trans = automaton.getTransition(s, i);
+            final Map<O, Set<S>> successors = computeSuccessors(automaton, targets, i);
 
-                if (trans == null) {
-                    throw new IllegalArgumentException("Partial automata are not supported");
-                }
-
-                final S nextState = automaton.getSuccessor(trans);
-                final O nextOutput = automaton.getTransitionOutput(trans);
-
-                final Set<S> child;
-                if (!successors.containsKey(nextOutput)) {
-                    child = new HashSet<>();
-                    successors.put(nextOutput, child);
-                } else {
-                    child = successors.get(nextOutput);
-                }
-
-                // invalid input
-                if (!child.add(nextState)) {
-                    continue alphabetLoop;
-                }
+            // invalid input
+            if (successors == null) {
+                continue alphabetLoop;
             }
 
             convergingStates = false;
@@ -391,7 +563,7 @@ public final class BacktrackingSearch {
         }
 
         if (convergingStates) {
-            stateCache.put(targets, Optional.empty());
+            stateCache.store(key, Optional.empty());
             return Optional.empty();
         }
 
@@ -405,10 +577,84 @@ public final class BacktrackingSearch {
         resultSS.symbol = bestInputSymbol;
 
         final Optional<SearchState<S, I, O>> result = Optional.of(resultSS);
-        stateCache.put(targets, result);
+        stateCache.store(key, result);
         return result;
     }
 
+    /**
+     * Computes the successors of the given set of states for the given input symbol, partitioned by the produced
+     * outputs.
+     *
+     * @return the partitioned successors, or {@code null} if the given input symbol merges two of the given states
+     */
+    private static <S, I, T, O> @Nullable Map<O, Set<S>> computeSuccessors(final MealyMachine<S, I, T, O> automaton,
+                                                                            final Set<S> targets,
+                                                                            final I input) {
+
+        final Map<O, Set<S>> successors = new HashMap<>();
+
+        for (final S s : targets) {
+            final T trans = automaton.getTransition(s, input);
+
+            if (trans == null) {
+                throw new IllegalArgumentException("Partial automata are not supported");
+            }
+
+            final S nextState = automaton.getSuccessor(trans);
+            final O nextOutput = automaton.getTransitionOutput(trans);
+
+            final Set<S> child = successors.computeIfAbsent(nextOutput, k -> new HashSet<>());
+
+            // invalid input
+            if (!child.add(nextState)) {
+                return null;
+            }
+        }
+
+        return successors;
+    }
+
+    private static <S, I, T, O> Optional<SearchState<S, I, O>> exploreSearchSpaceParallel(final MealyMachine<S, I, T, O> automaton,
+                                                                                          final Alphabet<I> alphabet,
+                                                                                          final Set<S> targets,
+                                                                                          final CostAggregator costAggregator,
+                                                                                          final TranspositionTable stateCache,
+                                                                                          final Set<Set<S>> currentTraceCache,
+                                                                                          final int costsBound) {
+        if (targets.size() <= SEQUENTIAL_THRESHOLD) {
+            return exploreSearchSpace(automaton,
+                                      alphabet,
+                                      targets,
+                                      costAggregator,
+                                      stateCache,
+                                      currentTraceCache,
+                                      costsBound);
+        }
+
+        return new OptimalSearchTask<>(automaton,
+                                       alphabet,
+                                       targets,
+                                       costAggregator,
+                                       stateCache,
+                                       currentTraceCache,
+                                       costsBound).invoke();
+    }
+
+    private static <S> TranspositionTable.Key optimalKey(final MealyMachine<S, ?, ?, ?> automaton,
+                                                         final Set<S> targets,
+                                                         final CostAggregator costAggregator) {
+        return TranspositionTable.key(TranspositionTable.OPTIMAL,
+                                      costAggregator.ordinal(),
+                                      targets,
+                                      automaton.stateIDs());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S, I, O> @Nullable Optional<SearchState<S, I, O>> lookup(final TranspositionTable stateCache,
+                                                                             final TranspositionTable.Key key) {
+        return (Optional<SearchState<S, I, O>>) stateCache.lookup(key);
+    }
+
     private static <S, I, O> ADSNode<S, I, O> constructADS(final MealyMachine<S, I, ?, O> automaton,
                                                            final Map<S, S> currentToInitialMapping,
                                                            final SearchState<S, I, O> searchState) {
@@ -475,6 +721,198 @@ public final class BacktrackingSearch {
         }
     }
 
+    /**
+     * A task that explores the successor tree of a set of states by forking a {@link SymbolTask} for each valid input
+     * symbol. Mirrors {@link #exploreSearchSpace(MealyMachine, Alphabet, Set, CostAggregator, Map, Set, int)}.
+     */
+    private static final class OptimalSearchTask<S, I, T, O> extends RecursiveTask<Optional<SearchState<S, I, O>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient MealyMachine<S, I, T, O> automaton;
+        private final transient Alphabet<I> alphabet;
+        private final transient Set<S> targets;
+        private final CostAggregator costAggregator;
+        private final transient TranspositionTable stateCache;
+        private final transient Set<Set<S>> currentTraceCache;
+        private final int costsBound;
+
+        OptimalSearchTask(final MealyMachine<S, I, T, O> automaton,
+                          final Alphabet<I> alphabet,
+                          final Set<S> targets,
+                          final CostAggregator costAggregator,
+                          final TranspositionTable stateCache,
+                          final Set<Set<S>> currentTraceCache,
+                          final int costsBound) {
+            this.automaton = automaton;
+            this.alphabet = alphabet;
+            this.targets = targets;
+            this.costAggregator = costAggregator;
+            this.stateCache = stateCache;
+            this.currentTraceCache = currentTraceCache;
+            this.costsBound = costsBound;
+        }
+
+        @Override
+        protected Optional<SearchState<S, I, O>> compute() {
+
+            final TranspositionTable.Key key = optimalKey(automaton, targets, costAggregator);
+            final Optional<SearchState<S, I, O>> cachedValue = lookup(stateCache, key);
+
+            if (cachedValue != null) {
+                return cachedValue;
+            }
+
+            if (currentTraceCache.contains(targets)) {
+                return Optional.empty();
+            }
+
+            if (targets.size() == 1) {
+                final Optional<SearchState<S, I, O>> result = Optional.of(new SearchState<>());
+                stateCache.store(key, result);
+                return result;
+            }
+
+            // any further expansion would lead to a worse result, hence stop here.
+            if (costsBound == 0) {
+                return Optional.empty();
+            }
+
+            final AtomicInteger bestCosts = new AtomicInteger(costsBound);
+            final List<SymbolTask<S, I, T, O>> tasks = new ArrayList<>(alphabet.size());
+
+            for (final I i : alphabet) {
+                final Map<O, Set<S>> successors = computeSuccessors(automaton, targets, i);
+
+                if (successors != null) {
+                    tasks.add(new SymbolTask<>(this, i, successors, bestCosts));
+                }
+            }
+
+            if (tasks.isEmpty()) {
+                stateCache.store(key, Optional.empty());
+                return Optional.empty();
+            }
+
+            invokeAll(tasks);
+
+            // prefer earlier input symbols in case of equal costs
+            SymbolTask<S, I, T, O> best = null;
+            for (final SymbolTask<S, I, T, O> task : tasks) {
+                if (task.successorsForInputSymbol != null && (best == null || task.costs < best.costs)) {
+                    best = task;
+                }
+            }
+
+            if (best == null) {
+                return Optional.empty();
+            }
+
+            final SearchState<S, I, O> resultSS = new SearchState<>();
+            resultSS.costs = best.costs + 1;
+            resultSS.successors = best.successorsForInputSymbol;
+            resultSS.symbol = best.symbol;
+
+            final Optional<SearchState<S, I, O>> result = Optional.of(resultSS);
+            stateCache.store(key, result);
+            return result;
+        }
+    }
+
+    /**
+     * A task that explores the successors of a set of states for a single input symbol. The costs of the best solution
+     * found so far are shared among all tasks of the same set of states and are used for pruning.
+     */
+    private static final class SymbolTask<S, I, T, O> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient OptimalSearchTask<S, I, T, O> parent;
+        private final transient I symbol;
+        private final transient Map<O, Set<S>> successors;
+        private final AtomicInteger bestCosts;
+
+        // results
+        private int costs;
+        private transient @Nullable Map<O, SearchState<S, I, O>> successorsForInputSymbol;
+
+        SymbolTask(final OptimalSearchTask<S, I, T, O> parent,
+                   final I symbol,
+                   final Map<O, Set<S>> successors,
+                   final AtomicInteger bestCosts) {
+            this.parent = parent;
+            this.symbol = symbol;
+            this.successors = successors;
+            this.bestCosts = bestCosts;
+        }
+
+        @Override
+        protected void compute() {
+
+            final int costsForInputSymbol;
+            final Map<O, SearchState<S, I, O>> result;
+
+            if (successors.size() > 1) {
+
+                result = Maps.newHashMapWithExpectedSize(successors.size());
+                int partitionCosts = 0;
+
+                for (final Map.Entry<O, Set<S>> entry : successors.entrySet()) {
+
+                    final Optional<SearchState<S, I, O>> potentialResult = exploreSearchSpaceParallel(parent.automaton,
+                                                                                                      parent.alphabet,
+                                                                                                      entry.getValue(),
+                                                                                                      parent.costAggregator,
+                                                                                                      parent.stateCache,
+                                                                                                      new HashSet<>(),
+                                                                                                      bestCosts.get());
+
+                    if (!potentialResult.isPresent()) {
+                        return;
+                    }
+
+                    final SearchState<S, I, O> subResult = potentialResult.get();
+                    result.put(entry.getKey(), subResult);
+
+                    partitionCosts = parent.costAggregator.apply(partitionCosts, subResult.costs);
+
+                    if (partitionCosts >= bestCosts.get()) {
+                        return;
+                    }
+                }
+
+                costsForInputSymbol = partitionCosts;
+            } else {
+                final Map.Entry<O, Set<S>> entry = successors.entrySet().iterator().next();
+
+                final Set<Set<S>> nextTraceCache = new HashSet<>(parent.currentTraceCache);
+                nextTraceCache.add(parent.targets);
+
+                final Optional<SearchState<S, I, O>> potentialResult = exploreSearchSpaceParallel(parent.automaton,
+                                                                                                  parent.alphabet,
+                                                                                                  entry.getValue(),
+                                                                                                  parent.costAggregator,
+                                                                                                  parent.stateCache,
+                                                                                                  nextTraceCache,
+                                                                                                  bestCosts.get());
+
+                if (!potentialResult.isPresent()) {
+                    return;
+                }
+
+                final SearchState<S, I, O> subResult = potentialResult.get();
+
+                costsForInputSymbol = subResult.costs;
+                result = Collections.singletonMap(entry.getKey(), subResult);
+            }
+
+            if (costsForInputSymbol < bestCosts.getAndAccumulate(costsForInputSymbol, Math::min)) {
+                this.costs = costsForInputSymbol;
+                this.successorsForInputSymbol = result;
+            }
+        }
+    }
+
     /**
      * Internal utility class that encapsulates information of a node in a successor tree.
      *
@@ -15,14 +15,20 @@
  */
 package net.automatalib.util.automata.ads;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.BiMap;
@@ -32,6 +38,7 @@ import com.google.common.collect.Sets;
 import net.automatalib.automata.transducers.MealyMachine;
 import net.automatalib.commons.smartcollections.ReflexiveMapView;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.commons.util.concurrent.ParallelRanges;
 import net.automatalib.graphs.ads.ADSNode;
 import net.automatalib.graphs.ads.impl.ADSLeafNode;
 import net.automatalib.graphs.base.compact.CompactEdge;
@@ -41,6 +48,7 @@ import net.automatalib.util.graphs.ShortestPaths;
 import net.automatalib.util.graphs.traversal.GraphTraversal;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Algorithm of Lee and Yannakakis for computing adaptive distinguishing sequences (of length at most n^2) in O(n^2)
@@ -48,12 +56,27 @@ import net.automatalib.words.Word;
  * <p>
  * See: D. Lee and M. Yannakakis - "Testing Finite-State Machines: State Identification and Verification", IEEE
  * Transactions on Computers 43.3 (1994)
+ * <p>
+ * Besides the sequential algorithm, this class offers a parallel variant (see {@link #compute(MealyMachine, Alphabet,
+ * ForkJoinPool)}) that classifies the blocks of each refinement round, checks the pending c-valid blocks, and extracts
+ * the sub-sequences for the individual outputs of the ADS concurrently.
  *
  * @author frohme
  */
 @SuppressWarnings("nullness")
 public final class LeeYannakakis {
 
+    /**
+     * Minimum number of states for which the extraction of a sub-ADS is forked into a parallel task.
+     */
+    private static final int EXTRACTION_THRESHOLD = 8;
+
+    /**
+     * Number of tasks per worker thread into which the blocks (or pending partitions) of a refinement round are split.
+     * This balances the (highly varying) costs of individual blocks without forking a task for each of them.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
     private LeeYannakakis() {}
 
     /**
@@ -76,7 +99,7 @@ public final class LeeYannakakis {
     public static <S, I, O> LYResult<S, I, O> compute(final MealyMachine<S, I, ?, O> automaton,
                                                       final Alphabet<I> input) {
 
-        final SplitTreeResult<S, I, O> str = computeSplitTree(automaton, input);
+        final SplitTreeResult<S, I, O> str = computeSplitTree(automaton, input, null);
 
         if (str.isPresent()) {
             final Set<S> states = new HashSet<>(automaton.getStates());
@@ -84,14 +107,55 @@ public final class LeeYannakakis {
                                              str.get(),
                                              states,
                                              new ReflexiveMapView<>(states),
-                                             null));
+                                             null,
+                                             false));
+        }
+
+        return new LYResult<>(str.getIndistinguishableStates());
+    }
+
+    /**
+     * Computes an ADS using the algorithm of Lee and Yannakakis, distributing the independent work of each refinement
+     * round (and the extraction of the final ADS) among the threads of the given pool. The given automaton must not be
+     * modified during the computation.
+     *
+     * @param automaton
+     *         The automaton for which an ADS should be computed
+     * @param input
+     *         the input alphabet of the automaton
+     * @param pool
+     *         the pool used for executing the parallel computations
+     * @param <S>
+     *         (hypothesis) state type
+     * @param <I>
+     *         input alphabet type
+     * @param <O>
+     *         output alphabet type
+     *
+     * @return A {@link LYResult} containing an adaptive distinguishing sequence (if existent) and a possible set of
+     * indistinguishable states.
+     */
+    public static <S, I, O> LYResult<S, I, O> compute(final MealyMachine<S, I, ?, O> automaton,
+                                                      final Alphabet<I> input,
+                                                      final ForkJoinPool pool) {
+
+        final SplitTreeResult<S, I, O> str = computeSplitTree(automaton, input, pool);
+
+        if (str.isPresent()) {
+            final Set<S> states = new HashSet<>(automaton.getStates());
+            return new LYResult<>(pool.invoke(new ExtractionTask<>(automaton,
+                                                                   str.get(),
+                                                                   states,
+                                                                   new ReflexiveMapView<>(states),
+                                                                   null)));
         }
 
         return new LYResult<>(str.getIndistinguishableStates());
     }
 
     private static <S, I, O> SplitTreeResult<S, I, O> computeSplitTree(final MealyMachine<S, I, ?, O> automaton,
-                                                                       final Alphabet<I> input) {
+                                                                       final Alphabet<I> input,
+                                                                       final @Nullable ForkJoinPool pool) {
 
         final SplitTree<S, I, O> st = new SplitTree<>(new HashSet<>(automaton.getStates()));
         final Set<SplitTree<S, I, O>> leaves = Sets.newHashSetWithExpectedSize(automaton.size());
@@ -104,7 +168,7 @@ public final class LeeYannakakis {
                     leaves.stream().filter(x -> x.getPartition().size() == maxCardinality).collect(Collectors.toSet());
 
             final Map<Validity, Set<Pair<Word<I>, SplitTree<S, I, O>>>> validitySetMap =
-                    computeValidities(automaton, input, R, leaves);
+                    computeValidities(automaton, input, R, leaves, pool);
 
             if (!validitySetMap.get(Validity.INVALID).isEmpty()) {
                 final Set<Pair<Word<I>, SplitTree<S, I, O>>> set = validitySetMap.get(Validity.INVALID);
@@ -223,7 +287,8 @@ public final class LeeYannakakis {
                                                          final SplitTree<S, I, O> st,
                                                          final Set<S> currentSet,
                                                          final Map<S, S> currentToInitialMapping,
-                                                         final ADSNode<S, I, O> predecessor) {
+                                                         final ADSNode<S, I, O> predecessor,
+                                                         final boolean parallel) {
 
         if (currentSet.size() == 1) {
             final S currentNode = currentSet.iterator().next();
@@ -241,6 +306,9 @@ public final class LeeYannakakis {
 
         head.setParent(predecessor);
 
+        final List<O> outputs = new ArrayList<>(u.getSuccessors().size());
+        final List<ExtractionTask<S, I, O>> tasks = new ArrayList<>(u.getSuccessors().size());
+
         for (final Map.Entry<O, SplitTree<S, I, O>> entry : u.getSuccessors().entrySet()) {
 
             final O output = entry.getKey();
@@ -256,8 +324,21 @@ public final class LeeYannakakis {
 
                 final Set<S> nextCurrent =
                         intersection.stream().map(x -> u.getMapping().get(x)).collect(Collectors.toSet());
-                tail.getChildren()
-                    .put(output, extractADS(automaton, st, nextCurrent, nextCurrentToInitialMapping, tail));
+
+                if (parallel && nextCurrent.size() >= EXTRACTION_THRESHOLD) {
+                    outputs.add(output);
+                    tasks.add(new ExtractionTask<>(automaton, st, nextCurrent, nextCurrentToInitialMapping, tail));
+                } else {
+                    tail.getChildren()
+                        .put(output, extractADS(automaton, st, nextCurrent, nextCurrentToInitialMapping, tail, false));
+                }
+            }
+        }
+
+        if (!tasks.isEmpty()) {
+            ForkJoinTask.invokeAll(tasks);
+            for (int i = 0; i < tasks.size(); i++) {
+                tail.getChildren().put(outputs.get(i), tasks.get(i).join());
             }
         }
 
@@ -293,7 +374,8 @@ public final class LeeYannakakis {
     private static <S, I, O> Map<Validity, Set<Pair<Word<I>, SplitTree<S, I, O>>>> computeValidities(final MealyMachine<S, I, ?, O> automaton,
                                                                                                      final Alphabet<I> inputs,
                                                                                                      final Set<SplitTree<S, I, O>> R,
-                                                                                                     final Set<SplitTree<S, I, O>> pi) {
+                                                                                                     final Set<SplitTree<S, I, O>> pi,
+                                                                                                     final @Nullable ForkJoinPool pool) {
 
         final Map<Validity, Set<Pair<Word<I>, SplitTree<S, I, O>>>> result = new EnumMap<>(Validity.class);
         final Map<S, Integer> stateToPartitionMap = new HashMap<>();
@@ -322,111 +404,140 @@ public final class LeeYannakakis {
             implicationGraph.addIntNode();
         }
 
-        partitionLoop:
-        for (final SplitTree<S, I, O> B : R) {
-
-            // general validity
-            final Map<I, Boolean> validInputMap = Maps.newHashMapWithExpectedSize(inputs.size());
-            for (final I i : inputs) {
-                validInputMap.put(i, isValidInput(automaton, i, B.getPartition()));
+        // the classification of the individual blocks is independent of each other
+        final List<SplitTree<S, I, O>> blocks = new ArrayList<>(R);
+        final List<Classification<I>> classifications = new ArrayList<>(Collections.nCopies(blocks.size(), null));
+
+        invoke(pool,
+               blocks.size(),
+               b -> classifications.set(b, classify(automaton, inputs, blocks.get(b), stateToPartitionMap)));
+
+        for (int b = 0; b < blocks.size(); b++) {
+            final SplitTree<S, I, O> B = blocks.get(b);
+            final Classification<I> classification = classifications.get(b);
+            final Integer partition = stateToPartitionMap.get(B.getPartition().iterator().next());
+
+            switch (classification.validity) {
+                case A_VALID:
+                case B_VALID:
+                    result.get(classification.validity).add(Pair.of(Word.fromSymbols(classification.input), B));
+                    partitionToClassificationMap.put(partition, classification.validity);
+                    break;
+                case C_VALID:
+                    // we defer evaluation to later point in time, because we need to check if the target partitions are a- or b-valid
+                    for (int i = 0; i < classification.implicationInputs.size(); i++) {
+                        implicationGraph.connect(partition,
+                                                 classification.implicationTargets.get(i),
+                                                 classification.implicationInputs.get(i));
+                    }
+                    pendingCs.add(B);
+                    break;
+                default:
+                    result.get(Validity.INVALID).add(Pair.of(null, B));
             }
+        }
 
-            // a valid
-            for (final I i : inputs) {
+        //check remaining potential Cs
+        final List<SplitTree<S, I, O>> pendingList = new ArrayList<>(pendingCs);
+        final List<Word<I>> cValidWords = new ArrayList<>(Collections.nCopies(pendingList.size(), null));
+
+        invoke(pool, pendingList.size(), c -> {
+            final Integer pendingPartition = partitionToNodeMap.inverse().get(pendingList.get(c));
+            cValidWords.set(c, findCValidWord(implicationGraph, pendingPartition, partitionToClassificationMap));
+        });
+
+        for (int c = 0; c < pendingList.size(); c++) {
+            final Word<I> word = cValidWords.get(c);
+            if (word != null) {
+                result.get(Validity.C_VALID).add(Pair.of(word, pendingList.get(c)));
+            } else {
+                result.get(Validity.INVALID).add(Pair.of(null, pendingList.get(c)));
+            }
+        }
 
-                if (!validInputMap.get(i)) {
-                    continue;
-                }
+        return result;
+    }
 
-                final Set<O> outputs =
-                        B.getPartition().stream().map(s -> automaton.getOutput(s, i)).collect(Collectors.toSet());
+    private static <S, I, O> Classification<I> classify(final MealyMachine<S, I, ?, O> automaton,
+                                                        final Alphabet<I> inputs,
+                                                        final SplitTree<S, I, O> B,
+                                                        final Map<S, Integer> stateToPartitionMap) {
 
-                if (outputs.size() > 1) {
-                    result.get(Validity.A_VALID).add(Pair.of(Word.fromSymbols(i), B));
-                    partitionToClassificationMap.put(stateToPartitionMap.get(B.getPartition().iterator().next()),
-                                                     Validity.A_VALID);
-                    continue partitionLoop;
-                }
+        // general validity
+        final List<I> validInputs = new ArrayList<>(inputs.size());
+        for (final I i : inputs) {
+            if (isValidInput(automaton, i, B.getPartition())) {
+                validInputs.add(i);
             }
+        }
 
-            // b valid
-            for (final I i : inputs) {
+        // a valid
+        for (final I i : validInputs) {
+            final Set<O> outputs =
+                    B.getPartition().stream().map(s -> automaton.getOutput(s, i)).collect(Collectors.toSet());
 
-                if (!validInputMap.get(i)) {
-                    continue;
-                }
+            if (outputs.size() > 1) {
+                return new Classification<>(Validity.A_VALID, i);
+            }
+        }
 
-                final Set<Integer> successors = B.getPartition()
-                                                 .stream()
-                                                 .map(s -> stateToPartitionMap.get(automaton.getSuccessor(s, i)))
-                                                 .collect(Collectors.toSet());
+        // b valid
+        for (final I i : validInputs) {
+            final Set<Integer> successors = B.getPartition()
+                                             .stream()
+                                             .map(s -> stateToPartitionMap.get(automaton.getSuccessor(s, i)))
+                                             .collect(Collectors.toSet());
 
-                if (successors.size() > 1) {
-                    result.get(Validity.B_VALID).add(Pair.of(Word.fromSymbols(i), B));
-                    partitionToClassificationMap.put(stateToPartitionMap.get(B.getPartition().iterator().next()),
-                                                     Validity.B_VALID);
-                    continue partitionLoop;
-                }
+            if (successors.size() > 1) {
+                return new Classification<>(Validity.B_VALID, i);
             }
+        }
 
-            // c valid
-            // we defer evaluation to later point in time, because we need to check if the target partitions are a- or b-valid
-            for (final I i : inputs) {
-
-                if (!validInputMap.get(i)) {
-                    continue;
-                }
+        // c valid
+        final Classification<I> result = new Classification<>(Validity.C_VALID, null);
 
-                final S nodeInPartition = B.getPartition().iterator().next();
-                final S successor = automaton.getSuccessor(nodeInPartition, i);
+        for (final I i : validInputs) {
+            final S nodeInPartition = B.getPartition().iterator().next();
+            final S successor = automaton.getSuccessor(nodeInPartition, i);
 
-                final Integer partition = stateToPartitionMap.get(nodeInPartition);
-                final Integer successorPartition = stateToPartitionMap.get(successor);
+            final Integer partition = stateToPartitionMap.get(nodeInPartition);
+            final Integer successorPartition = stateToPartitionMap.get(successor);
 
-                if (!partition.equals(successorPartition)) {
-                    implicationGraph.connect(partition, successorPartition, i);
-                    pendingCs.add(B);
-                }
+            if (!partition.equals(successorPartition)) {
+                result.implicationInputs.add(i);
+                result.implicationTargets.add(successorPartition);
             }
+        }
 
-            if (pendingCs.contains(B)) {
-                continue partitionLoop;
-            }
+        //if we haven't returned up until here and there are no implications, there is no valid input
+        return result.implicationInputs.isEmpty() ? new Classification<>(Validity.INVALID, null) : result;
+    }
 
-            //if we haven't continued the loop up until here, there is no valid input
-            result.get(Validity.INVALID).add(Pair.of(null, B));
-        }
+    private static <I> @Nullable Word<I> findCValidWord(final CompactSimpleGraph<I> implicationGraph,
+                                                        final Integer pendingPartition,
+                                                        final Map<Integer, Validity> partitionToClassificationMap) {
 
-        //check remaining potential Cs
-        pendingCLoop:
-        for (final SplitTree<S, I, O> pendingC : pendingCs) {
-
-            final Integer pendingPartition = partitionToNodeMap.inverse().get(pendingC);
-            final Iterator<Integer> iter =
-                    GraphTraversal.bfIterator(implicationGraph, Collections.singleton(pendingPartition));
-
-            while (iter.hasNext()) {
-
-                final Integer successor = iter.next();
-                final Validity successorValidity = partitionToClassificationMap.get(successor);
-                if (successorValidity == Validity.A_VALID || successorValidity == Validity.B_VALID) {
-                    final Path<Integer, CompactEdge<I>> path = ShortestPaths.shortestPath(implicationGraph,
-                                                                                          pendingPartition,
-                                                                                          implicationGraph.size(),
-                                                                                          successor);
-                    assert path != null; // by construction should never be null
-                    final Word<I> word =
-                            path.edgeList().stream().map(CompactEdge::getProperty).collect(Word.collector());
-
-                    result.get(Validity.C_VALID).add(Pair.of(word, pendingC));
-                    continue pendingCLoop;
-                }
-            }
+        final Iterator<Integer> iter =
+                GraphTraversal.bfIterator(implicationGraph, Collections.singleton(pendingPartition));
 
-            result.get(Validity.INVALID).add(Pair.of(null, pendingC));
+        while (iter.hasNext()) {
+
+            final Integer successor = iter.next();
+            final Validity successorValidity = partitionToClassificationMap.get(successor);
+            if (successorValidity == Validity.A_VALID || successorValidity == Validity.B_VALID) {
+                final Path<Integer, CompactEdge<I>> path =
+                        ShortestPaths.shortestPath(implicationGraph, pendingPartition, implicationGraph.size(), successor);
+                assert path != null; // by construction should never be null
+                return path.edgeList().stream().map(CompactEdge::getProperty).collect(Word.collector());
+            }
         }
 
-        return result;
+        return null;
+    }
+
+    private static void invoke(final @Nullable ForkJoinPool pool, final int size, final IntConsumer action) {
+        final int numTasks = pool == null ? 1 : TASKS_PER_THREAD * pool.getParallelism();
+        ParallelRanges.forEach(pool, 0, size, Math.max(1, size / numTasks), action);
     }
 
     private enum Validity {
@@ -435,4 +546,51 @@ public final class LeeYannakakis {
         C_VALID,
         INVALID
     }
+
+    /**
+     * The validity of a single block. For (pending) c-valid blocks, the implications to the blocks of the successor
+     * states are stored.
+     */
+    private static final class Classification<I> {
+
+        private final Validity validity;
+        private final @Nullable I input;
+        private final List<I> implicationInputs;
+        private final List<Integer> implicationTargets;
+
+        Classification(final Validity validity, final @Nullable I input) {
+            this.validity = validity;
+            this.input = input;
+            this.implicationInputs = new ArrayList<>();
+            this.implicationTargets = new ArrayList<>();
+        }
+    }
+
+    private static final class ExtractionTask<S, I, O> extends RecursiveTask<ADSNode<S, I, O>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient MealyMachine<S, I, ?, O> automaton;
+        private final transient SplitTree<S, I, O> st;
+        private final transient Set<S> currentSet;
+        private final transient Map<S, S> currentToInitialMapping;
+        private final transient ADSNode<S, I, O> predecessor;
+
+        ExtractionTask(final MealyMachine<S, I, ?, O> automaton,
+                       final SplitTree<S, I, O> st,
+                       final Set<S> currentSet,
+                       final Map<S, S> currentToInitialMapping,
+                       final ADSNode<S, I, O> predecessor) {
+            this.automaton = automaton;
+            this.st = st;
+            this.currentSet = currentSet;
+            this.currentToInitialMapping = currentToInitialMapping;
+            this.predecessor = predecessor;
+        }
+
+        @Override
+        protected ADSNode<S, I, O> compute() {
+            return extractADS(automaton, st, currentSet, currentToInitialMapping, predecessor, true);
+        }
+    }
 }
@@ -29,6 +29,7 @@ import net.automatalib.graphs.ads.impl.ADSLeafNode;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A utility class for computing an adaptive distinguishing sequence by means of solving the state equivalence problems,
@@ -76,6 +77,47 @@ public final class StateEquivalence {
         return compute(automaton, input, node);
     }
 
+    /**
+     * Computes a two-state ADS like {@link #compute(MealyMachine, Alphabet, Set)}, but re-uses the separating words
+     * stored in the given transposition table and stores newly computed separating words in it.
+     *
+     * @param automaton
+     *         the automaton for which an ADS should be computed
+     * @param input
+     *         the input alphabet of the automaton
+     * @param states
+     *         the set of states which should be distinguished by the computed ADS
+     * @param table
+     *         the transposition table for caching separating words
+     * @param <S>
+     *         (hypothesis) state type
+     * @param <I>
+     *         input alphabet type
+     * @param <O>
+     *         output alphabet type
+     *
+     * @return {@code Optional.empty()} if there exists no ADS that distinguishes the given states, a valid ADS
+     * otherwise.
+     *
+     * @throws IllegalArgumentException
+     *         if passed anything other than two states, or if the table is already used for a different automaton.
+     */
+    public static <S, I, O> Optional<ADSNode<S, I, O>> compute(final MealyMachine<S, I, ?, O> automaton,
+                                                               final Alphabet<I> input,
+                                                               final Set<S> states,
+                                                               final TranspositionTable table) {
+
+        if (states.size() != 2) {
+            throw new IllegalArgumentException("StateEquivalence can only distinguish 2 states");
+        }
+
+        table.bind(automaton);
+
+        final SplitTree<S, I, O> node = new SplitTree<>(states, new ReflexiveMapView<>(states));
+
+        return compute(automaton, input, node, table);
+    }
+
     /**
      * See {@link #compute(MealyMachine, Alphabet, Set)}. Internal version, that uses the {@link SplitTree}
      * representation.
@@ -83,12 +125,23 @@ public final class StateEquivalence {
     static <S, I, O> Optional<ADSNode<S, I, O>> compute(final MealyMachine<S, I, ?, O> automaton,
                                                         final Alphabet<I> input,
                                                         final SplitTree<S, I, O> node) {
+        return compute(automaton, input, node, null);
+    }
+
+    /**
+     * See {@link #compute(MealyMachine, Alphabet, Set, TranspositionTable)}. Internal version, that uses the {@link
+     * SplitTree} representation and an optional transposition table.
+     */
+    static <S, I, O> Optional<ADSNode<S, I, O>> compute(final MealyMachine<S, I, ?, O> automaton,
+                                                        final Alphabet<I> input,
+                                                        final SplitTree<S, I, O> node,
+                                                        final @Nullable TranspositionTable table) {
 
         final Iterator<S> targetStateIterator = node.getPartition().iterator();
         final S s1 = targetStateIterator.next();
         final S s2 = targetStateIterator.next();
 
-        final Word<I> separatingWord = Automata.findSeparatingWord(automaton, s1, s2, input);
+        final Word<I> separatingWord = findSeparatingWord(automaton, input, node.getPartition(), s1, s2, table);
 
         // sep word may be non existent, if current hypothesis is not consistent
         if (separatingWord == null) {
@@ -113,4 +166,30 @@ public final class StateEquivalence {
 
         return Optional.of(head);
     }
+
+    private static <S, I> @Nullable Word<I> findSeparatingWord(final MealyMachine<S, I, ?, ?> automaton,
+                                                               final Alphabet<I> input,
+                                                               final Set<S> states,
+                                                               final S s1,
+                                                               final S s2,
+                                                               final @Nullable TranspositionTable table) {
+        if (table == null) {
+            return Automata.findSeparatingWord(automaton, s1, s2, input);
+        }
+
+        final TranspositionTable.Key key =
+                TranspositionTable.key(TranspositionTable.STATE_EQUIVALENCE, 0, states, automaton.stateIDs());
+
+        @SuppressWarnings("unchecked")
+        final Optional<Word<I>> cached = (Optional<Word<I>>) table.lookup(key);
+
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
+        // a separating word for (s1, s2) also separates (s2, s1)
+        final Word<I> result = Automata.findSeparatingWord(automaton, s1, s2, input);
+        table.store(key, Optional.ofNullable(result));
+        return result;
+    }
 }
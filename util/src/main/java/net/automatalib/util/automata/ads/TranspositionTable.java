@@ -0,0 +1,310 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.ads;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.automatalib.automata.concepts.StateIDs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A size-bounded cache for the (intermediate) results of ADS computations, which allows {@link BacktrackingSearch} and
+ * {@link StateEquivalence} to re-use the solutions of sub-problems that are reached via different input sequences.
+ * <p>
+ * Entries are keyed by a canonical encoding of the sub-problem, i.e. the sorted IDs of the current set of states. The
+ * solutions are stored independently of the mapping to the initial states and are re-mapped upon retrieval. The table
+ * counts hits, misses, and evictions which can be used for tuning its capacity.
+ * <p>
+ * A table stores the results for a single automaton only, but may be shared among several computations on the same
+ * automaton (and input alphabet). All operations are thread-safe: tables without a size bound are backed by a {@link
+ * ConcurrentHashMap}. Bounded tables are split into independently locked segments (selected by the hash of the key),
+ * each of which evicts its least recently used entries once it exceeds its share of the capacity. Hence, concurrent
+ * computations (such as the parallel variant of {@link BacktrackingSearch#computeOptimal}) only contend on accesses
+ * to the same segment, and evictions approximate a global LRU policy.
+ *
+ * @author frohme
+ */
+public final class TranspositionTable {
+
+    static final int STATE_EQUIVALENCE = 0;
+    static final int BACKTRACKING = 1;
+    static final int OPTIMAL = 2;
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final int capacity;
+    private final @Nullable Map<Key, Object> unbounded;
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    private @Nullable Object owner;
+
+    /**
+     * Constructor for a table without a size bound.
+     */
+    public TranspositionTable() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *         the maximum number of entries stored in this table
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+
+        this.capacity = capacity;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+
+        if (capacity == Integer.MAX_VALUE) {
+            this.unbounded = new ConcurrentHashMap<>();
+            this.segments = new Segment[0];
+            this.segmentMask = 0;
+        } else {
+            // each segment needs to be able to store at least one entry
+            final int numSegments = Math.min(MAX_SEGMENTS, Integer.highestOneBit(capacity));
+            this.unbounded = null;
+            this.segments = new Segment[numSegments];
+            this.segmentMask = numSegments - 1;
+
+            for (int i = 0; i < numSegments; i++) {
+                final int share = capacity / numSegments + (i < capacity % numSegments ? 1 : 0);
+                this.segments[i] = new Segment(share, evictions);
+            }
+        }
+    }
+
+    /**
+     * Returns the maximum number of entries stored in this table.
+     *
+     * @return the capacity of this table
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of entries currently stored in this table.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        if (unbounded != null) {
+            return unbounded.size();
+        }
+
+        int size = 0;
+        for (Segment s : segments) {
+            synchronized (s) {
+                size += s.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups that could be answered by this table.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that could not be answered by this table.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries that have been evicted due to the capacity of this table.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes all entries and resets the statistics of this table. Afterwards, the table may be used for a different
+     * automaton.
+     */
+    public synchronized void clear() {
+        if (unbounded != null) {
+            unbounded.clear();
+        }
+        for (Segment s : segments) {
+            synchronized (s) {
+                s.clear();
+            }
+        }
+        owner = null;
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * Binds this table to the given automaton.
+     *
+     * @throws IllegalArgumentException
+     *         if this table already stores results for a different automaton
+     */
+    synchronized void bind(Object automaton) {
+        if (owner == null) {
+            owner = automaton;
+        } else if (owner != automaton) {
+            throw new IllegalArgumentException("The transposition table is already used for a different automaton");
+        }
+    }
+
+    @Nullable Object lookup(Key key) {
+        final Object result;
+        if (unbounded != null) {
+            result = unbounded.get(key);
+        } else {
+            final Segment segment = segmentFor(key);
+            synchronized (segment) {
+                result = segment.get(key);
+            }
+        }
+
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    void store(Key key, Object value) {
+        if (unbounded != null) {
+            unbounded.put(key, value);
+        } else {
+            final Segment segment = segmentFor(key);
+            synchronized (segment) {
+                segment.put(key, value);
+            }
+        }
+    }
+
+    private Segment segmentFor(Key key) {
+        // scramble the hash, since the segments themselves distribute their entries by the lower bits of the hash
+        return segments[((key.hash * 0x9E3779B9) >>> 16) & segmentMask];
+    }
+
+    /**
+     * Computes the canonical key for the given set of states.
+     *
+     * @param type
+     *         the type of the stored result, distinguishing the results of different algorithms
+     * @param parameter
+     *         an additional parameter that influences the stored result
+     * @param states
+     *         the states
+     * @param stateIds
+     *         the state IDs of the automaton
+     * @param <S>
+     *         state type
+     *
+     * @return the canonical key
+     */
+    static <S> Key key(int type, int parameter, Collection<S> states, StateIDs<S> stateIds) {
+        final int[] data = new int[states.size() + 2];
+        int i = 2;
+        for (S s : states) {
+            data[i++] = stateIds.getStateId(s);
+        }
+        Arrays.sort(data, 2, data.length);
+        data[0] = type;
+        data[1] = parameter;
+        return new Key(data);
+    }
+
+    /**
+     * A segment of a bounded table, i.e. an access-ordered map that evicts its least recently used entry once it
+     * exceeds its capacity. Accesses need to be synchronized on the segment.
+     */
+    private static final class Segment extends LinkedHashMap<Key, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final transient LongAdder evictions;
+
+        Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    static final class Key {
+
+        private final int[] data;
+        private final int hash;
+
+        Key(int[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return hash == that.hash && Arrays.equals(data, that.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
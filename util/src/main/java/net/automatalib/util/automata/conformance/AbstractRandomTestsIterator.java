@@ -0,0 +1,230 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.common.collect.AbstractIterator;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Base class for iterators that randomly sample test words from a (hypothesis) automaton.
+ * <p>
+ * All randomness is drawn from a {@link SplittableRandom}. Hence, given the same seed, an iterator always yields the
+ * same sequence of test words. Via {@link #split()}, one can obtain further iterators with the same configuration whose
+ * random streams are statistically independent of the original one, yet reproducible. This allows to distribute the
+ * generation of tests over multiple threads (one iterator per thread) without sacrificing reproducibility.
+ * <p>
+ * The throughput of an iterator can be controlled by two knobs: the maximum number of test words (after which the
+ * iterator is exhausted) and a budget of test words per second. If the latter is positive, {@link #next()} blocks until
+ * the next word is due, which allows to bound the time spent on (e.g. an equivalence query of) a test run by {@code
+ * maxTests / wordsPerSecond} seconds. If the given automaton has no initial state, the iterator is empty.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+public abstract class AbstractRandomTestsIterator<I> extends AbstractIterator<Word<I>> {
+
+    protected final UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton;
+    protected final List<I> inputs;
+    protected final SplittableRandom random;
+
+    private final long maxTests;
+    private final double wordsPerSecond;
+    private final long nanosPerWord;
+    private final boolean empty;
+
+    private long numTests;
+    private long nextSlot;
+
+    /**
+     * Constructor.
+     *
+     * @param automaton
+     *         the automaton for which the test words should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test word generation
+     * @param random
+     *         the source of randomness
+     * @param maxTests
+     *         the maximum number of test words to generate
+     * @param wordsPerSecond
+     *         the maximum number of test words to generate per second. A non-positive value disables throttling
+     */
+    protected AbstractRandomTestsIterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                          Collection<? extends I> inputs,
+                                          SplittableRandom random,
+                                          long maxTests,
+                                          double wordsPerSecond) {
+        if (maxTests < 0) {
+            throw new IllegalArgumentException("The maximum number of tests must not be negative");
+        }
+
+        this.automaton = automaton;
+        this.inputs = new ArrayList<>(inputs);
+        this.random = random;
+        this.maxTests = maxTests;
+        this.wordsPerSecond = wordsPerSecond;
+        this.nanosPerWord = wordsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / wordsPerSecond) : 0;
+        this.empty = automaton.getInitialState() == null;
+    }
+
+    /**
+     * Returns a new iterator with the same configuration as this iterator, whose random stream is split off this
+     * iterator's random stream (see {@link SplittableRandom#split()}). Any budgets (maximum number of tests, words per
+     * second) apply to the returned iterator individually.
+     *
+     * @return the split-off iterator
+     */
+    public abstract AbstractRandomTestsIterator<I> split();
+
+    /**
+     * Generates the next test word.
+     *
+     * @return the next test word
+     */
+    protected abstract Word<I> generateWord();
+
+    /**
+     * Returns the maximum number of test words this iterator generates.
+     *
+     * @return the maximum number of test words
+     */
+    public long getMaxTests() {
+        return maxTests;
+    }
+
+    /**
+     * Returns the maximum number of test words this iterator generates per second.
+     *
+     * @return the maximum number of test words per second, a non-positive value denotes no limit
+     */
+    public double getWordsPerSecond() {
+        return wordsPerSecond;
+    }
+
+    /**
+     * Returns the number of test words that have been generated so far.
+     *
+     * @return the number of generated test words
+     */
+    public long getNumGeneratedTests() {
+        return numTests;
+    }
+
+    @Override
+    protected Word<I> computeNext() {
+        if (empty || numTests >= maxTests) {
+            return endOfData();
+        }
+
+        throttle();
+        numTests++;
+        return generateWord();
+    }
+
+    private void throttle() {
+        if (nanosPerWord <= 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        if (numTests > 0) {
+            while (now - nextSlot < 0) {
+                LockSupport.parkNanos(nextSlot - now);
+                now = System.nanoTime();
+            }
+        }
+
+        // do not accumulate credit if the consumer is slower than the budget
+        nextSlot = now + nanosPerWord;
+    }
+
+    /**
+     * Appends a uniformly chosen input symbol with a defined transition in the given state to the given word builder
+     * and returns the respective successor.
+     *
+     * @return the successor state, or {@code null} if the given state has no defined transitions
+     */
+    protected static <S, I> @Nullable S randomStep(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                                   S state,
+                                                   List<I> inputs,
+                                                   SplittableRandom random,
+                                                   WordBuilder<I> wb) {
+        final int numInputs = inputs.size();
+
+        if (numInputs == 0) {
+            return null;
+        }
+
+        // fast path for total automata, conditioned on being defined, this choice is uniform as well
+        final I guess = inputs.get(random.nextInt(numInputs));
+        final S guessSucc = automaton.getSuccessor(state, guess);
+
+        if (guessSucc != null) {
+            wb.append(guess);
+            return guessSucc;
+        }
+
+        // reservoir sampling over the defined transitions
+        @Nullable S succ = null;
+        int input = -1;
+        int count = 0;
+
+        for (int i = 0; i < numInputs; i++) {
+            final S s = automaton.getSuccessor(state, inputs.get(i));
+            if (s != null && random.nextInt(++count) == 0) {
+                input = i;
+                succ = s;
+            }
+        }
+
+        if (succ != null) {
+            wb.append(inputs.get(input));
+        }
+
+        return succ;
+    }
+
+    /**
+     * Draws a uniformly distributed length from the (inclusive) interval {@code [minLength, maxLength]}.
+     */
+    protected static int randomLength(SplittableRandom random, int minLength, int maxLength) {
+        return minLength == maxLength ? minLength : random.nextInt(minLength, maxLength + 1);
+    }
+
+    /**
+     * Validates the given (inclusive) length interval.
+     */
+    protected static void checkLengths(int minLength, int maxLength) {
+        if (minLength < 0 || maxLength < minLength) {
+            throw new IllegalArgumentException("Invalid length interval [" + minLength + ", " + maxLength + ']');
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import net.automatalib.words.WordBuilder;
+
+/**
+ * A random-access view on the tuples enumerated by {@link net.automatalib.commons.util.collections.CollectionsUtil#allTuples(Iterable,
+ * int, int)} (with a minimum length of {@code 0}). The {@code i}-th tuple of this view is the {@code i}-th tuple
+ * returned by the corresponding iterator, which allows to decode arbitrary (sub-)ranges of the tuple space without
+ * iterating over all preceding tuples.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+final class IndexedTuples<I> {
+
+    private final List<I> domain;
+    private final long[] offsets;
+
+    /**
+     * Constructor.
+     *
+     * @param domain
+     *         the domain of the tuple elements
+     * @param maxLength
+     *         the maximum length of the tuples
+     *
+     * @throws ArithmeticException
+     *         if the number of tuples exceeds {@link Long#MAX_VALUE}
+     */
+    IndexedTuples(Collection<? extends I> domain, int maxLength) {
+        this.domain = new ArrayList<>(domain);
+
+        // the empty domain only yields the empty tuple
+        final int numLengths = this.domain.isEmpty() ? 1 : maxLength + 1;
+        this.offsets = new long[numLengths + 1];
+
+        long count = 1;
+        for (int i = 0; i < numLengths; i++) {
+            offsets[i + 1] = Math.addExact(offsets[i], count);
+            count = Math.multiplyExact(count, this.domain.size());
+        }
+    }
+
+    /**
+     * Returns the total number of tuples.
+     *
+     * @return the total number of tuples
+     */
+    long size() {
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * Returns the length of the tuple with the given index.
+     *
+     * @param index
+     *         the index of the tuple
+     *
+     * @return the length of the tuple with the given index
+     */
+    int length(long index) {
+        int length = 0;
+        while (offsets[length + 1] <= index) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Appends the symbols of the tuple with the given index to the given word builder.
+     *
+     * @param index
+     *         the index of the tuple
+     * @param wb
+     *         the word builder to append the symbols to
+     */
+    void append(long index, WordBuilder<I> wb) {
+        final int length = length(index);
+        final int base = domain.size();
+
+        // like AllTuplesIterator, the first position is the least significant one
+        long rem = index - offsets[length];
+        for (int i = 0; i < length; i++) {
+            wb.append(domain.get((int) (rem % base)));
+            rem /= base;
+        }
+    }
+}
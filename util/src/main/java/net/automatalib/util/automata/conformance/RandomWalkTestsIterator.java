@@ -0,0 +1,116 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Iterator that returns test words generated by random walks through the given automaton. Each walk starts in the
+ * initial state and has a uniformly distributed length from the interval {@code [minLength, maxLength]}. In each step,
+ * the next input symbol is chosen uniformly from the input symbols with a defined transition. If a state without
+ * defined transitions is reached, the walk is terminated early.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ * @see AbstractRandomTestsIterator
+ */
+public class RandomWalkTestsIterator<I> extends AbstractRandomTestsIterator<I> {
+
+    private final int minLength;
+    private final int maxLength;
+
+    /**
+     * Constructor. Convenience constructor for an unthrottled iterator.
+     *
+     * @see #RandomWalkTestsIterator(UniversalDeterministicAutomaton, Collection, SplittableRandom, int, int, long,
+     * double)
+     */
+    public RandomWalkTestsIterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                   Collection<? extends I> inputs,
+                                   SplittableRandom random,
+                                   int minLength,
+                                   int maxLength,
+                                   long maxTests) {
+        this(automaton, inputs, random, minLength, maxLength, maxTests, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param automaton
+     *         the automaton for which the test words should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test word generation
+     * @param random
+     *         the source of randomness
+     * @param minLength
+     *         the minimum length of the random walks
+     * @param maxLength
+     *         the maximum length of the random walks
+     * @param maxTests
+     *         the maximum number of test words to generate
+     * @param wordsPerSecond
+     *         the maximum number of test words to generate per second. A non-positive value disables throttling
+     */
+    public RandomWalkTestsIterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                   Collection<? extends I> inputs,
+                                   SplittableRandom random,
+                                   int minLength,
+                                   int maxLength,
+                                   long maxTests,
+                                   double wordsPerSecond) {
+        super(automaton, inputs, random, maxTests, wordsPerSecond);
+        checkLengths(minLength, maxLength);
+
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public RandomWalkTestsIterator<I> split() {
+        return new RandomWalkTestsIterator<>(automaton,
+                                             inputs,
+                                             random.split(),
+                                             minLength,
+                                             maxLength,
+                                             getMaxTests(),
+                                             getWordsPerSecond());
+    }
+
+    @Override
+    protected Word<I> generateWord() {
+        return walk(automaton, randomLength(random, minLength, maxLength));
+    }
+
+    private <S> Word<I> walk(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton, int length) {
+        final WordBuilder<I> wb = new WordBuilder<>(length);
+
+        @Nullable S state = automaton.getInitialState();
+        for (int i = 0; i < length && state != null; i++) {
+            state = randomStep(automaton, state, inputs, random, wb);
+        }
+
+        return wb.toWord();
+    }
+}
@@ -0,0 +1,207 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.cover.CoverTrie;
+import net.automatalib.util.automata.cover.Covers;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Iterator that returns test words generated by a randomized variant of the partial W method (cf. {@link
+ * WpMethodTestsIterator}).
+ * <p>
+ * Each test word consists of three parts: a randomly chosen access sequence of the state cover, a random middle part
+ * and a randomly chosen characterizing suffix. The middle part consists of at least {@code minimalSize} symbols and is
+ * extended by a geometrically distributed number of further symbols with mean {@code rndLength} (the middle part
+ * follows defined transitions only). With equal probability, the suffix is chosen from the global characterizing set
+ * of the automaton or from the characterizing set of the state reached by the prefix and middle part. Local
+ * characterizing sets are computed lazily.
+ * <p>
+ * State cover and global characterizing set are computed once and shared with any iterator obtained via {@link
+ * #split()}.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ * @see AbstractRandomTestsIterator
+ */
+public class RandomWpMethodTestsIterator<I> extends AbstractRandomTestsIterator<I> {
+
+    private final int minimalSize;
+    private final int rndLength;
+
+    private final CoverTrie<I> stateCover;
+    private final List<Word<I>> globalSuffixes;
+    private final @Nullable List<Word<I>>[] localSuffixes;
+
+    /**
+     * Constructor. Convenience constructor for an unthrottled iterator.
+     *
+     * @see #RandomWpMethodTestsIterator(UniversalDeterministicAutomaton, Collection, SplittableRandom, int, int, long,
+     * double)
+     */
+    public RandomWpMethodTestsIterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                       Collection<? extends I> inputs,
+                                       SplittableRandom random,
+                                       int minimalSize,
+                                       int rndLength,
+                                       long maxTests) {
+        this(automaton, inputs, random, minimalSize, rndLength, maxTests, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param automaton
+     *         the automaton for which the test words should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test word generation
+     * @param random
+     *         the source of randomness
+     * @param minimalSize
+     *         the minimal length of the middle part of the test words
+     * @param rndLength
+     *         the expected number of additional symbols of the middle part of the test words
+     * @param maxTests
+     *         the maximum number of test words to generate
+     * @param wordsPerSecond
+     *         the maximum number of test words to generate per second. A non-positive value disables throttling
+     */
+    public RandomWpMethodTestsIterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                       Collection<? extends I> inputs,
+                                       SplittableRandom random,
+                                       int minimalSize,
+                                       int rndLength,
+                                       long maxTests,
+                                       double wordsPerSecond) {
+        this(automaton,
+             inputs,
+             random,
+             minimalSize,
+             rndLength,
+             maxTests,
+             wordsPerSecond,
+             Covers.coverTrie(automaton, inputs),
+             globalSuffixes(automaton, inputs));
+    }
+
+    private RandomWpMethodTestsIterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                        Collection<? extends I> inputs,
+                                        SplittableRandom random,
+                                        int minimalSize,
+                                        int rndLength,
+                                        long maxTests,
+                                        double wordsPerSecond,
+                                        CoverTrie<I> stateCover,
+                                        List<Word<I>> globalSuffixes) {
+        super(automaton, inputs, random, maxTests, wordsPerSecond);
+
+        if (minimalSize < 0 || rndLength < 0) {
+            throw new IllegalArgumentException("Lengths must not be negative");
+        }
+
+        this.minimalSize = minimalSize;
+        this.rndLength = rndLength;
+        this.stateCover = stateCover;
+        this.globalSuffixes = globalSuffixes;
+
+        @SuppressWarnings("unchecked")
+        final @Nullable List<Word<I>>[] localSuffixes = (List<Word<I>>[]) new List<?>[automaton.size()];
+        this.localSuffixes = localSuffixes;
+    }
+
+    private static <I> List<Word<I>> globalSuffixes(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                    Collection<? extends I> inputs) {
+        final List<Word<I>> result = Automata.characterizingSet(automaton, inputs);
+        return result.isEmpty() ? Collections.singletonList(Word.epsilon()) : result;
+    }
+
+    @Override
+    public RandomWpMethodTestsIterator<I> split() {
+        return new RandomWpMethodTestsIterator<>(automaton,
+                                                 inputs,
+                                                 random.split(),
+                                                 minimalSize,
+                                                 rndLength,
+                                                 getMaxTests(),
+                                                 getWordsPerSecond(),
+                                                 stateCover,
+                                                 globalSuffixes);
+    }
+
+    @Override
+    protected Word<I> generateWord() {
+        return generate(automaton);
+    }
+
+    private <S> Word<I> generate(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton) {
+        final WordBuilder<I> wb = new WordBuilder<>();
+
+        // prefix
+        final Word<I> prefix = stateCover.getAccessSequence(random.nextInt(stateCover.size()));
+        wb.append(prefix);
+
+        @SuppressWarnings("nullness") // access sequences have been computed on defined transitions
+        @NonNull S state = automaton.getState(prefix);
+
+        // middle part
+        final double stopProbability = 1.0 / (rndLength + 1);
+        int size = minimalSize;
+
+        while (size > 0 || random.nextDouble() > stopProbability) {
+            final S succ = randomStep(automaton, state, inputs, random, wb);
+            if (succ == null) {
+                break;
+            }
+            state = succ;
+            if (size > 0) {
+                size--;
+            }
+        }
+
+        // suffix
+        final List<Word<I>> suffixes = random.nextBoolean() ? globalSuffixes : localSuffixes(automaton, state);
+        wb.append(suffixes.get(random.nextInt(suffixes.size())));
+
+        return wb.toWord();
+    }
+
+    private <S> List<Word<I>> localSuffixes(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton, S state) {
+        final int id = automaton.stateIDs().getStateId(state);
+        List<Word<I>> result = localSuffixes[id];
+
+        if (result == null) {
+            result = Automata.stateCharacterizingSet(automaton, inputs, state);
+            if (result.isEmpty()) {
+                result = Collections.singletonList(Word.epsilon());
+            }
+            localSuffixes[id] = result;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,262 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A utility for eliminating redundant words of a test suite. Every word of a test suite that is a prefix of another word
+ * of the same suite is implicitly tested by executing the longer word (assuming that outputs are observed after each
+ * symbol), hence only the maximal words of a test suite need to be executed.
+ * <p>
+ * Words are streamed into a prefix trie via {@link #add(Word)} (or {@link #addAll(Iterator)}), e.g., directly from a
+ * {@link WMethodTestsIterator}, {@link WpMethodTestsIterator} or {@link IncrementalWMethodTestsIterator}. Since any
+ * later word may extend a previously added one, the maximal words can only be determined once all words have been
+ * added. They are returned in a depth-first order of the trie, i.e., consecutive words share their longest common
+ * prefixes. This compactor also keeps track of the number of words (and thus resets) and symbols that are saved by
+ * only executing the maximal words.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+public class TestSuiteCompactor<I> {
+
+    private final Node<I> root = new Node<>();
+
+    private long numWords;
+    private long numSymbols;
+    private long numMaximalWords;
+    private long numMaximalSymbols;
+
+    /**
+     * Convenience method for computing the maximal words of the given test suite.
+     *
+     * @param words
+     *         the words of the test suite
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the maximal words of the given test suite, in depth-first order of their prefix trie
+     */
+    public static <I> List<Word<I>> compact(Iterator<? extends Word<I>> words) {
+        final TestSuiteCompactor<I> compactor = new TestSuiteCompactor<>();
+        compactor.addAll(words);
+        return compactor.getMaximalWords();
+    }
+
+    /**
+     * Adds the given word to the test suite.
+     *
+     * @param word
+     *         the word to add
+     */
+    public void add(Word<? extends I> word) {
+        numWords++;
+        numSymbols += word.length();
+
+        Node<I> node = root;
+        int depth = 0;
+        final int length = word.length();
+
+        while (depth < length) {
+            final Node<I> succ = node.getChild(word.getSymbol(depth));
+            if (succ == null) {
+                break;
+            }
+            node = succ;
+            depth++;
+        }
+
+        if (depth == length) {
+            // the root is the only node that may be a non-terminal leaf
+            if (!node.terminal && node.isLeaf()) {
+                numMaximalWords++;
+            }
+            node.terminal = true;
+            return;
+        }
+
+        if (node.isLeaf() && node.terminal) {
+            // the extended word is no longer maximal
+            numMaximalWords--;
+            numMaximalSymbols -= depth;
+        }
+
+        while (depth < length) {
+            node = node.addChild(word.getSymbol(depth++));
+        }
+        node.terminal = true;
+
+        numMaximalWords++;
+        numMaximalSymbols += length;
+    }
+
+    /**
+     * Adds all words of the given iterator to the test suite.
+     *
+     * @param words
+     *         the words to add
+     */
+    public void addAll(Iterator<? extends Word<? extends I>> words) {
+        while (words.hasNext()) {
+            add(words.next());
+        }
+    }
+
+    /**
+     * Returns the maximal words of the test suite, i.e., all added words that are no proper prefix of another added
+     * word. Duplicate words are only returned once. The words are returned in a depth-first order of the prefix trie.
+     *
+     * @return the maximal words of the test suite
+     */
+    public List<Word<I>> getMaximalWords() {
+        if (numMaximalWords == 0) {
+            return Collections.emptyList();
+        }
+
+        final List<Word<I>> result = new ArrayList<>((int) Math.min(numMaximalWords, Integer.MAX_VALUE));
+        final WordBuilder<I> wb = new WordBuilder<>();
+        final Deque<Iterator<Map.Entry<I, Node<I>>>> stack = new ArrayDeque<>();
+
+        if (root.isLeaf()) {
+            result.add(Word.epsilon());
+            return result;
+        }
+
+        stack.push(root.children().iterator());
+
+        while (!stack.isEmpty()) {
+            final Iterator<Map.Entry<I, Node<I>>> iter = stack.peek();
+
+            if (!iter.hasNext()) {
+                stack.pop();
+                if (!wb.isEmpty()) {
+                    wb.truncate(wb.size() - 1);
+                }
+                continue;
+            }
+
+            final Map.Entry<I, Node<I>> edge = iter.next();
+            final Node<I> child = edge.getValue();
+            wb.append(edge.getKey());
+
+            if (child.isLeaf()) {
+                result.add(wb.toWord());
+                wb.truncate(wb.size() - 1);
+            } else {
+                stack.push(child.children().iterator());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of words (including duplicates) that have been added to the test suite.
+     *
+     * @return the number of added words
+     */
+    public long getNumWords() {
+        return numWords;
+    }
+
+    /**
+     * Returns the total number of symbols of all words that have been added to the test suite.
+     *
+     * @return the number of added symbols
+     */
+    public long getNumSymbols() {
+        return numSymbols;
+    }
+
+    /**
+     * Returns the number of maximal words of the test suite.
+     *
+     * @return the number of maximal words
+     */
+    public long getNumMaximalWords() {
+        return numMaximalWords;
+    }
+
+    /**
+     * Returns the total number of symbols of all maximal words of the test suite.
+     *
+     * @return the number of symbols of the maximal words
+     */
+    public long getNumMaximalSymbols() {
+        return numMaximalSymbols;
+    }
+
+    /**
+     * Returns the number of words (and thus resets) that are saved by only executing the maximal words of the test
+     * suite.
+     *
+     * @return the number of saved words
+     */
+    public long getSavedWords() {
+        return numWords - numMaximalWords;
+    }
+
+    /**
+     * Returns the number of symbols that are saved by only executing the maximal words of the test suite.
+     *
+     * @return the number of saved symbols
+     */
+    public long getSavedSymbols() {
+        return numSymbols - numMaximalSymbols;
+    }
+
+    private static final class Node<I> {
+
+        private @Nullable Map<I, Node<I>> children;
+        private boolean terminal;
+
+        @Nullable Node<I> getChild(I symbol) {
+            return children == null ? null : children.get(symbol);
+        }
+
+        Node<I> addChild(I symbol) {
+            if (children == null) {
+                children = new LinkedHashMap<>(4);
+            }
+            final Node<I> child = new Node<>();
+            children.put(symbol, child);
+            return child;
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        Iterable<Map.Entry<I, Node<I>>> children() {
+            assert children != null;
+            return children.entrySet();
+        }
+    }
+}
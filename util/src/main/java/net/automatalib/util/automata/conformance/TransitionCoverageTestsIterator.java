@@ -0,0 +1,171 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Iterator that returns test words generated by transition-coverage-guided random walks through the given automaton.
+ * <p>
+ * Similar to {@link RandomWalkTestsIterator}, each walk starts in the initial state and has a uniformly distributed
+ * length from the interval {@code [minLength, maxLength]}. However, the iterator keeps track of how often each
+ * transition has been traversed by previously generated test words, and in each step chooses (uniformly) among the
+ * defined transitions that have been traversed least often. As a result, uncovered transitions are preferred and the
+ * generated test words quickly cover the reachable transitions of the automaton, while the remaining choices are still
+ * randomized.
+ * <p>
+ * Iterators obtained via {@link #split()} start with empty coverage information.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ * @see AbstractRandomTestsIterator
+ */
+public class TransitionCoverageTestsIterator<I> extends AbstractRandomTestsIterator<I> {
+
+    private final int minLength;
+    private final int maxLength;
+
+    private final int[] visits;
+    private int numCovered;
+
+    /**
+     * Constructor. Convenience constructor for an unthrottled iterator.
+     *
+     * @see #TransitionCoverageTestsIterator(UniversalDeterministicAutomaton, Collection, SplittableRandom, int, int,
+     * long, double)
+     */
+    public TransitionCoverageTestsIterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                           Collection<? extends I> inputs,
+                                           SplittableRandom random,
+                                           int minLength,
+                                           int maxLength,
+                                           long maxTests) {
+        this(automaton, inputs, random, minLength, maxLength, maxTests, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param automaton
+     *         the automaton for which the test words should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test word generation
+     * @param random
+     *         the source of randomness
+     * @param minLength
+     *         the minimum length of the random walks
+     * @param maxLength
+     *         the maximum length of the random walks
+     * @param maxTests
+     *         the maximum number of test words to generate
+     * @param wordsPerSecond
+     *         the maximum number of test words to generate per second. A non-positive value disables throttling
+     */
+    public TransitionCoverageTestsIterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                           Collection<? extends I> inputs,
+                                           SplittableRandom random,
+                                           int minLength,
+                                           int maxLength,
+                                           long maxTests,
+                                           double wordsPerSecond) {
+        super(automaton, inputs, random, maxTests, wordsPerSecond);
+        checkLengths(minLength, maxLength);
+
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.visits = new int[automaton.size() * this.inputs.size()];
+    }
+
+    @Override
+    public TransitionCoverageTestsIterator<I> split() {
+        return new TransitionCoverageTestsIterator<>(automaton,
+                                                     inputs,
+                                                     random.split(),
+                                                     minLength,
+                                                     maxLength,
+                                                     getMaxTests(),
+                                                     getWordsPerSecond());
+    }
+
+    /**
+     * Returns the number of (distinct) transitions that have been traversed by the test words generated so far.
+     *
+     * @return the number of covered transitions
+     */
+    public int getNumCoveredTransitions() {
+        return numCovered;
+    }
+
+    @Override
+    protected Word<I> generateWord() {
+        return walk(automaton, randomLength(random, minLength, maxLength));
+    }
+
+    private <S> Word<I> walk(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton, int length) {
+        final StateIDs<S> stateIDs = automaton.stateIDs();
+        final int numInputs = inputs.size();
+        final WordBuilder<I> wb = new WordBuilder<>(length);
+
+        @Nullable S state = automaton.getInitialState();
+
+        for (int step = 0; step < length && state != null; step++) {
+            final int base = stateIDs.getStateId(state) * numInputs;
+
+            @Nullable S succ = null;
+            int input = -1;
+            int minVisits = Integer.MAX_VALUE;
+            int count = 0;
+
+            for (int i = 0; i < numInputs; i++) {
+                final S s = automaton.getSuccessor(state, inputs.get(i));
+                if (s == null) {
+                    continue;
+                }
+
+                final int v = visits[base + i];
+                if (v < minVisits) {
+                    minVisits = v;
+                    count = 1;
+                    input = i;
+                    succ = s;
+                } else if (v == minVisits && random.nextInt(++count) == 0) {
+                    input = i;
+                    succ = s;
+                }
+            }
+
+            if (succ != null) {
+                if (visits[base + input]++ == 0) {
+                    numCovered++;
+                }
+                wb.append(inputs.get(input));
+            }
+
+            state = succ;
+        }
+
+        return wb.toWord();
+    }
+}
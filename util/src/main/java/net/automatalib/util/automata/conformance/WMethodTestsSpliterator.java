@@ -0,0 +1,175 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.util.automata.cover.Covers;
+import net.automatalib.util.automata.equivalence.CharacterizingSets;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link Spliterator} that returns test words generated by the W method. In contrast to the {@link
+ * WMethodTestsIterator}, this spliterator supports efficient splitting and exact size estimation, which allows to
+ * generate (large) test suites in parallel, e.g., via {@link java.util.stream.StreamSupport#stream(Spliterator,
+ * boolean)}.
+ * <p>
+ * The transition cover and the characterizing set are computed eagerly upon construction. Each test word is
+ * identified by its index in the (middle part &times; prefix &times; suffix) product space, so splitting a spliterator
+ * simply halves its index range and each word is decoded independently of the others. The encounter order of the
+ * returned words is identical to the one of the {@link WMethodTestsIterator}.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ * @see WMethodTestsIterator
+ */
+public final class WMethodTestsSpliterator<I> implements Spliterator<Word<I>> {
+
+    private final IndexedTuples<I> middleParts;
+    private final List<Word<I>> prefixes;
+    private final List<Word<I>> suffixes;
+
+    private final WordBuilder<I> wordBuilder = new WordBuilder<>();
+
+    private long index;
+    private final long fence;
+
+    /**
+     * Constructor.
+     *
+     * @param automaton
+     *         the automaton for which the testing sequences should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test sequence generation
+     * @param maxDepth
+     *         the maximum number of symbols that are appended to the transition-cover part of the test sequences
+     *
+     * @throws ArithmeticException
+     *         if the size of the test suite exceeds {@link Long#MAX_VALUE}
+     */
+    public WMethodTestsSpliterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                   Collection<? extends I> inputs,
+                                   int maxDepth) {
+        this(new IndexedTuples<>(inputs, maxDepth),
+             Lists.newArrayList(Covers.transitionCoverIterator(automaton, inputs)),
+             computeSuffixes(automaton, inputs));
+    }
+
+    WMethodTestsSpliterator(IndexedTuples<I> middleParts, List<Word<I>> prefixes, List<Word<I>> suffixes) {
+        this(middleParts,
+             prefixes,
+             suffixes,
+             0,
+             Math.multiplyExact(Math.multiplyExact(middleParts.size(), prefixes.size()), suffixes.size()));
+    }
+
+    private WMethodTestsSpliterator(IndexedTuples<I> middleParts,
+                                    List<Word<I>> prefixes,
+                                    List<Word<I>> suffixes,
+                                    long index,
+                                    long fence) {
+        this.middleParts = middleParts;
+        this.prefixes = prefixes;
+        this.suffixes = suffixes;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    private static <I> List<Word<I>> computeSuffixes(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                     Collection<? extends I> inputs) {
+        final Iterator<Word<I>> characterizingSet = CharacterizingSets.characterizingSetIterator(automaton, inputs);
+
+        // Special case: List of characterizing suffixes may be empty,
+        // but in this case we still need to iterate over the prefixes!
+        if (!characterizingSet.hasNext()) {
+            return Collections.singletonList(Word.epsilon());
+        }
+
+        final List<Word<I>> result = new ArrayList<>();
+        characterizingSet.forEachRemaining(result::add);
+        return result;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Word<I>> action) {
+        if (index < fence) {
+            action.accept(wordAt(index++));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Word<I>> action) {
+        final long end = fence;
+        for (long i = index; i < end; i++) {
+            action.accept(wordAt(i));
+        }
+        index = end;
+    }
+
+    @Override
+    public @Nullable Spliterator<Word<I>> trySplit() {
+        final long lo = index;
+        final long mid = (lo + fence) >>> 1;
+
+        if (lo >= mid) {
+            return null;
+        }
+
+        index = mid;
+        return new WMethodTestsSpliterator<>(middleParts, prefixes, suffixes, lo, mid);
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    private Word<I> wordAt(long idx) {
+        final int numSuffixes = suffixes.size();
+        final int numPrefixes = prefixes.size();
+
+        final Word<I> suffix = suffixes.get((int) (idx % numSuffixes));
+        final long rem = idx / numSuffixes;
+        final Word<I> prefix = prefixes.get((int) (rem % numPrefixes));
+        final long middle = rem / numPrefixes;
+
+        wordBuilder.ensureAdditionalCapacity(prefix.size() + middleParts.length(middle) + suffix.size());
+        wordBuilder.append(prefix);
+        middleParts.append(middle, wordBuilder);
+        final Word<I> word = wordBuilder.append(suffix).toWord();
+        wordBuilder.clear();
+        return word;
+    }
+}
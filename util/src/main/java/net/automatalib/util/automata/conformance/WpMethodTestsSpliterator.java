@@ -0,0 +1,296 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.google.common.collect.Sets;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.commons.util.mappings.MutableMapping;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.cover.Covers;
+import net.automatalib.util.automata.equivalence.CharacterizingSets;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link Spliterator} that returns test words generated by the partial W method. In contrast to the {@link
+ * WpMethodTestsIterator}, this spliterator supports efficient splitting, which allows to generate (large) test suites
+ * in parallel, e.g., via {@link java.util.stream.StreamSupport#stream(Spliterator, boolean)}.
+ * <p>
+ * The first phase (state cover &times; middle part &times; global suffixes) is handled by a {@link
+ * WMethodTestsSpliterator} and is therefore exactly sized. In the second phase (remaining transition cover &times;
+ * middle part &times; local suffixes), the number of suffixes depends on the state reached by a (prefix, middle part)
+ * pair. Hence, this phase is split along these pairs and its size is only estimated based on the average size of the
+ * local suffix sets. The local suffix sets are computed once for all states of the automaton upon construction. The
+ * encounter order of the returned words is identical to the one of the {@link WpMethodTestsIterator}.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ * @see WpMethodTestsIterator
+ */
+public final class WpMethodTestsSpliterator<I> implements Spliterator<Word<I>> {
+
+    private @Nullable Spliterator<Word<I>> firstPhase;
+    private final Spliterator<Word<I>> secondPhase;
+
+    /**
+     * Constructor.
+     *
+     * @param automaton
+     *         the automaton for which the testing sequences should be generated
+     * @param inputs
+     *         the input symbols that should be considered for test sequence generation
+     * @param maxDepth
+     *         the maximum number of symbols that are appended to the transition-cover part of the test sequences
+     *
+     * @throws ArithmeticException
+     *         if the number of (prefix, middle part, suffix) combinations of a phase exceeds {@link Long#MAX_VALUE}
+     */
+    public WpMethodTestsSpliterator(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                    Collection<? extends I> inputs,
+                                    int maxDepth) {
+
+        final Set<Word<I>> stateCover = Sets.newHashSetWithExpectedSize(automaton.size());
+        final Set<Word<I>> transitionCover = Sets.newHashSetWithExpectedSize(automaton.size() * inputs.size());
+
+        Covers.cover(automaton, inputs, stateCover, transitionCover);
+
+        final List<Word<I>> characterizingSet = new ArrayList<>();
+        final Iterator<Word<I>> characterizingIter = CharacterizingSets.characterizingSetIterator(automaton, inputs);
+
+        // Special case: List of characterizing suffixes may be empty,
+        // but in this case we still need to iterate over the prefixes!
+        if (!characterizingIter.hasNext()) {
+            characterizingSet.add(Word.epsilon());
+        } else {
+            characterizingIter.forEachRemaining(characterizingSet::add);
+        }
+
+        final IndexedTuples<I> middleParts = new IndexedTuples<>(inputs, maxDepth);
+
+        // Phase 1: state cover * middle part * global suffixes
+        this.firstPhase =
+                new WMethodTestsSpliterator<>(middleParts, new ArrayList<>(stateCover), characterizingSet);
+
+        // Phase 2: transitions (not in state cover) * middle part * local suffixes
+        transitionCover.removeAll(stateCover);
+        this.secondPhase = createSecondPhase(automaton, inputs, new ArrayList<>(transitionCover), middleParts);
+    }
+
+    private WpMethodTestsSpliterator(Spliterator<Word<I>> secondPhase) {
+        this.secondPhase = secondPhase;
+    }
+
+    private static <S, I> Spliterator<Word<I>> createSecondPhase(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                                                 Collection<? extends I> inputs,
+                                                                 List<Word<I>> prefixes,
+                                                                 IndexedTuples<I> middleParts) {
+        final MutableMapping<S, List<Word<I>>> localSuffixSets = automaton.createStaticStateMapping();
+        long numLocalSuffixes = 0;
+
+        for (S s : automaton) {
+            List<Word<I>> localSuffixes = Automata.stateCharacterizingSet(automaton, inputs, s);
+            if (localSuffixes.isEmpty()) {
+                localSuffixes = Collections.singletonList(Word.epsilon());
+            }
+            localSuffixSets.put(s, localSuffixes);
+            numLocalSuffixes += localSuffixes.size();
+        }
+
+        final List<S> prefixStates = new ArrayList<>(prefixes.size());
+        for (Word<I> prefix : prefixes) {
+            @SuppressWarnings("nullness") // input sequences have been computed on defined transitions
+            final @NonNull S state = automaton.getState(prefix);
+            prefixStates.add(state);
+        }
+
+        final double avgLocalSuffixes = automaton.size() == 0 ? 0 : (double) numLocalSuffixes / automaton.size();
+
+        return new SecondPhaseSpliterator<>(automaton,
+                                            middleParts,
+                                            prefixes,
+                                            prefixStates,
+                                            localSuffixSets,
+                                            avgLocalSuffixes,
+                                            0,
+                                            Math.multiplyExact(middleParts.size(), prefixes.size()));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Word<I>> action) {
+        if (firstPhase != null) {
+            if (firstPhase.tryAdvance(action)) {
+                return true;
+            }
+            firstPhase = null;
+        }
+        return secondPhase.tryAdvance(action);
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Word<I>> action) {
+        if (firstPhase != null) {
+            firstPhase.forEachRemaining(action);
+            firstPhase = null;
+        }
+        secondPhase.forEachRemaining(action);
+    }
+
+    @Override
+    public @Nullable Spliterator<Word<I>> trySplit() {
+        if (firstPhase != null) {
+            final Spliterator<Word<I>> result = firstPhase;
+            firstPhase = null;
+            return result;
+        }
+
+        final Spliterator<Word<I>> split = secondPhase.trySplit();
+        return split == null ? null : new WpMethodTestsSpliterator<>(split);
+    }
+
+    @Override
+    public long estimateSize() {
+        final long secondSize = secondPhase.estimateSize();
+
+        if (firstPhase == null) {
+            return secondSize;
+        }
+
+        final long sum = firstPhase.estimateSize() + secondSize;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    private static final class SecondPhaseSpliterator<S, I> implements Spliterator<Word<I>> {
+
+        private final UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton;
+        private final IndexedTuples<I> middleParts;
+        private final List<Word<I>> prefixes;
+        private final List<S> prefixStates;
+        private final MutableMapping<S, List<Word<I>>> localSuffixSets;
+        private final double avgLocalSuffixes;
+
+        private final WordBuilder<I> wordBuilder = new WordBuilder<>();
+
+        // index range over (middle part, prefix) pairs
+        private long index;
+        private final long fence;
+
+        private Word<I> current = Word.epsilon();
+        private List<Word<I>> currentSuffixes = Collections.emptyList();
+        private int suffixIdx;
+
+        SecondPhaseSpliterator(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                               IndexedTuples<I> middleParts,
+                               List<Word<I>> prefixes,
+                               List<S> prefixStates,
+                               MutableMapping<S, List<Word<I>>> localSuffixSets,
+                               double avgLocalSuffixes,
+                               long index,
+                               long fence) {
+            this.automaton = automaton;
+            this.middleParts = middleParts;
+            this.prefixes = prefixes;
+            this.prefixStates = prefixStates;
+            this.localSuffixSets = localSuffixSets;
+            this.avgLocalSuffixes = avgLocalSuffixes;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Word<I>> action) {
+            while (suffixIdx >= currentSuffixes.size()) {
+                if (index >= fence) {
+                    return false;
+                }
+                advancePair();
+            }
+
+            action.accept(current.concat(currentSuffixes.get(suffixIdx++)));
+            return true;
+        }
+
+        @Override
+        public @Nullable Spliterator<Word<I>> trySplit() {
+            final long lo = index;
+            final long mid = (lo + fence) >>> 1;
+
+            // do not split if we are in the middle of a pair, because its remaining words precede the split-off range
+            if (lo >= mid || suffixIdx < currentSuffixes.size()) {
+                return null;
+            }
+
+            index = mid;
+            return new SecondPhaseSpliterator<>(automaton,
+                                                middleParts,
+                                                prefixes,
+                                                prefixStates,
+                                                localSuffixSets,
+                                                avgLocalSuffixes,
+                                                lo,
+                                                mid);
+        }
+
+        @Override
+        public long estimateSize() {
+            final double estimate = (fence - index) * avgLocalSuffixes + (currentSuffixes.size() - suffixIdx);
+            return estimate >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) Math.ceil(estimate);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        private void advancePair() {
+            final long pair = index++;
+            final int numPrefixes = prefixes.size();
+            final int prefixIdx = (int) (pair % numPrefixes);
+            final Word<I> prefix = prefixes.get(prefixIdx);
+            final long middle = pair / numPrefixes;
+
+            wordBuilder.ensureAdditionalCapacity(prefix.size() + middleParts.length(middle));
+            wordBuilder.append(prefix);
+            middleParts.append(middle, wordBuilder);
+            current = wordBuilder.toWord();
+            wordBuilder.clear();
+
+            @SuppressWarnings("nullness") // input sequences have been computed on defined transitions
+            final @NonNull S state =
+                    automaton.getSuccessor(prefixStates.get(prefixIdx), current.subWord(prefix.size()));
+
+            currentSuffixes = localSuffixSets.get(state);
+            suffixIdx = 0;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.cover;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.google.common.collect.AbstractIterator;
+import net.automatalib.automata.DeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A compact representation of the state and transition cover of an automaton in form of a prefix trie.
+ * <p>
+ * The trie is the spanning tree of a breadth-first exploration of the automaton: each node corresponds to a reachable
+ * state and the path from the root to a node spells the access sequence of the respective state. Nodes are numbered in
+ * the order of their discovery (the root, representing the initial state, has the index {@code 0}) and are stored
+ * as a table of parent pointers and input symbol indices. Hence, the trie requires a constant number of {@code int}s
+ * per state, independent of the length of the access sequences. As a consequence of the breadth-first numbering, the
+ * parent indices are monotonically increasing and the children of each node form a contiguous range of indices.
+ * <p>
+ * Cover words are only materialized on request, e.g. by {@link #getAccessSequence(int)} or the iterators returned by
+ * {@link #stateCoverIterator()} and {@link #transitionCoverIterator()}, which yield the same words (in the same order)
+ * as {@link Covers#stateCover(DeterministicAutomaton, Collection, Collection)} and {@link
+ * Covers#transitionCover(DeterministicAutomaton, Collection, Collection)}, respectively.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+public final class CoverTrie<I> {
+
+    private final List<I> inputs;
+    private final int size;
+    private final int[] parents;
+    private final int[] symbols;
+    private final int[] nodes;
+    private final BitSet undefinedTransitions;
+
+    private CoverTrie(List<I> inputs,
+                      int size,
+                      int[] parents,
+                      int[] symbols,
+                      int[] nodes,
+                      BitSet undefinedTransitions) {
+        this.inputs = inputs;
+        this.size = size;
+        this.parents = parents;
+        this.symbols = symbols;
+        this.nodes = nodes;
+        this.undefinedTransitions = undefinedTransitions;
+    }
+
+    /**
+     * Computes the cover trie of the given automaton.
+     *
+     * @param automaton
+     *         the automaton for which the cover should be computed
+     * @param inputs
+     *         the input symbols allowed in the cover sequences
+     * @param <S>
+     *         automaton state type
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the cover trie of the given automaton
+     */
+    public static <S, I> CoverTrie<I> of(DeterministicAutomaton<S, I, ?> automaton, Collection<? extends I> inputs) {
+
+        final List<I> inputList = Collections.unmodifiableList(new ArrayList<>(inputs));
+        final int numInputs = inputList.size();
+        final StateIDs<S> stateIds = automaton.stateIDs();
+
+        final int[] nodes = new int[automaton.size()];
+        Arrays.fill(nodes, -1);
+
+        final BitSet undefinedTransitions = new BitSet();
+        final S init = automaton.getInitialState();
+
+        if (init == null) {
+            return new CoverTrie<>(inputList, 0, new int[0], new int[0], nodes, undefinedTransitions);
+        }
+
+        // the discovered states double as the BFS queue
+        final List<S> states = new ArrayList<>();
+        int[] parents = new int[Math.max(automaton.size(), 1)];
+        int[] symbols = new int[parents.length];
+
+        nodes[stateIds.getStateId(init)] = 0;
+        states.add(init);
+        parents[0] = -1;
+        symbols[0] = -1;
+
+        for (int node = 0; node < states.size(); node++) {
+            final S state = states.get(node);
+            final int base = Math.multiplyExact(node, numInputs);
+
+            for (int i = 0; i < numInputs; i++) {
+                final S succ = automaton.getSuccessor(state, inputList.get(i));
+
+                if (succ == null) {
+                    undefinedTransitions.set(base + i);
+                    continue;
+                }
+
+                final int succId = stateIds.getStateId(succ);
+
+                if (nodes[succId] < 0) {
+                    final int succNode = states.size();
+
+                    if (succNode == parents.length) {
+                        parents = Arrays.copyOf(parents, 2 * succNode);
+                        symbols = Arrays.copyOf(symbols, 2 * succNode);
+                    }
+
+                    nodes[succId] = succNode;
+                    states.add(succ);
+                    parents[succNode] = node;
+                    symbols[succNode] = i;
+                }
+            }
+        }
+
+        final int size = states.size();
+        return new CoverTrie<>(inputList,
+                               size,
+                               parents.length == size ? parents : Arrays.copyOf(parents, size),
+                               symbols.length == size ? symbols : Arrays.copyOf(symbols, size),
+                               nodes,
+                               undefinedTransitions);
+    }
+
+    /**
+     * Returns the input symbols of this cover.
+     *
+     * @return the input symbols
+     */
+    public List<I> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Returns the number of nodes of this trie, i.e. the number of (reachable) states covered by it.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of words of the transition cover represented by this trie.
+     *
+     * @return the size of the transition cover
+     */
+    public long getTransitionCoverSize() {
+        return (long) size * inputs.size() - undefinedTransitions.cardinality();
+    }
+
+    /**
+     * Returns the node representing the state with the given ID (cf. {@link DeterministicAutomaton#stateIDs()}).
+     *
+     * @param stateId
+     *         the ID of the state
+     *
+     * @return the node of the given state, or {@code -1} if the state is not covered by this trie
+     */
+    public int getNode(int stateId) {
+        return nodes[stateId];
+    }
+
+    /**
+     * Returns the parent of the given node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the parent of the given node, or {@code -1} if the given node is the root
+     */
+    public int getParent(int node) {
+        return parents[node];
+    }
+
+    /**
+     * Returns the input symbol of the edge from the parent of the given node to the given node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the input symbol leading to the given node, or {@code null} if the given node is the root
+     */
+    public @Nullable I getSymbol(int node) {
+        final int symbol = symbols[node];
+        return symbol < 0 ? null : inputs.get(symbol);
+    }
+
+    /**
+     * Returns the children of the given node (in ascending order).
+     *
+     * @param node
+     *         the node
+     *
+     * @return the children of the given node
+     */
+    public int[] getChildren(int node) {
+        final int low = lowerBound(node);
+        final int high = lowerBound(node + 1);
+        final int[] result = new int[high - low];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = low + i;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the depth of the given node, i.e. the length of its access sequence.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the depth of the given node
+     */
+    public int getDepth(int node) {
+        int depth = 0;
+        for (int n = node; parents[n] >= 0; n = parents[n]) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Checks whether the transition of the state of the given node for the input symbol with the given index is
+     * defined.
+     *
+     * @param node
+     *         the node
+     * @param inputIndex
+     *         the index of the input symbol (cf. {@link #getInputs()})
+     *
+     * @return {@code true} if the transition is defined, {@code false} otherwise
+     */
+    public boolean isTransitionDefined(int node, int inputIndex) {
+        return !undefinedTransitions.get(node * inputs.size() + inputIndex);
+    }
+
+    /**
+     * Materializes the access sequence of the given node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the access sequence of the given node
+     */
+    public Word<I> getAccessSequence(int node) {
+        return buildWord(node, -1);
+    }
+
+    /**
+     * Returns an iterator over the words of the state cover represented by this trie. Words are materialized lazily in
+     * the order of the nodes.
+     *
+     * @return an iterator over the words of the state cover
+     */
+    public Iterator<Word<I>> stateCoverIterator() {
+        return new Iterator<Word<I>>() {
+
+            private int node;
+
+            @Override
+            public boolean hasNext() {
+                return node < size;
+            }
+
+            @Override
+            public Word<I> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getAccessSequence(node++);
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over the words of the transition cover represented by this trie. Words are materialized
+     * lazily in the order of the nodes and input symbols.
+     *
+     * @return an iterator over the words of the transition cover
+     */
+    public Iterator<Word<I>> transitionCoverIterator() {
+        return new AbstractIterator<Word<I>>() {
+
+            private int node;
+            private int input;
+
+            @Override
+            protected Word<I> computeNext() {
+                while (node < size) {
+                    while (input < inputs.size()) {
+                        final int i = input++;
+                        if (isTransitionDefined(node, i)) {
+                            return buildWord(node, i);
+                        }
+                    }
+                    node++;
+                    input = 0;
+                }
+                return endOfData();
+            }
+        };
+    }
+
+    private Word<I> buildWord(int node, int lastSymbol) {
+        int position = getDepth(node) + (lastSymbol < 0 ? 0 : 1);
+
+        @SuppressWarnings("nullness") // we make sure to set each index to a value of type I
+        final WordBuilder<I> wb = new WordBuilder<>(null, position);
+
+        if (lastSymbol >= 0) {
+            wb.setSymbol(--position, inputs.get(lastSymbol));
+        }
+
+        for (int n = node; parents[n] >= 0; n = parents[n]) {
+            wb.setSymbol(--position, inputs.get(symbols[n]));
+        }
+
+        return wb.toWord();
+    }
+
+    /**
+     * Returns the smallest (non-root) node whose parent is not smaller than the given value.
+     */
+    private int lowerBound(int parent) {
+        int low = 1;
+        int high = size;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (parents[mid] < parent) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+}
@@ -126,6 +126,27 @@ public final class Covers {
         return new TransitionCoverIterator<>(automaton, inputs);
     }
 
+    /**
+     * Computes a compact, trie-based representation of the state and transition cover of a given automaton. In
+     * contrast to the other methods of this class, access sequences are not stored as individual words but only
+     * materialized on request.
+     *
+     * @param automaton
+     *         the automaton for which the cover should be computed
+     * @param inputs
+     *         the set of input symbols allowed in the cover sequences
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the cover trie of the given automaton
+     *
+     * @see CoverTrie
+     */
+    public static <I> CoverTrie<I> coverTrie(DeterministicAutomaton<?, I, ?> automaton,
+                                             Collection<? extends I> inputs) {
+        return CoverTrie.of(automaton, inputs);
+    }
+
     /**
      * Computes a structural cover for a given automaton.
      * <p>
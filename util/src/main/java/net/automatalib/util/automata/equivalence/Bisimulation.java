@@ -15,13 +15,22 @@
  */
 package net.automatalib.util.automata.equivalence;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
 import com.google.common.collect.Sets;
 import net.automatalib.automata.Automaton;
+import net.automatalib.automata.UniversalAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.graphs.UniversalGraph;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.partitionrefinement.RelationalPaigeTarjan;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * @author msc
@@ -130,4 +139,251 @@ public final class Bisimulation {
 
         return change;
     }
+
+    /**
+     * Computes the strong bisimulation equivalence of the nodes of the given graph, where edges are labeled with their
+     * edge properties and nodes are initially distinguished by their node properties.
+     * <p>
+     * In contrast to {@link #bisimulationEquivalenceRelation(Automaton, Automaton, Collection)}, the computation works
+     * on a compact integer representation of the graph (see {@link RelationalPaigeTarjan}) and runs in {@code O(m log
+     * n)} time, which makes it suitable for large systems.
+     *
+     * @param graph
+     *         the graph
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     *
+     * @return an array mapping the node IDs (cf. {@link UniversalGraph#nodeIDs()}) to the IDs of their bisimulation
+     * classes. Classes are numbered contiguously, starting at {@code 0}.
+     */
+    public static <N, E> int[] strongBisimulation(UniversalGraph<N, E, ?, ?> graph) {
+        final IntLTS lts = IntLTS.of(graph, new Interner(), -1, null);
+        return RelationalPaigeTarjan.strongBisimulation(lts.numStates,
+                                                        lts.initialPartition,
+                                                        lts.numLabels,
+                                                        lts.sources,
+                                                        lts.labels,
+                                                        lts.targets);
+    }
+
+    /**
+     * Computes the weak bisimulation equivalence of the nodes of the given graph, where edges are labeled with their
+     * edge properties and nodes are initially distinguished by their node properties. Edges whose property equals the
+     * given {@code tau} property are considered internal.
+     *
+     * @param graph
+     *         the graph
+     * @param tau
+     *         the edge property denoting internal edges
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     * @param <EP>
+     *         edge property type
+     *
+     * @return an array mapping the node IDs (cf. {@link UniversalGraph#nodeIDs()}) to the IDs of their bisimulation
+     * classes. Classes are numbered contiguously, starting at {@code 0}.
+     *
+     * @see RelationalPaigeTarjan#weakBisimulation(int, int[], int, int[], int[], int[], int)
+     */
+    public static <N, E, EP> int[] weakBisimulation(UniversalGraph<N, E, ?, EP> graph, EP tau) {
+        final Interner labels = new Interner();
+        final int tauLabel = labels.reserve();
+        final IntLTS lts = IntLTS.of(graph, labels, tauLabel, tau);
+        return RelationalPaigeTarjan.weakBisimulation(lts.numStates,
+                                                      lts.initialPartition,
+                                                      lts.numLabels,
+                                                      lts.sources,
+                                                      lts.labels,
+                                                      lts.targets,
+                                                      tauLabel);
+    }
+
+    /**
+     * Computes the strong bisimulation equivalence of the states of the given automaton, where transitions are labeled
+     * with their input symbol and transition property, and states are initially distinguished by their state
+     * properties.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type
+     *
+     * @return an array mapping the state IDs (cf. {@link UniversalAutomaton#stateIDs()}) to the IDs of their
+     * bisimulation classes. Classes are numbered contiguously, starting at {@code 0}.
+     *
+     * @see #strongBisimulation(UniversalGraph)
+     */
+    public static <S, I, T> int[] strongBisimulation(UniversalAutomaton<S, I, T, ?, ?> automaton,
+                                                     Collection<? extends I> inputs) {
+        final IntLTS lts = IntLTS.of(automaton, inputs, new Interner(), -1, null);
+        return RelationalPaigeTarjan.strongBisimulation(lts.numStates,
+                                                        lts.initialPartition,
+                                                        lts.numLabels,
+                                                        lts.sources,
+                                                        lts.labels,
+                                                        lts.targets);
+    }
+
+    /**
+     * Computes the weak bisimulation equivalence of the states of the given automaton, where transitions are labeled
+     * with their input symbol and transition property, and states are initially distinguished by their state
+     * properties. Transitions for the given {@code tau} input symbol are considered internal (regardless of their
+     * transition property).
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param tau
+     *         the input symbol denoting internal transitions
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type
+     *
+     * @return an array mapping the state IDs (cf. {@link UniversalAutomaton#stateIDs()}) to the IDs of their
+     * bisimulation classes. Classes are numbered contiguously, starting at {@code 0}.
+     *
+     * @see #weakBisimulation(UniversalGraph, Object)
+     */
+    public static <S, I, T> int[] weakBisimulation(UniversalAutomaton<S, I, T, ?, ?> automaton,
+                                                   Collection<? extends I> inputs,
+                                                   I tau) {
+        final Interner labels = new Interner();
+        final int tauLabel = labels.reserve();
+        final IntLTS lts = IntLTS.of(automaton, inputs, labels, tauLabel, tau);
+        return RelationalPaigeTarjan.weakBisimulation(lts.numStates,
+                                                      lts.initialPartition,
+                                                      lts.numLabels,
+                                                      lts.sources,
+                                                      lts.labels,
+                                                      lts.targets,
+                                                      tauLabel);
+    }
+
+    private static final class IntLTS {
+
+        private final int numStates;
+        private final int[] initialPartition;
+        private int numLabels;
+        private int[] sources;
+        private int[] labels;
+        private int[] targets;
+        private int numTransitions;
+
+        private IntLTS(int numStates) {
+            this.numStates = numStates;
+            this.initialPartition = new int[numStates];
+
+            final int capacity = Math.max(16, numStates);
+            this.sources = new int[capacity];
+            this.labels = new int[capacity];
+            this.targets = new int[capacity];
+        }
+
+        static <N, E, EP> IntLTS of(UniversalGraph<N, E, ?, EP> graph,
+                                    Interner labelInterner,
+                                    int tauLabel,
+                                    @Nullable EP tau) {
+            final IntLTS lts = new IntLTS(graph.size());
+            final NodeIDs<N> nodeIDs = graph.nodeIDs();
+            final Interner propertyInterner = new Interner();
+
+            for (N node : graph) {
+                final int id = nodeIDs.getNodeId(node);
+                lts.initialPartition[id] = propertyInterner.intern(graph.getNodeProperty(node));
+
+                for (E edge : graph.getOutgoingEdges(node)) {
+                    final EP property = graph.getEdgeProperty(edge);
+                    final int label = tauLabel >= 0 && Objects.equals(property, tau) ?
+                            tauLabel :
+                            labelInterner.intern(property);
+                    lts.addTransition(id, label, nodeIDs.getNodeId(graph.getTarget(edge)));
+                }
+            }
+
+            lts.finish(labelInterner);
+            return lts;
+        }
+
+        static <S, I, T> IntLTS of(UniversalAutomaton<S, I, T, ?, ?> automaton,
+                                   Collection<? extends I> inputs,
+                                   Interner labelInterner,
+                                   int tauLabel,
+                                   @Nullable I tau) {
+            final IntLTS lts = new IntLTS(automaton.size());
+            final StateIDs<S> stateIDs = automaton.stateIDs();
+            final Interner propertyInterner = new Interner();
+
+            for (S state : automaton) {
+                final int id = stateIDs.getStateId(state);
+                lts.initialPartition[id] = propertyInterner.intern(automaton.getStateProperty(state));
+
+                for (I input : inputs) {
+                    final boolean internal = tauLabel >= 0 && Objects.equals(input, tau);
+
+                    for (T trans : automaton.getTransitions(state, input)) {
+                        final int label = internal ?
+                                tauLabel :
+                                labelInterner.intern(Pair.of(input, automaton.getTransitionProperty(trans)));
+                        lts.addTransition(id, label, stateIDs.getStateId(automaton.getSuccessor(trans)));
+                    }
+                }
+            }
+
+            lts.finish(labelInterner);
+            return lts;
+        }
+
+        private void addTransition(int source, int label, int target) {
+            if (numTransitions == sources.length) {
+                final int newLength = 2 * numTransitions;
+                sources = Arrays.copyOf(sources, newLength);
+                labels = Arrays.copyOf(labels, newLength);
+                targets = Arrays.copyOf(targets, newLength);
+            }
+            sources[numTransitions] = source;
+            labels[numTransitions] = label;
+            targets[numTransitions] = target;
+            numTransitions++;
+        }
+
+        private void finish(Interner labelInterner) {
+            numLabels = labelInterner.size;
+            sources = Arrays.copyOf(sources, numTransitions);
+            labels = Arrays.copyOf(labels, numTransitions);
+            targets = Arrays.copyOf(targets, numTransitions);
+        }
+    }
+
+    private static final class Interner {
+
+        private final Map<@Nullable Object, Integer> ids = new HashMap<>();
+        private int size;
+
+        int intern(@Nullable Object value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = size++;
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        int reserve() {
+            return size++;
+        }
+    }
 }
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 import com.google.common.collect.AbstractIterator;
 import net.automatalib.automata.UniversalDeterministicAutomaton;
@@ -68,6 +69,27 @@ public final class CharacterizingSets {
         findIncrementalCharacterizingSet(automaton, inputs, Collections.emptyList(), result);
     }
 
+    /**
+     * Computes a characterizing set for the given automaton in parallel. The individual refinement steps are executed
+     * on the given {@link ForkJoinPool}. The computed suffixes (and their order) are identical to the ones of {@link
+     * #findCharacterizingSet(UniversalDeterministicAutomaton, Collection, Collection)}.
+     *
+     * @param automaton
+     *         the automaton for which to determine the characterizing set.
+     * @param inputs
+     *         the input alphabets to consider
+     * @param result
+     *         the collection in which to store the characterizing words
+     * @param pool
+     *         the pool used for the parallel computations
+     */
+    public static <S, I, T> void findCharacterizingSet(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
+                                                       Collection<? extends I> inputs,
+                                                       Collection<? super Word<I>> result,
+                                                       ForkJoinPool pool) {
+        ParallelCharacterizingSets.findCharacterizingSet(automaton, inputs, result, pool);
+    }
+
     /**
      * Computes a characterizing set for a specified state in the given automaton.
      *
@@ -142,9 +164,9 @@ public final class CharacterizingSets {
         return new IncrementalCharacterizingSetIterator<>(automaton, inputs, Collections.emptyList());
     }
 
-    private static <S, I, T> List<@Nullable Object> buildTrace(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
-                                                               S state,
-                                                               Word<I> suffix) {
+    static <S, I, T> List<@Nullable Object> buildTrace(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
+                                                       S state,
+                                                       Word<I> suffix) {
         if (suffix.isEmpty()) {
             @Nullable Object prop = automaton.getStateProperty(state);
             return Collections.singletonList(prop);
@@ -0,0 +1,262 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.commons.util.concurrent.ParallelRanges;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A parallel version of the characterizing set computation of {@link CharacterizingSets#findCharacterizingSet(
+ * UniversalDeterministicAutomaton, Collection, Collection)}.
+ * <p>
+ * Blocks are stored as {@code int[]} arrays of state IDs. In each refinement step, the search for a separating suffix
+ * of the current block is distributed over the candidate states of the block, and the traces of all states of all
+ * blocks are computed (and canonicalized) concurrently. Only the final clustering of states by (canonical) traces is
+ * performed sequentially. Since the canonical traces have the same hash codes as the traces of the sequential
+ * algorithm and are inserted in the same order, the resulting blocks (and hence the computed suffixes) are identical
+ * to the ones of the sequential computation.
+ *
+ * @author frohme
+ */
+final class ParallelCharacterizingSets {
+
+    private static final int TRACE_GRANULARITY = 64;
+
+    private ParallelCharacterizingSets() {}
+
+    static <S, I> void findCharacterizingSet(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                             Collection<? extends I> inputs,
+                                             Collection<? super Word<I>> result,
+                                             ForkJoinPool pool) {
+
+        final StateIDs<S> stateIds = automaton.stateIDs();
+        final Queue<int[]> blocks = new ArrayDeque<>();
+
+        if (automaton.size() > 1) {
+            // epsilon refinement, cf. CharacterizingSets#epsilonRefine
+            final Map<@Nullable Object, IntBucket> propCluster = new HashMap<>();
+            for (S s : automaton) {
+                propCluster.computeIfAbsent(automaton.getStateProperty(s), k -> new IntBucket())
+                           .add(stateIds.getStateId(s));
+            }
+
+            if (propCluster.size() > 1) {
+                result.add(Word.epsilon());
+            }
+
+            for (IntBucket b : propCluster.values()) {
+                blocks.add(b.toArray());
+            }
+        }
+
+        Word<I> suffix;
+        while ((suffix = refine(automaton, stateIds, inputs, blocks, pool)) != null) {
+            result.add(suffix);
+        }
+    }
+
+    private static <S, I> @Nullable Word<I> refine(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                                   StateIDs<S> stateIds,
+                                                   Collection<? extends I> inputs,
+                                                   Queue<int[]> blockQueue,
+                                                   ForkJoinPool pool) {
+
+        int[] currBlock;
+        while ((currBlock = blockQueue.poll()) != null) {
+            if (currBlock.length <= 1) {
+                continue; // we cannot split further
+            }
+
+            final S ref = stateIds.getState(currBlock[0]);
+            final AtomicReferenceArray<@Nullable Word<I>> candidates = new AtomicReferenceArray<>(currBlock.length);
+            final int parallelism = pool.getParallelism();
+            final int[] block = currBlock;
+
+            int sepIdx = -1;
+
+            // check the candidates in waves so that the first separable state (in block order) is selected
+            for (int lo = 1; lo < block.length && sepIdx < 0; lo += parallelism) {
+                final int hi = Math.min(lo + parallelism, block.length);
+                ParallelRanges.forEach(pool, lo, hi, 1, i -> {
+                    final S state = stateIds.getState(block[i]);
+                    candidates.set(i, Automata.findSeparatingWord(automaton, ref, state, inputs));
+                });
+                for (int i = lo; i < hi; i++) {
+                    if (candidates.get(i) != null) {
+                        sepIdx = i;
+                        break;
+                    }
+                }
+            }
+
+            if (sepIdx < 0) {
+                continue;
+            }
+
+            final Word<I> suffix = candidates.get(sepIdx);
+            assert suffix != null;
+
+            // states preceding the separable state are equivalent to the reference state and can be dropped
+            final int[] firstBlock = new int[block.length - sepIdx + 1];
+            firstBlock[0] = block[0];
+            System.arraycopy(block, sepIdx, firstBlock, 1, block.length - sepIdx);
+
+            final int otherBlocks = blockQueue.size();
+            final List<int[]> work = new ArrayList<>(otherBlocks + 1);
+            work.add(firstBlock);
+
+            for (int i = 0; i < otherBlocks; i++) {
+                final int[] otherBlock = blockQueue.remove();
+                if (otherBlock.length > 1) {
+                    work.add(otherBlock);
+                }
+            }
+
+            final TraceKey[][] keys = computeCanonicalTraces(automaton, stateIds, suffix, work, pool);
+
+            // cluster sequentially, cf. CharacterizingSets#refine
+            final Map<TraceKey, IntBucket> buckets = new HashMap<>();
+            for (int i = 0; i < work.size(); i++) {
+                final int[] w = work.get(i);
+                final TraceKey[] k = keys[i];
+
+                if (i > 0) {
+                    buckets.clear();
+                }
+
+                for (int j = 0; j < w.length; j++) {
+                    buckets.computeIfAbsent(k[j], x -> new IntBucket()).add(w[j]);
+                }
+
+                for (IntBucket b : buckets.values()) {
+                    blockQueue.add(b.toArray());
+                }
+            }
+
+            return suffix;
+        }
+
+        return null;
+    }
+
+    private static <S, I> TraceKey[][] computeCanonicalTraces(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                                              StateIDs<S> stateIds,
+                                                              Word<I> suffix,
+                                                              List<int[]> work,
+                                                              ForkJoinPool pool) {
+        final int numBlocks = work.size();
+        final int[] offsets = new int[numBlocks + 1];
+
+        for (int i = 0; i < numBlocks; i++) {
+            offsets[i + 1] = offsets[i] + work.get(i).length;
+        }
+
+        final int[] states = new int[offsets[numBlocks]];
+        for (int i = 0; i < numBlocks; i++) {
+            System.arraycopy(work.get(i), 0, states, offsets[i], work.get(i).length);
+        }
+
+        final TraceKey[] flatKeys = new TraceKey[states.length];
+
+        ParallelRanges.forEach(pool, 0, states.length, TRACE_GRANULARITY, i -> {
+            final S state = stateIds.getState(states[i]);
+            flatKeys[i] = new TraceKey(CharacterizingSets.buildTrace(automaton, state, suffix));
+        });
+
+        final TraceKey[][] result = new TraceKey[numBlocks][];
+
+        ParallelRanges.forEach(pool, 0, numBlocks, 1, b -> {
+            final Map<TraceKey, TraceKey> canonical = new HashMap<>();
+            final TraceKey[] blockKeys = Arrays.copyOfRange(flatKeys, offsets[b], offsets[b + 1]);
+
+            for (int i = 0; i < blockKeys.length; i++) {
+                final TraceKey existing = canonical.putIfAbsent(blockKeys[i], blockKeys[i]);
+                if (existing != null) {
+                    blockKeys[i] = existing;
+                }
+            }
+
+            result[b] = blockKeys;
+        });
+
+        return result;
+    }
+
+    /**
+     * A trace with a cached hash code. The hash code is identical to the one of the (list-based) trace, so that hash
+     * based clusterings yield the same iteration order as for the plain traces.
+     */
+    private static final class TraceKey {
+
+        private final List<@Nullable Object> trace;
+        private final int hash;
+
+        TraceKey(List<@Nullable Object> trace) {
+            this.trace = trace;
+            this.hash = trace.hashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TraceKey)) {
+                return false;
+            }
+
+            final TraceKey that = (TraceKey) o;
+            return hash == that.hash && trace.equals(that.trace);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class IntBucket {
+
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+            data[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
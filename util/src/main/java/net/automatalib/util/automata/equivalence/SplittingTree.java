@@ -0,0 +1,492 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A precomputed splitting tree of a {@link UniversalDeterministicAutomaton} that can be used to repeatedly query
+ * (shortest) separating words for arbitrary pairs of states.
+ * <p>
+ * Each inner node of the tree represents a set of states that is split into its children by a single witness, i.e., a
+ * word for which any two states of different children expose different (state or transition) properties, or a
+ * transition that is defined for one state and undefined for the other one (cf. {@link
+ * NearLinearEquivalenceTest#findSeparatingWord(UniversalDeterministicAutomaton, Object, Object, Collection)}). The tree
+ * is constructed layer by layer (similar to Moore's algorithm) so that the witness of the lowest common ancestor of two
+ * states is a shortest word separating them. Witnesses are stored as an input symbol and a reference to the node whose
+ * witness forms the remaining suffix, so the tree requires memory linear in the number of nodes.
+ * <p>
+ * After construction, separating words of two states can be queried in time linear in the depth of the tree (and the
+ * length of the returned word), independent of the size of the automaton. The tree reflects the automaton at the time
+ * of construction, i.e., subsequent modifications of the automaton are not taken into account.
+ * <p>
+ * See "Minimal Separating Sequences for All Pairs of States" by Rick Smetsers, Joshua Moerman, and David N. Jansen.
+ *
+ * @param <S>
+ *         state type
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ * @see NearLinearEquivalenceTest
+ */
+public class SplittingTree<S, I> {
+
+    private static final int NO_INPUT = -1;
+    private static final int NO_NODE = -1;
+
+    private final StateIDs<S> stateIds;
+    private final List<I> inputs;
+
+    private final int numStates;
+    private final int numInputs;
+    private final int[] successors;
+
+    // state layout, the states of each node form a contiguous range
+    private final int[] states;
+    private final int[] leafOf;
+
+    // node data, a tree with n leaves has at most 2n - 1 nodes
+    private int numNodes;
+    private final int[] nodeLow;
+    private final int[] nodeHigh;
+    private final int[] nodeParent;
+    private final int[] nodeDepth;
+    private final int[] nodeFirstChild;
+    private final int[] nodeNumChildren;
+    private final int[] witnessInput;
+    private final int[] witnessNext;
+
+    // scratch data for splitting
+    private final int[] keys;
+    private final int[] groups;
+    private final int[] tmpStates;
+    private int[] keyToGroup;
+
+    /**
+     * Constructor.
+     *
+     * @param automaton
+     *         the automaton for which the splitting tree should be constructed
+     * @param inputs
+     *         the input symbols to consider for separating words
+     */
+    public SplittingTree(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton, Collection<? extends I> inputs) {
+        this.stateIds = automaton.stateIDs();
+        this.inputs = new ArrayList<>(inputs);
+        this.numStates = automaton.size();
+        this.numInputs = this.inputs.size();
+
+        this.successors = new int[numStates * numInputs];
+        this.states = new int[numStates];
+        this.leafOf = new int[numStates];
+
+        final int initialNodes = Math.max(2 * numStates, 1);
+        this.nodeLow = new int[initialNodes];
+        this.nodeHigh = new int[initialNodes];
+        this.nodeParent = new int[initialNodes];
+        this.nodeDepth = new int[initialNodes];
+        this.nodeFirstChild = new int[initialNodes];
+        this.nodeNumChildren = new int[initialNodes];
+        this.witnessInput = new int[initialNodes];
+        this.witnessNext = new int[initialNodes];
+
+        this.keys = new int[numStates];
+        this.groups = new int[numStates];
+        this.tmpStates = new int[numStates];
+        this.keyToGroup = new int[Math.max(numStates, 1)];
+        Arrays.fill(keyToGroup, -1);
+
+        build(automaton);
+    }
+
+    private <T> void build(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton) {
+
+        final int[] stateProperties = new int[numStates];
+        final int[] transitionProperties = new int[numStates * numInputs];
+        final Map<@Nullable Object, Integer> spIds = new HashMap<>();
+        final Map<@Nullable Object, Integer> tpIds = new HashMap<>();
+
+        for (int s = 0; s < numStates; s++) {
+            final S state = stateIds.getState(s);
+            states[s] = s;
+            stateProperties[s] = spIds.computeIfAbsent(automaton.getStateProperty(state), k -> spIds.size());
+
+            for (int i = 0; i < numInputs; i++) {
+                final T trans = automaton.getTransition(state, inputs.get(i));
+                final int idx = s * numInputs + i;
+                if (trans == null) {
+                    successors[idx] = -1;
+                    transitionProperties[idx] = 0;
+                } else {
+                    successors[idx] = stateIds.getStateId(automaton.getSuccessor(trans));
+                    // reserve 0 for undefined transitions
+                    transitionProperties[idx] =
+                            tpIds.computeIfAbsent(automaton.getTransitionProperty(trans), k -> tpIds.size() + 1);
+                }
+            }
+        }
+
+        ensureKeyCapacity(Math.max(spIds.size(), tpIds.size() + 1));
+
+        final int root = createNode(0, numStates, NO_NODE);
+        List<Integer> splitters = new ArrayList<>();
+
+        if (numStates == 0) {
+            return;
+        }
+
+        // layer 0: state properties
+        System.arraycopy(stateProperties, 0, keys, 0, numStates);
+        if (split(root, NO_INPUT, NO_NODE)) {
+            splitters.add(root);
+        }
+
+        // layer 1: transition properties (and definedness) are separated by single symbols
+        final List<Integer> nextSplitters = new ArrayList<>();
+        for (int i = 0; i < numInputs; i++) {
+            final int bound = numNodes;
+            for (int node = 0; node < bound; node++) {
+                if (nodeNumChildren[node] > 0) {
+                    continue;
+                }
+                for (int p = nodeLow[node]; p < nodeHigh[node]; p++) {
+                    keys[p - nodeLow[node]] = transitionProperties[states[p] * numInputs + i];
+                }
+                if (split(node, i, NO_NODE)) {
+                    nextSplitters.add(node);
+                }
+            }
+        }
+
+        final int[] predOffsets = new int[numInputs * (numStates + 1) + 1];
+        final int[] predecessors = computePredecessors(predOffsets);
+        final int[] classOf = new int[numStates];
+        final boolean[] candidate = new boolean[nodeLow.length];
+        final List<Integer> candidateLeaves = new ArrayList<>();
+
+        Arrays.fill(classOf, NO_NODE);
+
+        // layer k: split by successors w.r.t. the nodes split in layer k-1
+        while (!splitters.isEmpty() || !nextSplitters.isEmpty()) {
+            for (int splitter : splitters) {
+                markChildren(splitter, classOf);
+
+                for (int i = 0; i < numInputs; i++) {
+                    final int base = i * (numStates + 1);
+
+                    for (int p = nodeLow[splitter]; p < nodeHigh[splitter]; p++) {
+                        final int target = states[p];
+                        for (int q = predOffsets[base + target]; q < predOffsets[base + target + 1]; q++) {
+                            final int leaf = leafOf[predecessors[q]];
+                            if (!candidate[leaf] && nodeHigh[leaf] - nodeLow[leaf] > 1) {
+                                candidate[leaf] = true;
+                                candidateLeaves.add(leaf);
+                            }
+                        }
+                    }
+
+                    for (int leaf : candidateLeaves) {
+                        candidate[leaf] = false;
+                    }
+
+                    for (int leaf : candidateLeaves) {
+                        // the leaf may have been split by a previous input
+                        if (nodeNumChildren[leaf] > 0) {
+                            continue;
+                        }
+
+                        final int low = nodeLow[leaf];
+                        for (int p = low; p < nodeHigh[leaf]; p++) {
+                            final int succ = successors[states[p] * numInputs + i];
+                            assert succ >= 0 && classOf[succ] != NO_NODE;
+                            keys[p - low] = classOf[succ];
+                        }
+
+                        if (split(leaf, i, splitter)) {
+                            nextSplitters.add(leaf);
+                        }
+                    }
+
+                    candidateLeaves.clear();
+                }
+
+                unmarkChildren(splitter, classOf);
+            }
+
+            splitters = new ArrayList<>(nextSplitters);
+            nextSplitters.clear();
+        }
+    }
+
+    private int[] computePredecessors(int[] predOffsets) {
+        final int stride = numStates + 1;
+
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = successors[s * numInputs + i];
+                if (succ >= 0) {
+                    predOffsets[i * stride + succ + 1]++;
+                }
+            }
+        }
+
+        for (int i = 1; i < predOffsets.length; i++) {
+            predOffsets[i] += predOffsets[i - 1];
+        }
+
+        final int[] result = new int[predOffsets[predOffsets.length - 1]];
+        final int[] fill = Arrays.copyOf(predOffsets, predOffsets.length);
+
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = successors[s * numInputs + i];
+                if (succ >= 0) {
+                    result[fill[i * stride + succ]++] = s;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void markChildren(int node, int[] classOf) {
+        final int first = nodeFirstChild[node];
+        for (int c = first; c < first + nodeNumChildren[node]; c++) {
+            for (int p = nodeLow[c]; p < nodeHigh[c]; p++) {
+                classOf[states[p]] = c;
+            }
+        }
+    }
+
+    private void unmarkChildren(int node, int[] classOf) {
+        for (int p = nodeLow[node]; p < nodeHigh[node]; p++) {
+            classOf[states[p]] = NO_NODE;
+        }
+    }
+
+    /**
+     * Splits the given leaf according to the {@link #keys} of its states (indexed relative to the lower bound of the
+     * leaf). The states of each child retain their relative order.
+     */
+    private boolean split(int node, int input, int next) {
+        final int low = nodeLow[node];
+        final int size = nodeHigh[node] - low;
+
+        int numGroups = 0;
+        for (int i = 0; i < size; i++) {
+            final int key = keys[i];
+            ensureKeyCapacity(key + 1);
+            int group = keyToGroup[key];
+            if (group < 0) {
+                group = numGroups++;
+                keyToGroup[key] = group;
+            }
+            groups[i] = group;
+        }
+
+        for (int i = 0; i < size; i++) {
+            keyToGroup[keys[i]] = -1;
+        }
+
+        if (numGroups == 1) {
+            return false;
+        }
+
+        final int[] groupStart = new int[numGroups + 1];
+        for (int i = 0; i < size; i++) {
+            groupStart[groups[i] + 1]++;
+        }
+        for (int g = 0; g < numGroups; g++) {
+            groupStart[g + 1] += groupStart[g];
+        }
+
+        System.arraycopy(states, low, tmpStates, 0, size);
+        final int[] fill = Arrays.copyOf(groupStart, numGroups);
+        for (int i = 0; i < size; i++) {
+            states[low + fill[groups[i]]++] = tmpStates[i];
+        }
+
+        final int firstChild = numNodes;
+        for (int g = 0; g < numGroups; g++) {
+            createNode(low + groupStart[g], low + groupStart[g + 1], node);
+        }
+
+        nodeFirstChild[node] = firstChild;
+        nodeNumChildren[node] = numGroups;
+        witnessInput[node] = input;
+        witnessNext[node] = next;
+
+        return true;
+    }
+
+    private int createNode(int low, int high, int parent) {
+        final int node = numNodes++;
+        nodeLow[node] = low;
+        nodeHigh[node] = high;
+        nodeParent[node] = parent;
+        nodeDepth[node] = parent == NO_NODE ? 0 : nodeDepth[parent] + 1;
+        nodeFirstChild[node] = NO_NODE;
+        nodeNumChildren[node] = 0;
+        witnessInput[node] = NO_INPUT;
+        witnessNext[node] = NO_NODE;
+
+        for (int p = low; p < high; p++) {
+            leafOf[states[p]] = node;
+        }
+
+        return node;
+    }
+
+    private void ensureKeyCapacity(int capacity) {
+        if (capacity > keyToGroup.length) {
+            final int oldSize = keyToGroup.length;
+            keyToGroup = Arrays.copyOf(keyToGroup, Math.max(capacity, 2 * oldSize));
+            Arrays.fill(keyToGroup, oldSize, keyToGroup.length, -1);
+        }
+    }
+
+    /**
+     * Returns a shortest word that separates the two given states.
+     *
+     * @param state1
+     *         the first state
+     * @param state2
+     *         the second state
+     *
+     * @return a shortest word separating the two states, or {@code null} if the states are equivalent
+     */
+    public @Nullable Word<I> findSeparatingWord(S state1, S state2) {
+        int n1 = leafOf[stateIds.getStateId(state1)];
+        int n2 = leafOf[stateIds.getStateId(state2)];
+
+        if (n1 == n2) {
+            return null;
+        }
+
+        while (nodeDepth[n1] > nodeDepth[n2]) {
+            n1 = nodeParent[n1];
+        }
+        while (nodeDepth[n2] > nodeDepth[n1]) {
+            n2 = nodeParent[n2];
+        }
+        while (n1 != n2) {
+            n1 = nodeParent[n1];
+            n2 = nodeParent[n2];
+        }
+
+        return getWitness(n1);
+    }
+
+    /**
+     * Checks whether the two given states are equivalent, i.e., cannot be separated by any word.
+     *
+     * @param state1
+     *         the first state
+     * @param state2
+     *         the second state
+     *
+     * @return {@code true} if the states are equivalent, {@code false} otherwise
+     */
+    public boolean areEquivalent(S state1, S state2) {
+        return leafOf[stateIds.getStateId(state1)] == leafOf[stateIds.getStateId(state2)];
+    }
+
+    /**
+     * Computes a characterizing set for the given state, i.e., a set of words that separates the given state from all
+     * non-equivalent states. The words are ordered from the root of the tree towards the leaf of the state.
+     *
+     * @param state
+     *         the state for which to determine the characterizing set
+     * @param result
+     *         the collection in which to store the characterizing words
+     */
+    public void stateCharacterizingSet(S state, Collection<? super Word<I>> result) {
+        final List<Word<I>> witnesses = new ArrayList<>();
+
+        int node = nodeParent[leafOf[stateIds.getStateId(state)]];
+        while (node != NO_NODE) {
+            witnesses.add(getWitness(node));
+            node = nodeParent[node];
+        }
+
+        final Set<Word<I>> distinct = new LinkedHashSet<>();
+        for (int i = witnesses.size() - 1; i >= 0; i--) {
+            distinct.add(witnesses.get(i));
+        }
+
+        result.addAll(distinct);
+    }
+
+    /**
+     * Computes a characterizing set for the whole automaton, i.e., a set of words that separates all pairs of
+     * non-equivalent states. The set consists of the (distinct) witnesses of all inner nodes of the tree.
+     *
+     * @param result
+     *         the collection in which to store the characterizing words
+     */
+    public void characterizingSet(Collection<? super Word<I>> result) {
+        final Set<Word<I>> distinct = new LinkedHashSet<>();
+
+        for (int node = 0; node < numNodes; node++) {
+            if (nodeNumChildren[node] > 0) {
+                distinct.add(getWitness(node));
+            }
+        }
+
+        result.addAll(distinct);
+    }
+
+    /**
+     * Returns the number of equivalence classes of the automaton, i.e., the number of leaves of the tree.
+     *
+     * @return the number of equivalence classes
+     */
+    public int getNumClasses() {
+        int result = 0;
+        for (int node = 0; node < numNodes; node++) {
+            if (nodeNumChildren[node] == 0) {
+                result++;
+            }
+        }
+        return numStates == 0 ? 0 : result;
+    }
+
+    private Word<I> getWitness(int node) {
+        final WordBuilder<I> wb = new WordBuilder<>();
+
+        int curr = node;
+        while (curr != NO_NODE && witnessInput[curr] != NO_INPUT) {
+            wb.append(inputs.get(witnessInput[curr]));
+            curr = witnessNext[curr];
+        }
+
+        return wb.toWord();
+    }
+}
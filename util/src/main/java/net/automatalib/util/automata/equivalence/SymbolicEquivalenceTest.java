@@ -0,0 +1,538 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.commons.util.IntDisjointSets;
+import net.automatalib.commons.util.UnionFindRemSP;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An equivalence test for deterministic automata with large input alphabets, in which most of the outgoing
+ * transitions of a state share the same successor (and transition property).
+ * <p>
+ * The outgoing transitions of each state are stored symbolically: the most frequent (successor, transition property)
+ * combination (including undefined transitions) acts as the <i>default edge</i> of the state, and only the input
+ * symbols whose transitions deviate from the default edge are stored explicitly (sorted by their index). When
+ * exploring a pair of states, the exceptions of both states are merged, and all remaining input symbols (which lead to
+ * the default edges of both states) are treated as a single, shared edge. Hence, exploring a pair of states requires
+ * time linear in the number of exceptions of both states instead of the size of the input alphabet.
+ * <p>
+ * Apart from the symbolic exploration, the algorithm corresponds to the one of {@link NearLinearEquivalenceTest}. The
+ * symbolic representation of the reference automaton is computed once upon construction and is re-used for all
+ * subsequent queries. If the other automaton is compared repeatedly as well, its representation can be re-used by
+ * passing a test constructed for it (see {@link #findSeparatingWord(SymbolicEquivalenceTest)}).
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ * @see NearLinearEquivalenceTest
+ */
+public class SymbolicEquivalenceTest<I> {
+
+    private final Alphabet<I> inputs;
+    private final SymbolicTransitions reference;
+
+    /**
+     * Constructor.
+     *
+     * @param reference
+     *         the reference automaton
+     * @param inputs
+     *         the input symbols to consider
+     */
+    public SymbolicEquivalenceTest(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference, Alphabet<I> inputs) {
+        this.inputs = inputs;
+        this.reference = SymbolicTransitions.of(reference, inputs);
+    }
+
+    /**
+     * Finds a word that separates the reference automaton from the given automaton.
+     *
+     * @param other
+     *         the automaton to compare the reference automaton to
+     *
+     * @return a word separating the two automata, or {@code null} if the automata are equivalent
+     */
+    public @Nullable Word<I> findSeparatingWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> other) {
+        final SymbolicTransitions otherTransitions = SymbolicTransitions.of(other, inputs);
+        return findSeparatingWord(reference, reference.initial, otherTransitions, otherTransitions.initial, inputs);
+    }
+
+    /**
+     * Finds a word that separates the reference automaton from the reference automaton of the given test. Contrary to
+     * {@link #findSeparatingWord(UniversalDeterministicAutomaton)}, this method re-uses the symbolic representation
+     * that has already been computed by the given test. This allows to efficiently compare multiple automata with each
+     * other without re-computing their representations for every query.
+     *
+     * @param other
+     *         the test whose reference automaton should be compared to the reference automaton of this test
+     *
+     * @return a word separating the two automata, or {@code null} if the automata are equivalent
+     *
+     * @throws IllegalArgumentException
+     *         if the two tests consider a different number of input symbols
+     */
+    public @Nullable Word<I> findSeparatingWord(SymbolicEquivalenceTest<I> other) {
+        if (other.reference.numInputs != reference.numInputs) {
+            throw new IllegalArgumentException("Tests need to consider the same input symbols");
+        }
+        return findSeparatingWord(reference, reference.initial, other.reference, other.reference.initial, inputs);
+    }
+
+    /**
+     * Finds a word that separates the two given automata.
+     *
+     * @param reference
+     *         the first automaton
+     * @param other
+     *         the second automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a word separating the two automata, or {@code null} if the automata are equivalent
+     */
+    public static <I> @Nullable Word<I> findSeparatingWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+                                                           UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                                           Alphabet<I> inputs) {
+        return new SymbolicEquivalenceTest<>(reference, inputs).findSeparatingWord(other);
+    }
+
+    /**
+     * Finds a word that separates the two given states of the given automaton.
+     *
+     * @param automaton
+     *         the automaton
+     * @param state1
+     *         the first state
+     * @param state2
+     *         the second state
+     * @param inputs
+     *         the input symbols to consider
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a word separating the two states, or {@code null} if the states are equivalent
+     */
+    public static <S, I> @Nullable Word<I> findSeparatingWord(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                                              S state1,
+                                                              S state2,
+                                                              Alphabet<I> inputs) {
+        final SymbolicTransitions transitions = SymbolicTransitions.of(automaton, inputs);
+        return findSeparatingWord(transitions,
+                                  automaton.stateIDs().getStateId(state1),
+                                  transitions,
+                                  automaton.stateIDs().getStateId(state2),
+                                  inputs);
+    }
+
+    /**
+     * Tests whether the two given automata are equivalent.
+     *
+     * @param reference
+     *         the first automaton
+     * @param other
+     *         the second automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return {@code true} if the automata are equivalent, {@code false} otherwise
+     */
+    public static <I> boolean testEquivalence(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+                                              UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                              Alphabet<I> inputs) {
+        return findSeparatingWord(reference, other, inputs) == null;
+    }
+
+    private static <I> @Nullable Word<I> findSeparatingWord(SymbolicTransitions ts1,
+                                                            int init1,
+                                                            SymbolicTransitions ts2,
+                                                            int init2,
+                                                            Alphabet<I> inputs) {
+
+        if (init1 < 0 || init2 < 0) {
+            return init1 < 0 && init2 < 0 ? null : Word.epsilon();
+        }
+
+        if (!Objects.equals(ts1.getStateProperty(init1), ts2.getStateProperty(init2))) {
+            return Word.epsilon();
+        }
+
+        final int offset = ts1 == ts2 ? 0 : ts1.numStates;
+        final IntDisjointSets uf = new UnionFindRemSP(offset + ts2.numStates);
+        final Queue<Record> queue = new ArrayDeque<>();
+        final PairExplorer explorer = new PairExplorer(ts1, ts2, offset, uf, queue);
+
+        uf.union(init1, offset + init2);
+        queue.add(new Record(init1, init2, -1, null));
+
+        Record current;
+        while ((current = queue.poll()) != null) {
+            final int sym = explorer.explore(current);
+            if (sym >= 0) {
+                return buildWord(current, sym, inputs);
+            }
+        }
+
+        return null;
+    }
+
+    private static <I> Word<I> buildWord(Record record, int lastSym, Alphabet<I> inputs) {
+        int position = record.depth + 1;
+
+        @SuppressWarnings("nullness") // we make sure to set each index to a value of type I
+        final WordBuilder<I> wb = new WordBuilder<>(null, position);
+        wb.setSymbol(--position, inputs.getSymbol(lastSym));
+
+        Record current = record;
+        while (current.reachedFrom != null) {
+            wb.setSymbol(--position, inputs.getSymbol(current.reachedBy));
+            current = current.reachedFrom;
+        }
+
+        return wb.toWord();
+    }
+
+    /**
+     * Explores the (symbolic) successors of state pairs.
+     */
+    private static final class PairExplorer {
+
+        private final SymbolicTransitions ts1;
+        private final SymbolicTransitions ts2;
+        private final int offset;
+        private final IntDisjointSets uf;
+        private final Queue<Record> queue;
+
+        PairExplorer(SymbolicTransitions ts1,
+                     SymbolicTransitions ts2,
+                     int offset,
+                     IntDisjointSets uf,
+                     Queue<Record> queue) {
+            this.ts1 = ts1;
+            this.ts2 = ts2;
+            this.offset = offset;
+            this.uf = uf;
+            this.queue = queue;
+        }
+
+        /**
+         * Explores the successors of the given pair.
+         *
+         * @return the index of a separating input symbol, or {@code -1} if the pair has not been separated
+         */
+        int explore(Record record) {
+            final int s1 = record.state1;
+            final int s2 = record.state2;
+
+            int i1 = ts1.excOffsets[s1];
+            final int end1 = ts1.excOffsets[s1 + 1];
+            int i2 = ts2.excOffsets[s2];
+            final int end2 = ts2.excOffsets[s2 + 1];
+
+            // the smallest symbol that is neither an exception of s1 nor of s2
+            int uncovered = 0;
+
+            while (i1 < end1 || i2 < end2) {
+                final int sym1 = i1 < end1 ? ts1.excSymbols[i1] : Integer.MAX_VALUE;
+                final int sym2 = i2 < end2 ? ts2.excSymbols[i2] : Integer.MAX_VALUE;
+                final int sym = Math.min(sym1, sym2);
+
+                final int succ1, tp1, succ2, tp2;
+
+                if (sym1 == sym) {
+                    succ1 = ts1.excSuccessors[i1];
+                    tp1 = ts1.excProperties[i1];
+                    i1++;
+                } else {
+                    succ1 = ts1.defaultSuccessors[s1];
+                    tp1 = ts1.defaultProperties[s1];
+                }
+
+                if (sym2 == sym) {
+                    succ2 = ts2.excSuccessors[i2];
+                    tp2 = ts2.excProperties[i2];
+                    i2++;
+                } else {
+                    succ2 = ts2.defaultSuccessors[s2];
+                    tp2 = ts2.defaultProperties[s2];
+                }
+
+                if (uncovered == sym) {
+                    uncovered++;
+                }
+
+                if (!exploreEdge(record, sym, succ1, tp1, succ2, tp2)) {
+                    return sym;
+                }
+            }
+
+            if (uncovered < ts1.numInputs && !exploreEdge(record,
+                                                          uncovered,
+                                                          ts1.defaultSuccessors[s1],
+                                                          ts1.defaultProperties[s1],
+                                                          ts2.defaultSuccessors[s2],
+                                                          ts2.defaultProperties[s2])) {
+                return uncovered;
+            }
+
+            return -1;
+        }
+
+        private boolean exploreEdge(Record record, int sym, int succ1, int tp1, int succ2, int tp2) {
+            if (succ1 < 0 || succ2 < 0) {
+                return succ1 < 0 && succ2 < 0;
+            }
+
+            if (!Objects.equals(ts1.getTransitionProperty(tp1), ts2.getTransitionProperty(tp2))) {
+                return false;
+            }
+
+            if (!uf.union(succ1, offset + succ2)) {
+                return true;
+            }
+
+            if (!Objects.equals(ts1.getStateProperty(succ1), ts2.getStateProperty(succ2))) {
+                return false;
+            }
+
+            queue.add(new Record(succ1, succ2, sym, record));
+            return true;
+        }
+    }
+
+    /**
+     * A symbolic representation of the transitions of a deterministic automaton. For each state, the most frequent
+     * (successor, transition property) combination is stored as its default edge and all deviating transitions are
+     * stored as (sorted) exceptions.
+     */
+    private static final class SymbolicTransitions {
+
+        private final int numStates;
+        private final int numInputs;
+        private final int initial;
+
+        private final List<@Nullable Object> stateProperties;
+        private final List<@Nullable Object> transitionProperties;
+
+        private final int[] defaultSuccessors;
+        private final int[] defaultProperties;
+
+        private final int[] excOffsets;
+        private int[] excSymbols;
+        private int[] excSuccessors;
+        private int[] excProperties;
+
+        private SymbolicTransitions(int numStates, int numInputs, int initial) {
+            this.numStates = numStates;
+            this.numInputs = numInputs;
+            this.initial = initial;
+            this.stateProperties = new ArrayList<>(numStates);
+            this.transitionProperties = new ArrayList<>();
+            this.defaultSuccessors = new int[numStates];
+            this.defaultProperties = new int[numStates];
+            this.excOffsets = new int[numStates + 1];
+            this.excSymbols = new int[numStates];
+            this.excSuccessors = new int[numStates];
+            this.excProperties = new int[numStates];
+        }
+
+        static <I, T> SymbolicTransitions of(UniversalDeterministicAutomaton<?, I, T, ?, ?> automaton,
+                                             Alphabet<I> inputs) {
+            final FullIntAbstraction<T, ?, ?> abs = automaton.fullIntAbstraction(inputs.size(), inputs::getSymbol);
+            final int numStates = automaton.size();
+            final int numInputs = inputs.size();
+
+            final SymbolicTransitions result =
+                    new SymbolicTransitions(numStates, numInputs, abs.getIntInitialState());
+            final Map<@Nullable Object, Integer> tpIds = new HashMap<>();
+
+            final long[] keys = new long[numInputs];
+            final KeyCounter counter = new KeyCounter(numInputs);
+
+            int numExceptions = 0;
+
+            for (int s = 0; s < numStates; s++) {
+                result.stateProperties.add(abs.getStateProperty(s));
+
+                for (int i = 0; i < numInputs; i++) {
+                    final T trans = abs.getTransition(s, i);
+                    if (trans == null) {
+                        keys[i] = encode(-1, -1);
+                    } else {
+                        final int tp = tpIds.computeIfAbsent(abs.getTransitionProperty(trans), k -> tpIds.size());
+                        keys[i] = encode(abs.getIntSuccessor(trans), tp);
+                    }
+                }
+
+                final long defaultKey = counter.findMostFrequent(keys);
+                result.defaultSuccessors[s] = decodeSuccessor(defaultKey);
+                result.defaultProperties[s] = decodeProperty(defaultKey);
+
+                for (int i = 0; i < numInputs; i++) {
+                    if (keys[i] != defaultKey) {
+                        result.ensureExceptionCapacity(numExceptions + 1);
+                        result.excSymbols[numExceptions] = i;
+                        result.excSuccessors[numExceptions] = decodeSuccessor(keys[i]);
+                        result.excProperties[numExceptions] = decodeProperty(keys[i]);
+                        numExceptions++;
+                    }
+                }
+
+                result.excOffsets[s + 1] = numExceptions;
+            }
+
+            final Object[] tpValues = new Object[tpIds.size()];
+            for (Map.Entry<@Nullable Object, Integer> e : tpIds.entrySet()) {
+                tpValues[e.getValue()] = e.getKey();
+            }
+            result.transitionProperties.addAll(Arrays.asList(tpValues));
+
+            return result;
+        }
+
+        private static long encode(int successor, int property) {
+            return ((long) (successor + 1) << 32) | (property + 1);
+        }
+
+        private static int decodeSuccessor(long key) {
+            return (int) (key >>> 32) - 1;
+        }
+
+        private static int decodeProperty(long key) {
+            return (int) key - 1;
+        }
+
+        private void ensureExceptionCapacity(int capacity) {
+            if (capacity > excSymbols.length) {
+                final int newSize = Math.max(capacity, 2 * excSymbols.length);
+                excSymbols = Arrays.copyOf(excSymbols, newSize);
+                excSuccessors = Arrays.copyOf(excSuccessors, newSize);
+                excProperties = Arrays.copyOf(excProperties, newSize);
+            }
+        }
+
+        @Nullable Object getStateProperty(int state) {
+            return stateProperties.get(state);
+        }
+
+        @Nullable Object getTransitionProperty(int property) {
+            return transitionProperties.get(property);
+        }
+    }
+
+    /**
+     * An open-addressing hash table for counting the occurrences of (encoded) edges in linear time. The table is
+     * re-used for all states and only the occupied slots are cleared after each query.
+     */
+    private static final class KeyCounter {
+
+        // encoded keys are never negative
+        private static final long EMPTY = -1;
+
+        private final long[] table;
+        private final int[] counts;
+        private final int[] occupied;
+        private final int mask;
+
+        KeyCounter(int numKeys) {
+            final int capacity = Integer.highestOneBit(Math.max(2 * numKeys - 1, 1)) << 1;
+            this.table = new long[capacity];
+            this.counts = new int[capacity];
+            this.occupied = new int[numKeys];
+            this.mask = capacity - 1;
+            Arrays.fill(table, EMPTY);
+        }
+
+        long findMostFrequent(long[] keys) {
+            if (keys.length == 0) {
+                return SymbolicTransitions.encode(-1, -1);
+            }
+
+            long best = keys[0];
+            int bestCount = 0;
+            int numOccupied = 0;
+
+            for (long key : keys) {
+                int slot = hash(key) & mask;
+                while (table[slot] != key && table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+
+                if (table[slot] == EMPTY) {
+                    table[slot] = key;
+                    occupied[numOccupied++] = slot;
+                }
+
+                final int count = ++counts[slot];
+                if (count > bestCount) {
+                    bestCount = count;
+                    best = key;
+                }
+            }
+
+            for (int i = 0; i < numOccupied; i++) {
+                final int slot = occupied[i];
+                table[slot] = EMPTY;
+                counts[slot] = 0;
+            }
+
+            return best;
+        }
+
+        private static int hash(long key) {
+            final long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private static final class Record {
+
+        private final int state1;
+        private final int state2;
+        private final int reachedBy;
+        private final @Nullable Record reachedFrom;
+        private final int depth;
+
+        Record(int state1, int state2, int reachedBy, @Nullable Record reachedFrom) {
+            this.state1 = state1;
+            this.state2 = state2;
+            this.reachedBy = reachedBy;
+            this.reachedFrom = reachedFrom;
+            this.depth = (reachedFrom != null) ? reachedFrom.depth + 1 : 0;
+        }
+    }
+}
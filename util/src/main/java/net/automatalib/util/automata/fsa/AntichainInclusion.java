@@ -0,0 +1,482 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.commons.util.fixpoint.PairRelations;
+import net.automatalib.commons.util.fixpoint.WorklistSolver;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An antichain-based language inclusion check for NFAs (see "Antichains: A New Algorithm for Checking Universality of
+ * Finite Automata" by De Wulf, Doyen, Henzinger and Raskin).
+ * <p>
+ * For checking whether {@code L(A)} is a subset of {@code L(B)}, the product of {@code A} and the (lazily constructed)
+ * subset automaton of {@code B} is explored in a breadth-first manner. A product state {@code (p, S)} is a
+ * counterexample if {@code p} is accepting and {@code S} contains no accepting state. Since the successors of a subset
+ * are contained in the successors of any of its supersets, a product state {@code (p, S')} that is subsumed by an
+ * already discovered product state {@code (p, S)} (i.e., {@code S} is a subset of {@code S'}) cannot lead to shorter
+ * counterexamples and is discarded. Hence, only the minimal subsets (with respect to set inclusion, i.e., an
+ * antichain) are kept for each state of {@code A}. The returned counterexamples are shortest ones.
+ * <p>
+ * Optionally, the exploration is further pruned by means of a forward simulation relation on the states of {@code A}
+ * and {@code B} (see "When Simulation Meets Antichains" by Abdulla, Chen, Holik, Mayr and Vojnar): A product state
+ * {@code (p, S)} is discarded if some state of {@code S} simulates {@code p}, and subsumption is generalized to
+ * subsets {@code S'} of which each state is simulated by some state of {@code S}. This is particularly effective if
+ * the NFAs share structure, e.g., because they are derived from similar regular expressions. Since computing the
+ * simulation relation is quadratic in the number of states, it is skipped for very large NFAs.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+final class AntichainInclusion<I> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The maximum number of (combined) states for which the (quadratic) simulation relation is computed.
+     */
+    private static final int MAX_SIMULATION_STATES = 1 << 13;
+
+    private final int numInputs;
+    private final int[][] leftSuccessors;
+    private final boolean[] leftAccepting;
+    private final int[] leftInitial;
+    private final SubsetConstruction<I> right;
+
+    // for each left state p, the right states that simulate p (or null, if no simulation is used)
+    private final long @Nullable [][] leftSimulators;
+    // for each right state r, the right states that are simulated by r (or null, if no simulation is used)
+    private final long @Nullable [][] rightSimulated;
+    private final long[] downSet;
+
+    // the explored product states, in BFS order
+    private int[] nodeStates;
+    private int[] nodeSubsets;
+    private int[] nodeParents;
+    private int[] nodeInputs;
+    private int[] nodeDepths;
+    private boolean[] nodePruned;
+    private int numNodes;
+
+    // the antichain (of node indices) for each left state
+    private final int[][] antichains;
+    private final int[] antichainSizes;
+
+    private AntichainInclusion(int[][] leftSuccessors,
+                               boolean[] leftAccepting,
+                               int[] leftInitial,
+                               int[][] rightSuccessors,
+                               boolean[] rightAccepting,
+                               SubsetConstruction<I> right,
+                               boolean useSimulation) {
+        this.numInputs = right.getInputs().size();
+        this.leftSuccessors = leftSuccessors;
+        this.leftAccepting = leftAccepting;
+        this.leftInitial = leftInitial;
+        this.right = right;
+
+        final int numLeft = leftAccepting.length;
+        final int numRight = rightAccepting.length;
+        this.downSet = new long[words(numRight)];
+
+        if (useSimulation && numLeft + numRight <= MAX_SIMULATION_STATES) {
+            final BitSet simulation = computeSimulation(leftSuccessors,
+                                                        leftAccepting,
+                                                        rightSuccessors,
+                                                        rightAccepting,
+                                                        numInputs);
+            this.leftSimulators = new long[numLeft][words(numRight)];
+            this.rightSimulated = new long[numRight][words(numRight)];
+
+            final int numStates = numLeft + numRight;
+            for (int p = 0; p < numLeft; p++) {
+                for (int r = 0; r < numRight; r++) {
+                    if (simulation.get(p * numStates + numLeft + r)) {
+                        set(leftSimulators[p], r);
+                    }
+                }
+            }
+            for (int r1 = 0; r1 < numRight; r1++) {
+                for (int r2 = 0; r2 < numRight; r2++) {
+                    if (simulation.get((numLeft + r1) * numStates + numLeft + r2)) {
+                        set(rightSimulated[r2], r1);
+                    }
+                }
+            }
+        } else {
+            this.leftSimulators = null;
+            this.rightSimulated = null;
+        }
+
+        this.nodeStates = new int[DEFAULT_CAPACITY];
+        this.nodeSubsets = new int[DEFAULT_CAPACITY];
+        this.nodeParents = new int[DEFAULT_CAPACITY];
+        this.nodeInputs = new int[DEFAULT_CAPACITY];
+        this.nodeDepths = new int[DEFAULT_CAPACITY];
+        this.nodePruned = new boolean[DEFAULT_CAPACITY];
+
+        this.antichains = new int[leftAccepting.length][];
+        this.antichainSizes = new int[leftAccepting.length];
+    }
+
+    /**
+     * Returns a (shortest) word that is accepted by {@code nfa1} but not by {@code nfa2}, or {@code null} if no such
+     * word exists.
+     */
+    static <I> @Nullable Word<I> findInclusionCounterexample(NFA<?, I> nfa1,
+                                                             NFA<?, I> nfa2,
+                                                             Collection<? extends I> inputs,
+                                                             boolean useSimulation) {
+        final SubsetConstruction<I> right = new SubsetConstruction<>(nfa2, inputs);
+        final List<I> inputList = right.getInputs();
+
+        final boolean[] leftAccepting = new boolean[nfa1.size()];
+        final int[][] leftSuccessors = toArrays(nfa1, inputList, leftAccepting);
+        final int[] leftInitial = initialIDs(nfa1);
+
+        final boolean[] rightAccepting = new boolean[nfa2.size()];
+        final int[][] rightSuccessors = toArrays(nfa2, inputList, rightAccepting);
+
+        return new AntichainInclusion<>(leftSuccessors,
+                                        leftAccepting,
+                                        leftInitial,
+                                        rightSuccessors,
+                                        rightAccepting,
+                                        right,
+                                        useSimulation).run();
+    }
+
+    /**
+     * Returns a (shortest) word over the given inputs that is not accepted by {@code nfa}, or {@code null} if no such
+     * word exists.
+     */
+    static <I> @Nullable Word<I> findUniversalityCounterexample(NFA<?, I> nfa,
+                                                                Collection<? extends I> inputs,
+                                                                boolean useSimulation) {
+        final SubsetConstruction<I> right = new SubsetConstruction<>(nfa, inputs);
+        final int numInputs = right.getInputs().size();
+
+        // a single, accepting state with self-loops for all inputs accepts the universal language
+        final int[][] leftSuccessors = new int[numInputs][];
+        Arrays.fill(leftSuccessors, new int[] {0});
+
+        final boolean[] rightAccepting = new boolean[nfa.size()];
+        final int[][] rightSuccessors = toArrays(nfa, right.getInputs(), rightAccepting);
+
+        return new AntichainInclusion<>(leftSuccessors,
+                                        new boolean[] {true},
+                                        new int[] {0},
+                                        rightSuccessors,
+                                        rightAccepting,
+                                        right,
+                                        useSimulation).run();
+    }
+
+    private @Nullable Word<I> run() {
+        final int init = right.getInitialSubset();
+
+        for (int p : leftInitial) {
+            final int node = addNode(p, init, -1, -1, 0);
+            if (node >= 0 && isCounterexample(node)) {
+                return buildWord(node);
+            }
+        }
+
+        // nodes are created in BFS order, hence iterating over them explores the product breadth-first
+        for (int n = 0; n < numNodes; n++) {
+            if (nodePruned[n]) {
+                continue;
+            }
+
+            final int p = nodeStates[n];
+            final int subset = nodeSubsets[n];
+            final int depth = nodeDepths[n] + 1;
+
+            for (int i = 0; i < numInputs; i++) {
+                final int[] leftSuccs = leftSuccessors[p * numInputs + i];
+
+                if (leftSuccs.length == 0) {
+                    continue;
+                }
+
+                final int succSubset = right.getSuccessorId(subset, i);
+
+                for (int succ : leftSuccs) {
+                    final int node = addNode(succ, succSubset, n, i, depth);
+                    if (node >= 0 && isCounterexample(node)) {
+                        return buildWord(node);
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private boolean isCounterexample(int node) {
+        return leftAccepting[nodeStates[node]] && !right.isAcceptingSubset(nodeSubsets[node]);
+    }
+
+    /**
+     * Adds the product state {@code (p, subset)} unless it is subsumed by an element of the antichain of {@code p} (or
+     * pruned by the simulation relation).
+     *
+     * @return the index of the new node, or {@code -1} if the product state is subsumed
+     */
+    private int addNode(int p, int subset, int parent, int input, int depth) {
+        final int[] elements = antichains[p];
+        final int size = antichainSizes[p];
+        final int[] set = right.getSubsetView(subset);
+
+        if (leftSimulators != null && rightSimulated != null) {
+            // every word accepted by p is also accepted by some state of the subset
+            final long[] simulators = leftSimulators[p];
+            for (int r : set) {
+                if (get(simulators, r)) {
+                    return -1;
+                }
+            }
+
+            // the states that are simulated by some state of the subset
+            Arrays.fill(downSet, 0);
+            for (int r : set) {
+                final long[] simulated = rightSimulated[r];
+                for (int w = 0; w < downSet.length; w++) {
+                    downSet[w] |= simulated[w];
+                }
+            }
+
+            for (int j = 0; j < size; j++) {
+                final int other = nodeSubsets[elements[j]];
+                if (other == subset || containsAll(downSet, right.getSubsetView(other))) {
+                    return -1;
+                }
+            }
+        } else {
+            for (int j = 0; j < size; j++) {
+                final int other = nodeSubsets[elements[j]];
+                if (other == subset || isSubset(right.getSubsetView(other), set)) {
+                    return -1;
+                }
+            }
+        }
+
+        // remove the elements that are subsumed by the new one
+        int newSize = 0;
+        for (int j = 0; j < size; j++) {
+            final int node = elements[j];
+            if (isSubset(set, right.getSubsetView(nodeSubsets[node]))) {
+                // nodes of the same depth have not been expanded yet. Nodes of smaller depths are still expanded, since
+                // they may lead to shorter counterexamples
+                if (nodeDepths[node] == depth) {
+                    nodePruned[node] = true;
+                }
+            } else {
+                elements[newSize++] = node;
+            }
+        }
+
+        final int node = createNode(p, subset, parent, input, depth);
+        addToAntichain(p, newSize, node);
+
+        return node;
+    }
+
+    private int createNode(int p, int subset, int parent, int input, int depth) {
+        if (numNodes == nodeStates.length) {
+            final int newCapacity = numNodes * 2;
+            nodeStates = Arrays.copyOf(nodeStates, newCapacity);
+            nodeSubsets = Arrays.copyOf(nodeSubsets, newCapacity);
+            nodeParents = Arrays.copyOf(nodeParents, newCapacity);
+            nodeInputs = Arrays.copyOf(nodeInputs, newCapacity);
+            nodeDepths = Arrays.copyOf(nodeDepths, newCapacity);
+            nodePruned = Arrays.copyOf(nodePruned, newCapacity);
+        }
+
+        final int node = numNodes++;
+        nodeStates[node] = p;
+        nodeSubsets[node] = subset;
+        nodeParents[node] = parent;
+        nodeInputs[node] = input;
+        nodeDepths[node] = depth;
+
+        return node;
+    }
+
+    private void addToAntichain(int p, int size, int node) {
+        int[] elements = antichains[p];
+
+        if (elements == null) {
+            elements = new int[4];
+            antichains[p] = elements;
+        } else if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+            antichains[p] = elements;
+        }
+
+        elements[size] = node;
+        antichainSizes[p] = size + 1;
+    }
+
+    private Word<I> buildWord(int node) {
+        final List<I> inputs = right.getInputs();
+        final WordBuilder<I> wb = new WordBuilder<>(nodeDepths[node]);
+
+        for (int n = node; nodeParents[n] >= 0; n = nodeParents[n]) {
+            wb.append(inputs.get(nodeInputs[n]));
+        }
+
+        return wb.reverse().toWord();
+    }
+
+    /**
+     * Checks whether the (sorted) array {@code a} is a subset of the (sorted) array {@code b}.
+     */
+    private static boolean isSubset(int[] a, int[] b) {
+        if (a.length > b.length) {
+            return false;
+        }
+
+        int j = 0;
+        for (int elem : a) {
+            while (j < b.length && b[j] < elem) {
+                j++;
+            }
+            if (j == b.length || b[j] != elem) {
+                return false;
+            }
+            j++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes the maximal forward simulation relation on the disjoint union of the left and the right automaton, in
+     * which the right states are offset by the number of left states. The returned relation contains the pair {@code
+     * (s, t)} at index {@code s * numStates + t} iff {@code t} simulates {@code s}.
+     */
+    private static BitSet computeSimulation(int[][] leftSuccessors,
+                                            boolean[] leftAccepting,
+                                            int[][] rightSuccessors,
+                                            boolean[] rightAccepting,
+                                            int numInputs) {
+        final int numLeft = leftAccepting.length;
+        final int numStates = numLeft + rightAccepting.length;
+        final int[][] successors = new int[numStates * numInputs][];
+        final boolean[] accepting = new boolean[numStates];
+
+        System.arraycopy(leftSuccessors, 0, successors, 0, leftSuccessors.length);
+        System.arraycopy(leftAccepting, 0, accepting, 0, numLeft);
+        System.arraycopy(rightAccepting, 0, accepting, numLeft, rightAccepting.length);
+        for (int i = 0; i < rightSuccessors.length; i++) {
+            final int[] succs = rightSuccessors[i].clone();
+            for (int j = 0; j < succs.length; j++) {
+                succs[j] += numLeft;
+            }
+            successors[leftSuccessors.length + i] = succs;
+        }
+
+        final int numPairs = Math.multiplyExact(numStates, numStates);
+        final BitSet simulation = new BitSet(numPairs);
+        for (int s = 0; s < numStates; s++) {
+            for (int t = 0; t < numStates; t++) {
+                if (!accepting[s] || accepting[t]) {
+                    simulation.set(s * numStates + t);
+                }
+            }
+        }
+
+        final int[][] predecessors = PairRelations.predecessors(successors, numStates, numInputs);
+
+        // a pair (s, t) only needs to be re-checked if the relation has changed for a pair of its successors
+        WorklistSolver.solve(numPairs, pair -> {
+            final int s = pair / numStates;
+            final int t = pair % numStates;
+
+            if (simulation.get(pair) &&
+                !PairRelations.isMatched(successors, successors, s, t, numInputs, simulation, numStates, false)) {
+                simulation.clear(pair);
+                return true;
+            }
+            return false;
+        }, PairRelations.dependents(predecessors, predecessors, numStates, numInputs));
+
+        return simulation;
+    }
+
+    private static boolean containsAll(long[] bits, int[] elements) {
+        for (int e : elements) {
+            if (!get(bits, e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int words(int numBits) {
+        return (numBits + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private static boolean get(long[] bits, int idx) {
+        return (bits[idx >>> 6] & (1L << idx)) != 0;
+    }
+
+    private static void set(long[] bits, int idx) {
+        bits[idx >>> 6] |= 1L << idx;
+    }
+
+    private static <S, I> int[][] toArrays(NFA<S, I> nfa, List<I> inputs, boolean[] accepting) {
+        final StateIDs<S> stateIDs = nfa.stateIDs();
+        final int numInputs = inputs.size();
+        final int[][] successors = new int[nfa.size() * numInputs][];
+
+        for (S state : nfa) {
+            final int id = stateIDs.getStateId(state);
+            accepting[id] = nfa.isAccepting(state);
+            for (int i = 0; i < numInputs; i++) {
+                successors[id * numInputs + i] = toIDs(nfa.getSuccessors(state, inputs.get(i)), stateIDs);
+            }
+        }
+
+        return successors;
+    }
+
+    private static <S> int[] initialIDs(NFA<S, ?> nfa) {
+        return toIDs(nfa.getInitialStates(), nfa.stateIDs());
+    }
+
+    private static <S> int[] toIDs(Collection<? extends S> states, StateIDs<S> stateIDs) {
+        final int[] result = new int[states.size()];
+        int i = 0;
+        for (S s : states) {
+            result[i++] = stateIDs.getStateId(s);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+}
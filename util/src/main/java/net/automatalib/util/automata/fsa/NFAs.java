@@ -15,22 +15,18 @@
  */
 package net.automatalib.util.automata.fsa;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.Collection;
-import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import net.automatalib.automata.concepts.InputAlphabetHolder;
-import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.MutableDFA;
 import net.automatalib.automata.fsa.NFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class NFAs {
 
@@ -74,71 +70,158 @@ public final class NFAs {
         determinize(nfa, inputs, out, false, true);
     }
 
-    private static <I, SI, SO> void doDeterminize(NFA<SI, I> nfa,
-                                                  Collection<? extends I> inputs,
-                                                  MutableDFA<SO, I> out,
-                                                  boolean partial) {
-
-        Map<BitSet, SO> outStateMap = new HashMap<>();
-        StateIDs<SI> stateIds = nfa.stateIDs();
+    /**
+     * Checks whether the given NFA accepts all words over the given inputs. The check uses an antichain-based
+     * exploration of the subset automaton and does not determinize the NFA.
+     *
+     * @param nfa
+     *         the NFA
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return {@code true} if the NFA accepts all words over the given inputs, {@code false} otherwise
+     *
+     * @see #findUniversalityCounterexample(NFA, Collection)
+     */
+    public static <I> boolean isUniversal(NFA<?, I> nfa, Collection<? extends I> inputs) {
+        return findUniversalityCounterexample(nfa, inputs) == null;
+    }
 
-        Deque<DeterminizeRecord<SI, SO>> stack = new ArrayDeque<>();
+    /**
+     * Computes a shortest word over the given inputs that is not accepted by the given NFA. The computation uses an
+     * antichain-based exploration of the subset automaton and does not determinize the NFA.
+     *
+     * @param nfa
+     *         the NFA
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return a shortest word that is not accepted by the NFA, or {@code null} if the NFA is universal
+     */
+    public static <I> @Nullable Word<I> findUniversalityCounterexample(NFA<?, I> nfa, Collection<? extends I> inputs) {
+        return AntichainInclusion.findUniversalityCounterexample(nfa, inputs, true);
+    }
 
-        List<SI> initList = new ArrayList<>(nfa.getInitialStates());
-        BitSet initBs = new BitSet();
-        for (SI init : initList) {
-            initBs.set(stateIds.getStateId(init));
-        }
+    /**
+     * Checks whether the language of {@code nfa1} is a subset of the language of {@code nfa2} (with respect to the
+     * given inputs). The check uses an antichain-based exploration of the product of {@code nfa1} and the subset
+     * automaton of {@code nfa2} and does not determinize any of the NFAs.
+     *
+     * @param nfa1
+     *         the first NFA
+     * @param nfa2
+     *         the second NFA
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return {@code true} if the language of {@code nfa1} is included in the language of {@code nfa2}, {@code false}
+     * otherwise
+     *
+     * @see #findInclusionCounterexample(NFA, NFA, Collection)
+     */
+    public static <I> boolean testInclusion(NFA<?, I> nfa1, NFA<?, I> nfa2, Collection<? extends I> inputs) {
+        return findInclusionCounterexample(nfa1, nfa2, inputs) == null;
+    }
 
-        boolean initAcc = nfa.isAccepting(initList);
-        SO initOut = out.addInitialState(initAcc);
+    /**
+     * Computes a shortest word (over the given inputs) that is accepted by {@code nfa1} but not by {@code nfa2}. The
+     * computation uses an antichain-based exploration of the product of {@code nfa1} and the subset automaton of
+     * {@code nfa2} and does not determinize any of the NFAs.
+     *
+     * @param nfa1
+     *         the first NFA
+     * @param nfa2
+     *         the second NFA
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return a shortest word accepted by {@code nfa1} but not by {@code nfa2}, or {@code null} if the language of
+     * {@code nfa1} is included in the language of {@code nfa2}
+     */
+    public static <I> @Nullable Word<I> findInclusionCounterexample(NFA<?, I> nfa1,
+                                                                    NFA<?, I> nfa2,
+                                                                    Collection<? extends I> inputs) {
+        return AntichainInclusion.findInclusionCounterexample(nfa1, nfa2, inputs, true);
+    }
 
-        outStateMap.put(initBs, initOut);
+    /**
+     * Checks whether the two given NFAs accept the same language (with respect to the given inputs) by means of two
+     * {@link #testInclusion(NFA, NFA, Collection) inclusion checks}.
+     *
+     * @param nfa1
+     *         the first NFA
+     * @param nfa2
+     *         the second NFA
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return {@code true} if both NFAs accept the same language, {@code false} otherwise
+     *
+     * @see #findSeparatingWord(NFA, NFA, Collection)
+     */
+    public static <I> boolean testEquivalence(NFA<?, I> nfa1, NFA<?, I> nfa2, Collection<? extends I> inputs) {
+        return findSeparatingWord(nfa1, nfa2, inputs) == null;
+    }
 
-        stack.push(new DeterminizeRecord<>(initList, initOut));
+    /**
+     * Computes a word (over the given inputs) that is accepted by exactly one of the given NFAs by means of two {@link
+     * #findInclusionCounterexample(NFA, NFA, Collection) inclusion checks}. The returned word is a shortest
+     * counterexample for the first inclusion that fails, but not necessarily a shortest separating word.
+     *
+     * @param nfa1
+     *         the first NFA
+     * @param nfa2
+     *         the second NFA
+     * @param inputs
+     *         the input symbols to consider
+     *
+     * @return a word accepted by exactly one of the NFAs, or {@code null} if both NFAs accept the same language
+     */
+    public static <I> @Nullable Word<I> findSeparatingWord(NFA<?, I> nfa1,
+                                                           NFA<?, I> nfa2,
+                                                           Collection<? extends I> inputs) {
+        final Word<I> sepWord = findInclusionCounterexample(nfa1, nfa2, inputs);
+        return sepWord != null ? sepWord : findInclusionCounterexample(nfa2, nfa1, inputs);
+    }
 
-        while (!stack.isEmpty()) {
-            DeterminizeRecord<SI, SO> curr = stack.pop();
+    private static <I, SO> void doDeterminize(NFA<?, I> nfa,
+                                              Collection<? extends I> inputs,
+                                              MutableDFA<SO, I> out,
+                                              boolean partial) {
 
-            List<SI> inStates = curr.inputStates;
-            SO outState = curr.outputState;
+        final SubsetConstruction<I> subsets = new SubsetConstruction<>(nfa, inputs);
+        final List<I> inputList = subsets.getInputs();
+        final List<@Nullable SO> outStates = new ArrayList<>();
 
-            for (I sym : inputs) {
-                BitSet succBs = new BitSet();
-                List<SI> succList = new ArrayList<>();
+        final int init = subsets.getInitialSubset();
+        outStates.add(out.addInitialState(subsets.isAcceptingSubset(init)));
 
-                for (SI inState : inStates) {
-                    for (SI succState : nfa.getSuccessors(inState, sym)) {
-                        int succId = stateIds.getStateId(succState);
-                        if (!succBs.get(succId)) {
-                            succBs.set(succId);
-                            succList.add(succState);
-                        }
-                    }
-                }
+        // subset IDs are assigned in discovery order, so iterating over them explores all reachable subsets
+        for (int id = 0; id < subsets.size(); id++) {
+            final SO outState = id < outStates.size() ? outStates.get(id) : null;
 
-                if (!partial || !succList.isEmpty()) {
-                    SO outSucc = outStateMap.get(succBs);
-                    if (outSucc == null) {
-                        outSucc = out.addState(nfa.isAccepting(succList));
-                        outStateMap.put(succBs, outSucc);
-                        stack.push(new DeterminizeRecord<>(succList, outSucc));
-                    }
-                    out.setTransition(outState, sym, outSucc);
-                }
+            if (outState == null) { // the empty subset in partial mode
+                continue;
             }
-        }
 
-    }
+            for (int i = 0; i < inputList.size(); i++) {
+                final int succ = subsets.getSuccessorId(id, i);
 
-    private static final class DeterminizeRecord<SI, SO> {
+                if (partial && subsets.isEmptySubset(succ)) {
+                    continue;
+                }
 
-        private final List<SI> inputStates;
-        private final SO outputState;
+                while (outStates.size() <= succ) {
+                    outStates.add(null);
+                }
 
-        DeterminizeRecord(List<SI> inputStates, SO outputState) {
-            this.inputStates = inputStates;
-            this.outputState = outputState;
+                SO outSucc = outStates.get(succ);
+                if (outSucc == null) {
+                    outSucc = out.addState(subsets.isAcceptingSubset(succ));
+                    outStates.set(succ, outSucc);
+                }
+                out.setTransition(outState, inputList.get(i), outSucc);
+            }
         }
     }
 }
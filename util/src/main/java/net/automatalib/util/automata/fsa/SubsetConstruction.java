@@ -0,0 +1,418 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.ts.acceptors.DeterministicAcceptorTS;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A lazy subset construction for {@link NFA}s.
+ * <p>
+ * In contrast to {@link net.automatalib.ts.powerset.DirectPowersetDTS}, subsets are represented by sorted arrays of
+ * (NFA) state IDs, which are interned in a hash table and identified by a (subset) ID. Subset IDs are assigned in the
+ * order in which the subsets are discovered, starting with {@code 0}. Successors are only computed on demand and the
+ * {@code (subset, input)} to subset ID transitions are memoized, so that repeatedly simulating words on the same
+ * instance does not recompute any successor sets.
+ * <p>
+ * This class can be used in three ways:
+ * <ul>
+ * <li>As a {@link DeterministicAcceptorTS} over the subset IDs, e.g., for on-the-fly product constructions or
+ * explorations.</li>
+ * <li>Via the (boxing-free) methods {@link #getInitialSubset()} and {@link #getSuccessorId(int, int)}, e.g., for a
+ * full determinization (see {@link NFAs#determinize(NFA, Collection, net.automatalib.automata.fsa.MutableDFA, boolean,
+ * boolean)}).</li>
+ * <li>For simulating words via {@link #accepts(Iterable)}. If a cache capacity is specified, the cache is {@link
+ * #clear() cleared} before simulating a word whenever the number of interned subsets exceeds the capacity. This bounds
+ * the memory consumption for NFAs with an exponential blow-up, but invalidates all previously obtained subset
+ * IDs.</li>
+ * </ul>
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+public class SubsetConstruction<I> implements DeterministicAcceptorTS<Integer, I> {
+
+    private static final int UNKNOWN = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final List<I> inputs;
+    private final Map<I, Integer> inputIndices;
+    private final int numInputs;
+    private final int[][] nfaSuccessors;
+    private final boolean[] nfaAccepting;
+    private final int[] initialSubset;
+    private final int cacheCapacity;
+
+    private final long[] marks;
+    private final int[] buffer;
+
+    private int[][] subsets;
+    private int[] hashes;
+    private boolean[] accepting;
+    private int[] transitions;
+    private int[] table;
+    private int size;
+
+    /**
+     * Constructor. Creates a subset construction with an unbounded cache.
+     *
+     * @param nfa
+     *         the NFA
+     * @param inputs
+     *         the inputs to consider
+     * @param <S>
+     *         NFA state type
+     */
+    public <S> SubsetConstruction(NFA<S, I> nfa, Collection<? extends I> inputs) {
+        this(nfa, inputs, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param nfa
+     *         the NFA
+     * @param inputs
+     *         the inputs to consider
+     * @param cacheCapacity
+     *         the number of subsets after which the cache is cleared when {@link #accepts(Iterable) simulating} words
+     * @param <S>
+     *         NFA state type
+     */
+    public <S> SubsetConstruction(NFA<S, I> nfa, Collection<? extends I> inputs, int cacheCapacity) {
+        final StateIDs<S> stateIDs = nfa.stateIDs();
+        final int numStates = nfa.size();
+
+        this.inputs = Collections.unmodifiableList(new ArrayList<>(inputs));
+        this.numInputs = this.inputs.size();
+        this.inputIndices = new HashMap<>((int) (numInputs / 0.75f) + 1);
+        for (int i = 0; i < numInputs; i++) {
+            this.inputIndices.put(this.inputs.get(i), i);
+        }
+
+        this.nfaSuccessors = new int[numStates * numInputs][];
+        this.nfaAccepting = new boolean[numStates];
+        this.marks = new long[(numStates + Long.SIZE - 1) / Long.SIZE];
+        this.buffer = new int[numStates];
+
+        for (S state : nfa) {
+            final int id = stateIDs.getStateId(state);
+            nfaAccepting[id] = nfa.isAccepting(state);
+            for (int i = 0; i < numInputs; i++) {
+                int count = 0;
+                for (S succ : nfa.getSuccessors(state, this.inputs.get(i))) {
+                    count = mark(stateIDs.getStateId(succ), count);
+                }
+                nfaSuccessors[id * numInputs + i] = collectMarked(count);
+            }
+        }
+
+        int count = 0;
+        for (S init : nfa.getInitialStates()) {
+            count = mark(stateIDs.getStateId(init), count);
+        }
+        this.initialSubset = collectMarked(count);
+        this.cacheCapacity = cacheCapacity;
+
+        initCache();
+    }
+
+    /**
+     * Returns the inputs of this subset construction. The index of an input in this list is the index used by {@link
+     * #getSuccessorId(int, int)}.
+     *
+     * @return the inputs
+     */
+    public List<I> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Returns the ID of the initial subset.
+     *
+     * @return the ID of the initial subset
+     */
+    public int getInitialSubset() {
+        return intern(initialSubset, hash(initialSubset, initialSubset.length), initialSubset.length);
+    }
+
+    /**
+     * Returns the ID of the successor subset of the given subset for the input with the given index.
+     *
+     * @param subset
+     *         the subset ID
+     * @param inputIdx
+     *         the index of the input symbol in {@link #getInputs()}
+     *
+     * @return the ID of the successor subset
+     */
+    public int getSuccessorId(int subset, int inputIdx) {
+        final int transIdx = subset * numInputs + inputIdx;
+        int succ = transitions[transIdx];
+
+        if (succ == UNKNOWN) {
+            succ = computeSuccessor(subset, inputIdx);
+            transitions[transIdx] = succ;
+        }
+
+        return succ;
+    }
+
+    /**
+     * Returns whether the given subset contains an accepting NFA state.
+     *
+     * @param subset
+     *         the subset ID
+     *
+     * @return {@code true} if the subset is accepting, {@code false} otherwise
+     */
+    public boolean isAcceptingSubset(int subset) {
+        return accepting[subset];
+    }
+
+    /**
+     * Returns whether the given subset is empty.
+     *
+     * @param subset
+     *         the subset ID
+     *
+     * @return {@code true} if the subset is empty, {@code false} otherwise
+     */
+    public boolean isEmptySubset(int subset) {
+        return subsets[subset].length == 0;
+    }
+
+    /**
+     * Returns the (sorted) NFA state IDs of the given subset.
+     *
+     * @param subset
+     *         the subset ID
+     *
+     * @return the NFA state IDs of the given subset
+     */
+    public int[] getSubset(int subset) {
+        return subsets[subset].clone();
+    }
+
+    /**
+     * Returns the internal (sorted) array of the given subset, which must not be modified.
+     */
+    int[] getSubsetView(int subset) {
+        return subsets[subset];
+    }
+
+    /**
+     * Returns the number of currently interned subsets. Since subset IDs are assigned consecutively, all IDs are
+     * smaller than this number.
+     *
+     * @return the number of interned subsets
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Clears all interned subsets and memoized transitions. This invalidates all previously obtained subset IDs.
+     */
+    public void clear() {
+        initCache();
+    }
+
+    @Override
+    public Integer getInitialState() {
+        return getInitialSubset();
+    }
+
+    @Override
+    public @Nullable Integer getTransition(Integer state, I input) {
+        final Integer inputIdx = inputIndices.get(input);
+        return inputIdx == null ? null : getSuccessorId(state, inputIdx);
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        return accepting[state];
+    }
+
+    @Override
+    public boolean accepts(Iterable<? extends I> input) {
+        if (size > cacheCapacity) {
+            clear();
+        }
+
+        int curr = getInitialSubset();
+
+        for (I sym : input) {
+            final Integer inputIdx = inputIndices.get(sym);
+            if (inputIdx == null) {
+                return false;
+            }
+            curr = getSuccessorId(curr, inputIdx);
+        }
+
+        return accepting[curr];
+    }
+
+    private void initCache() {
+        this.subsets = new int[DEFAULT_CAPACITY][];
+        this.hashes = new int[DEFAULT_CAPACITY];
+        this.accepting = new boolean[DEFAULT_CAPACITY];
+        this.transitions = new int[DEFAULT_CAPACITY * numInputs];
+        this.table = new int[DEFAULT_CAPACITY * 2];
+        this.size = 0;
+    }
+
+    private int computeSuccessor(int subset, int inputIdx) {
+        int count = 0;
+        for (int state : subsets[subset]) {
+            for (int succ : nfaSuccessors[state * numInputs + inputIdx]) {
+                count = mark(succ, count);
+            }
+        }
+
+        // collect the marked states in ascending order into the buffer, without allocating a new array
+        int ptr = 0;
+        for (int w = 0; ptr < count; w++) {
+            long word = marks[w];
+            marks[w] = 0;
+            while (word != 0) {
+                buffer[ptr++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+
+        return intern(buffer, hash(buffer, count), count);
+    }
+
+    private int mark(int state, int count) {
+        final int word = state >>> 6;
+        final long bit = 1L << state;
+
+        if ((marks[word] & bit) == 0) {
+            marks[word] |= bit;
+            return count + 1;
+        }
+
+        return count;
+    }
+
+    private int[] collectMarked(int count) {
+        final int[] result = new int[count];
+        int ptr = 0;
+        for (int w = 0; ptr < count; w++) {
+            long word = marks[w];
+            marks[w] = 0;
+            while (word != 0) {
+                result[ptr++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    private int intern(int[] subset, int hash, int length) {
+        final int mask = table.length - 1;
+        int idx = hash & mask;
+        int entry;
+
+        while ((entry = table[idx]) != 0) {
+            final int id = entry - 1;
+            if (hashes[id] == hash && equals(subsets[id], subset, length)) {
+                return id;
+            }
+            idx = (idx + 1) & mask;
+        }
+
+        if (size == subsets.length) {
+            grow();
+        }
+
+        final int id = size++;
+        final int[] copy = Arrays.copyOf(subset, length);
+        boolean acc = false;
+        for (int state : copy) {
+            acc |= nfaAccepting[state];
+        }
+
+        subsets[id] = copy;
+        hashes[id] = hash;
+        accepting[id] = acc;
+        Arrays.fill(transitions, id * numInputs, (id + 1) * numInputs, UNKNOWN);
+        table[idx] = id + 1;
+
+        if (size > table.length >>> 1) {
+            rehash();
+        }
+
+        return id;
+    }
+
+    private void grow() {
+        final int newCapacity = subsets.length * 2;
+        subsets = Arrays.copyOf(subsets, newCapacity);
+        hashes = Arrays.copyOf(hashes, newCapacity);
+        accepting = Arrays.copyOf(accepting, newCapacity);
+        transitions = Arrays.copyOf(transitions, newCapacity * numInputs);
+    }
+
+    private void rehash() {
+        final int[] newTable = new int[table.length * 2];
+        final int mask = newTable.length - 1;
+
+        for (int id = 0; id < size; id++) {
+            int idx = hashes[id] & mask;
+            while (newTable[idx] != 0) {
+                idx = (idx + 1) & mask;
+            }
+            newTable[idx] = id + 1;
+        }
+
+        table = newTable;
+    }
+
+    private static int hash(int[] subset, int length) {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + subset[i];
+        }
+        // spread the bits, since only the lower bits are used for indexing
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(int[] stored, int[] subset, int length) {
+        if (stored.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (stored[i] != subset[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,149 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer.paigetarjan;
+
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.MutableDeterministic;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.util.partitionrefinement.AutomatonInitialPartitioning;
+import net.automatalib.util.partitionrefinement.IncrementalPaigeTarjan;
+import net.automatalib.util.partitionrefinement.PaigeTarjanExtractors;
+import net.automatalib.util.partitionrefinement.StateSignature;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A facade for the {@link IncrementalPaigeTarjan} partition refinement that allows to re-minimize an automaton after
+ * local modifications without re-computing the complete partition.
+ * <p>
+ * The given automaton is observed "live", i.e., it may be modified after constructing this minimizer. Whenever the
+ * outgoing transitions (or properties) of a state are changed, the state has to be reported via {@link
+ * #markModified(Object)}. Newly added states are detected automatically (and hence need not be reported), however
+ * the state IDs of existing states (see {@link net.automatalib.automata.simple.SimpleAutomaton#stateIDs()}) must not
+ * change. Removing states is not supported, but can be simulated by removing all transitions to a state.
+ * <p>
+ * For identical parameters, the automata returned by {@link #minimize(AutomatonCreator)} are identical to the ones
+ * returned by {@link PaigeTarjanMinimization#minimizeUniversal(UniversalDeterministicAutomaton, Alphabet,
+ * AutomatonCreator, AutomatonInitialPartitioning, Object)} for the current state of the automaton.
+ *
+ * @param <S>
+ *         state type
+ * @param <I>
+ *         input symbol type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ *
+ * @author frohme
+ * @see IncrementalPaigeTarjan
+ */
+public class IncrementalPaigeTarjanMinimizer<S, I, SP, TP> {
+
+    private final UniversalDeterministicAutomaton<S, I, ?, SP, TP> automaton;
+    private final Alphabet<I> alphabet;
+    private final FullIntAbstraction<?, SP, TP> abs;
+    private final IncrementalPaigeTarjan ipt;
+
+    /**
+     * Constructor.
+     *
+     * @param automaton
+     *         the automaton to (repeatedly) minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting automata)
+     * @param ap
+     *         the initial partitioning function, determining how states will be distinguished
+     * @param sinkClassification
+     *         the classification used when an undefined transition is encountered
+     */
+    public IncrementalPaigeTarjanMinimizer(UniversalDeterministicAutomaton<S, I, ?, SP, TP> automaton,
+                                           Alphabet<I> alphabet,
+                                           AutomatonInitialPartitioning ap,
+                                           @Nullable Object sinkClassification) {
+        this.automaton = automaton;
+        this.alphabet = alphabet;
+        this.abs = automaton.fullIntAbstraction(alphabet);
+        this.ipt = new IncrementalPaigeTarjan(abs, ap.initialClassifier(abs), sinkClassification);
+    }
+
+    /**
+     * Creates an incremental minimizer for the given DFA.
+     *
+     * @param dfa
+     *         the DFA to (repeatedly) minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting DFAs)
+     *
+     * @return an incremental minimizer for the given DFA
+     */
+    public static <S, I> IncrementalPaigeTarjanMinimizer<S, I, Boolean, Void> forDFA(DFA<S, I> dfa,
+                                                                                   Alphabet<I> alphabet) {
+        return new IncrementalPaigeTarjanMinimizer<>(dfa,
+                                                     alphabet,
+                                                     AutomatonInitialPartitioning.BY_STATE_PROPERTY,
+                                                     Boolean.FALSE);
+    }
+
+    /**
+     * Creates an incremental minimizer for the given Mealy machine.
+     *
+     * @param mealy
+     *         the Mealy machine to (repeatedly) minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machines)
+     *
+     * @return an incremental minimizer for the given Mealy machine
+     */
+    public static <S, I, O> IncrementalPaigeTarjanMinimizer<S, I, Void, O> forMealy(MealyMachine<S, I, ?, O> mealy,
+                                                                                  Alphabet<I> alphabet) {
+        return new IncrementalPaigeTarjanMinimizer<>(mealy,
+                                                     alphabet,
+                                                     AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES,
+                                                     StateSignature.byTransitionProperties(new Object[alphabet.size()]));
+    }
+
+    /**
+     * Reports that the outgoing transitions (or the properties) of the given state have changed.
+     *
+     * @param state
+     *         the modified state
+     */
+    public void markModified(S state) {
+        ipt.markModified(automaton.stateIDs().getStateId(state));
+    }
+
+    /**
+     * Updates the internal partition and returns a minimized version of the current automaton.
+     *
+     * @param creator
+     *         the creator for constructing the automata instance to return
+     *
+     * @return the minimized automaton, initially constructed from the given {@code creator}.
+     */
+    public <A extends MutableDeterministic<?, I, ?, SP, TP>> A minimize(AutomatonCreator<A, I> creator) {
+        ipt.update();
+        return PaigeTarjanExtractors.toDeterministic(ipt,
+                                                     creator,
+                                                     alphabet,
+                                                     abs,
+                                                     abs::getStateProperty,
+                                                     abs::getTransitionProperty);
+    }
+}
@@ -15,6 +15,8 @@
  */
 package net.automatalib.util.automata.minimizer.paigetarjan;
 
+import java.util.concurrent.ForkJoinPool;
+
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.MutableDeterministic;
 import net.automatalib.automata.UniversalDeterministicAutomaton;
@@ -33,6 +35,7 @@ import net.automatalib.util.partitionrefinement.PaigeTarjanExtractors;
 import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
 import net.automatalib.util.partitionrefinement.StateSignature;
 import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A utility class that offers short-hand methods for minimizing automata using the partition refinement approach of
@@ -47,6 +50,16 @@ import net.automatalib.words.Alphabet;
  * automaton.
  * <p>
  * For minimizing complete automata, use {@link HopcroftMinimization}.
+ * <p>
+ * All minimization methods are available in a variant that additionally accepts a {@link ForkJoinPool}. These variants
+ * use the parallel refinement of {@link PaigeTarjan#computeCoarsestStablePartition(ForkJoinPool)} and yield the same
+ * results as their sequential counterparts.
+ * <p>
+ * Note that there is no on-the-fly mode: The automaton is indexed completely (via {@link PaigeTarjanInitializers})
+ * before any block is refined. Refining only the reachable blocks of a lazily evaluated system (as in the minimal model
+ * generation of Lee and Yannakakis) would require the members and pre-images of blocks that contain unexplored states,
+ * which an explicitly represented system cannot provide. Lazily evaluated systems such as compositions should hence be
+ * copied into a compact representation first (e.g., via {@link net.automatalib.util.ts.copy.TSCopy}).
  *
  * @author frohme
  * @see PaigeTarjan
@@ -102,6 +115,49 @@ public final class PaigeTarjanMinimization {
         return minimizeUniversal(dfa, alphabet, creator, AutomatonInitialPartitioning.BY_STATE_PROPERTY, Boolean.FALSE);
     }
 
+    /**
+     * Minimizes the given DFA in parallel. The result is returned in the form of a {@link CompactDFA}.
+     *
+     * @param dfa
+     *         the DFA to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param pool
+     *         the pool used for the parallel partition refinement
+     *
+     * @return a minimized version of the specified DFA
+     */
+    public static <I> CompactDFA<I> minimizeDFA(DFA<?, I> dfa, Alphabet<I> alphabet, ForkJoinPool pool) {
+        return minimizeDFA(dfa, alphabet, new CompactDFA.Creator<>(), pool);
+    }
+
+    /**
+     * Minimizes the given DFA in parallel. The result is returned in the form of a {@link MutableDFA}, constructed by
+     * the given {@code creator}.
+     *
+     * @param dfa
+     *         the DFA to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the returned DFA)
+     * @param creator
+     *         the creator for constructing the automata instance to return
+     * @param pool
+     *         the pool used for the parallel partition refinement
+     *
+     * @return a minimized version of the specified DFA
+     */
+    public static <A extends MutableDFA<?, I>, I> A minimizeDFA(DFA<?, I> dfa,
+                                                                Alphabet<I> alphabet,
+                                                                AutomatonCreator<A, I> creator,
+                                                                ForkJoinPool pool) {
+        return minimizeUniversal(dfa,
+                                 alphabet,
+                                 creator,
+                                 AutomatonInitialPartitioning.BY_STATE_PROPERTY,
+                                 Boolean.FALSE,
+                                 pool);
+    }
+
     /**
      * Minimizes the given Mealy machine. The result is returned in the form of a {@link CompactMealy}, using the
      * alphabet obtained via <code>mealy.{@link InputAlphabetHolder#getInputAlphabet() getInputAlphabet()}</code>.
@@ -153,6 +209,51 @@ public final class PaigeTarjanMinimization {
                                  StateSignature.byTransitionProperties(new Object[alphabet.size()]));
     }
 
+    /**
+     * Minimizes the given Mealy machine in parallel. The result is returned in the form of a {@link CompactMealy}.
+     *
+     * @param mealy
+     *         the Mealy machine to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param pool
+     *         the pool used for the parallel partition refinement
+     *
+     * @return a minimized version of the specified Mealy machine
+     */
+    public static <I, O> CompactMealy<I, O> minimizeMealy(MealyMachine<?, I, ?, O> mealy,
+                                                          Alphabet<I> alphabet,
+                                                          ForkJoinPool pool) {
+        return minimizeMealy(mealy, alphabet, new CompactMealy.Creator<>(), pool);
+    }
+
+    /**
+     * Minimizes the given Mealy machine in parallel. The result is returned in the form of a {@link
+     * MutableMealyMachine}, constructed by the given {@code creator}.
+     *
+     * @param mealy
+     *         the Mealy machine to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param creator
+     *         the creator for constructing the automata instance to return
+     * @param pool
+     *         the pool used for the parallel partition refinement
+     *
+     * @return a minimized version of the specified Mealy machine
+     */
+    public static <A extends MutableMealyMachine<?, I, ?, O>, I, O> A minimizeMealy(MealyMachine<?, I, ?, O> mealy,
+                                                                                    Alphabet<I> alphabet,
+                                                                                    AutomatonCreator<A, I> creator,
+                                                                                    ForkJoinPool pool) {
+        return minimizeUniversal(mealy,
+                                 alphabet,
+                                 creator,
+                                 AutomatonInitialPartitioning.BY_TRANSITION_PROPERTIES,
+                                 StateSignature.byTransitionProperties(new Object[alphabet.size()]),
+                                 pool);
+    }
+
     /**
      * Minimizes the given automaton depending on the given partitioning function. The {@code sinkClassification} is
      * used to describe the signature of the sink state ("successor" of undefined transitions) and may introduce a new,
@@ -181,6 +282,50 @@ public final class PaigeTarjanMinimization {
             AutomatonCreator<A, I> creator,
             AutomatonInitialPartitioning ap,
             Object sinkClassification) {
+        return minimizeUniversalInternal(automaton, alphabet, creator, ap, sinkClassification, null);
+    }
+
+    /**
+     * Minimizes the given automaton depending on the given partitioning function, using the given pool for the
+     * parallel partition refinement. Apart from the parallel computation, this method behaves exactly like {@link
+     * #minimizeUniversal(UniversalDeterministicAutomaton, Alphabet, AutomatonCreator, AutomatonInitialPartitioning,
+     * Object)}.
+     *
+     * @param automaton
+     *         the automaton to minimize
+     * @param alphabet
+     *         the input alphabet (this will be the input alphabet of the resulting Mealy machine)
+     * @param creator
+     *         the creator for constructing the automata instance to return
+     * @param ap
+     *         the initial partitioning function, determining how states will be distinguished
+     * @param sinkClassification
+     *         the classification used when an undefined transition is encountered
+     * @param pool
+     *         the pool used for the parallel partition refinement
+     *
+     * @return the minimized automaton, initially constructed from the given {@code creator}.
+     *
+     * @see AutomatonInitialPartitioning
+     * @see StateSignature
+     */
+    public static <I, T, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A minimizeUniversal(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> automaton,
+            Alphabet<I> alphabet,
+            AutomatonCreator<A, I> creator,
+            AutomatonInitialPartitioning ap,
+            Object sinkClassification,
+            ForkJoinPool pool) {
+        return minimizeUniversalInternal(automaton, alphabet, creator, ap, sinkClassification, pool);
+    }
+
+    private static <I, T, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A minimizeUniversalInternal(
+            UniversalDeterministicAutomaton<?, I, T, SP, TP> automaton,
+            Alphabet<I> alphabet,
+            AutomatonCreator<A, I> creator,
+            AutomatonInitialPartitioning ap,
+            Object sinkClassification,
+            @Nullable ForkJoinPool pool) {
 
         final PaigeTarjan pt = new PaigeTarjan();
         final FullIntAbstraction<T, SP, TP> abs = automaton.fullIntAbstraction(alphabet);
@@ -188,7 +333,11 @@ public final class PaigeTarjanMinimization {
         PaigeTarjanInitializers.initDeterministic(pt, abs, ap.initialClassifier(abs), sinkClassification);
 
         pt.initWorklist(false);
-        pt.computeCoarsestStablePartition();
+        if (pool == null) {
+            pt.computeCoarsestStablePartition();
+        } else {
+            pt.computeCoarsestStablePartition(pool);
+        }
 
         return PaigeTarjanExtractors.toDeterministic(pt,
                                                      creator,
@@ -17,19 +17,25 @@ package net.automatalib.util.fixpoint;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.function.Function;
 
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.MutableAutomaton;
 import net.automatalib.automata.UniversalAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.commons.util.fixpoint.WorklistSolver;
 import net.automatalib.commons.util.fixpoint.WorksetMappingAlgorithm;
 import net.automatalib.commons.util.fixpoint.Worksets;
 import net.automatalib.ts.TransitionPredicate;
@@ -48,15 +54,11 @@ public final class Closures {
             Collection<I> allInputs,
             AutomatonCreator<B, I> creator,
             TransitionPredicate<S1, I, T1> transitionFilter) {
-        return Worksets.map(new StateClosureAlgorithm<>(ts,
-                                                        inputs,
-                                                        creator,
-                                                        toClosureOperator(ts,
-                                                                          allInputs,
-                                                                          (s, i, t) -> !transitionFilter.apply(s,
-                                                                                                               i,
-                                                                                                               t)),
-                                                        transitionFilter));
+        return closure(ts,
+                       inputs,
+                       creator,
+                       toClosureOperator(ts, allInputs, (s, i, t) -> !transitionFilter.apply(s, i, t)),
+                       transitionFilter);
     }
 
     public static <A extends UniversalAutomaton<S1, I, T1, ?, ?>, B extends MutableAutomaton<S2, I, ?, ?, @Nullable ?>, S1, S2, I, T1> Pair<Map<Set<S1>, S2>, B> closure(
@@ -65,6 +67,13 @@ public final class Closures {
             AutomatonCreator<B, I> creator,
             Function<Set<S1>, Set<S1>> closureOperator,
             TransitionPredicate<S1, I, T1> transitionFilter) {
+
+        if (closureOperator instanceof ClosureOperator && ((ClosureOperator<?>) closureOperator).ts == ts) {
+            @SuppressWarnings("unchecked") // the operator has been created for ts and therefore works on S1
+            final ClosureOperator<S1> intOperator = (ClosureOperator<S1>) closureOperator;
+            return intClosure(ts, inputs, creator, intOperator, transitionFilter);
+        }
+
         return Worksets.map(new StateClosureAlgorithm<>(ts, inputs, creator, closureOperator, transitionFilter));
     }
 
@@ -75,32 +84,182 @@ public final class Closures {
      * The returned operator calculates the closure of a given set S by adding all states s' to S which can be reached
      * by at least one state of S trough a transition for which the predicate is true. This step is repeated until
      * stabilisation (closure semantics).
+     * <p>
+     * The (filtered) transition structure of the given transition system is abstracted to integers (via its {@link
+     * UniversalAutomaton#stateIDs() state IDs}) once, when the operator is created. Each application of the operator
+     * then solves the closure by means of a {@link WorklistSolver} over this abstraction, i.e., each state of the
+     * computed closure is processed exactly once and the runtime is linear in the number of states and (filtered)
+     * transitions of the closure. If the returned operator is passed to {@link #closure(UniversalAutomaton,
+     * Collection, AutomatonCreator, Function, TransitionPredicate)} (for the same transition system), the subset
+     * exploration of the closure works on bitsets of state IDs as well. Note that later modifications of the
+     * transition system are not reflected by the returned operator.
      */
     public static <S, I, T> Function<Set<S>, Set<S>> toClosureOperator(UniversalAutomaton<S, I, T, ?, ?> ts,
                                                                        Collection<I> inputs,
                                                                        TransitionPredicate<S, I, T> transitionFilter) {
-        return states -> {
-            Set<S> result = new HashSet<>(states);
-            Deque<S> stack = new ArrayDeque<>(states);
-
-            while (!stack.isEmpty()) {
-                S state = stack.pop();
-
-                for (I symbol : inputs) {
-                    for (T transition : ts.getTransitions(state, symbol)) {
-                        if (transitionFilter.apply(state, symbol, transition)) {
-                            S successor = ts.getSuccessor(transition);
-                            if (!result.contains(successor)) {
-                                result.add(successor);
-                                stack.push(successor);
-                            }
+        final StateIDs<S> stateIDs = ts.stateIDs();
+        final int numStates = ts.size();
+        final int[] offsets = new int[numStates + 1];
+        int[] successors = new int[numStates];
+        int numSuccessors = 0;
+
+        for (int id = 0; id < numStates; id++) {
+            final S state = stateIDs.getState(id);
+
+            for (I symbol : inputs) {
+                for (T transition : ts.getTransitions(state, symbol)) {
+                    if (transitionFilter.apply(state, symbol, transition)) {
+                        if (numSuccessors == successors.length) {
+                            successors = Arrays.copyOf(successors, successors.length * 2 + 1);
                         }
+                        successors[numSuccessors++] = stateIDs.getStateId(ts.getSuccessor(transition));
                     }
                 }
+            }
+            offsets[id + 1] = numSuccessors;
+        }
+
+        return new ClosureOperator<>(ts, stateIDs, numStates, offsets, successors);
+    }
+
+    private static <A extends UniversalAutomaton<S1, I, T1, ?, ?>, B extends MutableAutomaton<S2, I, ?, ?, @Nullable ?>, S1, S2, I, T1> Pair<Map<Set<S1>, S2>, B> intClosure(
+            A ts,
+            Collection<I> inputs,
+            AutomatonCreator<B, I> creator,
+            ClosureOperator<S1> closureOperator,
+            TransitionPredicate<S1, I, T1> transitionFilter) {
+
+        final StateIDs<S1> stateIDs = closureOperator.stateIDs;
+        final int numStates = closureOperator.numStates;
+        final List<I> inputList = new ArrayList<>(inputs);
+        final int numInputs = inputList.size();
 
+        // the (filtered) successors of state s for the i-th input are stored from offsets[s * numInputs + i]
+        final int[] offsets = new int[numStates * numInputs + 1];
+        int[] successors = new int[numStates];
+        int numSuccessors = 0;
+
+        for (int id = 0; id < numStates; id++) {
+            final S1 state = stateIDs.getState(id);
+
+            for (int i = 0; i < numInputs; i++) {
+                final I input = inputList.get(i);
+                for (T1 transition : ts.getTransitions(state, input)) {
+                    if (transitionFilter.apply(state, input, transition)) {
+                        if (numSuccessors == successors.length) {
+                            successors = Arrays.copyOf(successors, successors.length * 2 + 1);
+                        }
+                        successors[numSuccessors++] = stateIDs.getStateId(ts.getSuccessor(transition));
+                    }
+                }
+                offsets[id * numInputs + i + 1] = numSuccessors;
+            }
+        }
+
+        final B result = creator.createAutomaton(Alphabets.fromCollection(inputs));
+        final Map<BitSet, S2> mapping = Maps.newHashMapWithExpectedSize(numStates);
+        final Queue<BitSet> queue = new ArrayDeque<>();
+
+        final BitSet init = closureOperator.close(closureOperator.toBitSet(ts.getInitialStates()));
+        mapping.put(init, result.addInitialState());
+        queue.add(init);
+
+        BitSet current;
+        while ((current = queue.poll()) != null) {
+            final S2 currentState = mapping.get(current);
+
+            for (int i = 0; i < numInputs; i++) {
+                final BitSet reachable = new BitSet(numStates);
+                for (int id = current.nextSetBit(0); id >= 0; id = current.nextSetBit(id + 1)) {
+                    for (int j = offsets[id * numInputs + i]; j < offsets[id * numInputs + i + 1]; j++) {
+                        reachable.set(successors[j]);
+                    }
+                }
+
+                final BitSet closure = closureOperator.close(reachable);
+                if (closure.isEmpty()) {
+                    continue;
+                }
+
+                S2 mappedState = mapping.get(closure);
+                if (mappedState == null) {
+                    mappedState = result.addState();
+                    mapping.put(closure, mappedState);
+                    queue.add(closure);
+                }
+                result.addTransition(currentState, inputList.get(i), mappedState, null);
+            }
+        }
+
+        final Map<Set<S1>, S2> stateMapping = Maps.newHashMapWithExpectedSize(mapping.size());
+        for (Map.Entry<BitSet, S2> e : mapping.entrySet()) {
+            stateMapping.put(closureOperator.toSet(e.getKey()), e.getValue());
+        }
+
+        return Pair.of(stateMapping, result);
+    }
+
+    /**
+     * A closure operator over the integer abstraction of a transition system. The filtered successors of state ID
+     * {@code s} are stored in {@code successors} from index {@code offsets[s]} (inclusive) to {@code offsets[s + 1]}
+     * (exclusive).
+     */
+    private static final class ClosureOperator<S> implements Function<Set<S>, Set<S>> {
+
+        private final UniversalAutomaton<S, ?, ?, ?, ?> ts;
+        private final StateIDs<S> stateIDs;
+        private final int numStates;
+        private final int[] offsets;
+        private final int[] successors;
+
+        ClosureOperator(UniversalAutomaton<S, ?, ?, ?, ?> ts,
+                        StateIDs<S> stateIDs,
+                        int numStates,
+                        int[] offsets,
+                        int[] successors) {
+            this.ts = ts;
+            this.stateIDs = stateIDs;
+            this.numStates = numStates;
+            this.offsets = offsets;
+            this.successors = successors;
+        }
+
+        @Override
+        public Set<S> apply(Set<S> states) {
+            return toSet(close(toBitSet(states)));
+        }
+
+        BitSet close(BitSet states) {
+            final BitSet closure = new BitSet(numStates);
+
+            // a state is only (re-)evaluated if it is an initial one or if one of its predecessors has been added to
+            // the closure. In both cases it belongs to the closure itself
+            WorklistSolver.solve(numStates, states.stream().toArray(), id -> {
+                if (closure.get(id)) {
+                    return false;
+                }
+                closure.set(id);
+                return true;
+            }, WorklistSolver.Dependents.of(offsets, successors));
+
+            return closure;
+        }
+
+        BitSet toBitSet(Collection<S> states) {
+            final BitSet result = new BitSet(numStates);
+            for (S s : states) {
+                result.set(stateIDs.getStateId(s));
             }
             return result;
-        };
+        }
+
+        Set<S> toSet(BitSet states) {
+            final Set<S> result = Sets.newHashSetWithExpectedSize(states.cardinality());
+            for (int id = states.nextSetBit(0); id >= 0; id = states.nextSetBit(id + 1)) {
+                result.add(stateIDs.getState(id));
+            }
+            return result;
+        }
     }
 
     private static final class StateClosureAlgorithm<A extends UniversalAutomaton<S1, I, T1, ?, ?>, B extends MutableAutomaton<S2, I, ?, ?, @Nullable ?>, S1, S2, I, T1>
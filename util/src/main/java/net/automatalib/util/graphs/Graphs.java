@@ -18,6 +18,7 @@ package net.automatalib.util.graphs;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 import net.automatalib.commons.util.mappings.Mapping;
@@ -27,11 +28,13 @@ import net.automatalib.graphs.Graph;
 import net.automatalib.graphs.IndefiniteGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.apsp.APSPResult;
-import net.automatalib.util.graphs.apsp.FloydWarshallAPSP;
+import net.automatalib.util.graphs.apsp.BlockedFloydWarshallAPSP;
+import net.automatalib.util.graphs.apsp.JohnsonAPSP;
 import net.automatalib.util.graphs.scc.SCCListener;
 import net.automatalib.util.graphs.scc.SCCs;
-import net.automatalib.util.graphs.scc.TarjanSCCVisitor;
+import net.automatalib.util.graphs.sssp.BidirectionalDijkstra;
 import net.automatalib.util.graphs.sssp.DijkstraSSSP;
+import net.automatalib.util.graphs.sssp.DijkstraSearch;
 import net.automatalib.util.graphs.sssp.SSSPResult;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -83,6 +86,66 @@ public final class Graphs {
         return ShortestPaths.shortestPath(graph, start, limit, targetPred);
     }
 
+    /**
+     * Computes a shortest path from any of the given source nodes to any of the target nodes, using Dijkstra's
+     * algorithm. The search terminates as soon as the first target node has been reached, so only the region of the
+     * graph that is closer to the sources than the returned target node is explored. Note that the result is only
+     * correct if the graph contains no edges with negative weights.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights
+     * @param sources
+     *         the source nodes
+     * @param targetPred
+     *         the predicate determining the target nodes
+     *
+     * @return a shortest path from any source node to any target node, or {@code null} if there exists no such path
+     *
+     * @see DijkstraSearch
+     */
+    public static <N, E> @Nullable Path<N, E> findShortestPath(Graph<N, E> graph,
+                                                               EdgeWeights<E> edgeWeights,
+                                                               Collection<? extends N> sources,
+                                                               Predicate<? super N> targetPred) {
+        final DijkstraSearch<N, E> search = new DijkstraSearch<>(graph, edgeWeights);
+        final N target = search.search(sources, targetPred);
+
+        if (target == null) {
+            return null;
+        }
+
+        @SuppressWarnings("nullness") // target has been settled by the search
+        final Path<N, E> result = new Path<>(graph, search.getSource(target), search.getPath(target));
+        return result;
+    }
+
+    /**
+     * Computes a shortest path between the given nodes, using the bidirectional variant of Dijkstra's algorithm. Note
+     * that the result is only correct if the graph contains no edges with negative weights.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights
+     * @param source
+     *         the source node
+     * @param target
+     *         the target node
+     *
+     * @return a shortest path from {@code source} to {@code target}, or {@code null} if there exists no such path
+     *
+     * @see BidirectionalDijkstra
+     */
+    public static <N, E> @Nullable Path<N, E> findShortestPath(BidirectionalGraph<N, E> graph,
+                                                               EdgeWeights<E> edgeWeights,
+                                                               N source,
+                                                               N target) {
+        final List<E> edges = new BidirectionalDijkstra<>(graph, edgeWeights).findShortestPath(source, target);
+        return edges == null ? null : new Path<>(graph, source, edges);
+    }
+
     /**
      * Converts a list of edges into a corresponding list of nodes. Note that the list of nodes is always one larger
      * than the respective list of edges.
@@ -109,8 +172,9 @@ public final class Graphs {
     }
 
     /**
-     * Computes the shortest paths between all pairs of nodes in a graph, using the Floyd-Warshall dynamic programming
-     * algorithm. Note that the result is only correct if the graph contains no cycles with negative edge weight sums.
+     * Computes the shortest paths between all pairs of nodes in a graph, using the (cache-blocked) Floyd-Warshall
+     * dynamic programming algorithm. Note that the result is only correct if the graph contains no cycles with negative
+     * edge weight sums.
      *
      * @param graph
      *         the graph
@@ -119,10 +183,74 @@ public final class Graphs {
      *
      * @return the all pairs shortest paths result
      *
-     * @see FloydWarshallAPSP
+     * @see BlockedFloydWarshallAPSP
      */
     public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
-        return FloydWarshallAPSP.findAPSP(graph, edgeWeights);
+        return BlockedFloydWarshallAPSP.findAPSP(graph, edgeWeights);
+    }
+
+    /**
+     * Computes the shortest paths between all pairs of nodes in a graph, using the (cache-blocked) Floyd-Warshall
+     * dynamic programming algorithm. The independent tiles of each round are processed in parallel by the given pool.
+     * Note that the result is only correct if the graph contains no cycles with negative edge weight sums.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights
+     * @param pool
+     *         the pool to process the tiles in
+     *
+     * @return the all pairs shortest paths result
+     *
+     * @see BlockedFloydWarshallAPSP
+     */
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph,
+                                                   EdgeWeights<E> edgeWeights,
+                                                   ForkJoinPool pool) {
+        return BlockedFloydWarshallAPSP.findAPSP(graph, edgeWeights, pool);
+    }
+
+    /**
+     * Computes the shortest paths between all pairs of nodes in a graph, using Johnson's algorithm. For sparse graphs,
+     * this is usually faster than {@link #findAPSP(Graph, EdgeWeights)}.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights
+     *
+     * @return the all pairs shortest paths result
+     *
+     * @throws IllegalArgumentException
+     *         if the graph contains a cycle with a negative edge weight sum
+     * @see JohnsonAPSP
+     */
+    public static <N, E> APSPResult<N, E> findSparseAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        return JohnsonAPSP.findAPSP(graph, edgeWeights);
+    }
+
+    /**
+     * Computes the shortest paths between all pairs of nodes in a graph, using Johnson's algorithm. The single-source
+     * searches are run in parallel by the given pool.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights
+     * @param pool
+     *         the pool to run the single-source searches in
+     *
+     * @return the all pairs shortest paths result
+     *
+     * @throws IllegalArgumentException
+     *         if the graph contains a cycle with a negative edge weight sum
+     * @see JohnsonAPSP
+     */
+    public static <N, E> APSPResult<N, E> findSparseAPSP(Graph<N, E> graph,
+                                                         EdgeWeights<E> edgeWeights,
+                                                         ForkJoinPool pool) {
+        return JohnsonAPSP.findAPSP(graph, edgeWeights, pool);
     }
 
     /**
@@ -154,13 +282,29 @@ public final class Graphs {
      *
      * @return a list of all SCCs, each represented as a list of its nodes
      *
-     * @see TarjanSCCVisitor
      * @see SCCs
      */
     public static <N, E> List<List<N>> collectSCCs(Graph<N, E> graph) {
         return SCCs.collectSCCs(graph);
     }
 
+    /**
+     * Collects all strongly-connected components in a graph, using the given pool for a parallel decomposition. The
+     * SCCs are returned as a list of lists.
+     *
+     * @param graph
+     *         the graph
+     * @param pool
+     *         the pool to run the decomposition in
+     *
+     * @return a list of all SCCs, each represented as a list of its nodes
+     *
+     * @see SCCs#collectSCCs(Graph, ForkJoinPool)
+     */
+    public static <N, E> List<List<N>> collectSCCs(Graph<N, E> graph, ForkJoinPool pool) {
+        return SCCs.collectSCCs(graph, pool);
+    }
+
     /**
      * Find all strongly-connected components in a graph. When a new SCC is found, the {@link
      * SCCListener#foundSCC(java.util.Collection)} method is invoked. The listener object may hence not be null.
@@ -172,10 +316,27 @@ public final class Graphs {
      * @param sccListener
      *         the SCC listener
      *
-     * @see TarjanSCCVisitor
      * @see SCCs
      */
     public static <N, E> void findSCCs(Graph<N, E> graph, SCCListener<N> sccListener) {
         SCCs.findSCCs(graph, sccListener);
     }
+
+    /**
+     * Find all strongly-connected components in a graph, using the given pool for a parallel decomposition. Once the
+     * decomposition has finished, the {@link SCCListener#foundSCC(java.util.Collection)} method is invoked for each
+     * SCC.
+     *
+     * @param graph
+     *         the graph
+     * @param sccListener
+     *         the SCC listener
+     * @param pool
+     *         the pool to run the decomposition in
+     *
+     * @see SCCs#findSCCs(Graph, SCCListener, ForkJoinPool)
+     */
+    public static <N, E> void findSCCs(Graph<N, E> graph, SCCListener<N> sccListener, ForkJoinPool pool) {
+        SCCs.findSCCs(graph, sccListener, pool);
+    }
 }
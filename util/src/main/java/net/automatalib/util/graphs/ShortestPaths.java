@@ -21,7 +21,10 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.function.Predicate;
 
+import com.google.common.collect.Iterators;
 import net.automatalib.graphs.IndefiniteGraph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.util.graphs.sssp.YenKShortestPaths;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -31,6 +34,9 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * either an {@link Iterator} or an {@link Iterable} wrapped around an iterator which allows for enumerating all
  * shortest paths to the given set of target nodes. The iterators implement this lazily, i.e., a call to the {@link
  * Iterator#next() next()} method of an iterator will continue the shortest path search on an as-needed basis.
+ * <p>
+ * For weighted graphs, the {@code kShortestPaths} methods lazily enumerate the loopless paths to the given target
+ * nodes in ascending order of their weights (see {@link YenKShortestPaths}).
  *
  * @author Malte Isberner
  */
@@ -122,6 +128,53 @@ public final class ShortestPaths {
         return shortestPath(graph, start, limit, (Predicate<? super N>) n -> Objects.equals(n, target));
     }
 
+    public static <N, E> Iterable<Path<N, E>> kShortestPaths(IndefiniteGraph<N, E> graph,
+                                                             EdgeWeights<E> edgeWeights,
+                                                             N start,
+                                                             float limit,
+                                                             N target) {
+        return kShortestPaths(graph, edgeWeights, start, limit, (Predicate<? super N>) n -> Objects.equals(n, target));
+    }
+
+    /**
+     * Returns the loopless paths from the start node to the nodes satisfying the target predicate, in ascending order
+     * of their weights. The paths are computed lazily upon iteration, i.e., the k shortest paths can be obtained by
+     * only iterating over the first k elements. Each path ends at the first target node it reaches.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the (non-negative) edge weights
+     * @param start
+     *         the start node
+     * @param limit
+     *         the maximum weight of the enumerated paths, may be {@link Float#POSITIVE_INFINITY} if the portion of
+     *         the graph reachable from the start node is finite
+     * @param targetPred
+     *         the predicate determining the target nodes
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     *
+     * @return an iterable over the loopless paths in ascending order of their weights
+     *
+     * @see YenKShortestPaths
+     */
+    public static <N, E> Iterable<Path<N, E>> kShortestPaths(IndefiniteGraph<N, E> graph,
+                                                             EdgeWeights<E> edgeWeights,
+                                                             N start,
+                                                             float limit,
+                                                             Predicate<? super N> targetPred) {
+        Objects.requireNonNull(graph);
+        Objects.requireNonNull(edgeWeights);
+        Objects.requireNonNull(targetPred);
+        return () -> {
+            final YenKShortestPaths<N, E> yen = new YenKShortestPaths<>(graph, edgeWeights, start, targetPred, limit);
+            return Iterators.transform(yen, yen::toPath);
+        };
+    }
+
     public static <N, E> Iterator<Path<N, E>> shortestPathsIterator(IndefiniteGraph<N, E> graph,
                                                                     Collection<? extends N> start,
                                                                     int limit,
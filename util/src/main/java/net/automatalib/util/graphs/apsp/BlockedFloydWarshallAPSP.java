@@ -0,0 +1,222 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.apsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.commons.util.concurrent.ParallelRanges;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.util.graphs.Graphs;
+import net.automatalib.util.graphs.compressed.CompressedGraph;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A cache-blocked (tiled) implementation of the Floyd-Warshall algorithm for the all pairs shortest paths problem.
+ * <p>
+ * Distances are stored in a flat {@code float} matrix. Similar to {@link FloydWarshallAPSP}, paths are encoded by the
+ * intermediate node through which the shortest path of each pair has last been improved (or the index of the direct
+ * edge, with respect to a {@link CompressedGraph} snapshot of the original graph), and are re-constructed recursively
+ * from these sub-paths. Contrary to encoding the first edge of each path, this remains correct if the graph contains
+ * cycles with a zero edge weight sum. The matrix is partitioned
+ * into square tiles and each round of the algorithm processes a block of intermediate nodes in three phases: the
+ * diagonal tile, the tiles in the same row or column as the diagonal tile, and all remaining tiles. The tiles of the
+ * second and third phase are mutually independent and may be processed in parallel by a given {@link ForkJoinPool}.
+ * <p>
+ * The computed distances are the same as the ones of {@link FloydWarshallAPSP}. In particular, the result only
+ * considers non-empty paths between distinct nodes (i.e., for identical source and target nodes, no path is
+ * reported) and is only correct if the graph contains no cycles with negative edge weight sums.
+ *
+ * @param <N>
+ *         node type
+ * @param <E>
+ *         edge type
+ *
+ * @author frohme
+ * @see FloydWarshallAPSP
+ */
+public class BlockedFloydWarshallAPSP<N, E> implements APSPResult<N, E> {
+
+    private static final int TILE_SIZE = 64;
+
+    private final CompressedGraph<N, E> graph;
+    private final int size;
+    private final int numTiles;
+    private final float[] distances;
+    private final int[] edges;
+    private final int[] middles;
+
+    public BlockedFloydWarshallAPSP(Graph<N, E> graph, EdgeWeights<E> ew) {
+        this.graph = CompressedGraph.of(graph, ew);
+        this.size = this.graph.size();
+        this.numTiles = (size + TILE_SIZE - 1) / TILE_SIZE;
+        this.distances = new float[size * size];
+        this.edges = new int[size * size];
+        this.middles = new int[size * size];
+
+        initialize();
+    }
+
+    private void initialize() {
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        Arrays.fill(edges, -1);
+        Arrays.fill(middles, -1);
+
+        for (int i = 0; i < size; i++) {
+            final int row = i * size;
+            distances[row + i] = 0;
+
+            for (int e = graph.getEdgeOffset(i); e < graph.getEdgeOffset(i + 1); e++) {
+                final int j = graph.getTarget(e);
+                final float w = graph.getWeight(e);
+                if (j != i && w < distances[row + j]) {
+                    distances[row + j] = w;
+                    edges[row + j] = e;
+                }
+            }
+        }
+    }
+
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        BlockedFloydWarshallAPSP<N, E> fw = new BlockedFloydWarshallAPSP<>(graph, edgeWeights);
+        fw.findAPSP();
+        return fw;
+    }
+
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights, ForkJoinPool pool) {
+        BlockedFloydWarshallAPSP<N, E> fw = new BlockedFloydWarshallAPSP<>(graph, edgeWeights);
+        fw.findAPSP(pool);
+        return fw;
+    }
+
+    public void findAPSP() {
+        computeAPSP(null);
+    }
+
+    public void findAPSP(ForkJoinPool pool) {
+        computeAPSP(pool);
+    }
+
+    private void computeAPSP(@Nullable ForkJoinPool pool) {
+        for (int kb = 0; kb < numTiles; kb++) {
+            final int k = kb;
+
+            // phase 1: the diagonal tile only depends on itself
+            updateTile(k, k, k);
+
+            // phase 2: the tiles in row k and column k only depend on themselves and the diagonal tile
+            ParallelRanges.forEach(pool, 0, 2 * numTiles, 1, t -> {
+                if (t < numTiles) {
+                    if (t != k) {
+                        updateTile(k, t, k);
+                    }
+                } else if (t - numTiles != k) {
+                    updateTile(t - numTiles, k, k);
+                }
+            });
+
+            // phase 3: all remaining tiles only depend on themselves and the tiles of row k and column k
+            ParallelRanges.forEach(pool, 0, numTiles * numTiles, 1, t -> {
+                final int ib = t / numTiles, jb = t % numTiles;
+                if (ib != k && jb != k) {
+                    updateTile(ib, jb, k);
+                }
+            });
+        }
+    }
+
+    private void updateTile(int ib, int jb, int kb) {
+        final int iLow = ib * TILE_SIZE, iHigh = Math.min(iLow + TILE_SIZE, size);
+        final int jLow = jb * TILE_SIZE, jHigh = Math.min(jLow + TILE_SIZE, size);
+        final int kLow = kb * TILE_SIZE, kHigh = Math.min(kLow + TILE_SIZE, size);
+
+        for (int k = kLow; k < kHigh; k++) {
+            final int kRow = k * size;
+
+            for (int i = iLow; i < iHigh; i++) {
+                final int iRow = i * size;
+                final float distIK = distances[iRow + k];
+
+                if (distIK == Float.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                for (int j = jLow; j < jHigh; j++) {
+                    final float total = distIK + distances[kRow + j];
+                    if (total < distances[iRow + j]) {
+                        distances[iRow + j] = total;
+                        middles[iRow + j] = k;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public float getShortestPathDistance(N src, N tgt) {
+        final int srcId = graph.getNodeId(src), tgtId = graph.getNodeId(tgt);
+
+        if (!hasPath(srcId, tgtId)) {
+            return Graphs.INVALID_DISTANCE;
+        }
+
+        return distances[srcId * size + tgtId];
+    }
+
+    @Override
+    public @Nullable List<E> getShortestPath(N src, N tgt) {
+        final int srcId = graph.getNodeId(src), tgtId = graph.getNodeId(tgt);
+
+        if (!hasPath(srcId, tgtId)) {
+            return null;
+        }
+
+        final List<E> result = new ArrayList<>();
+
+        // the pending (source, target) pairs of sub-paths, the sub-path of the first pair comes next
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = tgtId;
+        stack[top++] = srcId;
+
+        while (top > 0) {
+            final int i = stack[--top];
+            final int j = stack[--top];
+            final int middle = middles[i * size + j];
+
+            if (middle < 0) {
+                result.add(graph.getEdge(edges[i * size + j]));
+            } else {
+                if (top + 4 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = j;
+                stack[top++] = middle;
+                stack[top++] = middle;
+                stack[top++] = i;
+            }
+        }
+
+        return result;
+    }
+
+    private boolean hasPath(int srcId, int tgtId) {
+        return srcId != tgtId && distances[srcId * size + tgtId] != Float.POSITIVE_INFINITY;
+    }
+}
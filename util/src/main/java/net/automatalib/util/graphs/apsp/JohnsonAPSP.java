@@ -0,0 +1,159 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.apsp;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.commons.util.concurrent.ParallelRanges;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.util.graphs.Graphs;
+import net.automatalib.util.graphs.compressed.CompressedGraph;
+import net.automatalib.util.graphs.compressed.CompressedGraphs;
+import net.automatalib.util.graphs.compressed.CompressedSSSPResult;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Implementation of Johnson's algorithm for the all pairs shortest paths problem.
+ * <p>
+ * The algorithm first computes a potential for each node using the Bellman-Ford algorithm (w.r.t. a virtual source
+ * node that is connected to all nodes) and uses these potentials to {@link CompressedGraph#reweight(float[]) reweight}
+ * the edges such that no negative edge weights remain. Afterwards, Dijkstra's algorithm is run from each node, which
+ * may be done in parallel by a given {@link ForkJoinPool}. For sparse graphs, this is asymptotically faster than the
+ * Floyd-Warshall algorithm.
+ * <p>
+ * For compatibility with {@link FloydWarshallAPSP}, the result only considers non-empty paths between distinct nodes,
+ * i.e., for identical source and target nodes, no path is reported.
+ *
+ * @param <N>
+ *         node type
+ * @param <E>
+ *         edge type
+ *
+ * @author frohme
+ * @see FloydWarshallAPSP
+ * @see BlockedFloydWarshallAPSP
+ */
+public class JohnsonAPSP<N, E> implements APSPResult<N, E> {
+
+    private final CompressedGraph<N, E> graph;
+    private final float[] potentials;
+    private final CompressedSSSPResult<N, E>[] results;
+
+    public JohnsonAPSP(Graph<N, E> graph, EdgeWeights<E> ew) {
+        this.graph = CompressedGraph.of(graph, ew);
+        this.potentials = new float[this.graph.size()];
+
+        @SuppressWarnings("unchecked")
+        final CompressedSSSPResult<N, E>[] results =
+                (CompressedSSSPResult<N, E>[]) new CompressedSSSPResult<?, ?>[this.graph.size()];
+        this.results = results;
+    }
+
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        JohnsonAPSP<N, E> johnson = new JohnsonAPSP<>(graph, edgeWeights);
+        johnson.findAPSP();
+        return johnson;
+    }
+
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights, ForkJoinPool pool) {
+        JohnsonAPSP<N, E> johnson = new JohnsonAPSP<>(graph, edgeWeights);
+        johnson.findAPSP(pool);
+        return johnson;
+    }
+
+    /**
+     * Computes the shortest paths.
+     *
+     * @throws IllegalArgumentException
+     *         if the graph contains a cycle with a negative edge weight sum
+     */
+    public void findAPSP() {
+        computeAPSP(null);
+    }
+
+    /**
+     * Computes the shortest paths, running the individual single-source searches in the given pool.
+     *
+     * @param pool
+     *         the pool to run the single-source searches in
+     *
+     * @throws IllegalArgumentException
+     *         if the graph contains a cycle with a negative edge weight sum
+     */
+    public void findAPSP(ForkJoinPool pool) {
+        computeAPSP(pool);
+    }
+
+    private void computeAPSP(@Nullable ForkJoinPool pool) {
+        computePotentials();
+
+        final CompressedGraph<N, E> reweighted = graph.reweight(potentials);
+        ParallelRanges.forEach(pool, 0, results.length, 16, s -> results[s] = CompressedGraphs.findSSSP(reweighted, s));
+    }
+
+    private void computePotentials() {
+        final int size = graph.size();
+
+        // all potentials are initialized with 0, i.e., the distance from the virtual source node
+        for (int round = 0; ; round++) {
+            boolean changed = false;
+
+            for (int u = 0; u < size; u++) {
+                final float potU = potentials[u];
+
+                for (int e = graph.getEdgeOffset(u); e < graph.getEdgeOffset(u + 1); e++) {
+                    final int v = graph.getTarget(e);
+                    final float newPot = potU + graph.getWeight(e);
+                    if (newPot < potentials[v]) {
+                        potentials[v] = newPot;
+                        changed = true;
+                    }
+                }
+            }
+
+            if (!changed) {
+                return;
+            } else if (round >= size) {
+                throw new IllegalArgumentException("The graph contains a cycle with negative weight");
+            }
+        }
+    }
+
+    @Override
+    public float getShortestPathDistance(N src, N tgt) {
+        final int srcId = graph.getNodeId(src), tgtId = graph.getNodeId(tgt);
+        final float dist = srcId == tgtId ? Graphs.INVALID_DISTANCE : results[srcId].getDistance(tgtId);
+
+        if (dist == Graphs.INVALID_DISTANCE) {
+            return dist;
+        }
+
+        return dist - potentials[srcId] + potentials[tgtId];
+    }
+
+    @Override
+    public @Nullable List<E> getShortestPath(N src, N tgt) {
+        final int srcId = graph.getNodeId(src), tgtId = graph.getNodeId(tgt);
+
+        if (srcId == tgtId) {
+            return null;
+        }
+
+        return results[srcId].getShortestPath(tgt);
+    }
+}
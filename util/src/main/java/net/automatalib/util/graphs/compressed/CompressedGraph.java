@@ -0,0 +1,289 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.compressed;
+
+import java.util.Collection;
+
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable snapshot of a (finite) {@link Graph} in compressed sparse row (CSR) format.
+ * <p>
+ * Nodes are identified by the IDs of the original graph's {@link Graph#nodeIDs() node IDs} and edges by their index
+ * in the {@link #getTarget(int) target} array: the outgoing edges of node {@code n} are the indices from {@link
+ * #getEdgeOffset(int) getEdgeOffset(n)} (inclusive) to {@link #getEdgeOffset(int) getEdgeOffset(n + 1)} (exclusive),
+ * in the iteration order of {@link Graph#getOutgoingEdges(Object)}. Optionally, the snapshot also stores the weight of
+ * each edge.
+ * <p>
+ * Algorithms that work on this representation (see {@link CompressedGraphs}) only access a few flat primitive arrays
+ * and do not allocate any per-node or per-edge objects. The original node and edge objects are retained in order to
+ * translate results back to the original graph.
+ *
+ * @param <N>
+ *         node type
+ * @param <E>
+ *         edge type
+ *
+ * @author frohme
+ * @see CompressedGraphs
+ */
+public final class CompressedGraph<N, E> {
+
+    private final Object[] nodes;
+    private final Object[] edges;
+    final int[] offsets;
+    final int[] targets;
+    final float @Nullable [] weights;
+    private final NodeIDs<N> nodeIDs;
+
+    private CompressedGraph(Object[] nodes,
+                            Object[] edges,
+                            int[] offsets,
+                            int[] targets,
+                            float @Nullable [] weights,
+                            NodeIDs<N> nodeIDs) {
+        this.nodes = nodes;
+        this.edges = edges;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.nodeIDs = nodeIDs;
+    }
+
+    /**
+     * Creates an (unweighted) snapshot of the given graph.
+     *
+     * @param graph
+     *         the graph
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     *
+     * @return the compressed snapshot of the given graph
+     */
+    public static <N, E> CompressedGraph<N, E> of(Graph<N, E> graph) {
+        return of(graph, null);
+    }
+
+    /**
+     * Creates a snapshot of the given graph, additionally storing the edge weights given by {@code edgeWeights}.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights, may be {@code null}
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     *
+     * @return the compressed snapshot of the given graph
+     */
+    public static <N, E> CompressedGraph<N, E> of(Graph<N, E> graph, @Nullable EdgeWeights<E> edgeWeights) {
+        final NodeIDs<N> nodeIDs = graph.nodeIDs();
+        final int numNodes = graph.size();
+        final Object[] nodes = new Object[numNodes];
+        final int[] offsets = new int[numNodes + 1];
+
+        for (N node : graph) {
+            final int id = nodeIDs.getNodeId(node);
+            nodes[id] = node;
+            offsets[id + 1] = graph.getOutgoingEdges(node).size();
+        }
+
+        for (int i = 0; i < numNodes; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        final int numEdges = offsets[numNodes];
+        final Object[] edges = new Object[numEdges];
+        final int[] targets = new int[numEdges];
+        final float[] weights = edgeWeights == null ? null : new float[numEdges];
+
+        for (int i = 0; i < numNodes; i++) {
+            @SuppressWarnings("unchecked")
+            final N node = (N) nodes[i];
+            final Collection<E> outgoing = graph.getOutgoingEdges(node);
+            int ptr = offsets[i];
+
+            for (E edge : outgoing) {
+                edges[ptr] = edge;
+                targets[ptr] = nodeIDs.getNodeId(graph.getTarget(edge));
+                if (weights != null) {
+                    weights[ptr] = edgeWeights.getEdgeWeight(edge);
+                }
+                ptr++;
+            }
+        }
+
+        return new CompressedGraph<>(nodes, edges, offsets, targets, weights, nodeIDs);
+    }
+
+    /**
+     * Returns a snapshot of the same graph, in which the weight of each edge {@code (u, v)} is adjusted to {@code w(u,
+     * v) + potentials[u] - potentials[v]}. The adjusted weights of all paths between two nodes differ from their
+     * original weights by the same amount, hence shortest paths are preserved. The structural data is shared with
+     * this snapshot.
+     *
+     * @param potentials
+     *         the potential of each node ID
+     *
+     * @return the reweighted snapshot
+     *
+     * @throws IllegalStateException
+     *         if this snapshot does not contain edge weights
+     */
+    public CompressedGraph<N, E> reweight(float[] potentials) {
+        final float[] oldWeights = checkWeights();
+        final float[] newWeights = new float[oldWeights.length];
+
+        for (int i = 0; i < nodes.length; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                newWeights[e] = oldWeights[e] + potentials[i] - potentials[targets[e]];
+            }
+        }
+
+        return new CompressedGraph<>(nodes, edges, offsets, targets, newWeights, nodeIDs);
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the number of edges.
+     *
+     * @return the number of edges
+     */
+    public int getNumEdges() {
+        return targets.length;
+    }
+
+    /**
+     * Returns whether this snapshot stores edge weights.
+     *
+     * @return {@code true} if edge weights are available, {@code false} otherwise
+     */
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of the given node. For {@code node == size()}, the total number of
+     * edges is returned.
+     *
+     * @param node
+     *         the node ID
+     *
+     * @return the index of the first outgoing edge of the given node
+     */
+    public int getEdgeOffset(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * Returns the number of outgoing edges of the given node.
+     *
+     * @param node
+     *         the node ID
+     *
+     * @return the number of outgoing edges of the given node
+     */
+    public int getOutDegree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * Returns the ID of the target node of the given edge.
+     *
+     * @param edge
+     *         the edge index
+     *
+     * @return the ID of the target node
+     */
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of the given edge.
+     *
+     * @param edge
+     *         the edge index
+     *
+     * @return the weight of the given edge
+     *
+     * @throws IllegalStateException
+     *         if this snapshot does not store edge weights
+     */
+    public float getWeight(int edge) {
+        return checkWeights()[edge];
+    }
+
+    /**
+     * Returns the original node for the given node ID.
+     *
+     * @param id
+     *         the node ID
+     *
+     * @return the original node
+     */
+    @SuppressWarnings("unchecked")
+    public N getNode(int id) {
+        return (N) nodes[id];
+    }
+
+    /**
+     * Returns the node ID of the given original node.
+     *
+     * @param node
+     *         the original node
+     *
+     * @return the node ID
+     */
+    public int getNodeId(N node) {
+        return nodeIDs.getNodeId(node);
+    }
+
+    /**
+     * Returns the original edge for the given edge index.
+     *
+     * @param edge
+     *         the edge index
+     *
+     * @return the original edge
+     */
+    @SuppressWarnings("unchecked")
+    public E getEdge(int edge) {
+        return (E) edges[edge];
+    }
+
+    float[] checkWeights() {
+        if (weights == null) {
+            throw new IllegalStateException("The graph snapshot does not contain edge weights");
+        }
+        return weights;
+    }
+}
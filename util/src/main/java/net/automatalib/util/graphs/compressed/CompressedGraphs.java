@@ -0,0 +1,451 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.compressed;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.commons.smartcollections.IntDaryHeap;
+import net.automatalib.util.graphs.scc.SCCListener;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Integer-specialized graph algorithms operating on {@link CompressedGraph} snapshots.
+ * <p>
+ * All algorithms are implemented iteratively (i.e., they do not overflow the call stack on deep graphs) and work
+ * exclusively on primitive arrays. Where the algorithms of {@link net.automatalib.util.graphs.Graphs} visit nodes or
+ * edges in the iteration order of the original graph, the algorithms of this class visit them in the order of their
+ * IDs.
+ *
+ * @author frohme
+ */
+public final class CompressedGraphs {
+
+    private CompressedGraphs() {}
+
+    /**
+     * Computes the shortest paths from a single source node to all other nodes, using Dijkstra's algorithm. Note that
+     * the result is only correct if the graph contains no edges with negative weights.
+     *
+     * @param graph
+     *         the (weighted) graph
+     * @param source
+     *         the ID of the source node
+     *
+     * @return the single-source shortest paths result
+     *
+     * @throws IllegalStateException
+     *         if the snapshot does not contain edge weights
+     * @see net.automatalib.util.graphs.sssp.DijkstraSSSP
+     */
+    public static <N, E> CompressedSSSPResult<N, E> findSSSP(CompressedGraph<N, E> graph, int source) {
+        final float[] weights = graph.checkWeights();
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+
+        final float[] distances = new float[graph.size()];
+        final int[] predecessorEdges = new int[graph.size()];
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        Arrays.fill(predecessorEdges, -1);
+
+        final IntDaryHeap heap = new IntDaryHeap(graph.size());
+        distances[source] = 0;
+        heap.insert(source, 0);
+
+        while (!heap.isEmpty()) {
+            final int node = heap.extractMin();
+            final float dist = distances[node];
+
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int tgt = targets[e];
+                final float newDist = dist + weights[e];
+
+                if (newDist < distances[tgt]) {
+                    final boolean discovered = distances[tgt] != Float.POSITIVE_INFINITY;
+                    distances[tgt] = newDist;
+                    predecessorEdges[tgt] = e;
+                    if (!discovered) {
+                        heap.insert(tgt, newDist);
+                    } else if (heap.contains(tgt)) {
+                        heap.decreaseKey(tgt, newDist);
+                    }
+                }
+            }
+        }
+
+        return new CompressedSSSPResult<>(graph, source, distances, predecessorEdges);
+    }
+
+    /**
+     * Computes the strongly-connected components of the given graph, using an iterative version of Tarjan's
+     * algorithm.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return an array mapping each node ID to the ID of its SCC. SCCs are numbered in the order in which they are
+     * found, i.e., in reverse topological order.
+     */
+    public static int[] findSCCs(CompressedGraph<?, ?> graph) {
+        return tarjan(graph, null);
+    }
+
+    /**
+     * Finds all strongly-connected components of the given graph, using an iterative version of Tarjan's algorithm.
+     * When a new SCC is found, the {@link SCCListener#foundSCC(java.util.Collection)} method is invoked with the
+     * (original) nodes of the SCC.
+     *
+     * @param graph
+     *         the graph
+     * @param listener
+     *         the SCC listener
+     *
+     * @see net.automatalib.util.graphs.scc.SCCs#findSCCs(net.automatalib.graphs.Graph, SCCListener)
+     */
+    public static <N> void findSCCs(CompressedGraph<N, ?> graph, SCCListener<N> listener) {
+        tarjan(graph, listener);
+    }
+
+    /**
+     * Computes the strongly-connected components of the given graph in parallel, using the given pool. The graph is
+     * decomposed by means of the forward-backward algorithm, where sufficiently small sub-problems are decomposed
+     * sequentially by Tarjan's algorithm.
+     *
+     * @param graph
+     *         the graph
+     * @param pool
+     *         the pool to run the decomposition in
+     *
+     * @return an array mapping each node ID to the ID of its SCC. SCCs are numbered in ascending order of their
+     * smallest node ID (i.e., in contrast to {@link #findSCCs(CompressedGraph)}, <i>not</i> in topological order).
+     */
+    public static int[] findSCCs(CompressedGraph<?, ?> graph, ForkJoinPool pool) {
+        return ParallelSCCs.findSCCs(graph, pool);
+    }
+
+    /**
+     * Finds all strongly-connected components of the given graph in parallel, using the given pool. After the
+     * decomposition has finished, the {@link SCCListener#foundSCC(java.util.Collection)} method is invoked (by the
+     * calling thread) for each SCC with its (original) nodes, in ascending order of their smallest node ID.
+     *
+     * @param graph
+     *         the graph
+     * @param listener
+     *         the SCC listener
+     * @param pool
+     *         the pool to run the decomposition in
+     *
+     * @see #findSCCs(CompressedGraph, ForkJoinPool)
+     */
+    public static <N> void findSCCs(CompressedGraph<N, ?> graph, SCCListener<N> listener, ForkJoinPool pool) {
+        final int[] components = ParallelSCCs.findSCCs(graph, pool);
+        final int numNodes = components.length;
+
+        int numComponents = 0;
+        for (int c : components) {
+            numComponents = Math.max(numComponents, c + 1);
+        }
+
+        // group the nodes by their components (counting sort)
+        final int[] offsets = new int[numComponents + 1];
+        for (int c : components) {
+            offsets[c + 1]++;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        final int[] members = new int[numNodes];
+        final int[] fill = Arrays.copyOf(offsets, numComponents);
+        for (int i = 0; i < numNodes; i++) {
+            members[fill[components[i]]++] = i;
+        }
+
+        for (int c = 0; c < numComponents; c++) {
+            listener.foundSCC(new NodeList<>(graph, Arrays.copyOfRange(members, offsets[c], offsets[c + 1])));
+        }
+    }
+
+    private static <N> int[] tarjan(CompressedGraph<N, ?> graph, @Nullable SCCListener<N> listener) {
+        final int numNodes = graph.size();
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+
+        final int[] index = new int[numNodes];
+        final int[] lowLink = new int[numNodes];
+        final int[] component = new int[numNodes];
+        final int[] edgePtr = new int[numNodes];
+        final int[] callStack = new int[numNodes];
+        final int[] sccStack = new int[numNodes];
+        Arrays.fill(index, -1);
+        Arrays.fill(component, -1);
+
+        int counter = 0;
+        int numComponents = 0;
+        int sccStackSize = 0;
+
+        for (int root = 0; root < numNodes; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+
+            int callStackSize = 0;
+            index[root] = lowLink[root] = counter++;
+            edgePtr[root] = offsets[root];
+            sccStack[sccStackSize++] = root;
+            callStack[callStackSize++] = root;
+
+            while (callStackSize > 0) {
+                final int node = callStack[callStackSize - 1];
+
+                if (edgePtr[node] < offsets[node + 1]) {
+                    final int succ = targets[edgePtr[node]++];
+
+                    if (index[succ] < 0) {
+                        index[succ] = lowLink[succ] = counter++;
+                        edgePtr[succ] = offsets[succ];
+                        sccStack[sccStackSize++] = succ;
+                        callStack[callStackSize++] = succ;
+                    } else if (component[succ] < 0 && index[succ] < lowLink[node]) {
+                        // successor is still on the SCC stack
+                        lowLink[node] = index[succ];
+                    }
+                    continue;
+                }
+
+                callStackSize--;
+
+                if (lowLink[node] == index[node]) {
+                    final int sccId = numComponents++;
+                    int low = sccStackSize;
+                    int member;
+                    do {
+                        member = sccStack[--low];
+                        component[member] = sccId;
+                    } while (member != node);
+
+                    if (listener != null) {
+                        listener.foundSCC(new NodeList<>(graph, Arrays.copyOfRange(sccStack, low, sccStackSize)));
+                    }
+                    sccStackSize = low;
+                }
+
+                if (callStackSize > 0) {
+                    final int parent = callStack[callStackSize - 1];
+                    if (lowLink[node] < lowLink[parent]) {
+                        lowLink[parent] = lowLink[node];
+                    }
+                }
+            }
+        }
+
+        return component;
+    }
+
+    /**
+     * Returns the IDs of all nodes reachable from the given source nodes in breadth-first order.
+     *
+     * @param graph
+     *         the graph
+     * @param sources
+     *         the IDs of the source nodes
+     *
+     * @return the IDs of the reachable nodes in breadth-first order
+     */
+    public static int[] breadthFirstOrder(CompressedGraph<?, ?> graph, int... sources) {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final BitSet visited = new BitSet(graph.size());
+        final int[] queue = new int[graph.size()];
+        int tail = 0;
+
+        for (int source : sources) {
+            if (!visited.get(source)) {
+                visited.set(source);
+                queue[tail++] = source;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            final int node = queue[head];
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int tgt = targets[e];
+                if (!visited.get(tgt)) {
+                    visited.set(tgt);
+                    queue[tail++] = tgt;
+                }
+            }
+        }
+
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Computes the (unweighted) distances, i.e., the minimal number of edges, from the given source node to all other
+     * nodes.
+     *
+     * @param graph
+     *         the graph
+     * @param source
+     *         the ID of the source node
+     *
+     * @return an array containing for each node ID its distance from the source node, or {@code -1} if the node is not
+     * reachable
+     */
+    public static int[] breadthFirstDistances(CompressedGraph<?, ?> graph, int source) {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final int[] distances = new int[graph.size()];
+        final int[] queue = new int[graph.size()];
+        Arrays.fill(distances, -1);
+
+        int tail = 0;
+        distances[source] = 0;
+        queue[tail++] = source;
+
+        for (int head = 0; head < tail; head++) {
+            final int node = queue[head];
+            final int dist = distances[node] + 1;
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int tgt = targets[e];
+                if (distances[tgt] < 0) {
+                    distances[tgt] = dist;
+                    queue[tail++] = tgt;
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    /**
+     * Returns the IDs of all nodes reachable from the given source nodes in depth-first (pre-)order. The order is the
+     * same as the one of a recursive depth-first search that processes the sources and outgoing edges in the given
+     * order.
+     *
+     * @param graph
+     *         the graph
+     * @param sources
+     *         the IDs of the source nodes
+     *
+     * @return the IDs of the reachable nodes in depth-first order
+     */
+    public static int[] depthFirstOrder(CompressedGraph<?, ?> graph, int... sources) {
+        final int numNodes = graph.size();
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final BitSet visited = new BitSet(numNodes);
+        final int[] order = new int[numNodes];
+        final int[] stack = new int[numNodes];
+        final int[] edgePtr = new int[numNodes];
+        int numVisited = 0;
+
+        for (int source : sources) {
+            if (visited.get(source)) {
+                continue;
+            }
+
+            int stackSize = 0;
+            visited.set(source);
+            order[numVisited++] = source;
+            edgePtr[source] = offsets[source];
+            stack[stackSize++] = source;
+
+            while (stackSize > 0) {
+                final int node = stack[stackSize - 1];
+
+                if (edgePtr[node] == offsets[node + 1]) {
+                    stackSize--;
+                    continue;
+                }
+
+                final int succ = targets[edgePtr[node]++];
+                if (!visited.get(succ)) {
+                    visited.set(succ);
+                    order[numVisited++] = succ;
+                    edgePtr[succ] = offsets[succ];
+                    stack[stackSize++] = succ;
+                }
+            }
+        }
+
+        return Arrays.copyOf(order, numVisited);
+    }
+
+    /**
+     * Computes the set of nodes reachable from the given source nodes (including the source nodes themselves).
+     *
+     * @param graph
+     *         the graph
+     * @param sources
+     *         the IDs of the source nodes
+     *
+     * @return a bit set containing the IDs of the reachable nodes
+     */
+    public static BitSet reachableNodes(CompressedGraph<?, ?> graph, int... sources) {
+        final int[] offsets = graph.offsets;
+        final int[] targets = graph.targets;
+        final BitSet visited = new BitSet(graph.size());
+        final int[] stack = new int[graph.size()];
+        int stackSize = 0;
+
+        for (int source : sources) {
+            if (!visited.get(source)) {
+                visited.set(source);
+                stack[stackSize++] = source;
+            }
+        }
+
+        while (stackSize > 0) {
+            final int node = stack[--stackSize];
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int tgt = targets[e];
+                if (!visited.get(tgt)) {
+                    visited.set(tgt);
+                    stack[stackSize++] = tgt;
+                }
+            }
+        }
+
+        return visited;
+    }
+
+    /**
+     * A lightweight list view of original nodes given by their IDs.
+     */
+    private static final class NodeList<N> extends AbstractList<N> {
+
+        private final CompressedGraph<N, ?> graph;
+        private final int[] ids;
+
+        NodeList(CompressedGraph<N, ?> graph, int[] ids) {
+            this.graph = graph;
+            this.ids = ids;
+        }
+
+        @Override
+        public N get(int index) {
+            return graph.getNode(ids[index]);
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.compressed;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.automatalib.util.graphs.Graphs;
+import net.automatalib.util.graphs.sssp.SSSPResult;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The result of a single-source shortest path search on a {@link CompressedGraph}. Besides the integer-based accessors,
+ * this class implements the {@link SSSPResult} interface in terms of the nodes and edges of the original graph.
+ *
+ * @param <N>
+ *         node type
+ * @param <E>
+ *         edge type
+ *
+ * @author frohme
+ * @see CompressedGraphs#findSSSP(CompressedGraph, int)
+ */
+public final class CompressedSSSPResult<N, E> implements SSSPResult<N, E> {
+
+    private final CompressedGraph<N, E> graph;
+    private final int source;
+    private final float[] distances;
+    private final int[] predecessorEdges;
+
+    CompressedSSSPResult(CompressedGraph<N, E> graph, int source, float[] distances, int[] predecessorEdges) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.predecessorEdges = predecessorEdges;
+    }
+
+    /**
+     * Returns the ID of the source node.
+     *
+     * @return the ID of the source node
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the length of the shortest path from the source node to the given node.
+     *
+     * @param target
+     *         the ID of the target node
+     *
+     * @return the length of the shortest path, or {@link Graphs#INVALID_DISTANCE} if there exists no such path
+     */
+    public float getDistance(int target) {
+        final float dist = distances[target];
+        return dist == Float.POSITIVE_INFINITY ? Graphs.INVALID_DISTANCE : dist;
+    }
+
+    /**
+     * Returns the index of the edge via which the given node is reached on the shortest path.
+     *
+     * @param target
+     *         the ID of the target node
+     *
+     * @return the edge index, or {@code -1} if the node is the source node or not reachable
+     */
+    public int getPredecessorEdge(int target) {
+        return predecessorEdges[target];
+    }
+
+    /**
+     * Returns the shortest path from the source node to the given node as a sequence of edge indices.
+     *
+     * @param target
+     *         the ID of the target node
+     *
+     * @return the edge indices of the shortest path, or {@code null} if there exists no such path
+     */
+    public int @Nullable [] getShortestPathEdges(int target) {
+        if (distances[target] == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        int length = 0;
+        for (int node = target; predecessorEdges[node] >= 0; node = source(predecessorEdges[node])) {
+            length++;
+        }
+
+        final int[] result = new int[length];
+        for (int node = target; predecessorEdges[node] >= 0; node = source(predecessorEdges[node])) {
+            result[--length] = predecessorEdges[node];
+        }
+
+        return result;
+    }
+
+    private int source(int edge) {
+        // the offsets are sorted, so the source of an edge can be determined by a binary search
+        int low = 0, high = graph.size() - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (graph.offsets[mid] <= edge) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public N getInitialNode() {
+        return graph.getNode(source);
+    }
+
+    @Override
+    public float getShortestPathDistance(N target) {
+        return getDistance(graph.getNodeId(target));
+    }
+
+    @Override
+    public @Nullable List<E> getShortestPath(N target) {
+        final int[] path = getShortestPathEdges(graph.getNodeId(target));
+
+        if (path == null) {
+            return null;
+        } else if (path.length == 0) {
+            return Collections.emptyList();
+        }
+
+        final List<E> result = new ArrayList<>(path.length);
+        for (int edge : path) {
+            result.add(graph.getEdge(edge));
+        }
+        return result;
+    }
+
+    @Override
+    public @Nullable E getShortestPathEdge(N target) {
+        final int edge = predecessorEdges[graph.getNodeId(target)];
+        return edge < 0 ? null : graph.getEdge(edge);
+    }
+}
@@ -0,0 +1,379 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.compressed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A multi-core SCC decomposition of {@link CompressedGraph}s, based on the forward-backward (FB) algorithm.
+ * <p>
+ * First, all nodes that have no predecessors or no successors (and hence form trivial SCCs) are trimmed iteratively.
+ * The remaining nodes are decomposed recursively: For a given set of nodes, the SCC of a pivot node is the
+ * intersection of its forward- and backward-reachable nodes, and every other SCC lies entirely in either the
+ * forward-reachable part, the backward-reachable part or the rest. These three parts are independent and processed
+ * by concurrent fork/join tasks. Each part is identified by a unique color, so that the traversals of different tasks
+ * never interfere. Sufficiently small parts are decomposed sequentially by an iterative version of Tarjan's
+ * algorithm.
+ *
+ * @author frohme
+ */
+final class ParallelSCCs {
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private static final int TRIMMED = -1;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] revOffsets;
+    private final int[] revSources;
+
+    private final int[] colors;
+    private final int[] components;
+    private final AtomicInteger nextColor;
+    private final AtomicInteger nextComponent;
+
+    // shared by the sequential leaf decompositions, which operate on disjoint sets of nodes
+    private final int[] index;
+    private final int[] lowLink;
+    private final int[] edgePtr;
+
+    private ParallelSCCs(CompressedGraph<?, ?> graph) {
+        final int numNodes = graph.size();
+        final int numEdges = graph.getNumEdges();
+
+        this.offsets = graph.offsets;
+        this.targets = graph.targets;
+        this.revOffsets = new int[numNodes + 1];
+        this.revSources = new int[numEdges];
+
+        for (int e = 0; e < numEdges; e++) {
+            revOffsets[targets[e] + 1]++;
+        }
+        for (int i = 0; i < numNodes; i++) {
+            revOffsets[i + 1] += revOffsets[i];
+        }
+
+        final int[] fill = Arrays.copyOf(revOffsets, numNodes);
+        for (int src = 0; src < numNodes; src++) {
+            for (int e = offsets[src]; e < offsets[src + 1]; e++) {
+                revSources[fill[targets[e]]++] = src;
+            }
+        }
+
+        this.colors = new int[numNodes];
+        this.components = new int[numNodes];
+        this.nextColor = new AtomicInteger(1);
+        this.nextComponent = new AtomicInteger();
+        this.index = new int[numNodes];
+        this.lowLink = new int[numNodes];
+        this.edgePtr = new int[numNodes];
+    }
+
+    /**
+     * Computes the SCCs of the given graph.
+     *
+     * @return an array mapping each node ID to the ID of its SCC. SCCs are numbered in ascending order of their
+     * smallest node ID.
+     */
+    static int[] findSCCs(CompressedGraph<?, ?> graph, ForkJoinPool pool) {
+        final ParallelSCCs scc = new ParallelSCCs(graph);
+        final int[] remaining = scc.trim();
+
+        if (remaining.length > 0) {
+            pool.invoke(new DecompositionTask(scc, remaining, 0));
+        }
+
+        return scc.canonicalComponents();
+    }
+
+    /**
+     * Iteratively removes all nodes without predecessors or successors and returns the remaining nodes.
+     */
+    private int[] trim() {
+        final int numNodes = colors.length;
+        final int[] inDegree = new int[numNodes];
+        final int[] outDegree = new int[numNodes];
+        final int[] queue = new int[numNodes];
+        int head = 0, tail = 0;
+
+        for (int i = 0; i < numNodes; i++) {
+            inDegree[i] = revOffsets[i + 1] - revOffsets[i];
+            outDegree[i] = offsets[i + 1] - offsets[i];
+            if (inDegree[i] == 0 || outDegree[i] == 0) {
+                colors[i] = TRIMMED;
+                queue[tail++] = i;
+            }
+        }
+
+        while (head < tail) {
+            final int node = queue[head++];
+            components[node] = nextComponent.getAndIncrement();
+
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int succ = targets[e];
+                if (colors[succ] != TRIMMED && --inDegree[succ] == 0) {
+                    colors[succ] = TRIMMED;
+                    queue[tail++] = succ;
+                }
+            }
+            for (int e = revOffsets[node]; e < revOffsets[node + 1]; e++) {
+                final int pred = revSources[e];
+                if (colors[pred] != TRIMMED && --outDegree[pred] == 0) {
+                    colors[pred] = TRIMMED;
+                    queue[tail++] = pred;
+                }
+            }
+        }
+
+        final int[] remaining = new int[numNodes - tail];
+        int ptr = 0;
+        for (int i = 0; i < numNodes; i++) {
+            if (colors[i] != TRIMMED) {
+                remaining[ptr++] = i;
+            }
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Splits the given nodes (all of which have the given color) into the SCC of the first node, its forward-reachable
+     * nodes, its backward-reachable nodes and the rest.
+     *
+     * @return the nodes of the three remaining parts. Their (distinct) colors are stored in {@code partColors}.
+     */
+    private int[][] split(int[] nodes, int color, int[] partColors) {
+        final int pivot = nodes[0];
+        final int fwdColor = nextColor.getAndIncrement();
+        final int bwdColor = nextColor.getAndIncrement();
+        final int sccColor = nextColor.getAndIncrement();
+        final int[] queue = new int[nodes.length];
+
+        // forward search
+        int head = 0, tail = 0;
+        colors[pivot] = fwdColor;
+        queue[tail++] = pivot;
+        while (head < tail) {
+            final int node = queue[head++];
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int succ = targets[e];
+                if (colors[succ] == color) {
+                    colors[succ] = fwdColor;
+                    queue[tail++] = succ;
+                }
+            }
+        }
+
+        // backward search, forward-reachable nodes belong to the SCC of the pivot
+        head = 0;
+        tail = 0;
+        colors[pivot] = sccColor;
+        queue[tail++] = pivot;
+        while (head < tail) {
+            final int node = queue[head++];
+            for (int e = revOffsets[node]; e < revOffsets[node + 1]; e++) {
+                final int pred = revSources[e];
+                final int predColor = colors[pred];
+                if (predColor == fwdColor) {
+                    colors[pred] = sccColor;
+                    queue[tail++] = pred;
+                } else if (predColor == color) {
+                    colors[pred] = bwdColor;
+                    queue[tail++] = pred;
+                }
+            }
+        }
+
+        final int component = nextComponent.getAndIncrement();
+        int numFwd = 0, numBwd = 0, numRest = 0;
+
+        for (int node : nodes) {
+            final int nodeColor = colors[node];
+            if (nodeColor == sccColor) {
+                components[node] = component;
+            } else if (nodeColor == fwdColor) {
+                numFwd++;
+            } else if (nodeColor == bwdColor) {
+                numBwd++;
+            } else {
+                numRest++;
+            }
+        }
+
+        final int[] fwd = new int[numFwd], bwd = new int[numBwd], rest = new int[numRest];
+        numFwd = numBwd = numRest = 0;
+
+        for (int node : nodes) {
+            final int nodeColor = colors[node];
+            if (nodeColor == fwdColor) {
+                fwd[numFwd++] = node;
+            } else if (nodeColor == bwdColor) {
+                bwd[numBwd++] = node;
+            } else if (nodeColor == color) {
+                rest[numRest++] = node;
+            }
+        }
+
+        partColors[0] = fwdColor;
+        partColors[1] = bwdColor;
+        partColors[2] = color;
+
+        return new int[][] {fwd, bwd, rest};
+    }
+
+    /**
+     * Decomposes the given nodes (all of which have the given color) using an iterative version of Tarjan's algorithm
+     * that ignores all nodes of other colors.
+     */
+    private void tarjan(int[] nodes, int color) {
+        final int[] callStack = new int[nodes.length];
+        final int[] sccStack = new int[nodes.length];
+        final int visited = nextColor.getAndIncrement();
+        final int finished = nextColor.getAndIncrement();
+
+        int counter = 0;
+        int sccStackSize = 0;
+
+        for (int root : nodes) {
+            if (colors[root] != color) {
+                continue;
+            }
+
+            int callStackSize = 0;
+            index[root] = lowLink[root] = counter++;
+            edgePtr[root] = offsets[root];
+            colors[root] = visited;
+            sccStack[sccStackSize++] = root;
+            callStack[callStackSize++] = root;
+
+            while (callStackSize > 0) {
+                final int node = callStack[callStackSize - 1];
+
+                if (edgePtr[node] < offsets[node + 1]) {
+                    final int succ = targets[edgePtr[node]++];
+                    final int succColor = colors[succ];
+
+                    if (succColor == color) {
+                        index[succ] = lowLink[succ] = counter++;
+                        edgePtr[succ] = offsets[succ];
+                        colors[succ] = visited;
+                        sccStack[sccStackSize++] = succ;
+                        callStack[callStackSize++] = succ;
+                    } else if (succColor == visited && index[succ] < lowLink[node]) {
+                        // successor is still on the SCC stack
+                        lowLink[node] = index[succ];
+                    }
+                    continue;
+                }
+
+                callStackSize--;
+
+                if (lowLink[node] == index[node]) {
+                    final int component = nextComponent.getAndIncrement();
+                    int member;
+                    do {
+                        member = sccStack[--sccStackSize];
+                        components[member] = component;
+                        colors[member] = finished;
+                    } while (member != node);
+                }
+
+                if (callStackSize > 0) {
+                    final int parent = callStack[callStackSize - 1];
+                    if (lowLink[node] < lowLink[parent]) {
+                        lowLink[parent] = lowLink[node];
+                    }
+                }
+            }
+        }
+    }
+
+    private int[] canonicalComponents() {
+        final int[] mapping = new int[nextComponent.get()];
+        Arrays.fill(mapping, -1);
+
+        int numComponents = 0;
+        for (int i = 0; i < components.length; i++) {
+            final int component = components[i];
+            if (mapping[component] < 0) {
+                mapping[component] = numComponents++;
+            }
+            components[i] = mapping[component];
+        }
+
+        return components;
+    }
+
+    private static final class DecompositionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ParallelSCCs scc;
+        private final int[] nodes;
+        private final int color;
+
+        DecompositionTask(ParallelSCCs scc, int[] nodes, int color) {
+            this.scc = scc;
+            this.nodes = nodes;
+            this.color = color;
+        }
+
+        @Override
+        protected void compute() {
+            final List<DecompositionTask> forked = new ArrayList<>();
+            final int[] partColors = new int[3];
+            int[] current = nodes;
+            int currentColor = color;
+
+            // continue with the largest part in this task and fork the other parts, which idle workers may steal
+            while (current.length > SEQUENTIAL_THRESHOLD) {
+                final int[][] parts = scc.split(current, currentColor, partColors);
+
+                int largest = 0;
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].length > parts[largest].length) {
+                        largest = i;
+                    }
+                }
+
+                for (int i = 0; i < parts.length; i++) {
+                    if (i != largest && parts[i].length > 0) {
+                        final DecompositionTask task = new DecompositionTask(scc, parts[i], partColors[i]);
+                        task.fork();
+                        forked.add(task);
+                    }
+                }
+
+                current = parts[largest];
+                currentColor = partColors[largest];
+            }
+
+            if (current.length > 0) {
+                scc.tarjan(current, currentColor);
+            }
+
+            for (DecompositionTask task : forked) {
+                task.join();
+            }
+        }
+    }
+}
@@ -16,12 +16,18 @@
 package net.automatalib.util.graphs.scc;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.graphs.Graph;
-import net.automatalib.util.graphs.traversal.GraphTraversal;
+import net.automatalib.util.graphs.compressed.CompressedGraph;
+import net.automatalib.util.graphs.compressed.CompressedGraphs;
 
 /**
  * Algorithms for finding strongly-connected components (SCCs) in a graph.
+ * <p>
+ * The graphs are first converted to a {@link CompressedGraph} snapshot, which is then decomposed by the
+ * integer-based algorithms of {@link CompressedGraphs}, i.e., either by an iterative version of Tarjan's algorithm or
+ * by a multi-core variant based on the forward-backward algorithm.
  *
  * @author Malte Isberner
  */
@@ -39,7 +45,7 @@ public final class SCCs {
      *
      * @return a list of all SCCs, each represented as a list of its nodes
      *
-     * @see TarjanSCCVisitor
+     * @see CompressedGraphs#findSCCs(CompressedGraph, SCCListener)
      */
     public static <N, E> List<List<N>> collectSCCs(Graph<N, E> graph) {
         SCCCollector<N> coll = new SCCCollector<>();
@@ -47,26 +53,59 @@ public final class SCCs {
         return coll.getSCCList();
     }
 
+    /**
+     * Collects all strongly-connected components in a graph, using the given pool for a parallel decomposition. The
+     * SCCs are returned as a list of lists.
+     *
+     * @param graph
+     *         the graph
+     * @param pool
+     *         the pool to run the decomposition in
+     *
+     * @return a list of all SCCs, each represented as a list of its nodes
+     *
+     * @see CompressedGraphs#findSCCs(CompressedGraph, SCCListener, ForkJoinPool)
+     */
+    public static <N, E> List<List<N>> collectSCCs(Graph<N, E> graph, ForkJoinPool pool) {
+        SCCCollector<N> coll = new SCCCollector<>();
+        findSCCs(graph, coll, pool);
+        return coll.getSCCList();
+    }
+
     /**
      * Find all strongly-connected components in a graph. When a new SCC is found, the {@link
      * SCCListener#foundSCC(java.util.Collection)} method is invoked. The listener object may hence not be null.
      * <p>
-     * Tarjan's algorithm is used for realizing the SCC search.
+     * An iterative version of Tarjan's algorithm is used for realizing the SCC search, i.e., SCCs are reported in
+     * reverse topological order.
      *
      * @param graph
      *         the graph
      * @param listener
      *         the SCC listener
      *
-     * @see TarjanSCCVisitor
+     * @see CompressedGraphs#findSCCs(CompressedGraph, SCCListener)
      */
     public static <N, E> void findSCCs(Graph<N, E> graph, SCCListener<N> listener) {
-        TarjanSCCVisitor<N, E> vis = new TarjanSCCVisitor<>(graph, listener);
-        for (N node : graph) {
-            if (!vis.hasVisited(node)) {
-                GraphTraversal.depthFirst(graph, node, vis);
-            }
-        }
+        CompressedGraphs.findSCCs(CompressedGraph.of(graph), listener);
     }
 
+    /**
+     * Find all strongly-connected components in a graph, using the given pool for a parallel decomposition. Once the
+     * decomposition has finished, the {@link SCCListener#foundSCC(java.util.Collection)} method is invoked (by the
+     * calling thread) for each SCC. Note that in contrast to {@link #findSCCs(Graph, SCCListener)}, the SCCs are not
+     * reported in topological order.
+     *
+     * @param graph
+     *         the graph
+     * @param listener
+     *         the SCC listener
+     * @param pool
+     *         the pool to run the decomposition in
+     *
+     * @see CompressedGraphs#findSCCs(CompressedGraph, SCCListener, ForkJoinPool)
+     */
+    public static <N, E> void findSCCs(Graph<N, E> graph, SCCListener<N> listener, ForkJoinPool pool) {
+        CompressedGraphs.findSCCs(CompressedGraph.of(graph), listener, pool);
+    }
 }
@@ -0,0 +1,154 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.sssp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.automatalib.graphs.BidirectionalGraph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A reusable implementation of the bidirectional variant of Dijkstra's algorithm for point-to-point shortest path
+ * queries.
+ * <p>
+ * Two searches are run alternately: a forward search from the source node along outgoing edges and a backward search
+ * from the target node along {@link BidirectionalGraph#getIncomingEdges(Object) incoming} edges. Whenever an edge
+ * connects both search spaces, the length of the corresponding path is recorded, and the search stops as soon as the
+ * sum of the minimal tentative distances of both searches is not smaller than the shortest path found so far. Since
+ * both searches only need to cover (roughly) half the distance, the explored region is usually much smaller than the
+ * one of a unidirectional search.
+ * <p>
+ * As with {@link DijkstraSearch}, the internal arrays are allocated once and the cost of each query is proportional to
+ * the explored region of the graph only. Note that the results are only correct if the graph contains no edges with
+ * negative weights.
+ *
+ * @param <N>
+ *         node type
+ * @param <E>
+ *         edge type
+ *
+ * @author frohme
+ * @see DijkstraSearch
+ */
+public final class BidirectionalDijkstra<N, E> {
+
+    private final BidirectionalGraph<N, E> graph;
+    private final EdgeWeights<E> edgeWeights;
+    private final NodeIDs<N> ids;
+    private final DijkstraState<E> forward;
+    private final DijkstraState<E> backward;
+
+    /**
+     * Constructor.
+     *
+     * @param graph
+     *         the graph in which to search for shortest paths
+     * @param edgeWeights
+     *         the edge weights
+     */
+    public BidirectionalDijkstra(BidirectionalGraph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        this.graph = graph;
+        this.edgeWeights = edgeWeights;
+        this.ids = graph.nodeIDs();
+        this.forward = new DijkstraState<>(graph.size());
+        this.backward = new DijkstraState<>(graph.size());
+    }
+
+    /**
+     * Searches for a shortest path from the given source node to the given target node.
+     *
+     * @param source
+     *         the source node
+     * @param target
+     *         the target node
+     *
+     * @return the edges of a shortest path from {@code source} to {@code target}, or {@code null} if there exists no
+     * such path
+     */
+    public @Nullable List<E> findShortestPath(N source, N target) {
+        final int srcId = ids.getNodeId(source), tgtId = ids.getNodeId(target);
+
+        if (srcId == tgtId) {
+            return Collections.emptyList();
+        }
+
+        forward.reset();
+        backward.reset();
+        forward.addSource(srcId);
+        backward.addSource(tgtId);
+
+        float best = Float.POSITIVE_INFINITY;
+        int meetSource = -1, meetTarget = -1;
+        E meetEdge = null;
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            final float fwdMin = forward.heap.peekMinKey(), bwdMin = backward.heap.peekMinKey();
+
+            if (fwdMin + bwdMin >= best) {
+                break;
+            }
+
+            if (fwdMin <= bwdMin) {
+                final int u = forward.heap.extractMin();
+                for (E edge : graph.getOutgoingEdges(ids.getNode(u))) {
+                    final int v = ids.getNodeId(graph.getTarget(edge));
+                    final float dist = fwdMin + edgeWeights.getEdgeWeight(edge);
+                    forward.relax(u, edge, v, dist);
+
+                    if (backward.isReached(v) && dist + backward.getDistance(v) < best) {
+                        best = dist + backward.getDistance(v);
+                        meetSource = u;
+                        meetEdge = edge;
+                        meetTarget = v;
+                    }
+                }
+            } else {
+                final int u = backward.heap.extractMin();
+                for (E edge : graph.getIncomingEdges(ids.getNode(u))) {
+                    final int v = ids.getNodeId(graph.getSource(edge));
+                    final float dist = bwdMin + edgeWeights.getEdgeWeight(edge);
+                    backward.relax(u, edge, v, dist);
+
+                    if (forward.isReached(v) && forward.getDistance(v) + dist < best) {
+                        best = forward.getDistance(v) + dist;
+                        meetSource = v;
+                        meetEdge = edge;
+                        meetTarget = u;
+                    }
+                }
+            }
+        }
+
+        if (meetEdge == null) {
+            return null;
+        }
+
+        final List<E> result = new ArrayList<>(forward.getPath(meetSource));
+        result.add(meetEdge);
+
+        // the backward path is stored from the target node to the meeting node
+        final List<E> suffix = backward.getPath(meetTarget);
+        for (int i = suffix.size() - 1; i >= 0; i--) {
+            result.add(suffix.get(i));
+        }
+
+        return result;
+    }
+}
@@ -15,22 +15,19 @@
  */
 package net.automatalib.util.graphs.sssp;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-import net.automatalib.commons.smartcollections.BinaryHeap;
-import net.automatalib.commons.smartcollections.ElementReference;
-import net.automatalib.commons.smartcollections.SmartDynamicPriorityQueue;
-import net.automatalib.commons.util.mappings.MutableMapping;
 import net.automatalib.graphs.Graph;
 import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
 import net.automatalib.util.graphs.Graphs;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.checkerframework.checker.nullness.qual.PolyNull;
 
 /**
  * Implementation of Dijkstras algorithm for the single-source shortest path problem.
+ * <p>
+ * Nodes are identified by their {@link Graph#nodeIDs() IDs}, and the priority queue is an indexed d-ary heap over these
+ * IDs, so no per-node objects are allocated during the search.
  *
  * @param <N>
  *         node class
@@ -38,13 +35,16 @@ import org.checkerframework.checker.nullness.qual.PolyNull;
  *         edge class
  *
  * @author Malte Isberner
+ * @see DijkstraSearch
  */
 public class DijkstraSSSP<N, E> implements SSSPResult<N, E> {
 
     private final Graph<N, E> graph;
     private final N init;
     private final EdgeWeights<E> edgeWeights;
-    private final MutableMapping<N, @Nullable Record<N, E>> records;
+    private final NodeIDs<N> ids;
+    private final DijkstraState<E> state;
+    private boolean searched;
 
     /**
      * Constructor.
@@ -60,7 +60,8 @@ public class DijkstraSSSP<N, E> implements SSSPResult<N, E> {
         this.graph = graph;
         this.init = init;
         this.edgeWeights = edgeWeights;
-        this.records = graph.createStaticNodeMapping();
+        this.ids = graph.nodeIDs();
+        this.state = new DijkstraState<>(graph.size());
     }
 
     /**
@@ -85,44 +86,15 @@ public class DijkstraSSSP<N, E> implements SSSPResult<N, E> {
      * Start the search. This method may only be invoked once.
      */
     public void findSSSP() {
-        Record<N, E> initRec = new Record<>(init, 0.0f);
-        if (records.put(init, initRec) != null) {
+        if (searched) {
             throw new IllegalStateException("Search has already been performed!");
         }
+        searched = true;
 
-        SmartDynamicPriorityQueue<Record<N, E>> pq = BinaryHeap.create(graph.size());
-        initRec.ref = pq.referencedAdd(initRec);
+        state.addSource(ids.getNodeId(init));
 
-        while (!pq.isEmpty()) {
-            // Remove node with minimum distance
-            Record<N, E> rec = pq.extractMin();
-            float dist = rec.dist;
-
-            N node = rec.node;
-
-            // edge scanning
-            for (E edge : graph.getOutgoingEdges(node)) {
-                float w = edgeWeights.getEdgeWeight(edge);
-                float newDist = dist + w;
-
-                N tgt = graph.getTarget(edge);
-                Record<N, E> tgtRec = records.get(tgt);
-                if (tgtRec == null) {
-                    // node has not been visited before, add a record
-                    // and add it to the queue
-                    tgtRec = new Record<>(tgt, newDist, edge, rec);
-                    tgtRec.ref = pq.referencedAdd(tgtRec);
-                    records.put(tgt, tgtRec);
-                } else if (newDist < tgtRec.dist) {
-                    // using currently considered edge decreases current distance
-                    tgtRec.dist = newDist;
-                    tgtRec.reach = edge;
-                    tgtRec.depth = rec.depth + 1;
-                    tgtRec.parent = rec;
-                    // update it's position in the queue
-                    pq.keyChanged(tgtRec.ref);
-                }
-            }
+        while (!state.heap.isEmpty()) {
+            state.settleNext(graph, ids, edgeWeights);
         }
     }
 
@@ -133,73 +105,24 @@ public class DijkstraSSSP<N, E> implements SSSPResult<N, E> {
 
     @Override
     public float getShortestPathDistance(N target) {
-        Record<N, E> rec = records.get(target);
-        if (rec == null) {
+        final int id = ids.getNodeId(target);
+        if (!state.isReached(id)) {
             return Graphs.INVALID_DISTANCE;
         }
-        return rec.dist;
+        return state.getDistance(id);
     }
 
     @Override
     public @Nullable List<E> getShortestPath(N target) {
-        Record<N, E> rec = records.get(target);
-        if (rec == null) {
+        final int id = ids.getNodeId(target);
+        if (!state.isReached(id)) {
             return null;
         }
-
-        if (rec.depth == 0) {
-            return Collections.emptyList();
-        }
-
-        List<E> result = new ArrayList<>(rec.depth);
-
-        E edge;
-        while ((edge = rec.reach) != null) {
-            result.add(edge);
-            rec = rec.parent;
-            assert rec != null;
-        }
-
-        Collections.reverse(result);
-        return result;
+        return state.getPath(id);
     }
 
     @Override
     public @Nullable E getShortestPathEdge(N target) {
-        Record<N, E> rec = records.get(target);
-        if (rec == null) {
-            return null;
-        }
-        return rec.reach;
-    }
-
-    /**
-     * Internal data record. Note: this class has a natural ordering that is inconsistent with equals.
-     */
-    private static final class Record<N, E> implements Comparable<Record<N, E>> {
-
-        public final N node;
-        public float dist;
-        public @Nullable ElementReference ref;
-        public @PolyNull E reach;
-        public @PolyNull Record<N, E> parent;
-        int depth;
-
-        Record(N node, float dist) {
-            this(node, dist, null, null);
-        }
-
-        Record(N node, float dist, @PolyNull E reach, @PolyNull Record<N, E> parent) {
-            this.node = node;
-            this.dist = dist;
-            this.reach = reach;
-            this.parent = parent;
-            this.depth = (parent != null) ? parent.depth + 1 : 0;
-        }
-
-        @Override
-        public int compareTo(Record<N, E> o) {
-            return Float.compare(dist, o.dist);
-        }
+        return state.getPredecessorEdge(ids.getNodeId(target));
     }
 }
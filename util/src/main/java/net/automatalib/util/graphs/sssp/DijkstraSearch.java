@@ -0,0 +1,162 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.sssp;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.graphs.Graphs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A reusable implementation of Dijkstra's algorithm that supports multiple source nodes and terminates as soon as a
+ * target node has been reached.
+ * <p>
+ * Nodes are identified by their {@link Graph#nodeIDs() IDs}, and the priority queue is an indexed d-ary heap over these
+ * IDs. The internal arrays are allocated once upon construction; afterwards, the cost of each {@link
+ * #search(Collection, Predicate) search} (including the cleanup of the previous one) is proportional to the explored
+ * region of the graph only. Hence, for many point-to-point queries on the same graph, a single instance of this class
+ * should be re-used.
+ * <p>
+ * Note that the results are only correct if the graph contains no edges with negative weights.
+ *
+ * @param <N>
+ *         node type
+ * @param <E>
+ *         edge type
+ *
+ * @author frohme
+ * @see DijkstraSSSP
+ */
+public final class DijkstraSearch<N, E> {
+
+    private final Graph<N, E> graph;
+    private final EdgeWeights<E> edgeWeights;
+    private final NodeIDs<N> ids;
+    private final DijkstraState<E> state;
+
+    /**
+     * Constructor.
+     *
+     * @param graph
+     *         the graph in which to search for shortest paths
+     * @param edgeWeights
+     *         the edge weights
+     */
+    public DijkstraSearch(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        this.graph = graph;
+        this.edgeWeights = edgeWeights;
+        this.ids = graph.nodeIDs();
+        this.state = new DijkstraState<>(graph.size());
+    }
+
+    /**
+     * Searches for a shortest path from the given source node to the given target node.
+     *
+     * @param source
+     *         the source node
+     * @param target
+     *         the target node
+     *
+     * @return {@code true} if the target node is reachable from the source node, {@code false} otherwise
+     *
+     * @see #search(Collection, Predicate)
+     */
+    public boolean search(N source, N target) {
+        return search(Collections.singleton(source), target::equals) != null;
+    }
+
+    /**
+     * Searches for a shortest path from any of the given source nodes to any of the target nodes. The search
+     * terminates as soon as the first target node is settled, i.e., its shortest distance is known. All results of the
+     * previous search are discarded.
+     *
+     * @param sources
+     *         the source nodes
+     * @param targets
+     *         the predicate determining the target nodes
+     *
+     * @return the (first) target node reached by the search, or {@code null} if no target node is reachable from the
+     * source nodes
+     */
+    public @Nullable N search(Collection<? extends N> sources, Predicate<? super N> targets) {
+        state.reset();
+
+        for (N src : sources) {
+            state.addSource(ids.getNodeId(src));
+        }
+
+        while (!state.heap.isEmpty()) {
+            final N node = ids.getNode(state.heap.peekMin());
+            if (targets.test(node)) {
+                state.heap.extractMin();
+                return node;
+            }
+            state.settleNext(graph, ids, edgeWeights);
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the length of the shortest path from the source nodes to the given node, if the node has been settled
+     * by the last search.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the length of the shortest path, or {@link Graphs#INVALID_DISTANCE} if the node has not been settled
+     */
+    public float getDistance(N node) {
+        final int id = ids.getNodeId(node);
+        return state.isSettled(id) ? state.getDistance(id) : Graphs.INVALID_DISTANCE;
+    }
+
+    /**
+     * Returns the shortest path from the source nodes to the given node, if the node has been settled by the last
+     * search.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the edges of the shortest path, or {@code null} if the node has not been settled
+     *
+     * @see #getSource(Object)
+     */
+    public @Nullable List<E> getPath(N node) {
+        final int id = ids.getNodeId(node);
+        return state.isSettled(id) ? state.getPath(id) : null;
+    }
+
+    /**
+     * Returns the source node from which the shortest path to the given node starts, if the node has been settled by
+     * the last search.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the source node of the shortest path, or {@code null} if the node has not been settled
+     */
+    public @Nullable N getSource(N node) {
+        final int id = ids.getNodeId(node);
+        return state.isSettled(id) ? ids.getNode(state.getRoot(id)) : null;
+    }
+}
@@ -0,0 +1,168 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.sssp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.automatalib.commons.smartcollections.IntDaryHeap;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The (integer-based) state of a run of Dijkstra's algorithm: tentative distances, predecessors and the priority queue
+ * of unsettled nodes, indexed by node IDs.
+ * <p>
+ * The arrays are allocated once, but all nodes that are reached during a search are tracked, so that {@link #reset()
+ * resetting} the state for a subsequent search only costs time proportional to the explored region of the graph.
+ *
+ * @param <E>
+ *         edge type
+ *
+ * @author frohme
+ */
+final class DijkstraState<E> {
+
+    final IntDaryHeap heap;
+    private final float[] distances;
+    private final int[] predecessors;
+    private final @Nullable Object[] predecessorEdges;
+    private final int[] touched;
+    private int numTouched;
+
+    DijkstraState(int size) {
+        this.heap = new IntDaryHeap(size);
+        this.distances = new float[size];
+        this.predecessors = new int[size];
+        this.predecessorEdges = new Object[size];
+        this.touched = new int[size];
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+    }
+
+    boolean isReached(int node) {
+        return distances[node] != Float.POSITIVE_INFINITY;
+    }
+
+    boolean isSettled(int node) {
+        return isReached(node) && !heap.contains(node);
+    }
+
+    float getDistance(int node) {
+        return distances[node];
+    }
+
+    int getPredecessor(int node) {
+        return predecessors[node];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable E getPredecessorEdge(int node) {
+        return (E) predecessorEdges[node];
+    }
+
+    void addSource(int node) {
+        if (!isReached(node)) {
+            touched[numTouched++] = node;
+            heap.insert(node, 0);
+        } else if (heap.contains(node)) {
+            heap.decreaseKey(node, 0);
+        }
+        distances[node] = 0;
+        predecessors[node] = -1;
+        predecessorEdges[node] = null;
+    }
+
+    /**
+     * Updates the tentative distance of {@code target}, if it can be improved by reaching it via {@code edge} from
+     * {@code source}.
+     *
+     * @return {@code true} if the distance has been improved, {@code false} otherwise
+     */
+    boolean relax(int source, E edge, int target, float newDist) {
+        if (newDist < distances[target]) {
+            if (!isReached(target)) {
+                touched[numTouched++] = target;
+                heap.insert(target, newDist);
+            } else if (heap.contains(target)) {
+                heap.decreaseKey(target, newDist);
+            }
+            distances[target] = newDist;
+            predecessors[target] = source;
+            predecessorEdges[target] = edge;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Settles the unsettled node with the minimal distance and relaxes its outgoing edges.
+     *
+     * @return the ID of the settled node
+     */
+    <N> int settleNext(Graph<N, E> graph, NodeIDs<N> ids, EdgeWeights<E> edgeWeights) {
+        final int nodeId = heap.extractMin();
+        final float dist = distances[nodeId];
+
+        for (E edge : graph.getOutgoingEdges(ids.getNode(nodeId))) {
+            final int tgtId = ids.getNodeId(graph.getTarget(edge));
+            relax(nodeId, edge, tgtId, dist + edgeWeights.getEdgeWeight(edge));
+        }
+
+        return nodeId;
+    }
+
+    /**
+     * Returns the edges of the path via which the given node has been reached, starting at the source node of the path.
+     */
+    List<E> getPath(int node) {
+        if (predecessors[node] < 0) {
+            return Collections.emptyList();
+        }
+
+        final List<E> result = new ArrayList<>();
+        for (int n = node; predecessors[n] >= 0; n = predecessors[n]) {
+            result.add(getPredecessorEdge(n));
+        }
+        Collections.reverse(result);
+
+        return result;
+    }
+
+    /**
+     * Returns the source node of the path via which the given node has been reached.
+     */
+    int getRoot(int node) {
+        int n = node;
+        while (predecessors[n] >= 0) {
+            n = predecessors[n];
+        }
+        return n;
+    }
+
+    void reset() {
+        for (int i = 0; i < numTouched; i++) {
+            final int node = touched[i];
+            distances[node] = Float.POSITIVE_INFINITY;
+            predecessorEdges[node] = null;
+        }
+        numTouched = 0;
+        heap.clear();
+    }
+}
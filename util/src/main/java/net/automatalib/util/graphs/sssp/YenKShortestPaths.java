@@ -0,0 +1,607 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.sssp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+import net.automatalib.graphs.IndefiniteGraph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.util.graphs.Path;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A lazy enumeration of the loopless paths from a source node to a set of target nodes of a weighted {@link
+ * IndefiniteGraph} in ascending order of their weights (k shortest paths), based on Yen's algorithm.
+ * <p>
+ * The graph is explored on-the-fly: nodes and edges are assigned consecutive integer IDs when they are first
+ * encountered and their adjacency and weights are cached in flat primitive arrays, on which all (spur) searches
+ * operate. Paths are returned as sequences of edge IDs, which can be translated back via {@link #getEdge(int)}, {@link
+ * #toEdgeList(int[])} or {@link #toPath(int[])}. Each call to {@link #next()} only performs the spur searches for the
+ * previously returned path, and only from its deviation node onwards (Lawler's refinement). Candidate paths are stored
+ * relative to the path they deviate from, and the returned paths are organized in a prefix tree, which directly yields
+ * the edges that have to be excluded from a spur search and detects duplicate candidates.
+ * <p>
+ * The enumerated paths end at the first target node they reach, i.e., no path visits a target node other than its last
+ * one. Edge weights must be non-negative. Since the graph may be infinite, an upper bound for the weights of the
+ * enumerated paths may be specified, which also bounds the exploration of each spur search. Without such a bound,
+ * the portion of the graph reachable from the source must be finite for the enumeration to terminate.
+ *
+ * @param <N>
+ *         node type
+ * @param <E>
+ *         edge type
+ *
+ * @author frohme
+ * @see net.automatalib.util.graphs.ShortestPaths
+ */
+public final class YenKShortestPaths<N, E> implements Iterator<int[]> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int[] EMPTY = new int[0];
+
+    private final IndefiniteGraph<N, E> graph;
+    private final EdgeWeights<E> edgeWeights;
+    private final Predicate<? super N> targets;
+    private final N source;
+    private final float limit;
+
+    // integer abstraction of the explored part of the graph
+    private final Map<N, Integer> nodeIds;
+    private final List<N> nodes;
+    private final List<E> edges;
+    private boolean[] isTarget;
+    private int[] firstEdges;
+    private int[] outDegrees;
+    private int[] edgeSources;
+    private int[] edgeTargets;
+    private float[] weights;
+
+    // state of the (spur) searches, invalidated by incrementing the respective stamps
+    private float[] distances;
+    private int[] predEdges;
+    private int[] reached;
+    private int[] settled;
+    private int[] blockedNodes;
+    private int[] blockedEdges;
+    private int searchStamp;
+    private int nodeStamp;
+    private int edgeStamp;
+    private long[] heap;
+    private int heapSize;
+    private float lastDistance;
+
+    // the enumerated paths
+    private final List<int[]> paths;
+    private int[] deviations;
+    private final TrieNode prefixTree;
+    private final PriorityQueue<Candidate> candidates;
+    private long numCandidates;
+    private int @Nullable [] nextPath;
+    private boolean initialized;
+
+    /**
+     * Constructor. Enumerates all loopless paths, regardless of their weights.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the (non-negative) edge weights
+     * @param source
+     *         the source node
+     * @param targets
+     *         the predicate determining the target nodes
+     */
+    public YenKShortestPaths(IndefiniteGraph<N, E> graph,
+                             EdgeWeights<E> edgeWeights,
+                             N source,
+                             Predicate<? super N> targets) {
+        this(graph, edgeWeights, source, targets, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Constructor. Enumerates all loopless paths whose weights do not exceed the given limit.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the (non-negative) edge weights
+     * @param source
+     *         the source node
+     * @param targets
+     *         the predicate determining the target nodes
+     * @param limit
+     *         the maximum weight of enumerated paths
+     */
+    public YenKShortestPaths(IndefiniteGraph<N, E> graph,
+                             EdgeWeights<E> edgeWeights,
+                             N source,
+                             Predicate<? super N> targets,
+                             float limit) {
+        this.graph = graph;
+        this.edgeWeights = edgeWeights;
+        this.source = source;
+        this.targets = targets;
+        this.limit = limit;
+
+        this.nodeIds = new HashMap<>();
+        this.nodes = new ArrayList<>();
+        this.edges = new ArrayList<>();
+        this.isTarget = new boolean[INITIAL_CAPACITY];
+        this.firstEdges = new int[INITIAL_CAPACITY];
+        this.outDegrees = new int[INITIAL_CAPACITY];
+        this.distances = new float[INITIAL_CAPACITY];
+        this.predEdges = new int[INITIAL_CAPACITY];
+        this.reached = new int[INITIAL_CAPACITY];
+        this.settled = new int[INITIAL_CAPACITY];
+        this.blockedNodes = new int[INITIAL_CAPACITY];
+        this.edgeSources = new int[INITIAL_CAPACITY];
+        this.edgeTargets = new int[INITIAL_CAPACITY];
+        this.weights = new float[INITIAL_CAPACITY];
+        this.blockedEdges = new int[INITIAL_CAPACITY];
+        this.heap = new long[INITIAL_CAPACITY];
+
+        this.paths = new ArrayList<>();
+        this.deviations = new int[INITIAL_CAPACITY];
+        this.prefixTree = new TrieNode();
+        this.candidates = new PriorityQueue<>();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextPath == null) {
+            nextPath = computeNext();
+        }
+        return nextPath != null;
+    }
+
+    /**
+     * Returns the next shortest (loopless) path as a sequence of edge IDs.
+     *
+     * @return the edge IDs of the next shortest path
+     *
+     * @throws NoSuchElementException
+     *         if there are no more paths
+     */
+    @Override
+    public int[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final int[] result = nextPath;
+        nextPath = null;
+        return result.clone();
+    }
+
+    /**
+     * Returns the number of paths that have been enumerated so far.
+     *
+     * @return the number of enumerated paths
+     */
+    public int getNumPaths() {
+        return paths.size() - (nextPath == null ? 0 : 1);
+    }
+
+    /**
+     * Returns the edge for the given edge ID.
+     *
+     * @param edgeId
+     *         the edge ID
+     *
+     * @return the edge
+     */
+    public E getEdge(int edgeId) {
+        return edges.get(edgeId);
+    }
+
+    /**
+     * Returns the weight of the given path, i.e., the sum of the weights of its edges.
+     *
+     * @param path
+     *         the edge IDs of the path
+     *
+     * @return the weight of the path
+     */
+    public float getWeight(int[] path) {
+        float weight = 0;
+        for (int e : path) {
+            weight += weights[e];
+        }
+        return weight;
+    }
+
+    /**
+     * Returns the edges of the given path.
+     *
+     * @param path
+     *         the edge IDs of the path
+     *
+     * @return the edges of the path
+     */
+    public List<E> toEdgeList(int[] path) {
+        final List<E> result = new ArrayList<>(path.length);
+        for (int e : path) {
+            result.add(edges.get(e));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the given path as a {@link Path} of the original graph.
+     *
+     * @param path
+     *         the edge IDs of the path
+     *
+     * @return the path
+     */
+    public Path<N, E> toPath(int[] path) {
+        return new Path.PathData<>(source, toEdgeList(path)).toPath(graph);
+    }
+
+    private int @Nullable [] computeNext() {
+        if (!initialized) {
+            initialized = true;
+            nodeStamp++;
+            edgeStamp++;
+
+            final int[] shortest = search(intern(source), limit);
+            if (shortest != null) {
+                candidates.add(new Candidate(-1, 0, shortest, lastDistance, numCandidates++));
+            }
+        } else if (!paths.isEmpty()) {
+            computeSpurPaths(paths.size() - 1);
+        }
+
+        while (!candidates.isEmpty()) {
+            final Candidate candidate = candidates.poll();
+            final int[] path = materialize(candidate);
+
+            if (prefixTree.insert(path)) {
+                if (paths.size() == deviations.length) {
+                    deviations = Arrays.copyOf(deviations, deviations.length * 2);
+                }
+                deviations[paths.size()] = candidate.spurIndex;
+                paths.add(path);
+                return path;
+            }
+        }
+
+        return null;
+    }
+
+    private void computeSpurPaths(int pathIdx) {
+        final int[] path = paths.get(pathIdx);
+        final int deviation = deviations[pathIdx];
+
+        TrieNode trieNode = prefixTree;
+        float rootWeight = 0;
+        int node = intern(source);
+        nodeStamp++;
+
+        for (int i = 0; i < path.length; i++) {
+            if (i >= deviation) {
+                // exclude the continuations of all enumerated paths that share the current root path
+                edgeStamp++;
+                for (int j = 0; j < trieNode.size; j++) {
+                    blockedEdges[trieNode.edges[j]] = edgeStamp;
+                }
+
+                final int[] spurPath = search(node, limit - rootWeight);
+                if (spurPath != null) {
+                    candidates.add(new Candidate(pathIdx,
+                                                 i,
+                                                 spurPath,
+                                                 rootWeight + lastDistance,
+                                                 numCandidates++));
+                }
+            }
+
+            // the root path must not be visited by subsequent spur paths
+            blockedNodes[node] = nodeStamp;
+
+            final int edge = path[i];
+            rootWeight += weights[edge];
+            node = edgeTargets[edge];
+            trieNode = trieNode.getChild(edge);
+        }
+    }
+
+    private int[] materialize(Candidate candidate) {
+        if (candidate.parent < 0) {
+            return candidate.spurPath;
+        }
+
+        final int[] parent = paths.get(candidate.parent);
+        final int[] result = Arrays.copyOf(parent, candidate.spurIndex + candidate.spurPath.length);
+        System.arraycopy(candidate.spurPath, 0, result, candidate.spurIndex, candidate.spurPath.length);
+        return result;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the given node to the closest target node, ignoring all blocked nodes and edges
+     * as well as all paths heavier than the given budget. The distance of the found path is stored in {@link
+     * #lastDistance}.
+     */
+    private int @Nullable [] search(int start, float budget) {
+        final int stamp = ++searchStamp;
+
+        distances[start] = 0;
+        reached[start] = stamp;
+        heapSize = 0;
+        push(0, start);
+
+        while (heapSize > 0) {
+            final long entry = pop();
+            final int node = (int) entry;
+            final float dist = Float.intBitsToFloat((int) (entry >>> 32));
+
+            if (settled[node] == stamp || dist > distances[node]) {
+                continue;
+            }
+            settled[node] = stamp;
+
+            if (isTarget[node]) {
+                lastDistance = dist;
+                return buildPath(start, node);
+            }
+
+            expand(node);
+
+            final int first = firstEdges[node];
+            final int last = first + outDegrees[node];
+
+            for (int e = first; e < last; e++) {
+                final int target = edgeTargets[e];
+                if (blockedEdges[e] == edgeStamp || blockedNodes[target] == nodeStamp || settled[target] == stamp) {
+                    continue;
+                }
+
+                final float newDist = dist + weights[e];
+                if (newDist <= budget && (reached[target] != stamp || newDist < distances[target])) {
+                    reached[target] = stamp;
+                    distances[target] = newDist;
+                    predEdges[target] = e;
+                    push(newDist, target);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private int[] buildPath(int start, int end) {
+        int length = 0;
+        for (int n = end; n != start; n = edgeSources[predEdges[n]]) {
+            length++;
+        }
+
+        final int[] result = length == 0 ? EMPTY : new int[length];
+        for (int n = end; n != start; n = edgeSources[predEdges[n]]) {
+            result[--length] = predEdges[n];
+        }
+
+        return result;
+    }
+
+    private void expand(int node) {
+        if (firstEdges[node] >= 0) {
+            return;
+        }
+
+        final Collection<E> outgoing = graph.getOutgoingEdges(nodes.get(node));
+        final int first = edges.size();
+        firstEdges[node] = first;
+
+        if (outgoing == null) {
+            outDegrees[node] = 0;
+            return;
+        }
+
+        for (E edge : outgoing) {
+            final float weight = edgeWeights.getEdgeWeight(edge);
+            if (!(weight >= 0)) {
+                throw new IllegalArgumentException("Edge weights must be non-negative, but found " + weight);
+            }
+
+            final int target = intern(graph.getTarget(edge));
+            final int id = edges.size();
+
+            if (id == edgeTargets.length) {
+                final int newCapacity = id * 2;
+                edgeSources = Arrays.copyOf(edgeSources, newCapacity);
+                edgeTargets = Arrays.copyOf(edgeTargets, newCapacity);
+                weights = Arrays.copyOf(weights, newCapacity);
+                blockedEdges = Arrays.copyOf(blockedEdges, newCapacity);
+            }
+
+            edges.add(edge);
+            edgeSources[id] = node;
+            edgeTargets[id] = target;
+            weights[id] = weight;
+        }
+
+        outDegrees[node] = edges.size() - first;
+    }
+
+    private int intern(N node) {
+        final Integer existing = nodeIds.get(node);
+        if (existing != null) {
+            return existing;
+        }
+
+        final int id = nodes.size();
+
+        if (id == firstEdges.length) {
+            final int newCapacity = id * 2;
+            isTarget = Arrays.copyOf(isTarget, newCapacity);
+            firstEdges = Arrays.copyOf(firstEdges, newCapacity);
+            outDegrees = Arrays.copyOf(outDegrees, newCapacity);
+            distances = Arrays.copyOf(distances, newCapacity);
+            predEdges = Arrays.copyOf(predEdges, newCapacity);
+            reached = Arrays.copyOf(reached, newCapacity);
+            settled = Arrays.copyOf(settled, newCapacity);
+            blockedNodes = Arrays.copyOf(blockedNodes, newCapacity);
+        }
+
+        nodeIds.put(node, id);
+        nodes.add(node);
+        isTarget[id] = targets.test(node);
+        firstEdges[id] = -1;
+
+        return id;
+    }
+
+    // binary min-heap over (distance, node) pairs. Since distances are non-negative, the bit representation of their
+    // float values preserves their order
+
+    private void push(float dist, int node) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+
+        final long entry = ((long) Float.floatToIntBits(dist) << 32) | node;
+        int idx = heapSize++;
+
+        while (idx > 0) {
+            final int parent = (idx - 1) >>> 1;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[idx] = heap[parent];
+            idx = parent;
+        }
+
+        heap[idx] = entry;
+    }
+
+    private long pop() {
+        final long result = heap[0];
+        final long last = heap[--heapSize];
+        int idx = 0;
+
+        while (true) {
+            int child = 2 * idx + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[idx] = heap[child];
+            idx = child;
+        }
+
+        heap[idx] = last;
+        return result;
+    }
+
+    /**
+     * A candidate path, represented by the prefix of its parent path up to the spur node, followed by the spur path.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+
+        final int parent;
+        final int spurIndex;
+        final int[] spurPath;
+        final float weight;
+        final long sequence;
+
+        Candidate(int parent, int spurIndex, int[] spurPath, float weight, long sequence) {
+            this.parent = parent;
+            this.spurIndex = spurIndex;
+            this.spurPath = spurPath;
+            this.weight = weight;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Candidate o) {
+            final int cmp = Float.compare(weight, o.weight);
+            return cmp != 0 ? cmp : Long.compare(sequence, o.sequence);
+        }
+    }
+
+    /**
+     * A node of the prefix tree of all enumerated paths, whose children are indexed by edge IDs.
+     */
+    private static final class TrieNode {
+
+        int[] edges = EMPTY;
+        @Nullable TrieNode[] children;
+        int size;
+        boolean terminal;
+
+        TrieNode getChild(int edge) {
+            for (int i = 0; i < size; i++) {
+                if (edges[i] == edge) {
+                    return children[i];
+                }
+            }
+            throw new IllegalStateException("No child for edge " + edge);
+        }
+
+        /**
+         * Inserts the given path into the subtree of this node. Returns {@code false} if it already was contained.
+         */
+        boolean insert(int[] path) {
+            TrieNode node = this;
+
+            path_loop:
+            for (int edge : path) {
+                for (int i = 0; i < node.size; i++) {
+                    if (node.edges[i] == edge) {
+                        node = node.children[i];
+                        continue path_loop;
+                    }
+                }
+                node = node.addChild(edge);
+            }
+
+            if (node.terminal) {
+                return false;
+            }
+            node.terminal = true;
+            return true;
+        }
+
+        private TrieNode addChild(int edge) {
+            if (children == null) {
+                edges = new int[2];
+                children = new TrieNode[2];
+            } else if (size == edges.length) {
+                edges = Arrays.copyOf(edges, size * 2);
+                children = Arrays.copyOf(children, size * 2);
+            }
+
+            final TrieNode child = new TrieNode();
+            edges[size] = edge;
+            children[size] = child;
+            size++;
+            return child;
+        }
+    }
+}
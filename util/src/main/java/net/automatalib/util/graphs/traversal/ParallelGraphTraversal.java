@@ -0,0 +1,249 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.traversal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+import net.automatalib.commons.util.Holder;
+import net.automatalib.commons.util.concurrent.ConcurrentBitSet;
+import net.automatalib.commons.util.concurrent.ParallelRanges;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.IndefiniteGraph;
+import net.automatalib.graphs.concepts.NodeIDs;
+
+/**
+ * A level-synchronous, parallel breadth-first traversal of {@link IndefiniteGraph}s.
+ * <p>
+ * The nodes of each BFS level (the frontier) are partitioned into chunks that are expanded concurrently by the tasks
+ * of a {@link ForkJoinPool}. The next level is only started once the current level has been fully expanded. In
+ * contrast to {@link GraphTraversal}, the traversal itself keeps track of the visited nodes, i.e., each node is
+ * explored at most once, even if the visitor returns {@link GraphTraversalAction#EXPLORE} for multiple edges leading
+ * to it. For (finite) {@link Graph}s, visited nodes are stored in a {@link ConcurrentBitSet} over their {@link
+ * Graph#nodeIDs() IDs}; for all other graphs, a concurrent hash set is used.
+ * <p>
+ * <b>Visitor contract:</b> {@link GraphTraversalVisitor#processInitial(Object, Holder) processInitial} is only invoked
+ * by the calling thread. All other methods are invoked concurrently for the nodes of the same level, so the visitor
+ * has to be thread-safe. All invocations for the nodes of one level happen-before the invocations for the nodes of the
+ * next level. {@link GraphTraversalVisitor#backtrackEdge(Object, Object, Object, Object, Object) backtrackEdge} is
+ * never invoked.
+ * <p>
+ * <b>Ordering:</b> In the non-deterministic mode, successors are claimed by the first task that reaches them. In the
+ * deterministic mode, the (explored) successors of each level are determined after the level has been expanded, in
+ * the order of a sequential breadth-first traversal. Hence, the explored nodes, their associated data and the order
+ * of each level are identical to a sequential breadth-first traversal that skips already visited nodes, independent
+ * of the scheduling of the tasks (only the order of the visitor invocations within a level may vary).
+ *
+ * @author frohme
+ * @see GraphTraversal
+ */
+public final class ParallelGraphTraversal {
+
+    /**
+     * The number of nodes of a level that are expanded by a single task.
+     */
+    private static final int GRANULARITY = 64;
+
+    private ParallelGraphTraversal() {}
+
+    public static <N, E, D> boolean breadthFirst(IndefiniteGraph<N, E> graph,
+                                                 N initialNode,
+                                                 GraphTraversalVisitor<N, E, D> vis,
+                                                 ForkJoinPool pool) {
+        return breadthFirst(graph, -1, Collections.singleton(initialNode), vis, pool, false);
+    }
+
+    public static <N, E, D> boolean breadthFirst(IndefiniteGraph<N, E> graph,
+                                                 Collection<? extends N> initialNodes,
+                                                 GraphTraversalVisitor<N, E, D> vis,
+                                                 ForkJoinPool pool) {
+        return breadthFirst(graph, -1, initialNodes, vis, pool, false);
+    }
+
+    /**
+     * Traverses the given graph in a (level-synchronous) breadth-first fashion, using the given pool. The traversal is
+     * steered by the specified visitor.
+     *
+     * @param graph
+     *         the graph
+     * @param limit
+     *         the maximum number of explored nodes, or a negative value for no limit
+     * @param initialNodes
+     *         the nodes to start the traversal from
+     * @param vis
+     *         the (thread-safe) visitor
+     * @param pool
+     *         the pool to expand the levels in
+     * @param deterministic
+     *         whether the explored nodes and their order should be independent of the scheduling of the tasks
+     *
+     * @return {@code false} if the traversal has been aborted due to reaching the limit, {@code true} otherwise
+     */
+    public static <N, E, D> boolean breadthFirst(IndefiniteGraph<N, E> graph,
+                                                 int limit,
+                                                 Collection<? extends N> initialNodes,
+                                                 GraphTraversalVisitor<N, E, D> vis,
+                                                 ForkJoinPool pool,
+                                                 boolean deterministic) {
+        return new Traversal<>(graph, limit, vis, deterministic).run(initialNodes, pool);
+    }
+
+    private static <N> Predicate<N> createVisitedSet(IndefiniteGraph<N, ?> graph) {
+        if (graph instanceof Graph) {
+            final Graph<N, ?> finiteGraph = (Graph<N, ?>) graph;
+            final NodeIDs<N> ids = finiteGraph.nodeIDs();
+            final ConcurrentBitSet visited = new ConcurrentBitSet(finiteGraph.size());
+            return n -> visited.set(ids.getNodeId(n));
+        }
+
+        return ConcurrentHashMap.<N>newKeySet()::add;
+    }
+
+    private static final class Traversal<N, E, D> {
+
+        private final IndefiniteGraph<N, E> graph;
+        private final int limit;
+        private final GraphTraversalVisitor<N, E, D> vis;
+        private final boolean deterministic;
+
+        private final Predicate<N> visited;
+        private final AtomicInteger nodeCount;
+        private final AtomicBoolean limitReached;
+        private final AtomicBoolean aborted;
+
+        Traversal(IndefiniteGraph<N, E> graph, int limit, GraphTraversalVisitor<N, E, D> vis, boolean deterministic) {
+            this.graph = graph;
+            this.limit = limit;
+            this.vis = vis;
+            this.deterministic = deterministic;
+            this.visited = createVisitedSet(graph);
+            this.nodeCount = new AtomicInteger();
+            this.limitReached = new AtomicBoolean();
+            this.aborted = new AtomicBoolean();
+        }
+
+        boolean run(Collection<? extends N> initialNodes, ForkJoinPool pool) {
+            List<BFRecord<N, D>> frontier = new ArrayList<>();
+            final Holder<D> dataHolder = new Holder<>();
+
+            for (N init : initialNodes) {
+                dataHolder.value = null;
+                final GraphTraversalAction act = vis.processInitial(init, dataHolder);
+
+                if (act == GraphTraversalAction.ABORT_TRAVERSAL) {
+                    return !limitReached.get();
+                } else if (act == GraphTraversalAction.EXPLORE) {
+                    claim(init, dataHolder.value, frontier);
+                }
+            }
+
+            while (!frontier.isEmpty()) {
+                final List<BFRecord<N, D>> current = frontier;
+                final int numChunks = (current.size() + GRANULARITY - 1) / GRANULARITY;
+                @SuppressWarnings("unchecked")
+                final List<BFRecord<N, D>>[] successors = (List<BFRecord<N, D>>[]) new List<?>[numChunks];
+
+                final IntConsumer expandChunk = c -> {
+                    final List<BFRecord<N, D>> result = new ArrayList<>();
+                    final int high = Math.min(current.size(), (c + 1) * GRANULARITY);
+                    for (int i = c * GRANULARITY; i < high && !aborted.get(); i++) {
+                        expand(current.get(i), result);
+                    }
+                    successors[c] = result;
+                };
+
+                ParallelRanges.forEach(pool, 0, numChunks, 1, expandChunk);
+
+                if (aborted.get()) {
+                    break;
+                }
+
+                frontier = new ArrayList<>();
+                for (List<BFRecord<N, D>> chunk : successors) {
+                    if (deterministic) {
+                        for (BFRecord<N, D> rec : chunk) {
+                            claim(rec.node, rec.data, frontier);
+                        }
+                    } else {
+                        frontier.addAll(chunk);
+                    }
+                }
+            }
+
+            return !limitReached.get();
+        }
+
+        private void expand(BFRecord<N, D> record, List<BFRecord<N, D>> result) {
+            final N node = record.node;
+            final D data = record.data;
+
+            if (!vis.startExploration(node, data)) {
+                return;
+            }
+
+            final Holder<D> dataHolder = new Holder<>();
+
+            for (E edge : graph.outgoingEdges(node)) {
+                final N tgtNode = graph.getTarget(edge);
+
+                dataHolder.value = null;
+                final GraphTraversalAction act = vis.processEdge(node, data, edge, tgtNode, dataHolder);
+
+                switch (act) {
+                    case IGNORE:
+                        continue;
+                    case ABORT_NODE:
+                        return;
+                    case ABORT_TRAVERSAL:
+                        aborted.set(true);
+                        return;
+                    case EXPLORE:
+                        if (deterministic) {
+                            // successors are claimed after the level has been expanded
+                            result.add(new BFRecord<>(tgtNode, dataHolder.value));
+                        } else {
+                            claim(tgtNode, dataHolder.value, result);
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown action " + act);
+                }
+            }
+
+            vis.finishExploration(node, data);
+        }
+
+        private void claim(N node, D data, List<BFRecord<N, D>> result) {
+            if (limit >= 0 && nodeCount.get() >= limit) {
+                limitReached.set(true);
+            } else if (visited.test(node)) {
+                if (limit >= 0 && nodeCount.incrementAndGet() > limit) {
+                    limitReached.set(true);
+                } else {
+                    result.add(new BFRecord<>(node, data));
+                }
+            }
+        }
+    }
+}
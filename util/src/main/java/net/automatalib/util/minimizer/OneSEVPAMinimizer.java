@@ -18,7 +18,6 @@ package net.automatalib.util.minimizer;
 import net.automatalib.automata.vpda.DefaultOneSEVPA;
 import net.automatalib.automata.vpda.Location;
 import net.automatalib.automata.vpda.OneSEVPA;
-import net.automatalib.util.partitionrefinement.Block;
 import net.automatalib.util.partitionrefinement.PaigeTarjan;
 import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
 import net.automatalib.words.VPDAlphabet;
@@ -54,20 +53,19 @@ public final class OneSEVPAMinimizer {
         final int dataSize = predDataLow + numTransitions;
 
         final int[] data = new int[dataSize];
-        final Block[] blockForState = new Block[numStates];
+        final int[] blockForState = new int[numStates];
 
-        final Block[] initBlocks = new Block[2];
+        final int[] initBlocks = {-1, -1};
 
         for (int i = 0; i < numStates; i++) {
             final L loc = sevpa.getLocation(i);
             final int initBlockIdx = sevpa.isAcceptingLocation(loc) ? 1 : 0;
-            Block block = initBlocks[initBlockIdx];
-            if (block == null) {
-                block = pt.createBlock();
-                block.high = 0;
+            int block = initBlocks[initBlockIdx];
+            if (block < 0) {
+                block = PaigeTarjanInitializers.createEmptyBlock(pt);
                 initBlocks[initBlockIdx] = block;
             }
-            block.high++;
+            pt.blockHigh[block]++;
             blockForState[i] = block;
 
             int predCountBase = predOfsDataLow;
@@ -107,19 +105,14 @@ public final class OneSEVPAMinimizer {
             }
         }
 
-        int curr = 0;
-        for (Block b : pt.blockList()) {
-            curr += b.high;
-            b.high = curr;
-            b.low = curr;
-        }
+        PaigeTarjanInitializers.initBlockBounds(pt);
 
         data[predOfsDataLow] += predDataLow;
         PaigeTarjanInitializers.prefixSum(data, predOfsDataLow, predDataLow);
 
         for (int i = 0; i < numStates; i++) {
-            final Block b = blockForState[i];
-            final int pos = --b.low;
+            final int b = blockForState[i];
+            final int pos = --pt.blockLow[b];
             data[pos] = i;
             data[posDataLow + i] = pos;
             int predOfsBase = predOfsDataLow;
@@ -180,9 +173,8 @@ public final class OneSEVPAMinimizer {
             resultLocs[i] = result.addLocation(false);
         }
 
-        for (Block curr : pt.blockList()) {
-            final int blockId = curr.id;
-            final int rep = pt.getRepresentative(curr);
+        for (int blockId = pt.getBlockListHead(); blockId >= 0; blockId = pt.getNextBlock(blockId)) {
+            final int rep = pt.getRepresentative(blockId);
             final L repLoc = original.getLocation(rep);
 
             final Location resultLoc = resultLocs[blockId];
@@ -192,22 +184,22 @@ public final class OneSEVPAMinimizer {
                 @SuppressWarnings("nullness") // partiality is handled during initialization
                 final @NonNull L origSucc = original.getInternalSuccessor(repLoc, intSym);
                 final int origSuccId = original.getLocationId(origSucc);
-                final int resSuccId = pt.getBlockForState(origSuccId).id;
+                final int resSuccId = pt.getBlockId(origSuccId);
                 final Location resSucc = resultLocs[resSuccId];
                 result.setInternalSuccessor(resultLoc, intSym, resSucc);
             }
             for (I callSym : alphabet.getCallAlphabet()) {
                 for (I retSym : alphabet.getReturnAlphabet()) {
-                    for (Block b : pt.blockList()) {
+                    for (int b = pt.getBlockListHead(); b >= 0; b = pt.getNextBlock(b)) {
                         final int stackRepId = pt.getRepresentative(b);
                         final L stackRep = original.getLocation(stackRepId);
-                        final Location resultStackRep = resultLocs[b.id];
+                        final Location resultStackRep = resultLocs[b];
 
                         final int origStackSym = original.encodeStackSym(stackRep, callSym);
                         @SuppressWarnings("nullness") // partiality is handled during initialization
                         final @NonNull L origSucc = original.getReturnSuccessor(repLoc, retSym, origStackSym);
                         final int origSuccId = original.getLocationId(origSucc);
-                        final int resSuccId = pt.getBlockForState(origSuccId).id;
+                        final int resSuccId = pt.getBlockId(origSuccId);
                         final Location resSucc = resultLocs[resSuccId];
 
                         final int stackSym = result.encodeStackSym(resultStackRep, callSym);
@@ -218,7 +210,7 @@ public final class OneSEVPAMinimizer {
         }
 
         final int origInit = original.getLocationId(original.getInitialLocation());
-        result.setInitialLocation(resultLocs[pt.getBlockForState(origInit).id]);
+        result.setInitialLocation(resultLocs[pt.getBlockId(origInit)]);
 
         return result;
     }
@@ -0,0 +1,775 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.partitionrefinement;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An incremental variant of the {@link PaigeTarjan} partition refinement for (possibly partial) deterministic automata
+ * that are subject to small, local modifications.
+ * <p>
+ * This class keeps the coarsest stable partition of all states of an automaton (given as a live {@link
+ * SimpleDeterministicAutomaton.FullIntAbstraction}) alive between modifications. Modifications are reported via {@link
+ * #markModified(int)} whenever the outgoing transitions (adding, removing or re-targeting) or the classification of a
+ * state change. States that are added to the automaton are detected automatically. Removing a state is modeled by
+ * removing all transitions that lead to it: the state then simply becomes unreachable.
+ * <p>
+ * Upon {@link #update()}, only the modified states are re-partitioned initially: they are refined by a (small) {@link
+ * PaigeTarjan} instance that contains the modified states and one state for each block they may be equivalent to (the
+ * <i>candidates</i>), whose transitions are given by the quotient. Every other block is represented by a single state
+ * that is only equivalent to itself. Re-partitioned states that end up together with a candidate are moved to (or stay
+ * in) this block; all other blocks are newly created. Only if a state does not stay in its block, the behavior of its
+ * predecessors may have changed, so they are re-partitioned as well. The cost of an update is therefore determined by
+ * the number of states whose equivalence class changes (and their predecessors) rather than by the size of the
+ * automaton. Note, however, that changing the behavior of a state of a minimal automaton typically changes the
+ * equivalence class of all states that can reach it. If large parts of the automaton are affected (or if a
+ * re-partitioned state has no successors outside of the re-partitioned states), all states that can reach a modified
+ * state are re-partitioned at once.
+ * <p>
+ * Undefined transitions are treated as transitions to an artificial sink, that is classified according to a given
+ * {@code sinkClassification} (see {@link PaigeTarjanInitializers#initDeterministic(PaigeTarjan,
+ * SimpleDeterministicAutomaton.FullIntAbstraction, IntFunction, Object)}). The computed partition can be translated to
+ * an automaton via {@link PaigeTarjanExtractors#toDeterministic(IncrementalPaigeTarjan,
+ * net.automatalib.automata.AutomatonCreator, net.automatalib.words.Alphabet,
+ * SimpleDeterministicAutomaton.FullIntAbstraction, IntFunction, net.automatalib.commons.util.functions.BiIntFunction)}.
+ *
+ * @author frohme
+ */
+public class IncrementalPaigeTarjan {
+
+    // internally, the artificial sink is stored at index 0 and state s is stored at index s + 1
+    private static final int SINK = 0;
+    private static final int MIN_COMPACTION_SIZE = 8;
+    private static final int CLOSURE_RATIO = 8;
+
+    private final SimpleDeterministicAutomaton.FullIntAbstraction absAutomaton;
+    private final IntFunction<?> initialClassification;
+    private final @Nullable Object sinkClassification;
+    private final int numInputs;
+
+    // the number of (internal) states, including the sink
+    private int numStates;
+    // the successor table: the a-successor of (internal) state s is stored at index s * numInputs + a
+    private int[] successors;
+    // the initial classification of each (internal) state
+    private @Nullable Object[] classes;
+    // for each (internal) state the encoded transitions (s * numInputs + a) pointing to it. May contain stale entries
+    private int[][] predecessors;
+    private int[] predecessorSizes;
+    private int[] inDegrees;
+
+    // the block of each (internal) state, blocks are maintained as intrusive doubly-linked lists
+    private int[] blockIds;
+    private int[] nextInBlock;
+    private int[] prevInBlock;
+    private int[] blockHeads;
+    private int[] blockSizes;
+    private int[] freeBlockIds;
+    private int numFreeBlockIds;
+    private int blockIdBound;
+    private int numBlocks;
+
+    // modification tracking
+    private boolean[] modified;
+    private int[] modifiedStates;
+    private int numModified;
+
+    // the quotient: the classification and the successor blocks of each block
+    private @Nullable Object[] blockClasses;
+    private int[] blockSuccessors;
+
+    // scratch space for updates
+    private int[] affectedStates;
+    private int numAffected;
+    private boolean closed;
+    private int[] affectedCounts;
+    private int[] localIds;
+    private int[] blockLocalIds;
+    private int[] localBlocks;
+    private int numLocals;
+    private @Nullable Set<@Nullable Object> scannedClasses;
+    private int lastUpdateSize;
+
+    /**
+     * Constructor.
+     *
+     * @param absAutomaton
+     *         the (live) abstraction of the automaton
+     * @param initialClassification
+     *         the initial classification function
+     * @param sinkClassification
+     *         determines how a sink is being classified.
+     */
+    public IncrementalPaigeTarjan(SimpleDeterministicAutomaton.FullIntAbstraction absAutomaton,
+                                  IntFunction<?> initialClassification,
+                                  @Nullable Object sinkClassification) {
+        this.absAutomaton = absAutomaton;
+        this.initialClassification = initialClassification;
+        this.sinkClassification = sinkClassification;
+        this.numInputs = absAutomaton.numInputs();
+
+        this.successors = new int[0];
+        this.classes = new Object[0];
+        this.predecessors = new int[0][];
+        this.predecessorSizes = new int[0];
+        this.inDegrees = new int[0];
+        this.blockIds = new int[0];
+        this.nextInBlock = new int[0];
+        this.prevInBlock = new int[0];
+        this.blockHeads = new int[0];
+        this.blockSizes = new int[0];
+        this.freeBlockIds = new int[0];
+        this.blockClasses = new Object[0];
+        this.blockSuccessors = new int[0];
+        this.modified = new boolean[0];
+        this.modifiedStates = new int[0];
+        this.affectedStates = new int[0];
+        this.affectedCounts = new int[0];
+        this.localIds = new int[0];
+        this.blockLocalIds = new int[0];
+        this.localBlocks = new int[0];
+    }
+
+    /**
+     * Marks the given state as modified, i.e., its outgoing transitions (or their properties) or its classification
+     * have changed since the last {@link #update()}.
+     *
+     * @param state
+     *         the state ID
+     */
+    public void markModified(int state) {
+        if (state + 1 < numStates) {
+            markModifiedInternal(state + 1);
+        }
+        // states beyond the current bound are new and therefore marked during the next update
+    }
+
+    /**
+     * Updates the partition such that it reflects the coarsest stable partition of the automaton after all reported
+     * modifications.
+     */
+    public void update() {
+        final int newNumStates = absAutomaton.size() + 1;
+        if (newNumStates > numStates) {
+            addStates(newNumStates);
+        }
+
+        if (numModified == 0) {
+            return;
+        }
+
+        refreshModifiedStates();
+        ensureScratchSpace();
+
+        numAffected = 0;
+        closed = false;
+        for (int i = 0; i < numModified; i++) {
+            addAffected(modifiedStates[i]);
+        }
+
+        int[] targets;
+        int numRefined = 0;
+
+        do {
+            // (try to) double the number of affected states per round, so that long chains of changes do not require a
+            // quadratic number of refinements. Superfluously affected states simply stay in their block
+            for (int i = numRefined; i < numAffected && numAffected < 2 * numRefined; i++) {
+                addAffectedPredecessors(affectedStates[i]);
+            }
+
+            // if large parts of the automaton are affected anyway (or if we cannot efficiently determine the candidates
+            // of a state), directly re-partition all states that can reach a modified state. Since their blocks cannot
+            // be observed by any other state, they need not be preserved
+            if (!closed && (numAffected * CLOSURE_RATIO >= numStates || !allHaveUnaffectedSuccessors())) {
+                for (int i = 0; i < numAffected; i++) {
+                    addAffectedPredecessors(affectedStates[i]);
+                }
+                closed = true;
+            }
+
+            targets = computeTargets();
+            numRefined = numAffected;
+            addChangedPredecessors(targets);
+        } while (numAffected > numRefined);
+
+        applyTargets(targets);
+        lastUpdateSize = numAffected;
+
+        for (int i = 0; i < numModified; i++) {
+            modified[modifiedStates[i]] = false;
+        }
+        numModified = 0;
+    }
+
+    /**
+     * Retrieves the ID of the block containing the given state. Note that block IDs are not necessarily contiguous, but
+     * are always smaller than {@link #getBlockIdBound()}.
+     *
+     * @param state
+     *         the state ID
+     *
+     * @return the ID of the block containing the given state
+     */
+    public int getBlockId(int state) {
+        return blockIds[state + 1];
+    }
+
+    /**
+     * Retrieves the ID of the block containing the artificial sink.
+     *
+     * @return the ID of the block containing the artificial sink
+     */
+    public int getSinkBlockId() {
+        return blockIds[SINK];
+    }
+
+    /**
+     * Retrieves the total number of (non-empty) blocks, including the block of the artificial sink.
+     *
+     * @return the total number of blocks
+     */
+    public int getNumBlocks() {
+        return numBlocks;
+    }
+
+    /**
+     * Retrieves an (exclusive) upper bound for the IDs of all blocks.
+     *
+     * @return an upper bound for the IDs of all blocks
+     */
+    public int getBlockIdBound() {
+        return blockIdBound;
+    }
+
+    /**
+     * Retrieves the number of states that have been re-partitioned by the last {@link #update()}.
+     *
+     * @return the number of states that have been re-partitioned by the last update
+     */
+    int getLastUpdateSize() {
+        return lastUpdateSize;
+    }
+
+    private void markModifiedInternal(int idx) {
+        if (!modified[idx]) {
+            modified[idx] = true;
+            modifiedStates[numModified++] = idx;
+        }
+    }
+
+    private void addStates(int newNumStates) {
+        final int oldNumStates = numStates;
+
+        successors = Arrays.copyOf(successors, newNumStates * numInputs);
+        classes = Arrays.copyOf(classes, newNumStates);
+        predecessors = Arrays.copyOf(predecessors, newNumStates);
+        predecessorSizes = Arrays.copyOf(predecessorSizes, newNumStates);
+        inDegrees = Arrays.copyOf(inDegrees, newNumStates);
+        blockIds = Arrays.copyOf(blockIds, newNumStates);
+        nextInBlock = Arrays.copyOf(nextInBlock, newNumStates);
+        prevInBlock = Arrays.copyOf(prevInBlock, newNumStates);
+        modified = Arrays.copyOf(modified, newNumStates);
+        modifiedStates = Arrays.copyOf(modifiedStates, newNumStates);
+        affectedStates = Arrays.copyOf(affectedStates, newNumStates);
+        localIds = Arrays.copyOf(localIds, newNumStates);
+
+        Arrays.fill(successors, oldNumStates * numInputs, newNumStates * numInputs, -1);
+        Arrays.fill(blockIds, oldNumStates, newNumStates, -1);
+        Arrays.fill(localIds, oldNumStates, newNumStates, -1);
+        for (int i = oldNumStates; i < newNumStates; i++) {
+            predecessors[i] = new int[0];
+        }
+
+        numStates = newNumStates;
+
+        for (int i = oldNumStates; i < newNumStates; i++) {
+            markModifiedInternal(i);
+        }
+    }
+
+    private void refreshModifiedStates() {
+        for (int i = 0; i < numModified; i++) {
+            final int idx = modifiedStates[i];
+            final int base = idx * numInputs;
+
+            for (int j = 0; j < numInputs; j++) {
+                // undefined transitions (-1) are conveniently mapped to the sink (0)
+                final int newSucc = idx == SINK ? SINK : absAutomaton.getSuccessor(idx - 1, j) + 1;
+                final int oldSucc = successors[base + j];
+                if (oldSucc != newSucc) {
+                    if (oldSucc >= 0) {
+                        inDegrees[oldSucc]--; // the predecessor entry becomes stale
+                    }
+                    successors[base + j] = newSucc;
+                    addPredecessor(newSucc, base + j);
+                }
+            }
+
+            classes[idx] = idx == SINK ? sinkClassification : initialClassification.apply(idx - 1);
+        }
+    }
+
+    private void ensureScratchSpace() {
+        if (blockLocalIds.length < blockIdBound) {
+            final int oldLength = blockLocalIds.length;
+            blockLocalIds = Arrays.copyOf(blockLocalIds, blockIdBound);
+            affectedCounts = Arrays.copyOf(affectedCounts, blockIdBound);
+            Arrays.fill(blockLocalIds, oldLength, blockIdBound, -1);
+        }
+    }
+
+    private void addPredecessor(int idx, int trans) {
+        int[] preds = predecessors[idx];
+        int size = predecessorSizes[idx];
+        if (size == preds.length && size > 2 * inDegrees[idx] + MIN_COMPACTION_SIZE) {
+            size = compactPredecessors(idx);
+        }
+        if (size == preds.length) {
+            preds = Arrays.copyOf(preds, Math.max(MIN_COMPACTION_SIZE, 2 * size));
+            predecessors[idx] = preds;
+        }
+        preds[size] = trans;
+        predecessorSizes[idx] = size + 1;
+        inDegrees[idx]++;
+    }
+
+    /**
+     * Removes all stale and duplicate (caused by transitions that have been re-targeted back and forth) entries from
+     * the predecessor list of the given state.
+     */
+    private int compactPredecessors(int idx) {
+        final int[] preds = predecessors[idx];
+        final int size = predecessorSizes[idx];
+
+        int valid = 0;
+        for (int i = 0; i < size; i++) {
+            final int trans = preds[i];
+            if (successors[trans] == idx) {
+                preds[valid++] = trans;
+            }
+        }
+
+        Arrays.sort(preds, 0, valid);
+        int unique = 0;
+        for (int i = 0; i < valid; i++) {
+            if (unique == 0 || preds[unique - 1] != preds[i]) {
+                preds[unique++] = preds[i];
+            }
+        }
+
+        predecessorSizes[idx] = unique;
+        return unique;
+    }
+
+    /**
+     * Adds the given state to the affected states and assigns it a local ID (its index in {@link #affectedStates}).
+     */
+    private void addAffected(int idx) {
+        localIds[idx] = numAffected;
+        affectedStates[numAffected++] = idx;
+
+        final int block = blockIds[idx];
+        if (block >= 0) {
+            affectedCounts[block]++;
+        }
+    }
+
+    private boolean allHaveUnaffectedSuccessors() {
+        for (int i = 0; i < numAffected; i++) {
+            final int base = affectedStates[i] * numInputs;
+            boolean found = false;
+            for (int j = 0; j < numInputs && !found; j++) {
+                found = localIds[successors[base + j]] < 0;
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the predecessors of all affected states that leave their block, since their behavior may have changed.
+     */
+    private void addChangedPredecessors(int[] targets) {
+        final int numRefined = numAffected;
+        for (int i = 0; i < numRefined; i++) {
+            final int idx = affectedStates[i];
+            if (targets[i] != blockIds[idx]) {
+                addAffectedPredecessors(idx);
+            }
+        }
+    }
+
+    private void addAffectedPredecessors(int idx) {
+        final int[] preds = predecessors[idx];
+        final int size = predecessorSizes[idx];
+
+        for (int i = 0; i < size; i++) {
+            final int trans = preds[i];
+            final int pred = trans / numInputs;
+            if (successors[trans] == idx && localIds[pred] < 0) {
+                addAffected(pred);
+            }
+        }
+
+        if (size > 2 * inDegrees[idx] + MIN_COMPACTION_SIZE) {
+            compactPredecessors(idx);
+        }
+    }
+
+    /**
+     * Computes the target block of each affected state. Non-negative values denote existing blocks, whereas values of
+     * {@code -2 - k} denote the {@code k}-th newly created block.
+     */
+    private int[] computeTargets() {
+        final int[] affected = this.affectedStates;
+        final int numAffected = this.numAffected;
+
+        // the local automaton consists of the affected states, followed by the candidates, followed by the leaves
+        numLocals = numAffected;
+        for (int i = 0; i < numAffected; i++) {
+            collectCandidates(affected[i]);
+        }
+        scannedClasses = null;
+
+        final int numCandidates = numLocals;
+        int[] localSuccessors = new int[Math.max(1, numLocals * 2) * numInputs];
+
+        for (int l = 0; l < numLocals; l++) {
+            if (localSuccessors.length < numLocals * numInputs) {
+                localSuccessors = Arrays.copyOf(localSuccessors, 2 * numLocals * numInputs);
+            }
+
+            if (l >= numCandidates) {
+                Arrays.fill(localSuccessors, l * numInputs, (l + 1) * numInputs, l);
+                continue;
+            }
+
+            for (int j = 0; j < numInputs; j++) {
+                int localSucc;
+                if (l < numAffected) {
+                    final int succ = successors[affected[l] * numInputs + j];
+                    localSucc = localIds[succ];
+                    if (localSucc < 0) {
+                        localSucc = getOrAddLeaf(blockIds[succ]);
+                    }
+                } else {
+                    localSucc = getOrAddLeaf(blockSuccessors[localBlocks[l - numAffected] * numInputs + j]);
+                }
+                localSuccessors[l * numInputs + j] = localSucc;
+            }
+        }
+
+        final int[] finalLocalSuccessors = localSuccessors;
+        final int[] finalLocalBlocks = localBlocks;
+        final int finalNumLocals = numLocals;
+
+        final PaigeTarjan pt = new PaigeTarjan();
+        PaigeTarjanInitializers.initCompleteDeterministic(pt, new SimpleDeterministicAutomaton.FullIntAbstraction() {
+
+            @Override
+            public int getSuccessor(int state, int input) {
+                return finalLocalSuccessors[state * numInputs + input];
+            }
+
+            @Override
+            public int numInputs() {
+                return numInputs;
+            }
+
+            @Override
+            public int size() {
+                return finalNumLocals;
+            }
+
+            @Override
+            public int getIntInitialState() {
+                return 0;
+            }
+        }, l -> {
+            if (l < numAffected) {
+                return classes[affected[l]];
+            } else if (l < numCandidates) {
+                return blockClasses[finalLocalBlocks[l - numAffected]];
+            }
+            return new LeafClass(finalLocalBlocks[l - numAffected]);
+        }, false);
+
+        pt.initWorklist(false);
+        pt.computeCoarsestStablePartition();
+
+        final int[] targets = new int[numAffected];
+        int numNewBlocks = 0;
+
+        for (int b = pt.getBlockListHead(); b >= 0; b = pt.getNextBlock(b)) {
+            // the candidates behave like the (minimal) quotient, so each local block contains at most one of them
+            int target = -1;
+            for (int i = pt.blockLow[b]; i < pt.blockHigh[b]; i++) {
+                final int local = pt.blockData[i];
+                if (local >= numAffected && local < numCandidates) {
+                    target = localBlocks[local - numAffected];
+                    break;
+                }
+            }
+
+            for (int i = pt.blockLow[b]; i < pt.blockHigh[b]; i++) {
+                final int local = pt.blockData[i];
+                if (local < numAffected) {
+                    if (target == -1) {
+                        target = -2 - numNewBlocks++;
+                    }
+                    targets[local] = target;
+                }
+            }
+        }
+
+        for (int i = numAffected; i < numLocals; i++) {
+            blockLocalIds[localBlocks[i - numAffected]] = -1;
+        }
+
+        return targets;
+    }
+
+    /**
+     * Adds the blocks the given (affected) state may be equivalent to as candidates. These are the former block of the
+     * state, if all of its states are affected, and all other blocks that agree with the state on its classification
+     * and its unaffected successors. The latter are determined via the predecessors of the (smallest) block of an
+     * unaffected successor or, if the state has no unaffected successors, by scanning all blocks.
+     */
+    private void collectCandidates(int idx) {
+        final int oldBlock = blockIds[idx];
+        if (!closed && oldBlock >= 0 && blockLocalIds[oldBlock] < 0 &&
+            blockSizes[oldBlock] == affectedCounts[oldBlock] && agreesOnUnaffectedSuccessors(idx, oldBlock)) {
+            addLocalBlock(oldBlock);
+        }
+
+        final int base = idx * numInputs;
+        int input = -1;
+        int block = -1;
+        for (int j = 0; j < numInputs; j++) {
+            final int succ = successors[base + j];
+            if (localIds[succ] < 0 && (block < 0 || blockSizes[blockIds[succ]] < blockSizes[block])) {
+                input = j;
+                block = blockIds[succ];
+            }
+        }
+
+        if (block < 0) {
+            collectCandidatesByClass(classes[idx]);
+            return;
+        }
+
+        for (int s = blockHeads[block]; s >= 0; s = nextInBlock[s]) {
+            final int[] preds = predecessors[s];
+            final int size = predecessorSizes[s];
+
+            for (int i = 0; i < size; i++) {
+                final int trans = preds[i];
+                final int pred = trans / numInputs;
+                if (successors[trans] == s && trans % numInputs == input && localIds[pred] < 0) {
+                    final int predBlock = blockIds[pred];
+                    if (blockLocalIds[predBlock] < 0 && agreesOnUnaffectedSuccessors(idx, predBlock)) {
+                        addLocalBlock(predBlock);
+                    }
+                }
+            }
+        }
+    }
+
+    private void collectCandidatesByClass(@Nullable Object clazz) {
+        if (scannedClasses == null) {
+            scannedClasses = new HashSet<>();
+        }
+        if (!scannedClasses.add(clazz)) {
+            return;
+        }
+
+        for (int b = 0; b < blockIdBound; b++) {
+            if (blockSizes[b] > affectedCounts[b] && blockLocalIds[b] < 0 && Objects.equals(blockClasses[b], clazz)) {
+                addLocalBlock(b);
+            }
+        }
+    }
+
+    private boolean agreesOnUnaffectedSuccessors(int idx, int block) {
+        if (!Objects.equals(classes[idx], blockClasses[block])) {
+            return false;
+        }
+
+        final int base = idx * numInputs;
+        final int blockBase = block * numInputs;
+        for (int j = 0; j < numInputs; j++) {
+            final int succ = successors[base + j];
+            if (localIds[succ] < 0 && blockSuccessors[blockBase + j] != blockIds[succ]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int getOrAddLeaf(int block) {
+        final int local = blockLocalIds[block];
+        return local < 0 ? addLocalBlock(block) : local;
+    }
+
+    private int addLocalBlock(int block) {
+        final int local = numLocals++;
+        final int idx = local - numAffected;
+        if (idx == localBlocks.length) {
+            localBlocks = Arrays.copyOf(localBlocks, Math.max(MIN_COMPACTION_SIZE, 2 * idx));
+        }
+        localBlocks[idx] = block;
+        blockLocalIds[block] = local;
+        return local;
+    }
+
+    /**
+     * Moves all affected states to their target blocks (see {@link #computeTargets()}) and resets the scratch space.
+     * Since existing blocks keep their behavior, only the quotient transitions of the new blocks need to be computed.
+     */
+    private void applyTargets(int[] targets) {
+        final int[] affected = this.affectedStates;
+        final int[] emptiedBlocks = new int[numAffected];
+        int numEmptiedBlocks = 0;
+
+        for (int i = 0; i < numAffected; i++) {
+            final int idx = affected[i];
+            final int block = blockIds[idx];
+            if (block >= 0) {
+                affectedCounts[block] = 0;
+                if (detach(idx)) {
+                    emptiedBlocks[numEmptiedBlocks++] = block;
+                }
+            }
+            localIds[idx] = -1;
+        }
+
+        final int[] newBlocks = new int[numAffected];
+        Arrays.fill(newBlocks, -1);
+
+        for (int i = 0; i < numAffected; i++) {
+            int target = targets[i];
+            if (target < 0) {
+                final int newBlock = -2 - target;
+                if (newBlocks[newBlock] < 0) {
+                    newBlocks[newBlock] = allocateBlockId();
+                }
+                target = newBlocks[newBlock];
+            }
+            attach(affected[i], target);
+        }
+
+        // only free blocks after allocating the new ones, so that block IDs are not re-used within a single update
+        for (int i = 0; i < numEmptiedBlocks; i++) {
+            final int block = emptiedBlocks[i];
+            if (blockSizes[block] == 0) {
+                freeBlockIds[numFreeBlockIds++] = block;
+                numBlocks--;
+            }
+        }
+
+        for (int i = 0; i < numAffected && newBlocks[i] >= 0; i++) {
+            final int block = newBlocks[i];
+            final int rep = blockHeads[block];
+            final int base = rep * numInputs;
+            final int blockBase = block * numInputs;
+
+            blockClasses[block] = classes[rep];
+            for (int j = 0; j < numInputs; j++) {
+                blockSuccessors[blockBase + j] = blockIds[successors[base + j]];
+            }
+        }
+    }
+
+    /**
+     * Removes the given state from its block and returns whether the block has become empty.
+     */
+    private boolean detach(int idx) {
+        final int block = blockIds[idx];
+        final int prev = prevInBlock[idx], next = nextInBlock[idx];
+        if (prev >= 0) {
+            nextInBlock[prev] = next;
+        } else {
+            blockHeads[block] = next;
+        }
+        if (next >= 0) {
+            prevInBlock[next] = prev;
+        }
+
+        blockIds[idx] = -1;
+        return --blockSizes[block] == 0;
+    }
+
+    private int allocateBlockId() {
+        numBlocks++;
+        if (numFreeBlockIds > 0) {
+            return freeBlockIds[--numFreeBlockIds];
+        }
+
+        final int id = blockIdBound++;
+        if (id == blockHeads.length) {
+            final int newLength = Math.max(MIN_COMPACTION_SIZE, 2 * id);
+            blockHeads = Arrays.copyOf(blockHeads, newLength);
+            blockSizes = Arrays.copyOf(blockSizes, newLength);
+            freeBlockIds = Arrays.copyOf(freeBlockIds, newLength);
+            blockClasses = Arrays.copyOf(blockClasses, newLength);
+            blockSuccessors = Arrays.copyOf(blockSuccessors, newLength * numInputs);
+        }
+        return id;
+    }
+
+    private void attach(int idx, int block) {
+        final int head = blockSizes[block] == 0 ? -1 : blockHeads[block];
+        nextInBlock[idx] = head;
+        prevInBlock[idx] = -1;
+        if (head >= 0) {
+            prevInBlock[head] = idx;
+        }
+        blockHeads[block] = idx;
+        blockIds[idx] = block;
+        blockSizes[block]++;
+    }
+
+    /**
+     * The classification of a leaf state, which is only equivalent to itself.
+     */
+    private static final class LeafClass {
+
+        private final int block;
+
+        LeafClass(int block) {
+            this.block = block;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            return o instanceof LeafClass && ((LeafClass) o).block == block;
+        }
+
+        @Override
+        public int hashCode() {
+            return block;
+        }
+    }
+}
@@ -16,12 +16,14 @@
 package net.automatalib.util.partitionrefinement;
 
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
-import org.checkerframework.checker.nullness.qual.Nullable;
+import net.automatalib.commons.util.concurrent.ParallelRanges;
 
 /**
  * An implementation of the Paige/Tarjan partition refinement algorithm.
@@ -33,14 +35,34 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * This class stores most of its internal data in several, or possibly even a single, (mostly {@code int}) array(s), to
  * achieve maximal cache efficiency. The layout of of these arrays is described in the documentation of the respective
  * public fields: <ul> <li>{@link #blockData}</li> <li>{@link #predOfsData}</li> <li>{@link #predData}</li> <li>{@link
- * #blockForState}</li> </ul> The {@link PaigeTarjanInitializers} provides methods for initializing this data structure
+ * #blockForState}</li> <li>{@link #blockLow}</li> <li>{@link #blockHigh}</li> </ul> Blocks are identified by
+ * (contiguous) {@code int} IDs and all their attributes (including the links of the block list, the worklist, and the
+ * list of touched blocks) are stored in parallel {@code int} arrays, so that the refinement does not allocate any
+ * per-block objects. The {@link PaigeTarjanInitializers} provides methods for initializing this data structure
  * for common cases (e.g., DFA minimization). Similarly, the {@link PaigeTarjanExtractors} class provides methods for
  * transforming the resulting data structure.
+ * <p>
+ * Besides the sequential {@link #computeCoarsestStablePartition()}, this class offers a parallel variant {@link
+ * #computeCoarsestStablePartition(ForkJoinPool)} that operates on the very same data layout.
  *
  * @author Malte Isberner
  */
 public class PaigeTarjan {
 
+    /**
+     * The minimal size of a splitter block for which the predecessor collection is distributed among several tasks, and
+     * the minimal number of predecessors (for a single input symbol) for which the blocks are split concurrently.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+    /**
+     * The number of (splitter) states that are processed by a single predecessor collection task.
+     */
+    private static final int CHUNK_SIZE = 1024;
+    /**
+     * The number of tasks per worker thread into which the blocks affected by a parallel split are distributed.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
     /**
      * The number of input symbols.
      */
@@ -51,7 +73,7 @@ public class PaigeTarjan {
     public int numStates;
     /**
      * The array storing the raw block data, i.e., the states contained in a certain block. It is assumed that the
-     * positions {@link Block#low} and {@link Block#high} refer to this array.
+     * positions {@link #blockLow} and {@link #blockHigh} refer to this array.
      */
     public int[] blockData;
     /**
@@ -96,26 +118,61 @@ public class PaigeTarjan {
      */
     public int[] predData;
     /**
-     * The array mapping states (in the range between {@code 0} and {@link #numStates}) to their containing block.
+     * The array mapping states (in the range between {@code 0} and {@link #numStates}) to the ID of their containing
+     * block. States that are not contained in any block (e.g., because they have been pruned) are mapped to {@code
+     * -1}.
+     */
+    public int[] blockForState;
+    /**
+     * The array storing for each block (ID) the index of its first element in the {@link #blockData} array.
+     * <p>
+     * Note that the block attribute arrays may be re-allocated by {@link #createBlock()}, so references to this array
+     * should not be cached while blocks are created.
+     */
+    public int[] blockLow;
+    /**
+     * The array storing for each block (ID) the index of its last element in the {@link #blockData} array, plus one.
+     * <p>
+     * Note that the block attribute arrays may be re-allocated by {@link #createBlock()}, so references to this array
+     * should not be cached while blocks are created.
      */
-    public Block[] blockForState;
+    public int[] blockHigh;
+    // the current pointer of each block, i.e., the delimiter between elements of this block which were found to belong
+    // to a potential sub-class of this block, and those that do not or have not been checked. Either -1 or between
+    // blockLow and blockHigh
+    private int[] blockPtr;
+    // the successor of each block in the block list
+    private int[] nextBlock;
+    // the successor of each block in the worklist
+    private int[] nextInWorklist;
+    // the successor of each block in the 'touched' list
+    private int[] nextTouched;
     // the head of the block linked list
-    private @Nullable Block blocklistHead;
+    private int blocklistHead = -1;
     // the block count
     private int numBlocks;
     // the head of the worklist linked list
-    private @Nullable Block worklistHead;
+    private int worklistHead = -1;
     // the tail of the worklist linked list
-    private @Nullable Block worklistTail;
+    private int worklistTail = -1;
     // the head of the 'touched' list
-    private @Nullable Block touchedHead;
+    private int touchedHead = -1;
+
+    public PaigeTarjan() {
+        this.blockLow = new int[0];
+        this.blockHigh = new int[0];
+        this.blockPtr = new int[0];
+        this.nextBlock = new int[0];
+        this.nextInWorklist = new int[0];
+        this.nextTouched = new int[0];
+    }
 
     public void setSize(int numStates, int numInputs) {
         this.numStates = numStates;
         this.numInputs = numInputs;
     }
 
-    public void setBlockForState(Block[] blockForState) {
+    public void setBlockForState(int[] blockForState) {
         this.blockForState = blockForState;
     }
 
@@ -138,31 +195,55 @@ public class PaigeTarjan {
     }
 
     /**
-     * Removes all blocks which are empty from the block list. The {@link Block#id IDs} of the blocks are adjusted to
-     * remain contiguous.
+     * Removes all blocks which are empty from the block list. The IDs of the blocks are adjusted to remain contiguous
+     * (following the order of the block list) and the {@link #blockForState} mapping, if already set, is updated
+     * accordingly.
      * <p>
      * Note that this method does not modify the worklist, i.e., it should only be called when the worklist is empty.
      */
     public void removeEmptyBlocks() {
-        Block curr = blocklistHead;
-        Block prev = null;
+        final int[] idMap = new int[numBlocks];
+        final int[] newLow = new int[numBlocks];
+        final int[] newHigh = new int[numBlocks];
+        final int[] newPtr = new int[numBlocks];
         int effId = 0;
-        while (curr != null) {
-            if (!curr.isEmpty()) {
-                curr.id = effId++;
-                if (prev != null) {
-                    prev.nextBlock = curr;
-                } else {
-                    blocklistHead = curr;
+
+        for (int b = blocklistHead; b >= 0; b = nextBlock[b]) {
+            if (blockLow[b] < blockHigh[b]) {
+                idMap[b] = effId;
+                newLow[effId] = blockLow[b];
+                newHigh[effId] = blockHigh[b];
+                newPtr[effId] = blockPtr[b];
+                effId++;
+            }
+        }
+
+        if (blockForState != null) {
+            for (int i = 0; i < blockForState.length; i++) {
+                final int b = blockForState[i];
+                if (b >= 0) {
+                    blockForState[i] = idMap[b];
                 }
-                prev = curr;
             }
-            curr = curr.nextBlock;
         }
-        if (prev != null) {
-            prev.nextBlock = null;
+
+        blockLow = newLow;
+        blockHigh = newHigh;
+        blockPtr = newPtr;
+        nextBlock = new int[numBlocks];
+        nextInWorklist = new int[numBlocks];
+        nextTouched = new int[numBlocks];
+        Arrays.fill(nextInWorklist, -1);
+        Arrays.fill(nextTouched, -1);
+
+        for (int b = 0; b < effId; b++) {
+            nextBlock[b] = b + 1;
+        }
+        if (effId > 0) {
+            nextBlock[effId - 1] = -1;
+            blocklistHead = 0;
         } else {
-            blocklistHead = null;
+            blocklistHead = -1;
         }
         numBlocks = effId;
     }
@@ -171,7 +252,7 @@ public class PaigeTarjan {
      * Automatically creates a {@link #blockForState} mapping, and sets it as the current one.
      *
      * @see #createBlockForStateMap()
-     * @see #setBlockForState(Block[])
+     * @see #setBlockForState(int[])
      */
     public void initBlockForStateMap() {
         this.blockForState = createBlockForStateMap();
@@ -183,10 +264,11 @@ public class PaigeTarjan {
      *
      * @return a {@link #blockForState} mapping consistent with the {@link #blockData}
      */
-    public Block[] createBlockForStateMap() {
-        Block[] map = new Block[numStates];
-        for (Block b = blocklistHead; b != null; b = b.nextBlock) {
-            int low = b.low, high = b.high;
+    public int[] createBlockForStateMap() {
+        int[] map = new int[numStates];
+        Arrays.fill(map, -1);
+        for (int b = blocklistHead; b >= 0; b = nextBlock[b]) {
+            int low = blockLow[b], high = blockHigh[b];
             for (int i = low; i < high; i++) {
                 int state = blockData[i];
                 map[state] = b;
@@ -206,21 +288,21 @@ public class PaigeTarjan {
      */
     public void initWorklist(boolean addAll) {
         if (addAll) {
-            Block last = null;
-            for (Block b = blocklistHead; b != null; b = b.nextBlock) {
-                b.nextInWorklist = b.nextBlock;
+            int last = -1;
+            for (int b = blocklistHead; b >= 0; b = nextBlock[b]) {
+                nextInWorklist[b] = nextBlock[b];
                 last = b;
             }
             worklistHead = blocklistHead;
             worklistTail = last;
         } else {
-            Block largest = blocklistHead;
-            if (largest == null) {
+            int largest = blocklistHead;
+            if (largest < 0) {
                 return;
             }
-            int largestSize = largest.size();
-            for (Block b = largest.nextBlock; b != null; b = b.nextBlock) {
-                int size = b.size();
+            int largestSize = getBlockSize(largest);
+            for (int b = nextBlock[largest]; b >= 0; b = nextBlock[b]) {
+                int size = getBlockSize(b);
                 if (size > largestSize) {
                     addToWorklist(largest);
                     largest = b;
@@ -232,12 +314,11 @@ public class PaigeTarjan {
         }
     }
 
-    private void addToWorklist(Block b) {
-        if (worklistHead == null) {
+    private void addToWorklist(int b) {
+        if (worklistHead < 0) {
             worklistHead = b;
         } else {
-            assert worklistTail != null;
-            worklistTail.nextInWorklist = b;
+            nextInWorklist[worklistTail] = b;
         }
         worklistTail = b;
     }
@@ -246,56 +327,224 @@ public class PaigeTarjan {
      * Refines the partition until it stabilizes.
      */
     public void computeCoarsestStablePartition() {
-        Block curr;
-        while ((curr = poll()) != null) {
-            int blockRange = curr.high - curr.low;
-            // copy blockData, because #moveLeft() may change its data while we iterate over it
-            // TODO maybe find an implementation that does not need to workaround this concurrent modification
-            int[] blockCopy = new int[blockRange];
-            System.arraycopy(blockData, curr.low, blockCopy, 0, blockRange);
-            int predOfsBase = predOfsDataLow;
+        int curr;
+        while ((curr = poll()) >= 0) {
+            refineSequentially(copyBlock(curr));
+        }
+    }
+
+    /**
+     * Refines the partition until it stabilizes, using the given pool for parallelizing the refinement.
+     * <p>
+     * For every (sufficiently large) splitter block, the predecessors of its states are collected concurrently for all
+     * input symbols by splitting the {@code (input symbol x splitter state)} space into chunks. The blocks are then
+     * split for each input symbol in turn: if there are sufficiently many predecessors for an input symbol, they are
+     * grouped by their containing block (using a parallel sort), and the affected blocks are split concurrently, as
+     * they occupy disjoint ranges of the {@link #blockData} array. Only the allocation of the new blocks (in ascending
+     * order of the affected block IDs) is performed sequentially.
+     * <p>
+     * The resulting partition is the same as the one computed by {@link #computeCoarsestStablePartition()}, but the
+     * block IDs and the order of the block list may differ.
+     *
+     * @param pool
+     *         the pool used for executing the parallel predecessor collection tasks
+     */
+    public void computeCoarsestStablePartition(ForkJoinPool pool) {
+        int[] predBuffer = new int[0];
+        long[] keyBuffer = new long[0];
+        int curr;
+        while ((curr = poll()) >= 0) {
+            final int[] blockCopy = copyBlock(curr);
+            final int blockRange = blockCopy.length;
+
+            if (blockRange < PARALLEL_THRESHOLD) {
+                refineSequentially(blockCopy);
+                continue;
+            }
+
+            final int chunksPerInput = (blockRange + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            final int numChunks = chunksPerInput * numInputs;
+            final int[] chunkOfs = new int[numChunks + 1];
+
+            // first pass: count the predecessors of each chunk
+            ParallelRanges.forEach(pool, 0, numChunks, 1, c -> {
+                final int predOfsBase = predOfsDataLow + (c / chunksPerInput) * numStates;
+                final int low = (c % chunksPerInput) * CHUNK_SIZE;
+                final int high = Math.min(low + CHUNK_SIZE, blockRange);
+                int count = 0;
+                for (int j = low; j < high; j++) {
+                    final int predOfsIdx = predOfsBase + blockCopy[j];
+                    count += predOfsData[predOfsIdx + 1] - predOfsData[predOfsIdx];
+                }
+                chunkOfs[c + 1] = count;
+            });
+
+            for (int c = 0; c < numChunks; c++) {
+                chunkOfs[c + 1] += chunkOfs[c];
+            }
+
+            if (predBuffer.length < chunkOfs[numChunks]) {
+                predBuffer = new int[chunkOfs[numChunks]];
+            }
+            final int[] preds = predBuffer;
+
+            // second pass: copy the predecessors of each chunk to their designated range
+            ParallelRanges.forEach(pool, 0, numChunks, 1, c -> {
+                final int predOfsBase = predOfsDataLow + (c / chunksPerInput) * numStates;
+                final int low = (c % chunksPerInput) * CHUNK_SIZE;
+                final int high = Math.min(low + CHUNK_SIZE, blockRange);
+                int ptr = chunkOfs[c];
+                for (int j = low; j < high; j++) {
+                    final int predOfsIdx = predOfsBase + blockCopy[j];
+                    final int predLow = predOfsData[predOfsIdx], predHigh = predOfsData[predOfsIdx + 1];
+                    final int numPreds = predHigh - predLow;
+                    System.arraycopy(predData, predLow, preds, ptr, numPreds);
+                    ptr += numPreds;
+                }
+            });
+
             for (int i = 0; i < numInputs; i++) {
-                for (int j = 0; j < blockRange; j++) {
-                    int state = blockCopy[j];
-                    int predOfsIdx = predOfsBase + state;
-                    int predLow = predOfsData[predOfsIdx], predHigh = predOfsData[predOfsIdx + 1];
+                final int predLow = chunkOfs[i * chunksPerInput], predHigh = chunkOfs[(i + 1) * chunksPerInput];
+                if (predHigh - predLow < PARALLEL_THRESHOLD) {
                     for (int k = predLow; k < predHigh; k++) {
-                        int pred = predData[k];
-                        moveLeft(pred);
+                        moveLeft(preds[k]);
                     }
+                    processTouched();
+                } else {
+                    keyBuffer = splitInParallel(preds, predLow, predHigh, keyBuffer, pool);
                 }
-                predOfsBase += numStates;
-                processTouched();
             }
         }
     }
 
-    private @Nullable Block poll() {
-        if (worklistHead == null) {
-            return null;
+    /**
+     * Splits all blocks containing the states {@code preds[predLow]}, ..., {@code preds[predHigh - 1]} into their
+     * marked and unmarked parts, using the given pool.
+     *
+     * @return the (possibly re-allocated) key buffer
+     */
+    private long[] splitInParallel(int[] preds, int predLow, int predHigh, long[] keyBuffer, ForkJoinPool pool) {
+        final int numMarked = predHigh - predLow;
+        final long[] keys = keyBuffer.length < numMarked ? new long[numMarked] : keyBuffer;
+        final int numChunks = (numMarked + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        // group the marked states by their containing block
+        ParallelRanges.forEach(pool, 0, numChunks, 1, c -> {
+            final int high = Math.min((c + 1) * CHUNK_SIZE, numMarked);
+            for (int k = c * CHUNK_SIZE; k < high; k++) {
+                final int state = preds[predLow + k];
+                keys[k] = ((long) blockForState[state] << Integer.SIZE) | state;
+            }
+        });
+        // the sort forks its sub-tasks into the pool of the invoking worker thread
+        pool.invoke(ForkJoinTask.adapt(() -> Arrays.parallelSort(keys, 0, numMarked)));
+
+        int numSegments = 0;
+        final int[] segments = new int[numMarked + 1];
+        for (int k = 0; k < numMarked; k++) {
+            if (k == 0 || (keys[k] >>> Integer.SIZE) != (keys[k - 1] >>> Integer.SIZE)) {
+                segments[numSegments++] = k;
+            }
         }
-        Block b = worklistHead;
-        worklistHead = b.nextInWorklist;
-        b.nextInWorklist = null;
-        if (worklistHead == null) {
-            worklistTail = null;
+        segments[numSegments] = numMarked;
+
+        // move the marked states of each block to its front
+        final int[] segmentPtr = new int[numSegments];
+        final int granularity = Math.max(1, numSegments / (TASKS_PER_THREAD * pool.getParallelism()));
+        ParallelRanges.forEach(pool, 0, numSegments, granularity, seg -> {
+            final int b = (int) (keys[segments[seg]] >>> Integer.SIZE);
+            int ptr = blockLow[b];
+            for (int k = segments[seg]; k < segments[seg + 1]; k++) {
+                if (k > segments[seg] && keys[k] == keys[k - 1]) {
+                    continue; // duplicate predecessor
+                }
+                final int state = (int) keys[k];
+                final int posIdx = posDataLow + state;
+                final int inBlockIdx = posData[posIdx];
+                if (ptr < inBlockIdx) {
+                    final int other = blockData[ptr];
+                    blockData[ptr] = state;
+                    blockData[inBlockIdx] = other;
+                    posData[posIdx] = ptr;
+                    posData[posDataLow + other] = inBlockIdx;
+                }
+                ptr++;
+            }
+            segmentPtr[seg] = ptr;
+        });
+
+        // allocate the new blocks sequentially, so that their IDs do not depend on the scheduling of the tasks
+        final int[] newBlocks = new int[numSegments];
+        for (int seg = 0; seg < numSegments; seg++) {
+            final int b = (int) (keys[segments[seg]] >>> Integer.SIZE);
+            final int splt = splitAt(b, segmentPtr[seg]);
+            if (splt >= 0) {
+                addToWorklist(splt);
+            }
+            newBlocks[seg] = splt;
+        }
+
+        ParallelRanges.forEach(pool, 0, numSegments, granularity, seg -> {
+            if (newBlocks[seg] >= 0) {
+                updateBlockForState(newBlocks[seg]);
+            }
+        });
+
+        return keys;
+    }
+
+    private int[] copyBlock(int b) {
+        int low = blockLow[b];
+        int blockRange = blockHigh[b] - low;
+        // copy blockData, because #moveLeft() may change its data while we iterate over it
+        // TODO maybe find an implementation that does not need to workaround this concurrent modification
+        int[] blockCopy = new int[blockRange];
+        System.arraycopy(blockData, low, blockCopy, 0, blockRange);
+        return blockCopy;
+    }
+
+    private void refineSequentially(int[] blockCopy) {
+        int blockRange = blockCopy.length;
+        int predOfsBase = predOfsDataLow;
+        for (int i = 0; i < numInputs; i++) {
+            for (int j = 0; j < blockRange; j++) {
+                int state = blockCopy[j];
+                int predOfsIdx = predOfsBase + state;
+                int predLow = predOfsData[predOfsIdx], predHigh = predOfsData[predOfsIdx + 1];
+                for (int k = predLow; k < predHigh; k++) {
+                    int pred = predData[k];
+                    moveLeft(pred);
+                }
+            }
+            predOfsBase += numStates;
+            processTouched();
+        }
+    }
+
+    private int poll() {
+        if (worklistHead < 0) {
+            return -1;
+        }
+        int b = worklistHead;
+        worklistHead = nextInWorklist[b];
+        nextInWorklist[b] = -1;
+        if (worklistHead < 0) {
+            worklistTail = -1;
         }
 
         return b;
     }
 
     private void moveLeft(int state) {
-        Block b = blockForState[state];
-        //int[] blockData = b.data;
+        int b = blockForState[state];
         int posIdx = posDataLow + state;
         int inBlockIdx = posData[posIdx];
-        int ptr = b.ptr;
+        int ptr = blockPtr[b];
 
         if (ptr == -1) {
-            b.nextTouched = touchedHead;
+            nextTouched[b] = touchedHead;
             touchedHead = b;
-            ptr = b.low;
-            b.ptr = ptr;
+            ptr = blockLow[b];
         }
 
         if (ptr <= inBlockIdx) {
@@ -307,84 +556,160 @@ public class PaigeTarjan {
                 posData[posIdx] = ptr;
                 posData[posDataLow + other] = inBlockIdx;
             }
-            b.ptr = ++ptr;
+            ptr++;
         }
+        blockPtr[b] = ptr;
     }
 
     private void processTouched() {
-        Block b = touchedHead;
-        while (b != null) {
-            Block next = b.nextTouched;
-            b.nextTouched = null;
-            Block splt = split(b);
-            if (splt != null) {
+        int b = touchedHead;
+        while (b >= 0) {
+            int next = nextTouched[b];
+            nextTouched[b] = -1;
+            int splt = split(b);
+            if (splt >= 0) {
                 addToWorklist(splt);
             }
-            b.ptr = -1;
             b = next;
         }
 
-        touchedHead = null;
+        touchedHead = -1;
     }
 
-    private @Nullable Block split(Block b) {
-        Block splt = b.split(numBlocks);
-        if (splt == null) {
-            return null;
+    /**
+     * Splits the given block, if applicable. A new block (the split result) is created if the pointer of the block
+     * lies strictly between its low and high index. This new block will contain the smaller of the two ranges and the
+     * given block will be updated to contain the remaining elements. In any case, the pointer of the given block is
+     * reset to {@code -1}.
+     *
+     * @param b
+     *         the ID of the block to split
+     *
+     * @return the ID of the newly created block, or {@code -1} if no block was created
+     */
+    private int split(int b) {
+        int ptr = blockPtr[b];
+        blockPtr[b] = -1;
+        int splt = splitAt(b, ptr);
+        if (splt >= 0) {
+            updateBlockForState(splt);
         }
-        numBlocks++;
-        int spltLow = splt.low, spltHigh = splt.high;
-        for (int i = spltLow; i < spltHigh; i++) {
-            int state = blockData[i];
-            blockForState[state] = splt;
+        return splt;
+    }
+
+    /**
+     * Splits the given block at the given pointer, if it lies strictly between the low and high index of the block.
+     * Only the block attributes are updated, the {@link #blockForState} entries of the new block have to be updated
+     * separately (see {@link #updateBlockForState(int)}).
+     */
+    private int splitAt(int b, int ptr) {
+        int high = blockHigh[b];
+        int ptrHighDiff = high - ptr;
+        if (ptrHighDiff == 0) {
+            return -1;
         }
+        int low = blockLow[b];
+        int splt = allocateBlock();
+        if (ptrHighDiff > ptr - low) {
+            blockLow[splt] = low;
+            blockHigh[splt] = ptr;
+            blockLow[b] = ptr;
+        } else {
+            blockLow[splt] = ptr;
+            blockHigh[splt] = high;
+            blockHigh[b] = ptr;
+        }
+        nextBlock[splt] = nextBlock[b];
+        nextBlock[b] = splt;
         return splt;
     }
 
+    private void updateBlockForState(int b) {
+        int low = blockLow[b], high = blockHigh[b];
+        for (int i = low; i < high; i++) {
+            int state = blockData[i];
+            blockForState[state] = b;
+        }
+    }
+
+    private int allocateBlock() {
+        int id = numBlocks++;
+        if (id == blockLow.length) {
+            int newLength = Math.max(8, 2 * id);
+            blockLow = Arrays.copyOf(blockLow, newLength);
+            blockHigh = Arrays.copyOf(blockHigh, newLength);
+            blockPtr = Arrays.copyOf(blockPtr, newLength);
+            nextBlock = Arrays.copyOf(nextBlock, newLength);
+            nextInWorklist = Arrays.copyOf(nextInWorklist, newLength);
+            nextTouched = Arrays.copyOf(nextTouched, newLength);
+        }
+        blockPtr[id] = -1;
+        nextInWorklist[id] = -1;
+        nextTouched[id] = -1;
+        return id;
+    }
+
     /**
-     * Creates a new block. The {@link Block#low} and {@link Block#high} fields will be initialized to {@code -1}.
+     * Creates a new block and prepends it to the block list. The {@link #blockLow} and {@link #blockHigh} entries of
+     * the new block will be initialized to {@code -1}.
      *
-     * @return a newly created block.
+     * @return the ID of the newly created block.
      */
-    public Block createBlock() {
-        Block b = new Block(-1, -1, numBlocks++, blocklistHead);
+    public int createBlock() {
+        int b = allocateBlock();
+        blockLow[b] = -1;
+        blockHigh[b] = -1;
+        nextBlock[b] = blocklistHead;
         blocklistHead = b;
         return b;
     }
 
     /**
-     * Retrieves the corresponding block for a given state (ID).
+     * Retrieves the ID of the block containing the given state.
      *
-     * @param id
+     * @param state
      *         the state ID
      *
-     * @return the block containing the specified state
+     * @return the ID of the block containing the specified state, or {@code -1} if the state is not contained in any
+     * block
      */
-    public Block getBlockForState(int id) {
-        return blockForState[id];
+    public int getBlockId(int state) {
+        return blockForState[state];
+    }
+
+    /**
+     * Retrieves the size of the given block.
+     *
+     * @param b
+     *         the block ID
+     *
+     * @return the size of the specified block
+     */
+    public int getBlockSize(int b) {
+        return blockHigh[b] - blockLow[b];
     }
 
     /**
      * Retrieves a representative state from the given block. This method behaves deterministically.
      *
      * @param b
-     *         the block
+     *         the block ID
      *
      * @return a representative state in the specified block
      */
-    public int getRepresentative(Block b) {
-        return blockData[b.low];
+    public int getRepresentative(int b) {
+        return blockData[blockLow[b]];
     }
 
     /**
      * Retrieves an iterator for the contents of the given block.
      *
      * @param b
-     *         the block
+     *         the block ID
      *
      * @return an iterator for the contents of the specified block
      */
-    public PrimitiveIterator.OfInt statesInBlockIterator(Block b) {
+    public PrimitiveIterator.OfInt statesInBlockIterator(int b) {
         return Spliterators.iterator(statesInBlockSpliterator(b));
     }
 
@@ -392,30 +717,46 @@ public class PaigeTarjan {
      * Retrieves a spliterator for the contents of the given block.
      *
      * @param b
-     *         the block
+     *         the block ID
      *
      * @return a spliterator for the contents of the specified block
      */
-    public Spliterator.OfInt statesInBlockSpliterator(Block b) {
-        return Arrays.spliterator(blockData, b.low, b.high);
+    public Spliterator.OfInt statesInBlockSpliterator(int b) {
+        return Arrays.spliterator(blockData, blockLow[b], blockHigh[b]);
     }
 
     /**
-     * Retrieves an iterator for iterating over all blocks in the block list.
+     * Retrieves the ID of the first block in the block list. Together with {@link #getNextBlock(int)}, this allows to
+     * iterate over all blocks without allocating any objects:
+     * <pre>
+     * for (int b = pt.getBlockListHead(); b &gt;= 0; b = pt.getNextBlock(b)) { ... }
+     * </pre>
      *
-     * @return an iterator for iterating over all blocks
+     * @return the ID of the first block, or {@code -1} if the block list is empty
+     */
+    public int getBlockListHead() {
+        return blocklistHead;
+    }
+
+    /**
+     * Retrieves the ID of the successor of the given block in the block list.
+     *
+     * @param b
+     *         the block ID
+     *
+     * @return the ID of the next block, or {@code -1} if the given block is the last one in the block list
      */
-    public Iterator<Block> blockListIterator() {
-        return Block.blockListIterator(blocklistHead);
+    public int getNextBlock(int b) {
+        return nextBlock[b];
     }
 
     /**
-     * Retrieves an {@link Iterable} that provides the iterator returned by {@link #blockListIterator()}.
+     * Retrieves an iterator for iterating over the IDs of all blocks in the block list.
      *
-     * @return an {@link Iterable} for iterating over all blocks
+     * @return an iterator for iterating over all blocks
      */
-    public Iterable<Block> blockList() {
-        return this::blockListIterator;
+    public PrimitiveIterator.OfInt blockListIterator() {
+        return new BlockListIterator();
     }
 
     /**
@@ -443,4 +784,23 @@ public class PaigeTarjan {
         LIFO
     }
 
+    private final class BlockListIterator implements PrimitiveIterator.OfInt {
+
+        private int curr = blocklistHead;
+
+        @Override
+        public boolean hasNext() {
+            return curr >= 0;
+        }
+
+        @Override
+        public int nextInt() {
+            int result = curr;
+            if (result < 0) {
+                throw new NoSuchElementException();
+            }
+            curr = nextBlock[result];
+            return result;
+        }
+    }
 }
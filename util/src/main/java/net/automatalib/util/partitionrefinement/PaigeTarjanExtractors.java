@@ -17,6 +17,7 @@ package net.automatalib.util.partitionrefinement;
 
 import java.util.Arrays;
 import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
 
 import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.MutableDeterministic;
@@ -32,6 +33,10 @@ import net.automatalib.words.Alphabet;
  * Most of the methods defined in this class expect the partition data to be in a certain form, and moreover may require
  * additional information, both of which is provided by corresponding methods defined in {@link
  * PaigeTarjanInitializers}.
+ * <p>
+ * Additionally, this class allows to translate the results of a {@link SignatureRefinement} into automata. Since the
+ * states of the (pruned) result are created in breadth-first order, the result does not depend on the concrete
+ * numbering of the blocks and the extracted automata are identical regardless of the refinement algorithm used.
  *
  * @author Malte Isberner
  */
@@ -85,19 +90,104 @@ public final class PaigeTarjanExtractors {
                                                                                                  BiIntFunction<? extends TP> tpExtractor,
                                                                                                  boolean pruneUnreachable) {
         if (pruneUnreachable) {
-            return toDeterministicPruned(pt, creator, inputs, absOriginal, spExtractor, tpExtractor);
+            return toDeterministicPruned(pt.getNumBlocks(),
+                                         pt::getBlockId,
+                                         creator,
+                                         inputs,
+                                         absOriginal,
+                                         spExtractor,
+                                         tpExtractor);
         }
         return toDeterministicUnpruned(pt, creator, inputs, absOriginal, spExtractor, tpExtractor);
     }
 
-    private static <I, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A toDeterministicPruned(PaigeTarjan pt,
+    /**
+     * Translates the results of a signature-based coarsest stable partition computation into a deterministic
+     * automaton. Unreachable states are always pruned.
+     * <p>
+     * This method is designed to match {@link SignatureRefinement#initDeterministic(FullIntAbstraction, IntFunction,
+     * Object)}.
+     * <p>
+     * Both the {@code spExtractor} and the {@code tpExtractor} can be {@code null}, in which case they are replaced by
+     * a function always returning {@code null}.
+     *
+     * @param sr
+     *         the partition refinement data structure, after computing the coarsest stable partition
+     * @param creator
+     *         an {@link AutomatonCreator} for creating the resulting automaton
+     * @param inputs
+     *         the input alphabet to use
+     * @param absOriginal
+     *         the abstraction of the original automaton that was used to build the partition refinement data structure
+     * @param spExtractor
+     *         the state property extractor, or {@code null}
+     * @param tpExtractor
+     *         the transition property extractor, or {@code null}
+     *
+     * @return an automaton created using the specified creator, over the specified input alphabet, and reflecting the
+     * partition data of the specified {@link SignatureRefinement} object
+     */
+    public static <I, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A toDeterministic(SignatureRefinement sr,
+                                                                                                 AutomatonCreator<A, I> creator,
+                                                                                                 Alphabet<I> inputs,
+                                                                                                 SimpleDeterministicAutomaton.FullIntAbstraction absOriginal,
+                                                                                                 IntFunction<? extends SP> spExtractor,
+                                                                                                 BiIntFunction<? extends TP> tpExtractor) {
+        return toDeterministicPruned(sr.getNumBlocks(),
+                                     sr::getBlockId,
+                                     creator,
+                                     inputs,
+                                     absOriginal,
+                                     spExtractor,
+                                     tpExtractor);
+    }
+
+    /**
+     * Translates the current partition of an incremental coarsest stable partition computation into a deterministic
+     * automaton. Unreachable states are always pruned.
+     * <p>
+     * This method is designed to match {@link IncrementalPaigeTarjan#IncrementalPaigeTarjan(
+     * SimpleDeterministicAutomaton.FullIntAbstraction, IntFunction, Object)}.
+     *
+     * @param ipt
+     *         the partition refinement data structure, after {@link IncrementalPaigeTarjan#update() updating} it
+     * @param creator
+     *         an {@link AutomatonCreator} for creating the resulting automaton
+     * @param inputs
+     *         the input alphabet to use
+     * @param absOriginal
+     *         the abstraction of the original automaton that was used to build the partition refinement data structure
+     * @param spExtractor
+     *         the state property extractor
+     * @param tpExtractor
+     *         the transition property extractor
+     *
+     * @return an automaton created using the specified creator, over the specified input alphabet, and reflecting the
+     * partition data of the specified {@link IncrementalPaigeTarjan} object
+     */
+    public static <I, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A toDeterministic(IncrementalPaigeTarjan ipt,
+                                                                                                 AutomatonCreator<A, I> creator,
+                                                                                                 Alphabet<I> inputs,
+                                                                                                 SimpleDeterministicAutomaton.FullIntAbstraction absOriginal,
+                                                                                                 IntFunction<? extends SP> spExtractor,
+                                                                                                 BiIntFunction<? extends TP> tpExtractor) {
+        return toDeterministicPruned(ipt.getBlockIdBound(),
+                                     ipt::getBlockId,
+                                     creator,
+                                     inputs,
+                                     absOriginal,
+                                     spExtractor,
+                                     tpExtractor);
+    }
+
+    private static <I, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A toDeterministicPruned(int numBlocks,
+                                                                                                        IntUnaryOperator blockIds,
                                                                                                         AutomatonCreator<A, I> creator,
                                                                                                         Alphabet<I> inputs,
                                                                                                         SimpleDeterministicAutomaton.FullIntAbstraction absOriginal,
                                                                                                         IntFunction<? extends SP> spExtractor,
                                                                                                         BiIntFunction<? extends TP> tpExtractor) {
 
-        int numBlocks = pt.getNumBlocks();
         int numInputs = inputs.size();
         int[] repMap = new int[numBlocks];
         int[] stateMap = new int[numBlocks];
@@ -110,8 +200,7 @@ public final class PaigeTarjanExtractors {
         SP initSp = spExtractor.apply(origInit);
         int resInit = resultAbs.addIntInitialState(initSp);
 
-        Block initBlock = pt.getBlockForState(origInit);
-        stateMap[initBlock.id] = resInit;
+        stateMap[blockIds.applyAsInt(origInit)] = resInit;
         repMap[resInit] = origInit;
 
         int statesPtr = 0;
@@ -123,8 +212,7 @@ public final class PaigeTarjanExtractors {
                 int succ = absOriginal.getSuccessor(rep, i);
                 if (succ >= 0) {
                     TP tp = tpExtractor.apply(rep, i);
-                    Block succBlock = pt.getBlockForState(succ);
-                    int succBlockId = succBlock.id;
+                    int succBlockId = blockIds.applyAsInt(succ);
                     int resSucc = stateMap[succBlockId];
                     if (resSucc < 0) {
                         SP sp = spExtractor.apply(succ);
@@ -158,23 +246,22 @@ public final class PaigeTarjanExtractors {
             resultAbs.addIntState();
         }
 
-        for (Block curr : pt.blockList()) {
-            int blockId = curr.id;
-            int rep = pt.getRepresentative(curr);
+        for (int blockId = pt.getBlockListHead(); blockId >= 0; blockId = pt.getNextBlock(blockId)) {
+            int rep = pt.getRepresentative(blockId);
             SP sp = spExtractor.apply(rep);
             resultAbs.setStateProperty(blockId, sp);
 
             for (int i = 0; i < numInputs; i++) {
                 int succ = absOriginal.getSuccessor(rep, i);
                 if (succ >= 0) {
-                    int resSucc = pt.getBlockForState(succ).id;
+                    int resSucc = pt.getBlockId(succ);
                     TP tp = tpExtractor.apply(rep, i);
                     resultAbs.setTransition(blockId, i, resSucc, tp);
                 }
             }
         }
         int origInit = absOriginal.getIntInitialState();
-        resultAbs.setInitialState(pt.getBlockForState(origInit).id);
+        resultAbs.setInitialState(pt.getBlockId(origInit));
 
         return result;
     }
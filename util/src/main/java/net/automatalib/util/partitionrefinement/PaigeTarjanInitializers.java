@@ -102,15 +102,16 @@ public final class PaigeTarjanInitializers {
         int dataSize = predDataLow + numTransitions;
 
         int[] data = new int[dataSize];
-        Block[] blockForState = new Block[numStates];
+        int[] blockForState = new int[numStates];
+        Arrays.fill(blockForState, -1);
 
-        Map<@Nullable Object, Block> blockMap = new HashMap<>();
+        Map<@Nullable Object, Integer> blockMap = new HashMap<>();
 
         int init = absAutomaton.getIntInitialState();
         Object initClass = initialClassification.apply(init);
 
-        Block initBlock = pt.createBlock();
-        initBlock.high = 1;
+        int initBlock = pt.createBlock();
+        pt.blockHigh[initBlock] = 1;
         blockForState[init] = initBlock;
         blockMap.put(initClass, initBlock);
 
@@ -130,16 +131,11 @@ public final class PaigeTarjanInitializers {
                     throw new IllegalArgumentException("Automaton must not be partial");
                 }
 
-                Block succBlock = blockForState[succ];
-                if (succBlock == null) {
+                int succBlock = blockForState[succ];
+                if (succBlock < 0) {
                     Object succClass = initialClassification.apply(succ);
-                    succBlock = blockMap.get(succClass);
-                    if (succBlock == null) {
-                        succBlock = pt.createBlock();
-                        succBlock.high = 0;
-                        blockMap.put(succClass, succBlock);
-                    }
-                    succBlock.high++;
+                    succBlock = getOrCreateBlock(pt, blockMap, succClass);
+                    pt.blockHigh[succBlock]++;
                     blockForState[succ] = succBlock;
                     statesBuff[reachableStates++] = succ;
                 }
@@ -148,20 +144,15 @@ public final class PaigeTarjanInitializers {
             }
         }
 
-        int curr = 0;
-        for (Block b : pt.blockList()) {
-            curr += b.high;
-            b.high = curr;
-            b.low = curr;
-        }
+        initBlockBounds(pt);
 
         data[predOfsDataLow] += predDataLow;
         prefixSum(data, predOfsDataLow, predDataLow);
 
         for (int i = 0; i < reachableStates; i++) {
             int stateId = statesBuff[i];
-            Block b = blockForState[stateId];
-            int pos = --b.low;
+            int b = blockForState[stateId];
+            int pos = --pt.blockLow[b];
             data[pos] = stateId;
             data[posDataLow + stateId] = pos;
 
@@ -197,19 +188,15 @@ public final class PaigeTarjanInitializers {
         int dataSize = predDataLow + numTransitions;
 
         int[] data = new int[dataSize];
-        Block[] blockForState = new Block[numStates];
+        int[] blockForState = new int[numStates];
+        Arrays.fill(blockForState, -1);
 
-        Map<@Nullable Object, Block> blockMap = new HashMap<>();
+        Map<@Nullable Object, Integer> blockMap = new HashMap<>();
 
         for (int i = 0; i < numStates; i++) {
             Object classification = initialClassification.apply(i);
-            Block block = blockMap.get(classification);
-            if (block == null) {
-                block = pt.createBlock();
-                block.high = 0;
-                blockMap.put(classification, block);
-            }
-            block.high++;
+            int block = getOrCreateBlock(pt, blockMap, classification);
+            pt.blockHigh[block]++;
             blockForState[i] = block;
 
             int predCountBase = predOfsDataLow;
@@ -225,19 +212,14 @@ public final class PaigeTarjanInitializers {
             }
         }
 
-        int curr = 0;
-        for (Block b : pt.blockList()) {
-            curr += b.high;
-            b.high = curr;
-            b.low = curr;
-        }
+        initBlockBounds(pt);
 
         data[predOfsDataLow] += predDataLow;
         prefixSum(data, predOfsDataLow, predDataLow);
 
         for (int i = 0; i < numStates; i++) {
-            Block b = blockForState[i];
-            int pos = --b.low;
+            int b = blockForState[i];
+            int pos = --pt.blockLow[b];
             data[pos] = i;
             data[posDataLow + i] = pos;
             int predOfsBase = predOfsDataLow;
@@ -259,6 +241,47 @@ public final class PaigeTarjanInitializers {
         pt.setSize(numStates, numInputs);
     }
 
+    /**
+     * Creates a new block with an initial size of zero.
+     *
+     * @param pt
+     *         the partition refinement data structure
+     *
+     * @return the ID of the created block
+     */
+    public static int createEmptyBlock(PaigeTarjan pt) {
+        int b = pt.createBlock();
+        pt.blockHigh[b] = 0;
+        return b;
+    }
+
+    private static int getOrCreateBlock(PaigeTarjan pt, Map<@Nullable Object, Integer> blockMap, @Nullable Object clazz) {
+        Integer block = blockMap.get(clazz);
+        if (block == null) {
+            block = createEmptyBlock(pt);
+            blockMap.put(clazz, block);
+        }
+        return block;
+    }
+
+    /**
+     * Transforms the sizes of the blocks (temporarily stored in {@link PaigeTarjan#blockHigh}) into the final block
+     * boundaries, assigning the ranges of the {@link PaigeTarjan#blockData} array in the order of the block list. Both
+     * the low and the high index of each block are set to the end of its range, so that the states of the block can be
+     * inserted by decrementing the low index.
+     *
+     * @param pt
+     *         the partition refinement data structure
+     */
+    public static void initBlockBounds(PaigeTarjan pt) {
+        int curr = 0;
+        for (int b = pt.getBlockListHead(); b >= 0; b = pt.getNextBlock(b)) {
+            curr += pt.blockHigh[b];
+            pt.blockHigh[b] = curr;
+            pt.blockLow[b] = curr;
+        }
+    }
+
     public static void prefixSum(int[] array, int startInclusive, int endExclusive) {
         Arrays.parallelPrefix(array, startInclusive, endExclusive, Integer::sum);
     }
@@ -295,16 +318,17 @@ public final class PaigeTarjanInitializers {
         int dataSize = predDataLow + numTransitionsFull;
 
         int[] data = new int[dataSize];
-        Block[] blockForState = new Block[numStatesWithSink];
+        int[] blockForState = new int[numStatesWithSink];
+        Arrays.fill(blockForState, -1);
 
-        Map<@Nullable Object, Block> blockMap = new HashMap<>();
+        Map<@Nullable Object, Integer> blockMap = new HashMap<>();
 
         int initId = absAutomaton.getIntInitialState();
 
         Object initClass = initialClassification.apply(initId);
 
-        Block initBlock = pt.createBlock();
-        initBlock.high = 1;
+        int initBlock = pt.createBlock();
+        pt.blockHigh[initBlock] = 1;
         blockForState[initId] = initBlock;
         blockMap.put(initClass, initBlock);
 
@@ -333,21 +357,16 @@ public final class PaigeTarjanInitializers {
                 } else {
                     succId = succ;
                 }
-                Block succBlock = blockForState[succId];
-                if (succBlock == null) {
+                int succBlock = blockForState[succId];
+                if (succBlock < 0) {
                     Object succClass;
                     if (succ < 0) {
                         succClass = sinkClassification;
                     } else {
                         succClass = initialClassification.apply(succ);
                     }
-                    succBlock = blockMap.get(succClass);
-                    if (succBlock == null) {
-                        succBlock = pt.createBlock();
-                        succBlock.high = 0;
-                        blockMap.put(succClass, succBlock);
-                    }
-                    succBlock.high++;
+                    succBlock = getOrCreateBlock(pt, blockMap, succClass);
+                    pt.blockHigh[succBlock]++;
                     blockForState[succId] = succBlock;
                     statesBuff[reachableStates++] = succId;
                 }
@@ -364,20 +383,15 @@ public final class PaigeTarjanInitializers {
             }
         }
 
-        int curr = 0;
-        for (Block b : pt.blockList()) {
-            curr += b.high;
-            b.high = curr;
-            b.low = curr;
-        }
+        initBlockBounds(pt);
 
         data[predOfsDataLow] += predDataLow;
         prefixSum(data, predOfsDataLow, predDataLow);
 
         for (int i = 0; i < reachableStates; i++) {
             int stateId = statesBuff[i];
-            Block b = blockForState[stateId];
-            int pos = --b.low;
+            int b = blockForState[stateId];
+            int pos = --pt.blockLow[b];
             data[pos] = stateId;
             data[posDataLow + stateId] = pos;
 
@@ -0,0 +1,701 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.partitionrefinement;
+
+import java.util.Arrays;
+
+/**
+ * An implementation of the Paige/Tarjan algorithm for the relational coarsest partition problem, i.e., for computing
+ * the (strong) bisimulation equivalence of labeled transition systems, in {@code O(m log n)} time.
+ * <p>
+ * Whereas {@link PaigeTarjan} relies on the determinism of the input (splitting a block by the predecessors of a
+ * splitter is sufficient there), nondeterministic systems require the "three-way" split of the original algorithm:
+ * for every state, label and compound block of the current splitter partition, the number of transitions into that
+ * compound block is maintained, which allows to additionally separate states whose transitions lead exclusively into
+ * the (smaller) splitter block from those that also have transitions into the rest of the compound block.
+ * <p>
+ * Similar to {@link PaigeTarjan}, all data (blocks, compound blocks, the transition counters and the worklist) is
+ * stored in flat {@code int} arrays that are allocated once, so that the refinement does not allocate any per-state,
+ * per-block, or per-transition objects. Transition systems are passed in an integer abstraction: states are
+ * identified by {@code 0, ..., numStates - 1}, labels by {@code 0, ..., numLabels - 1}, and the {@code i}-th transition
+ * is given by {@code sources[i]}, {@code labels[i]} and {@code targets[i]}.
+ * <p>
+ * Weak bisimulation is computed by means of the strong bisimulation of the {@code tau}-saturated system. Note that the
+ * saturation may introduce up to {@code O(n^2)} transitions per label, so the above complexity bound applies to the
+ * size of the saturated system.
+ *
+ * @author frohme
+ * @see PaigeTarjan
+ */
+public final class RelationalPaigeTarjan {
+
+    private RelationalPaigeTarjan() {}
+
+    /**
+     * Computes the coarsest strong bisimulation of the given transition system that refines the given initial
+     * partition.
+     *
+     * @param numStates
+     *         the number of states
+     * @param initialPartition
+     *         the initial classification of the states (non-negative integers, states with the same value are
+     *         initially in the same class)
+     * @param numLabels
+     *         the number of transition labels
+     * @param sources
+     *         the source state of each transition
+     * @param labels
+     *         the label of each transition
+     * @param targets
+     *         the target state of each transition
+     *
+     * @return an array mapping each state to its bisimulation class. Classes are numbered contiguously, starting at
+     * {@code 0}, in the order of their smallest state.
+     */
+    public static int[] strongBisimulation(int numStates,
+                                           int[] initialPartition,
+                                           int numLabels,
+                                           int[] sources,
+                                           int[] labels,
+                                           int[] targets) {
+        return strongBisimulation(numStates, initialPartition, numLabels, sources, labels, targets, sources.length);
+    }
+
+    /**
+     * Computes the coarsest weak bisimulation of the given transition system that refines the given initial
+     * partition.
+     *
+     * @param numStates
+     *         the number of states
+     * @param initialPartition
+     *         the initial classification of the states (non-negative integers, states with the same value are
+     *         initially in the same class)
+     * @param numLabels
+     *         the number of transition labels
+     * @param sources
+     *         the source state of each transition
+     * @param labels
+     *         the label of each transition
+     * @param targets
+     *         the target state of each transition
+     * @param tauLabel
+     *         the label of internal transitions
+     *
+     * @return an array mapping each state to its bisimulation class. Classes are numbered contiguously, starting at
+     * {@code 0}, in the order of their smallest state.
+     */
+    public static int[] weakBisimulation(int numStates,
+                                         int[] initialPartition,
+                                         int numLabels,
+                                         int[] sources,
+                                         int[] labels,
+                                         int[] targets,
+                                         int tauLabel) {
+        final Saturation saturation = new Saturation(numStates, sources, labels, targets, tauLabel);
+        saturation.saturate();
+
+        return strongBisimulation(numStates,
+                                  initialPartition,
+                                  Math.max(numLabels, tauLabel + 1),
+                                  saturation.newSources,
+                                  saturation.newLabels,
+                                  saturation.newTargets,
+                                  saturation.numTransitions);
+    }
+
+    private static int[] strongBisimulation(int numStates,
+                                            int[] initialPartition,
+                                            int numLabels,
+                                            int[] sources,
+                                            int[] labels,
+                                            int[] targets,
+                                            int numTransitions) {
+        if (labels.length < numTransitions || targets.length < numTransitions) {
+            throw new IllegalArgumentException("Inconsistent number of transitions");
+        }
+
+        final Refinement refinement =
+                new Refinement(numStates, initialPartition, numLabels, sources, labels, targets, numTransitions);
+        refinement.computeCoarsestStablePartition();
+
+        return refinement.extractPartition();
+    }
+
+    private static final class Refinement {
+
+        private final int numStates;
+        private final int numLabels;
+        private final int numTransitions;
+        private final int[] sources;
+        private final int[] labels;
+
+        // states, ordered by block, and the position of each state in this array
+        private final int[] blockData;
+        private final int[] posData;
+        private final int[] blockForState;
+
+        // block attributes: lower/upper bound in blockData and the delimiter of the marked elements
+        private final int[] blockLow;
+        private final int[] blockHigh;
+        private final int[] blockPtr;
+        private int numBlocks;
+
+        // compound (splitter) blocks: a doubly-linked list of their blocks, the number of blocks, and a stack of all
+        // compound blocks that contain at least two blocks
+        private final int[] compoundForBlock;
+        private final int[] nextInCompound;
+        private final int[] prevInCompound;
+        private final int[] compoundHead;
+        private final int[] compoundSize;
+        private final int[] compoundStack;
+        private int numCompounds;
+        private int compoundStackSize;
+
+        // the blocks which have marked elements
+        private final int[] touched;
+        private int numTouched;
+
+        // incoming transitions of each state
+        private final int[] predOfsData;
+        private final int[] predData;
+
+        // for each transition, the counter of transitions from its source with the same label into the compound block
+        // of its target
+        private final int[] counterForTransition;
+        private final int[] counterValue;
+        private final int[] freeCounters;
+        private int numFreeCounters;
+        private int numCounters;
+
+        // scratch space for processing a splitter block
+        private final int[] transBuffer;
+        private final int[] labelCount;
+        private final int[] labelPtr;
+        private final int[] touchedLabels;
+        private final int[] groupOfs;
+        private final int[] splitterCount;
+        private final int[] oldCounter;
+        private final int[] newCounter;
+        private final int[] predBuffer;
+
+        Refinement(int numStates,
+                   int[] initialPartition,
+                   int numLabels,
+                   int[] sources,
+                   int[] labels,
+                   int[] targets,
+                   int numTransitions) {
+            this.numStates = numStates;
+            this.numLabels = numLabels;
+            this.numTransitions = numTransitions;
+            this.sources = sources;
+            this.labels = labels;
+
+            this.blockData = new int[numStates];
+            this.posData = new int[numStates];
+            this.blockForState = new int[numStates];
+            this.blockLow = new int[numStates];
+            this.blockHigh = new int[numStates];
+            this.blockPtr = new int[numStates];
+            this.compoundForBlock = new int[numStates];
+            this.nextInCompound = new int[numStates];
+            this.prevInCompound = new int[numStates];
+            this.compoundHead = new int[numStates];
+            this.compoundSize = new int[numStates];
+            this.compoundStack = new int[numStates];
+            this.touched = new int[numStates];
+
+            this.predOfsData = new int[numStates + 1];
+            this.predData = new int[numTransitions];
+            this.counterForTransition = new int[numTransitions];
+            this.counterValue = new int[Math.max(1, numTransitions)];
+            this.freeCounters = new int[Math.max(1, numTransitions)];
+
+            this.transBuffer = new int[numTransitions];
+            this.labelCount = new int[numLabels];
+            this.labelPtr = new int[numLabels];
+            this.touchedLabels = new int[numLabels];
+            this.groupOfs = new int[numLabels + 1];
+            this.splitterCount = new int[numStates];
+            this.oldCounter = new int[numStates];
+            this.newCounter = new int[numStates];
+            this.predBuffer = new int[numStates];
+
+            Arrays.fill(newCounter, -1);
+
+            initBlocks(initialPartition);
+            initTransitions(targets);
+        }
+
+        private void initBlocks(int[] initialPartition) {
+            int numClasses = 0;
+            for (int s = 0; s < numStates; s++) {
+                numClasses = Math.max(numClasses, initialPartition[s] + 1);
+            }
+
+            // counting sort of the states by their initial class
+            final int[] classOfs = new int[numClasses + 1];
+            for (int s = 0; s < numStates; s++) {
+                classOfs[initialPartition[s] + 1]++;
+            }
+            for (int c = 0; c < numClasses; c++) {
+                classOfs[c + 1] += classOfs[c];
+            }
+
+            final int[] classToBlock = new int[numClasses];
+            for (int c = 0; c < numClasses; c++) {
+                if (classOfs[c] < classOfs[c + 1]) {
+                    final int b = numBlocks++;
+                    classToBlock[c] = b;
+                    blockLow[b] = classOfs[c];
+                    blockHigh[b] = classOfs[c + 1];
+                    blockPtr[b] = classOfs[c];
+                }
+            }
+
+            for (int s = 0; s < numStates; s++) {
+                final int c = initialPartition[s];
+                final int pos = classOfs[c]++;
+                blockData[pos] = s;
+                posData[s] = pos;
+                blockForState[s] = classToBlock[c];
+            }
+
+            // initially, all blocks form a single compound block
+            if (numBlocks > 0) {
+                numCompounds = 1;
+                compoundHead[0] = -1;
+                for (int b = numBlocks - 1; b >= 0; b--) {
+                    addToCompound(b, 0);
+                }
+            }
+        }
+
+        private void initTransitions(int[] targets) {
+            // predecessor lists
+            for (int t = 0; t < numTransitions; t++) {
+                predOfsData[targets[t] + 1]++;
+            }
+            for (int s = 0; s < numStates; s++) {
+                predOfsData[s + 1] += predOfsData[s];
+            }
+            final int[] predPtr = Arrays.copyOf(predOfsData, numStates);
+            for (int t = 0; t < numTransitions; t++) {
+                predData[predPtr[targets[t]]++] = t;
+            }
+
+            // order the transitions by label, and (stably) by source to group them by (source, label)
+            final int[] byLabel = new int[numTransitions];
+            final int[] labelOfs = new int[numLabels + 1];
+            for (int t = 0; t < numTransitions; t++) {
+                labelOfs[labels[t] + 1]++;
+            }
+            for (int l = 0; l < numLabels; l++) {
+                labelOfs[l + 1] += labelOfs[l];
+            }
+            final int[] labelPos = Arrays.copyOf(labelOfs, numLabels);
+            for (int t = 0; t < numTransitions; t++) {
+                byLabel[labelPos[labels[t]]++] = t;
+            }
+
+            final int[] sourceOfs = new int[numStates + 1];
+            for (int t = 0; t < numTransitions; t++) {
+                sourceOfs[sources[t] + 1]++;
+            }
+            for (int s = 0; s < numStates; s++) {
+                sourceOfs[s + 1] += sourceOfs[s];
+            }
+            final int[] bySourceAndLabel = transBuffer;
+            for (int t : byLabel) {
+                bySourceAndLabel[sourceOfs[sources[t]]++] = t;
+            }
+
+            // initially, each (source, label) pair has a single counter for the universal compound block
+            int prevSource = -1, prevLabel = -1, counter = -1;
+            for (int i = 0; i < numTransitions; i++) {
+                final int t = bySourceAndLabel[i];
+                if (sources[t] != prevSource || labels[t] != prevLabel) {
+                    prevSource = sources[t];
+                    prevLabel = labels[t];
+                    counter = numCounters++;
+                }
+                counterValue[counter]++;
+                counterForTransition[t] = counter;
+            }
+
+            // make the initial partition stable w.r.t. the universal compound block
+            for (int l = 0; l < numLabels; l++) {
+                for (int i = labelOfs[l]; i < labelOfs[l + 1]; i++) {
+                    mark(sources[byLabel[i]]);
+                }
+                splitTouched();
+            }
+        }
+
+        void computeCoarsestStablePartition() {
+            while (compoundStackSize > 0) {
+                final int compound = compoundStack[--compoundStackSize];
+
+                // select the smaller one of the first two blocks of the compound block as splitter
+                final int b1 = compoundHead[compound];
+                final int b2 = nextInCompound[b1];
+                final int splitter = getBlockSize(b1) <= getBlockSize(b2) ? b1 : b2;
+
+                removeFromCompound(splitter, compound);
+                if (compoundSize[compound] >= 2) {
+                    compoundStack[compoundStackSize++] = compound;
+                }
+
+                final int newCompound = numCompounds++;
+                compoundHead[newCompound] = -1;
+                addToCompound(splitter, newCompound);
+
+                refine(splitter);
+            }
+        }
+
+        private void refine(int splitter) {
+            final int low = blockLow[splitter], high = blockHigh[splitter];
+
+            // group the incoming transitions of the splitter by their label
+            int numTouchedLabels = 0;
+            for (int i = low; i < high; i++) {
+                final int state = blockData[i];
+                for (int j = predOfsData[state]; j < predOfsData[state + 1]; j++) {
+                    final int label = labels[predData[j]];
+                    if (labelCount[label]++ == 0) {
+                        touchedLabels[numTouchedLabels++] = label;
+                    }
+                }
+            }
+
+            int ofs = 0;
+            for (int i = 0; i < numTouchedLabels; i++) {
+                final int label = touchedLabels[i];
+                groupOfs[i] = ofs;
+                labelPtr[label] = ofs;
+                ofs += labelCount[label];
+                labelCount[label] = 0;
+            }
+            groupOfs[numTouchedLabels] = ofs;
+
+            for (int i = low; i < high; i++) {
+                final int state = blockData[i];
+                for (int j = predOfsData[state]; j < predOfsData[state + 1]; j++) {
+                    final int trans = predData[j];
+                    transBuffer[labelPtr[labels[trans]]++] = trans;
+                }
+            }
+
+            for (int i = 0; i < numTouchedLabels; i++) {
+                refineByLabel(groupOfs[i], groupOfs[i + 1]);
+            }
+        }
+
+        private void refineByLabel(int low, int high) {
+            int numPreds = 0;
+
+            // count the transitions of each predecessor into the splitter
+            for (int i = low; i < high; i++) {
+                final int trans = transBuffer[i];
+                final int pred = sources[trans];
+                if (splitterCount[pred]++ == 0) {
+                    predBuffer[numPreds++] = pred;
+                    oldCounter[pred] = counterForTransition[trans];
+                }
+            }
+
+            // first split: states with transitions into the splitter
+            for (int i = 0; i < numPreds; i++) {
+                mark(predBuffer[i]);
+            }
+            splitTouched();
+
+            // second split: states with transitions into the splitter, but not into the rest of its compound block
+            for (int i = 0; i < numPreds; i++) {
+                final int pred = predBuffer[i];
+                if (counterValue[oldCounter[pred]] == splitterCount[pred]) {
+                    mark(pred);
+                }
+            }
+            splitTouched();
+
+            // update the counters
+            for (int i = low; i < high; i++) {
+                final int trans = transBuffer[i];
+                final int pred = sources[trans];
+                int counter = newCounter[pred];
+                if (counter < 0) {
+                    final int old = oldCounter[pred];
+                    counterValue[old] -= splitterCount[pred];
+                    if (counterValue[old] == 0) {
+                        freeCounters[numFreeCounters++] = old;
+                    }
+                    counter = numFreeCounters > 0 ? freeCounters[--numFreeCounters] : numCounters++;
+                    counterValue[counter] = splitterCount[pred];
+                    newCounter[pred] = counter;
+                }
+                counterForTransition[trans] = counter;
+            }
+
+            for (int i = 0; i < numPreds; i++) {
+                final int pred = predBuffer[i];
+                splitterCount[pred] = 0;
+                newCounter[pred] = -1;
+            }
+        }
+
+        private void mark(int state) {
+            final int b = blockForState[state];
+            final int pos = posData[state];
+            final int ptr = blockPtr[b];
+
+            if (pos < ptr) {
+                return;
+            }
+
+            if (ptr == blockLow[b]) {
+                touched[numTouched++] = b;
+            }
+
+            final int other = blockData[ptr];
+            blockData[ptr] = state;
+            posData[state] = ptr;
+            blockData[pos] = other;
+            posData[other] = pos;
+
+            blockPtr[b] = ptr + 1;
+        }
+
+        private void splitTouched() {
+            for (int i = 0; i < numTouched; i++) {
+                final int b = touched[i];
+                final int low = blockLow[b], ptr = blockPtr[b];
+
+                if (ptr == blockHigh[b]) {
+                    blockPtr[b] = low;
+                    continue;
+                }
+
+                // the marked elements form the new block
+                final int splt = numBlocks++;
+                blockLow[splt] = low;
+                blockHigh[splt] = ptr;
+                blockPtr[splt] = low;
+                blockLow[b] = ptr;
+                blockPtr[b] = ptr;
+
+                for (int j = low; j < ptr; j++) {
+                    blockForState[blockData[j]] = splt;
+                }
+
+                addToCompound(splt, compoundForBlock[b]);
+            }
+
+            numTouched = 0;
+        }
+
+        private void addToCompound(int b, int compound) {
+            final int head = compoundHead[compound];
+
+            compoundForBlock[b] = compound;
+            nextInCompound[b] = head;
+            prevInCompound[b] = -1;
+            if (head >= 0) {
+                prevInCompound[head] = b;
+            }
+            compoundHead[compound] = b;
+
+            if (++compoundSize[compound] == 2) {
+                compoundStack[compoundStackSize++] = compound;
+            }
+        }
+
+        private void removeFromCompound(int b, int compound) {
+            final int prev = prevInCompound[b], next = nextInCompound[b];
+
+            if (prev >= 0) {
+                nextInCompound[prev] = next;
+            } else {
+                compoundHead[compound] = next;
+            }
+            if (next >= 0) {
+                prevInCompound[next] = prev;
+            }
+
+            compoundSize[compound]--;
+        }
+
+        private int getBlockSize(int b) {
+            return blockHigh[b] - blockLow[b];
+        }
+
+        int[] extractPartition() {
+            final int[] blockToClass = new int[numBlocks];
+            Arrays.fill(blockToClass, -1);
+
+            final int[] result = new int[numStates];
+            int numClasses = 0;
+
+            for (int s = 0; s < numStates; s++) {
+                final int b = blockForState[s];
+                if (blockToClass[b] < 0) {
+                    blockToClass[b] = numClasses++;
+                }
+                result[s] = blockToClass[b];
+            }
+
+            return result;
+        }
+    }
+
+    private static final class Saturation {
+
+        private final int numStates;
+        private final int[] sources;
+        private final int[] labels;
+        private final int[] targets;
+        private final int tauLabel;
+
+        int[] newSources;
+        int[] newLabels;
+        int[] newTargets;
+        int numTransitions;
+
+        Saturation(int numStates, int[] sources, int[] labels, int[] targets, int tauLabel) {
+            this.numStates = numStates;
+            this.sources = sources;
+            this.labels = labels;
+            this.targets = targets;
+            this.tauLabel = tauLabel;
+
+            final int capacity = Math.max(16, sources.length);
+            this.newSources = new int[capacity];
+            this.newLabels = new int[capacity];
+            this.newTargets = new int[capacity];
+        }
+
+        void saturate() {
+            final int numTrans = sources.length;
+
+            // outgoing transitions of each state
+            final int[] succOfs = new int[numStates + 1];
+            for (int t = 0; t < numTrans; t++) {
+                succOfs[sources[t] + 1]++;
+            }
+            for (int s = 0; s < numStates; s++) {
+                succOfs[s + 1] += succOfs[s];
+            }
+            final int[] succData = new int[numTrans];
+            final int[] succPtr = Arrays.copyOf(succOfs, numStates);
+            for (int t = 0; t < numTrans; t++) {
+                succData[succPtr[sources[t]]++] = t;
+            }
+
+            // reflexive-transitive tau closure of each state
+            final int[] closureOfs = new int[numStates + 1];
+            int[] closureData = new int[Math.max(16, numStates)];
+            final int[] visited = new int[numStates];
+            final int[] stack = new int[numStates];
+            Arrays.fill(visited, -1);
+
+            for (int s = 0; s < numStates; s++) {
+                int ptr = closureOfs[s];
+                int stackSize = 0;
+
+                stack[stackSize++] = s;
+                visited[s] = s;
+
+                while (stackSize > 0) {
+                    final int curr = stack[--stackSize];
+                    if (ptr == closureData.length) {
+                        closureData = Arrays.copyOf(closureData, 2 * ptr);
+                    }
+                    closureData[ptr++] = curr;
+
+                    for (int i = succOfs[curr]; i < succOfs[curr + 1]; i++) {
+                        final int t = succData[i];
+                        final int succ = targets[t];
+                        if (labels[t] == tauLabel && visited[succ] != s) {
+                            visited[succ] = s;
+                            stack[stackSize++] = succ;
+                        }
+                    }
+                }
+
+                closureOfs[s + 1] = ptr;
+            }
+
+            // weak transitions: s =tau=> s' for all s' in closure(s), and s =a=> s'' for all s'' in closure(s') with
+            // s' -a-> s''' for some s' in closure(s), s''' in closure(s')
+            long[] keys = new long[16];
+
+            for (int s = 0; s < numStates; s++) {
+                int numKeys = 0;
+
+                for (int i = closureOfs[s]; i < closureOfs[s + 1]; i++) {
+                    final int inter = closureData[i];
+
+                    if (numKeys == keys.length) {
+                        keys = Arrays.copyOf(keys, 2 * numKeys);
+                    }
+                    keys[numKeys++] = key(tauLabel, inter);
+
+                    for (int j = succOfs[inter]; j < succOfs[inter + 1]; j++) {
+                        final int t = succData[j];
+                        final int label = labels[t];
+                        if (label == tauLabel) {
+                            continue;
+                        }
+
+                        final int succ = targets[t];
+                        for (int k = closureOfs[succ]; k < closureOfs[succ + 1]; k++) {
+                            if (numKeys == keys.length) {
+                                keys = Arrays.copyOf(keys, 2 * numKeys);
+                            }
+                            keys[numKeys++] = key(label, closureData[k]);
+                        }
+                    }
+                }
+
+                Arrays.sort(keys, 0, numKeys);
+
+                for (int i = 0; i < numKeys; i++) {
+                    if (i == 0 || keys[i] != keys[i - 1]) {
+                        addTransition(s, (int) (keys[i] >>> 32), (int) keys[i]);
+                    }
+                }
+            }
+        }
+
+        private static long key(int label, int target) {
+            return ((long) label << 32) | target;
+        }
+
+        private void addTransition(int source, int label, int target) {
+            if (numTransitions == newSources.length) {
+                final int newLength = 2 * numTransitions;
+                newSources = Arrays.copyOf(newSources, newLength);
+                newLabels = Arrays.copyOf(newLabels, newLength);
+                newTargets = Arrays.copyOf(newTargets, newLength);
+            }
+            newSources[numTransitions] = source;
+            newLabels[numTransitions] = label;
+            newTargets[numTransitions] = target;
+            numTransitions++;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.partitionrefinement;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
+import net.automatalib.commons.util.concurrent.ParallelRanges;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A signature-based partition refinement algorithm.
+ * <p>
+ * In contrast to the splitter-based approach of {@link PaigeTarjan}, this algorithm proceeds in rounds. In each round,
+ * the signature of every state, i.e., the tuple of its current block and the current blocks of all its successors, is
+ * computed and states with identical signatures form the blocks of the next round. The algorithm terminates once a
+ * round does not increase the number of blocks. As the signatures of a round can be computed independently of each
+ * other, each round is executed in parallel on a {@link ForkJoinPool}, using a concurrent hash map for re-partitioning.
+ * <p>
+ * While the worst-case number of rounds is linear in the number of states, each round only requires a single pass
+ * over the transitions, which makes this approach particularly suited for automata with large input alphabets.
+ * <p>
+ * Similar to {@link PaigeTarjan}, this class is designed in a low-level fashion and should only be used behind a
+ * facade. The computed partition can be translated to an automaton via {@link
+ * PaigeTarjanExtractors#toDeterministic(SignatureRefinement, net.automatalib.automata.AutomatonCreator,
+ * net.automatalib.words.Alphabet, SimpleDeterministicAutomaton.FullIntAbstraction, IntFunction,
+ * net.automatalib.commons.util.functions.BiIntFunction)}.
+ *
+ * @author frohme
+ */
+public class SignatureRefinement {
+
+    /**
+     * The number of states whose signatures are computed by a single task.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+    // the number of states (including a potential artificial sink)
+    private int numStates;
+    // the number of input symbols
+    private int numInputs;
+    // the successor table: the a-successor of state s is stored at index s * numInputs + a
+    private int[] successors;
+    // the (reachable) states that are subject to refinement
+    private int[] states;
+    // the current block of each state, or -1 if the state is unreachable
+    private int[] blockIds;
+    // the number of blocks of the current partition
+    private int numBlocks;
+
+    public SignatureRefinement() {
+        this.successors = new int[0];
+        this.states = new int[0];
+        this.blockIds = new int[0];
+    }
+
+    /**
+     * Initializes the data structure from a given deterministic automaton, initializing the initial partition according
+     * to the given classification function. Only states reachable from the initial state are considered.
+     * <p>
+     * This method can be used for automata with partially defined transition functions. Undefined transitions lead to
+     * an artificial sink (with the ID {@code absAutomaton.size()}), whose classification is given by {@code
+     * sinkClassification}. States are initially placed in the same block, if their classifications are equal.
+     *
+     * @param absAutomaton
+     *         the abstraction of the input automaton
+     * @param initialClassification
+     *         the initial classification function
+     * @param sinkClassification
+     *         determines how a sink is being classified.
+     *
+     * @see PaigeTarjanInitializers#initDeterministic(PaigeTarjan, SimpleDeterministicAutomaton.FullIntAbstraction,
+     * IntFunction, Object)
+     */
+    public void initDeterministic(SimpleDeterministicAutomaton.FullIntAbstraction absAutomaton,
+                                  IntFunction<?> initialClassification,
+                                  @Nullable Object sinkClassification) {
+
+        final int sinkId = absAutomaton.size();
+        final int numStatesWithSink = sinkId + 1;
+        final int numInputs = absAutomaton.numInputs();
+
+        final int[] successors = new int[numStatesWithSink * numInputs];
+        final int[] blockIds = new int[numStatesWithSink];
+        final int[] statesBuff = new int[numStatesWithSink];
+        final Map<@Nullable Object, Integer> blockMap = new HashMap<>();
+
+        Arrays.fill(blockIds, -1);
+        Arrays.fill(successors, sinkId * numInputs, numStatesWithSink * numInputs, sinkId);
+
+        final int init = absAutomaton.getIntInitialState();
+        blockIds[init] = 0;
+        blockMap.put(initialClassification.apply(init), 0);
+        statesBuff[0] = init;
+
+        int statesPtr = 0;
+        int reachableStates = 1;
+
+        while (statesPtr < reachableStates) {
+            final int curr = statesBuff[statesPtr++];
+            if (curr == sinkId) {
+                continue;
+            }
+
+            final int succBase = curr * numInputs;
+            for (int i = 0; i < numInputs; i++) {
+                final int succ = absAutomaton.getSuccessor(curr, i);
+                final int succId = succ < 0 ? sinkId : succ;
+                successors[succBase + i] = succId;
+
+                if (blockIds[succId] < 0) {
+                    final Object succClass = succ < 0 ? sinkClassification : initialClassification.apply(succ);
+                    blockIds[succId] = blockMap.computeIfAbsent(succClass, k -> blockMap.size());
+                    statesBuff[reachableStates++] = succId;
+                }
+            }
+        }
+
+        this.numStates = numStatesWithSink;
+        this.numInputs = numInputs;
+        this.successors = successors;
+        this.states = Arrays.copyOf(statesBuff, reachableStates);
+        this.blockIds = blockIds;
+        this.numBlocks = blockMap.size();
+    }
+
+    /**
+     * Refines the partition until it stabilizes, using the common {@link ForkJoinPool}.
+     *
+     * @see #computeCoarsestStablePartition(ForkJoinPool)
+     */
+    public void computeCoarsestStablePartition() {
+        computeCoarsestStablePartition(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Refines the partition until it stabilizes, computing the signatures of each round in parallel on the given pool.
+     *
+     * @param pool
+     *         the pool used for executing the signature computation tasks
+     */
+    public void computeCoarsestStablePartition(ForkJoinPool pool) {
+        final int numReachable = states.length;
+        final int numChunks = (numReachable + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        int[] nextBlockIds = new int[numStates];
+        Arrays.fill(nextBlockIds, -1);
+
+        while (true) {
+            final int[] currBlockIds = this.blockIds;
+            final int[] newBlockIds = nextBlockIds;
+            final Map<Signature, Integer> signatureMap = new ConcurrentHashMap<>(2 * numBlocks);
+            final AtomicInteger blockCounter = new AtomicInteger();
+
+            ParallelRanges.forEach(pool, 0, numChunks, 1, c -> {
+                final int high = Math.min((c + 1) * CHUNK_SIZE, numReachable);
+                for (int i = c * CHUNK_SIZE; i < high; i++) {
+                    final int state = states[i];
+                    final Signature sig = new Signature(state, currBlockIds);
+                    newBlockIds[state] = signatureMap.computeIfAbsent(sig, k -> blockCounter.getAndIncrement());
+                }
+            });
+
+            final int newNumBlocks = blockCounter.get();
+            this.blockIds = newBlockIds;
+            nextBlockIds = currBlockIds;
+
+            if (newNumBlocks == numBlocks) {
+                return;
+            }
+            numBlocks = newNumBlocks;
+        }
+    }
+
+    /**
+     * Retrieves the ID of the block containing the given state.
+     *
+     * @param state
+     *         the state ID
+     *
+     * @return the ID of the block containing the given state, or {@code -1} if the state is not reachable
+     */
+    public int getBlockId(int state) {
+        return blockIds[state];
+    }
+
+    /**
+     * Retrieves the total number of blocks.
+     *
+     * @return the total number of blocks
+     */
+    public int getNumBlocks() {
+        return numBlocks;
+    }
+
+    /**
+     * The signature of a state w.r.t. a fixed partition. Signatures do not copy any data but directly operate on the
+     * successor table and the (immutable during a round) block mapping.
+     */
+    private final class Signature {
+
+        private final int state;
+        private final int[] blocks;
+        private final int hash;
+
+        Signature(int state, int[] blocks) {
+            this.state = state;
+            this.blocks = blocks;
+
+            int h = blocks[state];
+            final int base = state * numInputs;
+            for (int i = 0; i < numInputs; i++) {
+                h = 31 * h + blocks[successors[base + i]];
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+
+            final Signature that = (Signature) o;
+            if (hash != that.hash || blocks[state] != blocks[that.state]) {
+                return false;
+            }
+
+            final int base = state * numInputs, thatBase = that.state * numInputs;
+            for (int i = 0; i < numInputs; i++) {
+                if (blocks[successors[base + i]] != blocks[successors[thatBase + i]]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
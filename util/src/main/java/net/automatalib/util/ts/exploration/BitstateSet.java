@@ -0,0 +1,88 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.exploration;
+
+/**
+ * A {@link VisitedSet} that stores fingerprints in a Bloom filter (bit-state hashing). The number of bits and hash
+ * functions is chosen such that, after inserting the expected number of states, a new state is wrongly reported as
+ * visited with (approximately) the configured false-positive rate.
+ *
+ * @author frohme
+ */
+final class BitstateSet implements VisitedSet {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final long numBits;
+    private final int numHashes;
+    private long size;
+
+    BitstateSet(long expectedSize, double falsePositiveRate) {
+        if (expectedSize <= 0) {
+            throw new IllegalArgumentException("Expected number of states must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be in (0, 1)");
+        }
+
+        final double optimalBits = -expectedSize * Math.log(falsePositiveRate) / (LN2 * LN2);
+        final long numWords = Math.max(1, (long) Math.ceil(optimalBits / Long.SIZE));
+
+        if (numWords > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Requested bit-state table is too large");
+        }
+
+        this.bits = new long[(int) numWords];
+        this.numBits = numWords * Long.SIZE;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedSize * LN2));
+    }
+
+    @Override
+    public boolean add(long hash1, long hash2) {
+        boolean added = false;
+        long hash = hash1;
+
+        // Kirsch-Mitzenmacher double hashing
+        for (int i = 0; i < numHashes; i++) {
+            final long bit = Math.floorMod(hash, numBits);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                added = true;
+            }
+            hash += hash2;
+        }
+
+        if (added) {
+            size++;
+        }
+
+        return added;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    @Override
+    public double getOmissionProbability() {
+        return Math.pow(-Math.expm1(-numHashes * (double) size / numBits), numHashes);
+    }
+}
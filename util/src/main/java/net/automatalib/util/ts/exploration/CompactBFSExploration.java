@@ -0,0 +1,294 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.exploration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import net.automatalib.ts.simple.SimpleTS;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A memory-efficient breadth-first exploration of (implicit) transition systems, such as {@link
+ * net.automatalib.ts.powerset.DirectPowersetDTS powerset views} or compositions.
+ * <p>
+ * In contrast to {@link net.automatalib.util.ts.traversal.TSTraversal} and {@link
+ * net.automatalib.util.ts.traversal.BFSOrderIterator}, this exploration does not keep references to state objects.
+ * Instead, states are serialized by a {@link StateCodec}:
+ * <ul>
+ * <li>Visited states are only represented by a fingerprint of their encoding. By default, 64-bit fingerprints are
+ * stored in a hash table (hash compaction, see {@link #withHashCompaction(int)}). Alternatively, fingerprints can be
+ * stored in a Bloom filter with a configurable false-positive rate (bit-state hashing, see {@link #withBitstate(long,
+ * double)}). Both representations may (with a small, reported probability) omit states.</li>
+ * <li>The frontier only holds the encoded states and can be spilled to temporary files once it exceeds a given size
+ * (see {@link #withFrontierLimit(int)}).</li>
+ * </ul>
+ * The settings of an instance can be set in a fluent interface-like manner via the {@code with...} methods. Each call
+ * to one of the {@code explore} methods performs a new, independent exploration and returns its {@link
+ * ExplorationStatistics statistics}.
+ *
+ * @param <S>
+ *         state type
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+public class CompactBFSExploration<S, I> {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final int DEFAULT_EXPECTED_STATES = 1 << 10;
+
+    private final SimpleTS<S, ? super I> ts;
+    private final Collection<? extends I> inputs;
+    private final StateCodec<S> codec;
+
+    private boolean bitstate;
+    private long expectedStates = DEFAULT_EXPECTED_STATES;
+    private double falsePositiveRate;
+    private int frontierLimit = Integer.MAX_VALUE;
+    private @Nullable Path spillDirectory;
+
+    /**
+     * Constructor.
+     *
+     * @param ts
+     *         the transition system to explore
+     * @param inputs
+     *         the inputs to consider for exploring successors
+     * @param codec
+     *         the codec for serializing states
+     */
+    public CompactBFSExploration(SimpleTS<S, ? super I> ts, Collection<? extends I> inputs, StateCodec<S> codec) {
+        this.ts = ts;
+        this.inputs = inputs;
+        this.codec = codec;
+    }
+
+    /**
+     * Stores visited states by means of hash compaction, i.e., as 64-bit fingerprints in a hash table, and returns
+     * {@code this}. This is the default.
+     *
+     * @param expectedStates
+     *         the expected number of states, used for pre-sizing the table
+     *
+     * @return {@code this}
+     */
+    public CompactBFSExploration<S, I> withHashCompaction(int expectedStates) {
+        this.bitstate = false;
+        this.expectedStates = expectedStates;
+        return this;
+    }
+
+    /**
+     * Stores visited states by means of bit-state hashing, i.e., in a Bloom filter, and returns {@code this}. The
+     * filter is sized such that after {@code expectedStates} states, a new state is wrongly considered as visited
+     * with a probability of (approximately) {@code falsePositiveRate}.
+     *
+     * @param expectedStates
+     *         the expected number of states
+     * @param falsePositiveRate
+     *         the false-positive rate, must be in (0, 1)
+     *
+     * @return {@code this}
+     */
+    public CompactBFSExploration<S, I> withBitstate(long expectedStates, double falsePositiveRate) {
+        this.bitstate = true;
+        this.expectedStates = expectedStates;
+        this.falsePositiveRate = falsePositiveRate;
+        return this;
+    }
+
+    /**
+     * Sets the number of frontier states that are kept in memory before spilling them to disk, and returns {@code
+     * this}. Note that up to twice this number of states may be kept in memory.
+     *
+     * @param frontierLimit
+     *         the maximum number of (in-memory) frontier states, {@link Integer#MAX_VALUE} disables spilling
+     *
+     * @return {@code this}
+     */
+    public CompactBFSExploration<S, I> withFrontierLimit(int frontierLimit) {
+        this.frontierLimit = frontierLimit;
+        return this;
+    }
+
+    /**
+     * Sets the directory for spilled frontier files, and returns {@code this}. If no directory is set, a temporary
+     * directory is created (and removed) for each exploration.
+     *
+     * @param spillDirectory
+     *         the directory for spilled frontier files
+     *
+     * @return {@code this}
+     */
+    public CompactBFSExploration<S, I> withSpillDirectory(Path spillDirectory) {
+        this.spillDirectory = Objects.requireNonNull(spillDirectory);
+        return this;
+    }
+
+    /**
+     * Explores all reachable states.
+     *
+     * @return the statistics of the exploration
+     */
+    public ExplorationStatistics explore() {
+        return explore(-1, s -> true);
+    }
+
+    /**
+     * Explores all reachable states, passing each of them (in breadth-first order) to the given visitor.
+     *
+     * @param visitor
+     *         the visitor, returning {@code false} to abort the exploration
+     *
+     * @return the statistics of the exploration
+     */
+    public ExplorationStatistics explore(Predicate<? super S> visitor) {
+        return explore(-1, visitor);
+    }
+
+    /**
+     * Explores (at most {@code limit}) reachable states, passing each of them (in breadth-first order) to the given
+     * visitor.
+     *
+     * @param limit
+     *         the maximum number of states to explore, or a negative value for no limit
+     * @param visitor
+     *         the visitor, returning {@code false} to abort the exploration
+     *
+     * @return the statistics of the exploration
+     */
+    public ExplorationStatistics explore(int limit, Predicate<? super S> visitor) {
+        final VisitedSet visited = bitstate ?
+                new BitstateSet(expectedStates, falsePositiveRate) :
+                new HashCompactionSet((int) Math.min(expectedStates, Integer.MAX_VALUE));
+
+        try (SpillingFrontier frontier = new SpillingFrontier(frontierLimit, spillDirectory)) {
+            final Encoder encoder = new Encoder();
+
+            long numStates = 0;
+            long numTransitions = 0;
+            int depth = 0;
+            long remainingInLevel = 0;
+            long nextLevelSize = 0;
+            boolean complete = true;
+
+            for (S init : ts.getInitialStates()) {
+                if (numStates == limit) {
+                    complete = false;
+                    break;
+                }
+                final byte[] encoded = encoder.encodeIfNew(init, visited);
+                if (encoded != null) {
+                    frontier.add(encoded);
+                    numStates++;
+                    remainingInLevel++;
+                }
+            }
+
+            explore_loop:
+            while (!frontier.isEmpty()) {
+                if (remainingInLevel == 0) {
+                    depth++;
+                    remainingInLevel = nextLevelSize;
+                    nextLevelSize = 0;
+                }
+
+                @SuppressWarnings("nullness") // frontier is non-empty
+                final byte[] encoded = frontier.poll();
+                final S state = decode(encoded);
+                remainingInLevel--;
+
+                if (!visitor.test(state)) {
+                    complete = false;
+                    break;
+                }
+
+                for (I input : inputs) {
+                    for (S succ : ts.getSuccessors(state, input)) {
+                        numTransitions++;
+
+                        final byte[] encodedSucc = encoder.encodeIfNew(succ, visited);
+                        if (encodedSucc != null) {
+                            if (numStates == limit) {
+                                complete = false;
+                                break explore_loop;
+                            }
+                            frontier.add(encodedSucc);
+                            numStates++;
+                            nextLevelSize++;
+                        }
+                    }
+                }
+            }
+
+            return new ExplorationStatistics(numStates,
+                                             numTransitions,
+                                             depth,
+                                             frontier.getMaxSize(),
+                                             frontier.getNumSpilledStates(),
+                                             frontier.getNumSpillFiles(),
+                                             visited.getMemoryBytes(),
+                                             visited.getOmissionProbability(),
+                                             complete);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private S decode(byte[] encoded) {
+        try {
+            return codec.decode(new DataInputStream(new ByteArrayInputStream(encoded)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encodes states into a re-used buffer and only copies the encoding if the state has not been visited before.
+     */
+    private final class Encoder extends ByteArrayOutputStream {
+
+        private final DataOutputStream out = new DataOutputStream(this);
+
+        byte @Nullable [] encodeIfNew(S state, VisitedSet visited) throws IOException {
+            reset();
+            codec.encode(state, out);
+            out.flush();
+
+            final ByteBuffer hash = ByteBuffer.wrap(HASH_FUNCTION.hashBytes(buf, 0, count).asBytes());
+
+            if (visited.add(hash.getLong(), hash.getLong())) {
+                return Arrays.copyOf(buf, count);
+            }
+
+            return null;
+        }
+    }
+}
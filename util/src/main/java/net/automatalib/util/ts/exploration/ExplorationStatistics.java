@@ -0,0 +1,147 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.exploration;
+
+/**
+ * Coverage statistics of a {@link CompactBFSExploration}.
+ *
+ * @author frohme
+ */
+public final class ExplorationStatistics {
+
+    private final long numStates;
+    private final long numTransitions;
+    private final int depth;
+    private final long maxFrontierSize;
+    private final long numSpilledStates;
+    private final int numSpillFiles;
+    private final long visitedSetBytes;
+    private final double omissionProbability;
+    private final boolean complete;
+
+    ExplorationStatistics(long numStates,
+                          long numTransitions,
+                          int depth,
+                          long maxFrontierSize,
+                          long numSpilledStates,
+                          int numSpillFiles,
+                          long visitedSetBytes,
+                          double omissionProbability,
+                          boolean complete) {
+        this.numStates = numStates;
+        this.numTransitions = numTransitions;
+        this.depth = depth;
+        this.maxFrontierSize = maxFrontierSize;
+        this.numSpilledStates = numSpilledStates;
+        this.numSpillFiles = numSpillFiles;
+        this.visitedSetBytes = visitedSetBytes;
+        this.omissionProbability = omissionProbability;
+        this.complete = complete;
+    }
+
+    /**
+     * Returns the number of (distinct) states that have been stored in the visited set.
+     *
+     * @return the number of visited states
+     */
+    public long getNumStates() {
+        return numStates;
+    }
+
+    /**
+     * Returns the number of transitions that have been explored.
+     *
+     * @return the number of explored transitions
+     */
+    public long getNumTransitions() {
+        return numTransitions;
+    }
+
+    /**
+     * Returns the number of BFS levels below the initial states that have been (at least partially) explored.
+     *
+     * @return the exploration depth
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the maximum number of states in the frontier, including spilled states.
+     *
+     * @return the maximum frontier size
+     */
+    public long getMaxFrontierSize() {
+        return maxFrontierSize;
+    }
+
+    /**
+     * Returns the number of frontier states that have been written to disk.
+     *
+     * @return the number of spilled states
+     */
+    public long getNumSpilledStates() {
+        return numSpilledStates;
+    }
+
+    /**
+     * Returns the number of files the frontier has been spilled to.
+     *
+     * @return the number of spill files
+     */
+    public int getNumSpillFiles() {
+        return numSpillFiles;
+    }
+
+    /**
+     * Returns the number of bytes occupied by the visited set.
+     *
+     * @return the size of the visited set in bytes
+     */
+    public long getVisitedSetBytes() {
+        return visitedSetBytes;
+    }
+
+    /**
+     * Returns an estimate of the probability that a reachable state has been omitted due to the lossy storage of
+     * visited states. For hash compaction, this is the probability of (at least) one fingerprint collision among the
+     * visited states. For bit-state hashing, this is the probability that a new state is wrongly reported as visited at
+     * the end of the exploration.
+     *
+     * @return the estimated omission probability
+     */
+    public double getOmissionProbability() {
+        return omissionProbability;
+    }
+
+    /**
+     * Returns whether the exploration has processed all reachable states (modulo omissions), i.e., it has neither been
+     * aborted by the visitor nor reached the state limit.
+     *
+     * @return {@code true} if the exploration is complete, {@code false} otherwise
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        return "ExplorationStatistics{" + "numStates=" + numStates + ", numTransitions=" + numTransitions +
+               ", depth=" + depth + ", maxFrontierSize=" + maxFrontierSize + ", numSpilledStates=" +
+               numSpilledStates + ", numSpillFiles=" + numSpillFiles + ", visitedSetBytes=" + visitedSetBytes +
+               ", omissionProbability=" + omissionProbability + ", complete=" + complete + '}';
+    }
+}
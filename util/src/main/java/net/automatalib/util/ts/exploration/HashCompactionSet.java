@@ -0,0 +1,105 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.exploration;
+
+/**
+ * A {@link VisitedSet} that stores 64-bit fingerprints in an open-addressing hash table (hash compaction). Two states
+ * are only confused if their fingerprints collide.
+ *
+ * @author frohme
+ */
+final class HashCompactionSet implements VisitedSet {
+
+    private static final double TWO_TO_64 = 0x1.0p64;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] table;
+    private int size;
+    private boolean containsZero;
+
+    HashCompactionSet(int expectedSize) {
+        final int clamped = Math.min(Math.max(expectedSize, 8), MAX_CAPACITY >>> 1);
+        this.table = new long[Integer.highestOneBit(clamped - 1) << 2];
+    }
+
+    @Override
+    public boolean add(long hash1, long hash2) {
+        if (hash1 == 0) {
+            // 0 marks empty slots
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        if (size >= table.length - 1) {
+            throw new IllegalStateException("Hash compaction table is full");
+        }
+
+        if (!insert(table, hash1)) {
+            return false;
+        }
+
+        if (++size > table.length >>> 1 && table.length < MAX_CAPACITY) {
+            grow();
+        }
+
+        return true;
+    }
+
+    private static boolean insert(long[] table, long fingerprint) {
+        final int mask = table.length - 1;
+        int idx = mix(fingerprint) & mask;
+
+        while (table[idx] != 0) {
+            if (table[idx] == fingerprint) {
+                return false;
+            }
+            idx = (idx + 1) & mask;
+        }
+
+        table[idx] = fingerprint;
+        return true;
+    }
+
+    private static int mix(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32));
+    }
+
+    private void grow() {
+        final long[] newTable = new long[table.length << 1];
+        for (long fingerprint : table) {
+            if (fingerprint != 0) {
+                insert(newTable, fingerprint);
+            }
+        }
+        this.table = newTable;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    @Override
+    public double getOmissionProbability() {
+        // probability that (at least) two of the stored states share a fingerprint (birthday bound)
+        final double pairs = (double) size * (size - 1) / 2;
+        return -Math.expm1(-pairs / TWO_TO_64);
+    }
+}
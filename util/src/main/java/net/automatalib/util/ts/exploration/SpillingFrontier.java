@@ -0,0 +1,170 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.exploration;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A FIFO queue of encoded states that moves its elements to temporary files once too many of them are kept in memory.
+ * <p>
+ * Elements are appended to an in-memory tail segment. If this segment reaches the configured size, it is written to a
+ * new file. Elements are polled from an in-memory head segment which is refilled from the oldest file (or, if no files
+ * exist, by the tail segment). Hence, at most twice the configured number of elements are kept in memory.
+ *
+ * @author frohme
+ */
+final class SpillingFrontier implements Closeable {
+
+    private final int maxSegmentSize;
+    private final @Nullable Path spillDirectory;
+    private @Nullable Path tempDirectory;
+
+    private ArrayDeque<byte[]> head;
+    private ArrayDeque<byte[]> tail;
+    private final Deque<Path> segments;
+
+    private long size;
+    private long maxSize;
+    private long numSpilledStates;
+    private int numSpillFiles;
+
+    SpillingFrontier(int maxSegmentSize, @Nullable Path spillDirectory) {
+        if (maxSegmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        this.maxSegmentSize = maxSegmentSize;
+        this.spillDirectory = spillDirectory;
+        this.head = new ArrayDeque<>();
+        this.tail = new ArrayDeque<>();
+        this.segments = new ArrayDeque<>();
+    }
+
+    void add(byte[] element) {
+        tail.add(element);
+        size++;
+        maxSize = Math.max(maxSize, size);
+
+        if (tail.size() >= maxSegmentSize) {
+            spill();
+        }
+    }
+
+    byte @Nullable [] poll() {
+        if (head.isEmpty()) {
+            final Path segment = segments.poll();
+            if (segment != null) {
+                load(segment);
+            } else {
+                final ArrayDeque<byte[]> tmp = head;
+                head = tail;
+                tail = tmp;
+            }
+        }
+
+        final byte[] result = head.poll();
+        if (result != null) {
+            size--;
+        }
+        return result;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long getMaxSize() {
+        return maxSize;
+    }
+
+    long getNumSpilledStates() {
+        return numSpilledStates;
+    }
+
+    int getNumSpillFiles() {
+        return numSpillFiles;
+    }
+
+    private void spill() {
+        try {
+            final Path file = Files.createTempFile(getDirectory(), "frontier", ".bin");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                out.writeInt(tail.size());
+                for (byte[] element : tail) {
+                    out.writeInt(element.length);
+                    out.write(element);
+                }
+            }
+
+            segments.add(file);
+            numSpilledStates += tail.size();
+            numSpillFiles++;
+            tail.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void load(Path file) {
+        try {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final byte[] element = new byte[in.readInt()];
+                    in.readFully(element);
+                    head.add(element);
+                }
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path getDirectory() throws IOException {
+        if (spillDirectory != null) {
+            return spillDirectory;
+        }
+        if (tempDirectory == null) {
+            tempDirectory = Files.createTempDirectory("automatalib-frontier");
+        }
+        return tempDirectory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Path segment : segments) {
+            Files.deleteIfExists(segment);
+        }
+        segments.clear();
+
+        if (tempDirectory != null) {
+            Files.deleteIfExists(tempDirectory);
+            tempDirectory = null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.exploration;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A (de-)serializer for the states of a transition system. The serialized form of a state is used both for computing
+ * its fingerprint and for storing it in (spilled) frontiers of a {@link CompactBFSExploration}. Therefore, equal states
+ * must have identical encodings and {@link #decode(DataInput)} has to reconstruct a state that is equal to the encoded
+ * one.
+ *
+ * @param <S>
+ *         state type
+ *
+ * @author frohme
+ * @see StateCodecs
+ */
+public interface StateCodec<S> {
+
+    /**
+     * Writes the (canonical) serialized form of the given state to the given output.
+     *
+     * @param state
+     *         the state to encode
+     * @param out
+     *         the output to write to
+     *
+     * @throws IOException
+     *         if writing to the output fails
+     */
+    void encode(S state, DataOutput out) throws IOException;
+
+    /**
+     * Reads a state from the given input, that has previously been written by {@link #encode(Object, DataOutput)}.
+     *
+     * @param in
+     *         the input to read from
+     *
+     * @return the decoded state
+     *
+     * @throws IOException
+     *         if reading from the input fails
+     */
+    S decode(DataInput in) throws IOException;
+}
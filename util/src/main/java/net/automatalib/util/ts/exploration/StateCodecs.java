@@ -0,0 +1,109 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.exploration;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import net.automatalib.automata.concepts.StateIDs;
+
+/**
+ * Factory methods for commonly used {@link StateCodec}s.
+ *
+ * @author frohme
+ */
+public final class StateCodecs {
+
+    private StateCodecs() {}
+
+    /**
+     * Returns a codec for integer states, e.g., the states of compact automata such as {@link
+     * net.automatalib.automata.fsa.impl.compact.CompactDFA}.
+     *
+     * @return a codec for integer states
+     */
+    public static StateCodec<Integer> integers() {
+        return IntegerCodec.INSTANCE;
+    }
+
+    /**
+     * Returns a codec for sets of states of an automaton, e.g., the states of a {@link
+     * net.automatalib.ts.powerset.DirectPowersetDTS powerset view} of an NFA. Sets are encoded by the sorted {@link
+     * StateIDs IDs} of their elements and decoded into {@link HashSet}s.
+     *
+     * @param stateIDs
+     *         the state IDs of the automaton
+     * @param <S>
+     *         state type
+     *
+     * @return a codec for sets of states
+     */
+    public static <S> StateCodec<Set<S>> stateSets(StateIDs<S> stateIDs) {
+        return new StateSetCodec<>(stateIDs);
+    }
+
+    private enum IntegerCodec implements StateCodec<Integer> {
+        INSTANCE;
+
+        @Override
+        public void encode(Integer state, DataOutput out) throws IOException {
+            out.writeInt(state);
+        }
+
+        @Override
+        public Integer decode(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    }
+
+    private static final class StateSetCodec<S> implements StateCodec<Set<S>> {
+
+        private final StateIDs<S> stateIDs;
+
+        StateSetCodec(StateIDs<S> stateIDs) {
+            this.stateIDs = stateIDs;
+        }
+
+        @Override
+        public void encode(Set<S> state, DataOutput out) throws IOException {
+            final int[] ids = new int[state.size()];
+            int i = 0;
+            for (S s : state) {
+                ids[i++] = stateIDs.getStateId(s);
+            }
+            Arrays.sort(ids);
+
+            out.writeInt(ids.length);
+            for (int id : ids) {
+                out.writeInt(id);
+            }
+        }
+
+        @Override
+        public Set<S> decode(DataInput in) throws IOException {
+            final int size = in.readInt();
+            final Set<S> result = new HashSet<>((int) (size / 0.75f) + 1);
+            for (int i = 0; i < size; i++) {
+                result.add(stateIDs.getState(in.readInt()));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.exploration;
+
+/**
+ * A set of state fingerprints. Implementations may trade exactness for memory, i.e., {@link #add(long, long)} may
+ * (with a small probability) report a state as already visited although it has not been added before.
+ *
+ * @author frohme
+ */
+interface VisitedSet {
+
+    /**
+     * Adds the fingerprint given by the two (independent) hash values.
+     *
+     * @param hash1
+     *         the first hash value of the state
+     * @param hash2
+     *         the second hash value of the state
+     *
+     * @return {@code true} if the fingerprint has not been contained in this set before, {@code false} otherwise
+     */
+    boolean add(long hash1, long hash2);
+
+    /**
+     * Returns the number of bytes occupied by the internal data structures of this set.
+     *
+     * @return the number of occupied bytes
+     */
+    long getMemoryBytes();
+
+    /**
+     * Returns an estimate of the probability that a state has been wrongly reported as already visited, given the
+     * current number of stored fingerprints.
+     *
+     * @return the estimated probability of omitting a state
+     */
+    double getOmissionProbability();
+}
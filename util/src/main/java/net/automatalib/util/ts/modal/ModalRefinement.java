@@ -15,16 +15,20 @@
  */
 package net.automatalib.util.ts.modal;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
-import java.util.function.BiPredicate;
 
 import com.google.common.collect.Sets;
+import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.commons.util.fixpoint.PairRelations;
+import net.automatalib.commons.util.fixpoint.WorklistSolver;
 import net.automatalib.ts.modal.ModalTransitionSystem;
 import net.automatalib.ts.modal.transition.ModalEdgeProperty;
-import net.automatalib.ts.modal.transition.ModalEdgeProperty.ModalType;
 
 public final class ModalRefinement {
 
@@ -32,105 +36,116 @@ public final class ModalRefinement {
         // do not instantiate
     }
 
-    private static <BS, I, BT, BTP extends ModalEdgeProperty> Set<BT> partnerTransitions(ModalTransitionSystem<BS, I, BT, BTP> b,
-                                                                                         BS source,
-                                                                                         I input,
-                                                                                         Set<ModalType> acceptableValues) {
+    /**
+     * Computes the (greatest) refinement relation between the states of the given implementation and specification.
+     * <p>
+     * States are abstracted to their {@link ModalTransitionSystem#stateIDs() state IDs} and the relation is
+     * represented as a bitset over pairs of state IDs. Starting from the full relation, pairs are removed by means of
+     * a {@link WorklistSolver}, which only re-checks a pair if the relation has changed for a pair of its successors.
+     *
+     * @param implementation
+     *         the implementation
+     * @param specification
+     *         the specification
+     * @param inputs
+     *         the inputs to consider
+     * @param <AS>
+     *         the state type of the implementation
+     * @param <BS>
+     *         the state type of the specification
+     * @param <I>
+     *         the input type
+     *
+     * @return the set of pairs {@code (implementation state, specification state)} of the refinement relation
+     */
+    public static <AS, BS, I> Set<Pair<AS, BS>> refinementRelation(ModalTransitionSystem<AS, I, ?, ?> implementation,
+                                                                   ModalTransitionSystem<BS, I, ?, ?> specification,
+                                                                   Collection<I> inputs) {
 
-        Set<BT> coTransitions = Sets.newHashSetWithExpectedSize(b.getInputAlphabet().size());
+        final List<I> labels = new ArrayList<>(inputs);
+        final int numLabels = labels.size();
+        final int numImpl = implementation.size();
+        final int numSpec = specification.size();
+        final int numPairs = Math.multiplyExact(numImpl, numSpec);
 
-        for (BT candidateTransition : b.getTransitions(source, input)) {
-            BTP property = b.getTransitionProperty(candidateTransition);
+        // successors via may (i.e. may or must) and via must transitions, indexed by (state * numLabels + label)
+        final int[][] implMay = new int[numImpl * numLabels][];
+        final int[][] implMust = new int[numImpl * numLabels][];
+        final int[][] specMay = new int[numSpec * numLabels][];
+        final int[][] specMust = new int[numSpec * numLabels][];
 
-            if (property != null && acceptableValues.contains(property.getType())) {
-                coTransitions.add(candidateTransition);
-            }
-        }
+        toArrays(implementation, labels, implMay, implMust);
+        toArrays(specification, labels, specMay, specMust);
 
-        return coTransitions;
-    }
+        // the eligibility of a pair only depends on pairs of may-successors with the same label
+        final int[][] implPreds = PairRelations.predecessors(implMay, numImpl, numLabels);
+        final int[][] specPreds = PairRelations.predecessors(specMay, numSpec, numLabels);
 
-    private static <AS, I, AT, BS, BT> boolean eligiblePartner(ModalTransitionSystem<AS, I, AT, ?> a,
-                                                               ModalTransitionSystem<BS, I, BT, ?> b,
-                                                               Collection<I> inputs,
-                                                               BiPredicate<AS, BS> inRefinementRelation,
-                                                               AS source,
-                                                               BS coSource,
-                                                               Set<ModalType> acceptableValues) {
-
-        for (I label : inputs) {
-            for (AT transition : a.getTransitions(source, label)) {
-                if (!acceptableValues.contains(a.getTransitionProperty(transition).getType())) {
-                    continue;
-                }
+        // lower approximation only correct if automaton is finite (image-finite)
+        final BitSet refinement = new BitSet(numPairs);
+        refinement.set(0, numPairs);
+
+        WorklistSolver.solve(numPairs, pair -> {
+            final int p = pair / numSpec;
+            final int q = pair % numSpec;
+
+            if (refinement.get(pair) &&
+                (!PairRelations.isMatched(implMay, specMay, p, q, numLabels, refinement, numSpec, false) ||
+                 !PairRelations.isMatched(specMust, implMust, q, p, numLabels, refinement, numSpec, true))) {
+                refinement.clear(pair);
+                return true;
+            }
 
-                Set<BT> partnerTransitions = partnerTransitions(b, coSource, label, acceptableValues);
+            return false;
+        }, PairRelations.dependents(implPreds, specPreds, numSpec, numLabels));
 
-                AS target = a.getSuccessor(transition);
-                final boolean eligiblePartner = partnerTransitions.stream()
-                                                                  .map(b::getSuccessor)
-                                                                  .anyMatch(s -> inRefinementRelation.test(target, s));
+        final StateIDs<AS> implIDs = implementation.stateIDs();
+        final StateIDs<BS> specIDs = specification.stateIDs();
+        final Set<Pair<AS, BS>> result = Sets.newHashSetWithExpectedSize(refinement.cardinality());
 
-                if (!eligiblePartner) {
-                    return false;
-                }
-            }
+        for (int pair = refinement.nextSetBit(0); pair >= 0; pair = refinement.nextSetBit(pair + 1)) {
+            result.add(Pair.of(implIDs.getState(pair / numSpec), specIDs.getState(pair % numSpec)));
         }
 
-        return true;
+        return result;
     }
 
-    public static <AS, BS, I> Set<Pair<AS, BS>> refinementRelation(ModalTransitionSystem<AS, I, ?, ?> implementation,
-                                                                   ModalTransitionSystem<BS, I, ?, ?> specification,
-                                                                   Collection<I> inputs) {
-
-        Set<Pair<AS, BS>> refinement = Sets.newHashSetWithExpectedSize(implementation.size() * specification.size());
-
-        // lower approximation only correct if automaton is finite (image-finite)
-        for (AS p : implementation.getStates()) {
-            for (BS q : specification.getStates()) {
-                refinement.add(Pair.of(p, q));
-            }
-        }
-
-        Set<ModalEdgeProperty.ModalType> may = Sets.newHashSetWithExpectedSize(2);
-        may.add(ModalType.MAY);
-        may.add(ModalType.MUST);
-
-        Set<ModalType> must = Sets.newHashSetWithExpectedSize(1);
-        must.add(ModalType.MUST);
-
-        boolean update = true;
-        while (update) {
-            update = false;
-
-            Iterator<Pair<AS, BS>> iterator = refinement.iterator();
-            while (iterator.hasNext()) {
-                Pair<AS, BS> pair = iterator.next();
-
-                boolean eligiblePartner = eligiblePartner(implementation,
-                                                          specification,
-                                                          inputs,
-                                                          (s, t) -> refinement.contains(Pair.of(s, t)),
-                                                          pair.getFirst(),
-                                                          pair.getSecond(),
-                                                          may);
-
-                eligiblePartner &= eligiblePartner(specification,
-                                                   implementation,
-                                                   inputs,
-                                                   (s, t) -> refinement.contains(Pair.of(t, s)),
-                                                   pair.getSecond(),
-                                                   pair.getFirst(),
-                                                   must);
-
-                if (!eligiblePartner) {
-                    update = true;
-                    iterator.remove();
+    private static <S, I, T> void toArrays(ModalTransitionSystem<S, I, T, ?> mts,
+                                           List<I> labels,
+                                           int[][] may,
+                                           int[][] must) {
+        final StateIDs<S> stateIDs = mts.stateIDs();
+        final int numLabels = labels.size();
+        int[] mayBuffer = new int[16];
+        int[] mustBuffer = new int[16];
+
+        for (int id = 0; id < mts.size(); id++) {
+            final S state = stateIDs.getState(id);
+
+            for (int l = 0; l < numLabels; l++) {
+                int numMay = 0;
+                int numMust = 0;
+
+                for (T transition : mts.getTransitions(state, labels.get(l))) {
+                    final ModalEdgeProperty property = mts.getTransitionProperty(transition);
+                    final int succ = stateIDs.getStateId(mts.getSuccessor(transition));
+
+                    if (numMay == mayBuffer.length) {
+                        mayBuffer = Arrays.copyOf(mayBuffer, numMay * 2);
+                    }
+                    mayBuffer[numMay++] = succ;
+
+                    if (property.isMust()) {
+                        if (numMust == mustBuffer.length) {
+                            mustBuffer = Arrays.copyOf(mustBuffer, numMust * 2);
+                        }
+                        mustBuffer[numMust++] = succ;
+                    }
                 }
+
+                may[id * numLabels + l] = Arrays.copyOf(mayBuffer, numMay);
+                must[id * numLabels + l] = Arrays.copyOf(mustBuffer, numMust);
             }
         }
-
-        return refinement;
     }
 }
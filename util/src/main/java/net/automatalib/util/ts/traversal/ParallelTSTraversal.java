@@ -0,0 +1,295 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.traversal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.automata.graphs.StateAsNodeIDs;
+import net.automatalib.automata.simple.SimpleAutomaton;
+import net.automatalib.commons.util.Holder;
+import net.automatalib.commons.util.concurrent.ConcurrentBitSet;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.IndefiniteGraph;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.ts.TransitionSystem;
+import net.automatalib.util.graphs.traversal.GraphTraversalAction;
+import net.automatalib.util.graphs.traversal.GraphTraversalVisitor;
+import net.automatalib.util.graphs.traversal.ParallelGraphTraversal;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A level-synchronous, parallel breadth-first traversal of {@link TransitionSystem}s.
+ * <p>
+ * The traversal is delegated to {@link ParallelGraphTraversal}, operating on a (lazy) graph view of the transition
+ * system whose edges are the transitions for the given inputs. In contrast to {@link TSTraversal}, the traversal
+ * itself keeps track of the visited states, i.e., each state is explored at most once, even if the visitor returns
+ * {@link TSTraversalAction#EXPLORE} for multiple transitions leading to it. For {@link SimpleAutomaton}s, visited
+ * states are stored in a {@link ConcurrentBitSet} over their {@link SimpleAutomaton#stateIDs() IDs}; for all other
+ * transition systems, a concurrent hash set is used.
+ * <p>
+ * <b>Visitor contract:</b> {@link TSTraversalVisitor#processInitial(Object, Holder) processInitial} is only invoked by
+ * the calling thread. {@link TSTraversalVisitor#startExploration(Object, Object) startExploration} and {@link
+ * TSTraversalVisitor#processTransition(Object, Object, Object, Object, Object, Holder) processTransition} are invoked
+ * concurrently for the states of the same level, so the visitor has to be thread-safe. All invocations for the states
+ * of one level happen-before the invocations for the states of the next level.
+ * <p>
+ * <b>Ordering:</b> See {@link ParallelGraphTraversal}.
+ *
+ * @author frohme
+ * @see TSTraversal
+ */
+public final class ParallelTSTraversal {
+
+    private ParallelTSTraversal() {}
+
+    public static <S, I, T, D> boolean breadthFirst(TransitionSystem<S, ? super I, T> ts,
+                                                    Collection<? extends I> inputs,
+                                                    TSTraversalVisitor<S, I, T, D> vis,
+                                                    ForkJoinPool pool) {
+        return breadthFirst(ts, TSTraversal.NO_LIMIT, inputs, vis, pool, false);
+    }
+
+    /**
+     * Traverses the given transition system in a (level-synchronous) breadth-first fashion, using the given pool. The
+     * traversal is steered by the specified visitor.
+     *
+     * @param ts
+     *         the transition system
+     * @param limit
+     *         the maximum number of explored states, or {@link TSTraversal#NO_LIMIT}
+     * @param inputs
+     *         the input alphabet
+     * @param vis
+     *         the (thread-safe) visitor
+     * @param pool
+     *         the pool to expand the levels in
+     * @param deterministic
+     *         whether the explored states and their order should be independent of the scheduling of the tasks
+     *
+     * @return {@code false} if the traversal has been aborted due to reaching the limit, {@code true} otherwise
+     */
+    public static <S, I, T, D> boolean breadthFirst(TransitionSystem<S, ? super I, T> ts,
+                                                    int limit,
+                                                    Collection<? extends I> inputs,
+                                                    TSTraversalVisitor<S, I, T, D> vis,
+                                                    ForkJoinPool pool,
+                                                    boolean deterministic) {
+        final TSGraphView<S, I, T> graph;
+
+        if (ts instanceof SimpleAutomaton) {
+            @SuppressWarnings("unchecked")
+            final SimpleAutomaton<S, ?> automaton = (SimpleAutomaton<S, ?>) ts;
+            graph = new AutomatonGraphView<>(ts, inputs, automaton);
+        } else {
+            graph = new TSGraphView<>(ts, inputs);
+        }
+
+        final Collection<S> initialStates = ts.getInitialStates();
+        final GraphVisitor<S, I, T, D> graphVis = new GraphVisitor<>(vis);
+
+        return ParallelGraphTraversal.breadthFirst(graph, limit, initialStates, graphVis, pool, deterministic);
+    }
+
+    /**
+     * A graph view of a transition system, whose edges are the transitions for a given collection of inputs. Edges
+     * are generated lazily, so that the remaining transitions of an input can be skipped.
+     */
+    private static class TSGraphView<S, I, T> implements IndefiniteGraph<S, TSEdge<S, I, T>> {
+
+        private final TransitionSystem<S, ? super I, T> ts;
+        private final Collection<? extends I> inputs;
+
+        TSGraphView(TransitionSystem<S, ? super I, T> ts, Collection<? extends I> inputs) {
+            this.ts = ts;
+            this.inputs = inputs;
+        }
+
+        @Override
+        public Iterator<TSEdge<S, I, T>> outgoingEdgesIterator(S node) {
+            return new EdgeIterator<>(ts, node, inputs.iterator());
+        }
+
+        @Override
+        public Collection<TSEdge<S, I, T>> getOutgoingEdges(S node) {
+            final List<TSEdge<S, I, T>> result = new ArrayList<>();
+            outgoingEdgesIterator(node).forEachRemaining(result::add);
+            return result;
+        }
+
+        @Override
+        public S getTarget(TSEdge<S, I, T> edge) {
+            return edge.succ;
+        }
+    }
+
+    /**
+     * A (finite) graph view of an automaton, which allows to store the visited states in a bit set.
+     */
+    private static final class AutomatonGraphView<S, I, T> extends TSGraphView<S, I, T>
+            implements Graph<S, TSEdge<S, I, T>> {
+
+        private final SimpleAutomaton<S, ?> automaton;
+
+        AutomatonGraphView(TransitionSystem<S, ? super I, T> ts,
+                           Collection<? extends I> inputs,
+                           SimpleAutomaton<S, ?> automaton) {
+            super(ts, inputs);
+            this.automaton = automaton;
+        }
+
+        @Override
+        public Collection<S> getNodes() {
+            return automaton.getStates();
+        }
+
+        @Override
+        public int size() {
+            return automaton.size();
+        }
+
+        @Override
+        public NodeIDs<S> nodeIDs() {
+            return new StateAsNodeIDs<>(automaton.stateIDs());
+        }
+    }
+
+    private static final class TSEdge<S, I, T> {
+
+        private final EdgeIterator<S, I, T> source;
+        private final I input;
+        private final T transition;
+        private final S succ;
+
+        TSEdge(EdgeIterator<S, I, T> source, I input, T transition, S succ) {
+            this.source = source;
+            this.input = input;
+            this.transition = transition;
+            this.succ = succ;
+        }
+    }
+
+    /**
+     * Iterates over the transitions of a single state. Since an iterator is only used by the thread expanding its
+     * state, skipping the transitions of the current input (see {@link #skipInput()}) requires no synchronization.
+     */
+    private static final class EdgeIterator<S, I, T> implements Iterator<TSEdge<S, I, T>> {
+
+        private final TransitionSystem<S, ? super I, T> ts;
+        private final S state;
+        private final Iterator<? extends I> inputIt;
+
+        private @Nullable I input;
+        private Iterator<T> transIt = Collections.emptyIterator();
+
+        EdgeIterator(TransitionSystem<S, ? super I, T> ts, S state, Iterator<? extends I> inputIt) {
+            this.ts = ts;
+            this.state = state;
+            this.inputIt = inputIt;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!transIt.hasNext()) {
+                if (!inputIt.hasNext()) {
+                    return false;
+                }
+                input = inputIt.next();
+                transIt = ts.getTransitions(state, input).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public TSEdge<S, I, T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T trans = transIt.next();
+            return new TSEdge<>(this, input, trans, ts.getSuccessor(trans));
+        }
+
+        void skipInput() {
+            transIt = Collections.emptyIterator();
+        }
+    }
+
+    /**
+     * Adapts a {@link TSTraversalVisitor} to the {@link GraphTraversalVisitor} interface of the graph view.
+     */
+    private static final class GraphVisitor<S, I, T, D> implements GraphTraversalVisitor<S, TSEdge<S, I, T>, D> {
+
+        private final TSTraversalVisitor<S, I, T, D> vis;
+
+        GraphVisitor(TSTraversalVisitor<S, I, T, D> vis) {
+            this.vis = vis;
+        }
+
+        @Override
+        public GraphTraversalAction processInitial(S initialNode, Holder<D> outData) {
+            switch (vis.processInitial(initialNode, outData)) {
+                case EXPLORE:
+                    return GraphTraversalAction.EXPLORE;
+                case ABORT_TRAVERSAL:
+                    return GraphTraversalAction.ABORT_TRAVERSAL;
+                default:
+                    return GraphTraversalAction.IGNORE;
+            }
+        }
+
+        @Override
+        public boolean startExploration(S node, D data) {
+            return vis.startExploration(node, data);
+        }
+
+        @Override
+        public void finishExploration(S node, D inData) {}
+
+        @Override
+        public GraphTraversalAction processEdge(S srcNode,
+                                                D srcData,
+                                                TSEdge<S, I, T> edge,
+                                                S tgtNode,
+                                                Holder<D> outData) {
+            final TSTraversalAction act =
+                    vis.processTransition(srcNode, srcData, edge.input, edge.transition, tgtNode, outData);
+
+            switch (act) {
+                case EXPLORE:
+                    return GraphTraversalAction.EXPLORE;
+                case IGNORE:
+                    return GraphTraversalAction.IGNORE;
+                case ABORT_INPUT:
+                    edge.source.skipInput();
+                    return GraphTraversalAction.IGNORE;
+                case ABORT_STATE:
+                    return GraphTraversalAction.ABORT_NODE;
+                case ABORT_TRAVERSAL:
+                    return GraphTraversalAction.ABORT_TRAVERSAL;
+                default:
+                    throw new IllegalArgumentException("Unknown action " + act);
+            }
+        }
+
+        @Override
+        public void backtrackEdge(S srcNode, D srcData, TSEdge<S, I, T> edge, S tgtNode, D tgtData) {}
+    }
+}
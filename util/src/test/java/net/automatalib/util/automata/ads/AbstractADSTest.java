@@ -20,6 +20,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Maps;
@@ -34,6 +35,8 @@ import org.testng.Assert;
  */
 public abstract class AbstractADSTest {
 
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
     protected <I, O> void verifySuccess(final CompactMealy<I, O> mealy) {
         this.verifySuccess(mealy, mealy.getStates());
     }
@@ -77,6 +80,29 @@ public abstract class AbstractADSTest {
         Assert.assertTrue(bfsMinSizeSize <= defaultSize);
         Assert.assertTrue(bfsMinSizeSize <= bestEffortSize);
         Assert.assertTrue(bfsMinSizeSize <= bfsMinLengthSize);
+
+        final Optional<ADSNode<Integer, I, O>> parallelMinLengthADS = BacktrackingSearch.computeOptimal(mealy,
+                                                                                                        mealy.getInputAlphabet(),
+                                                                                                        targets,
+                                                                                                        BacktrackingSearch.CostAggregator.MIN_LENGTH,
+                                                                                                        POOL);
+        final Optional<ADSNode<Integer, I, O>> parallelMinSizeADS = BacktrackingSearch.computeOptimal(mealy,
+                                                                                                      mealy.getInputAlphabet(),
+                                                                                                      targets,
+                                                                                                      BacktrackingSearch.CostAggregator.MIN_SIZE,
+                                                                                                      POOL);
+
+        this.verifySuccess(mealy, targets, parallelMinLengthADS);
+        this.verifySuccess(mealy, targets, parallelMinSizeADS);
+
+        Assert.assertEquals(ADSUtil.computeLength(parallelMinLengthADS.get()), bfsMinLengthLength);
+        Assert.assertEquals(ADSUtil.countSymbolNodes(parallelMinSizeADS.get()), bfsMinSizeSize);
+
+        if (targets.size() == mealy.size()) {
+            final LYResult<Integer, I, O> parallelLY = LeeYannakakis.compute(mealy, mealy.getInputAlphabet(), POOL);
+            Assert.assertTrue(parallelLY.isPresent());
+            this.verifySuccess(mealy, targets, Optional.of(parallelLY.get()));
+        }
     }
 
     protected <I, O> void verifySuccess(final CompactMealy<I, O> mealy,
@@ -131,5 +157,22 @@ public abstract class AbstractADSTest {
         Assert.assertFalse(bestEffortADS.isPresent());
         Assert.assertFalse(bfsMinLengthADS.isPresent());
         Assert.assertFalse(bfsMinSizeADS.isPresent());
+
+        Assert.assertFalse(BacktrackingSearch.computeOptimal(mealy,
+                                                             mealy.getInputAlphabet(),
+                                                             targets,
+                                                             BacktrackingSearch.CostAggregator.MIN_LENGTH,
+                                                             POOL).isPresent());
+        Assert.assertFalse(BacktrackingSearch.computeOptimal(mealy,
+                                                             mealy.getInputAlphabet(),
+                                                             targets,
+                                                             BacktrackingSearch.CostAggregator.MIN_SIZE,
+                                                             POOL).isPresent());
+
+        if (targets.size() == mealy.size()) {
+            final LYResult<Integer, I, O> parallelLY = LeeYannakakis.compute(mealy, mealy.getInputAlphabet(), POOL);
+            Assert.assertFalse(parallelLY.isPresent());
+            Assert.assertFalse(parallelLY.getIndistinguishableStates().isEmpty());
+        }
     }
 }
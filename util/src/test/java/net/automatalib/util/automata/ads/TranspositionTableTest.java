@@ -0,0 +1,175 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.ads;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.graphs.ads.ADSNode;
+import net.automatalib.util.automata.ads.BacktrackingSearch.CostAggregator;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class TranspositionTableTest extends AbstractADSTest {
+
+    private static final Alphabet<Integer> INPUTS = Alphabets.integers(1, 5);
+    private static final Alphabet<Character> OUTPUTS = Alphabets.characters('a', 'f');
+
+    @Test
+    public void testBacktrackingSearch() {
+        final Random random = new Random(1337);
+
+        for (int size : new int[] {10, 20, 30}) {
+            final CompactMealy<Integer, Character> mealy = RandomAutomata.randomMealy(random, size, INPUTS, OUTPUTS);
+            final Set<Integer> targets = new HashSet<>(mealy.getStates());
+            final TranspositionTable table = new TranspositionTable();
+
+            final Optional<ADSNode<Integer, Integer, Character>> expected =
+                    BacktrackingSearch.compute(mealy, INPUTS, targets);
+            final Optional<ADSNode<Integer, Integer, Character>> actual =
+                    BacktrackingSearch.compute(mealy, INPUTS, targets, table);
+
+            Assert.assertEquals(actual.isPresent(), expected.isPresent());
+            if (expected.isPresent()) {
+                verifySuccess(mealy, targets, actual);
+                Assert.assertEquals(ADSUtil.computeLength(actual.get()), ADSUtil.computeLength(expected.get()));
+                Assert.assertEquals(ADSUtil.countSymbolNodes(actual.get()), ADSUtil.countSymbolNodes(expected.get()));
+            }
+
+            // a second computation is answered by the table
+            final long misses = table.getMisses();
+            final Optional<ADSNode<Integer, Integer, Character>> cached =
+                    BacktrackingSearch.compute(mealy, INPUTS, targets, table);
+
+            Assert.assertEquals(table.getMisses(), misses);
+            Assert.assertTrue(table.getHits() > 0);
+            Assert.assertEquals(cached.isPresent(), expected.isPresent());
+            if (expected.isPresent()) {
+                verifySuccess(mealy, targets, cached);
+            }
+        }
+    }
+
+    @Test
+    public void testBoundedOptimalSearch() {
+        final Random random = new Random(42);
+
+        for (int size : new int[] {10, 20}) {
+            final CompactMealy<Integer, Character> mealy = RandomAutomata.randomMealy(random, size, INPUTS, OUTPUTS);
+            final List<Integer> states = new ArrayList<>(mealy.getStates());
+            Collections.shuffle(states, random);
+            final Set<Integer> targets = new HashSet<>(states.subList(0, size / 2));
+
+            for (CostAggregator aggregator : CostAggregator.values()) {
+                final TranspositionTable unbounded = new TranspositionTable();
+                final TranspositionTable bounded = new TranspositionTable(8);
+
+                final Optional<ADSNode<Integer, Integer, Character>> expected =
+                        BacktrackingSearch.computeOptimal(mealy, INPUTS, targets, aggregator, unbounded);
+                final Optional<ADSNode<Integer, Integer, Character>> actual =
+                        BacktrackingSearch.computeOptimal(mealy, INPUTS, targets, aggregator, bounded);
+
+                Assert.assertTrue(bounded.size() <= bounded.getCapacity());
+                Assert.assertTrue(bounded.getEvictions() > 0);
+                Assert.assertTrue(unbounded.getHits() + unbounded.getMisses() > 0);
+                Assert.assertEquals(unbounded.getEvictions(), 0);
+
+                Assert.assertEquals(actual.isPresent(), expected.isPresent());
+                if (expected.isPresent()) {
+                    verifySuccess(mealy, targets, actual);
+                    Assert.assertEquals(computeCosts(actual.get(), aggregator),
+                                        computeCosts(expected.get(), aggregator));
+                }
+            }
+        }
+    }
+
+    private static int computeCosts(ADSNode<Integer, Integer, Character> node, CostAggregator aggregator) {
+        switch (aggregator) {
+            case MIN_LENGTH:
+                return ADSUtil.computeLength(node);
+            case MIN_SIZE:
+                return ADSUtil.countSymbolNodes(node);
+            default:
+                throw new IllegalArgumentException("Unknown aggregator: " + aggregator);
+        }
+    }
+
+    @Test
+    public void testStateEquivalence() {
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(new Random(7), 10, INPUTS, OUTPUTS);
+        final TranspositionTable table = new TranspositionTable();
+
+        for (Integer s1 : mealy) {
+            for (Integer s2 : mealy) {
+                if (s1 < s2) {
+                    final Set<Integer> targets = new HashSet<>();
+                    targets.add(s1);
+                    targets.add(s2);
+
+                    final Optional<ADSNode<Integer, Integer, Character>> first =
+                            StateEquivalence.compute(mealy, INPUTS, targets, table);
+                    final Optional<ADSNode<Integer, Integer, Character>> second =
+                            StateEquivalence.compute(mealy, INPUTS, targets, table);
+
+                    Assert.assertEquals(first.isPresent(),
+                                        StateEquivalence.compute(mealy, INPUTS, targets).isPresent());
+                    Assert.assertEquals(second.isPresent(), first.isPresent());
+                    if (first.isPresent()) {
+                        verifySuccess(mealy, targets, first);
+                        verifySuccess(mealy, targets, second);
+                    }
+                }
+            }
+        }
+
+        final int numPairs = mealy.size() * (mealy.size() - 1) / 2;
+        Assert.assertEquals(table.getMisses(), numPairs);
+        Assert.assertEquals(table.getHits(), numPairs);
+        Assert.assertEquals(table.size(), numPairs);
+
+        table.clear();
+        Assert.assertEquals(table.size(), 0);
+        Assert.assertEquals(table.getHits(), 0);
+    }
+
+    @Test
+    public void testDifferentAutomata() {
+        final Random random = new Random(42);
+        final CompactMealy<Integer, Character> mealy1 = RandomAutomata.randomMealy(random, 5, INPUTS, OUTPUTS);
+        final CompactMealy<Integer, Character> mealy2 = RandomAutomata.randomMealy(random, 5, INPUTS, OUTPUTS);
+        final TranspositionTable table = new TranspositionTable();
+
+        BacktrackingSearch.compute(mealy1, INPUTS, new HashSet<>(mealy1.getStates()), table);
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> BacktrackingSearch.compute(mealy2, INPUTS, new HashSet<>(mealy2.getStates()), table));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+}
@@ -0,0 +1,146 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class RandomTestsIteratorsTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 2);
+    private static final int SIZE = 20;
+    private static final int NUM_TESTS = 200;
+
+    private final CompactDFA<Integer> totalDFA;
+    private final CompactDFA<Integer> dfa;
+
+    public RandomTestsIteratorsTest() {
+        final Random random = new Random(42);
+        this.totalDFA = RandomAutomata.randomDFA(random, SIZE, ALPHABET, false);
+        this.dfa = RandomAutomata.randomDFA(random, SIZE, ALPHABET, false);
+
+        // the random walks should also handle partial automata
+
+        for (int i = 0; i < SIZE; i++) {
+            dfa.removeAllTransitions(random.nextInt(SIZE), ALPHABET.getSymbol(random.nextInt(ALPHABET.size())));
+        }
+    }
+
+    @Test
+    public void testRandomWalk() {
+        checkIterator(dfa, r -> new RandomWalkTestsIterator<>(dfa, ALPHABET, r, 2, 10, NUM_TESTS));
+
+        for (Word<Integer> w : Lists.newArrayList(new RandomWalkTestsIterator<>(dfa,
+                                                                               ALPHABET,
+                                                                               new SplittableRandom(42),
+                                                                               2,
+                                                                               10,
+                                                                               NUM_TESTS))) {
+            Assert.assertTrue(w.length() <= 10);
+        }
+    }
+
+    @Test
+    public void testRandomWpMethod() {
+        checkIterator(totalDFA, r -> new RandomWpMethodTestsIterator<>(totalDFA, ALPHABET, r, 1, 3, NUM_TESTS));
+    }
+
+    @Test
+    public void testTransitionCoverage() {
+        checkIterator(dfa, r -> new TransitionCoverageTestsIterator<>(dfa, ALPHABET, r, 2, 10, NUM_TESTS));
+
+        final TransitionCoverageTestsIterator<Integer> iter =
+                new TransitionCoverageTestsIterator<>(dfa, ALPHABET, new SplittableRandom(42), 5, 20, NUM_TESTS);
+        Lists.newArrayList(iter);
+
+        int reachableTransitions = 0;
+        for (Word<Integer> as : Automata.stateCover(dfa, ALPHABET)) {
+            final Integer state = dfa.getState(as);
+            for (Integer i : ALPHABET) {
+                if (dfa.getTransition(state, i) != null) {
+                    reachableTransitions++;
+                }
+            }
+        }
+
+        Assert.assertEquals(iter.getNumCoveredTransitions(), reachableTransitions);
+    }
+
+    @Test
+    public void testThrottling() {
+        final long start = System.nanoTime();
+        final RandomWalkTestsIterator<Integer> iter =
+                new RandomWalkTestsIterator<>(dfa, ALPHABET, new SplittableRandom(42), 0, 5, 21, 500);
+        final List<Word<Integer>> words = Lists.newArrayList(iter);
+        final long duration = System.nanoTime() - start;
+
+        Assert.assertEquals(words.size(), 21);
+        // 20 intervals of 2ms each
+        Assert.assertTrue(duration >= 40_000_000L);
+    }
+
+    @Test
+    public void testEmptyAutomaton() {
+        final CompactDFA<Integer> empty = new CompactDFA<>(ALPHABET);
+        final SplittableRandom random = new SplittableRandom(42);
+
+        Assert.assertFalse(new RandomWalkTestsIterator<>(empty, ALPHABET, random, 0, 5, 10).hasNext());
+        Assert.assertFalse(new RandomWpMethodTestsIterator<>(empty, ALPHABET, random, 0, 5, 10).hasNext());
+        Assert.assertFalse(new TransitionCoverageTestsIterator<>(empty, ALPHABET, random, 0, 5, 10).hasNext());
+    }
+
+    private static void checkIterator(CompactDFA<Integer> dfa,
+                                      Function<SplittableRandom, AbstractRandomTestsIterator<Integer>> factory) {
+        final AbstractRandomTestsIterator<Integer> iter1 = factory.apply(new SplittableRandom(42));
+        final AbstractRandomTestsIterator<Integer> iter2 = factory.apply(new SplittableRandom(42));
+
+        // splitting is reproducible as well
+        final List<Word<Integer>> split1 = Lists.newArrayList(iter1.split());
+        final List<Word<Integer>> split2 = Lists.newArrayList(iter2.split());
+        final List<Word<Integer>> words1 = Lists.newArrayList(iter1);
+        final List<Word<Integer>> words2 = Lists.newArrayList(iter2);
+
+        Assert.assertEquals(words1.size(), NUM_TESTS);
+        Assert.assertEquals(split1.size(), NUM_TESTS);
+        Assert.assertEquals(iter1.getNumGeneratedTests(), NUM_TESTS);
+
+        Assert.assertEquals(words1, words2);
+        Assert.assertEquals(split1, split2);
+        Assert.assertNotEquals(words1, split1);
+
+        for (Word<Integer> w : words1) {
+            Assert.assertNotNull(dfa.getState(w));
+        }
+        for (Word<Integer> w : split1) {
+            Assert.assertNotNull(dfa.getState(w));
+        }
+    }
+}
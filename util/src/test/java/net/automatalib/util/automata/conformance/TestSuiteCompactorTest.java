@@ -0,0 +1,92 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class TestSuiteCompactorTest {
+
+    @Test
+    public void testSimpleSuite() {
+        final TestSuiteCompactor<Character> compactor = new TestSuiteCompactor<>();
+
+        compactor.add(Word.epsilon());
+        Assert.assertEquals(compactor.getMaximalWords(), Arrays.asList(Word.<Character>epsilon()));
+
+        compactor.add(Word.fromString("ab"));
+        compactor.add(Word.fromString("a"));
+        compactor.add(Word.fromString("abc"));
+        compactor.add(Word.fromString("b"));
+        compactor.add(Word.fromString("ab"));
+        compactor.add(Word.fromString("abd"));
+
+        Assert.assertEquals(compactor.getMaximalWords(),
+                            Arrays.asList(Word.fromString("abc"), Word.fromString("abd"), Word.fromString("b")));
+
+        Assert.assertEquals(compactor.getNumWords(), 7);
+        Assert.assertEquals(compactor.getNumSymbols(), 12);
+        Assert.assertEquals(compactor.getNumMaximalWords(), 3);
+        Assert.assertEquals(compactor.getNumMaximalSymbols(), 7);
+        Assert.assertEquals(compactor.getSavedWords(), 4);
+        Assert.assertEquals(compactor.getSavedSymbols(), 5);
+    }
+
+    @Test
+    public void testWMethodSuite() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final DFA<?, Integer> dfa = RandomAutomata.randomDFA(new Random(42), 20, alphabet);
+
+        final List<Word<Integer>> suite = Lists.newArrayList(new WMethodTestsIterator<>(dfa, alphabet, 1));
+        final TestSuiteCompactor<Integer> compactor = new TestSuiteCompactor<>();
+        compactor.addAll(suite.iterator());
+
+        final List<Word<Integer>> maximal = compactor.getMaximalWords();
+        final Set<Word<Integer>> expected = suite.stream()
+                                                 .filter(w -> suite.stream()
+                                                                   .noneMatch(o -> o.length() > w.length() &&
+                                                                                   w.isPrefixOf(o)))
+                                                 .collect(Collectors.toSet());
+
+        Assert.assertEquals(maximal.size(), expected.size());
+        Assert.assertEquals(new HashSet<>(maximal), expected);
+        Assert.assertEquals(compactor.getNumMaximalWords(), maximal.size());
+        Assert.assertEquals(compactor.getNumMaximalSymbols(), maximal.stream().mapToLong(Word::length).sum());
+        Assert.assertEquals(compactor.getSavedWords(), suite.size() - maximal.size());
+        Assert.assertTrue(compactor.getSavedWords() > 0);
+
+        // every word of the original suite is covered by a maximal word
+        for (Word<Integer> w : suite) {
+            Assert.assertTrue(maximal.stream().anyMatch(w::isPrefixOf));
+        }
+    }
+}
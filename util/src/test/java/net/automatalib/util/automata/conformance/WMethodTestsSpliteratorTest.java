@@ -0,0 +1,88 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class WMethodTestsSpliteratorTest {
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+    private final DFA<?, Integer> dfa = RandomAutomata.randomDFA(new Random(42), 10, alphabet);
+
+    @Test
+    public void testSequentialOrder() {
+        for (int depth = 0; depth <= 2; depth++) {
+            final List<Word<Integer>> expected = Lists.newArrayList(new WMethodTestsIterator<>(dfa, alphabet, depth));
+            final WMethodTestsSpliterator<Integer> spliterator = new WMethodTestsSpliterator<>(dfa, alphabet, depth);
+
+            Assert.assertEquals(spliterator.estimateSize(), expected.size());
+            Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+
+            final List<Word<Integer>> actual = new ArrayList<>();
+            spliterator.forEachRemaining(actual::add);
+
+            Assert.assertEquals(actual, expected);
+            Assert.assertEquals(spliterator.estimateSize(), 0);
+        }
+    }
+
+    @Test
+    public void testSplitting() {
+        final int depth = 2;
+        final List<Word<Integer>> expected = Lists.newArrayList(new WMethodTestsIterator<>(dfa, alphabet, depth));
+
+        final WMethodTestsSpliterator<Integer> suffix = new WMethodTestsSpliterator<>(dfa, alphabet, depth);
+        final Spliterator<Word<Integer>> prefix = suffix.trySplit();
+        Assert.assertNotNull(prefix);
+        Assert.assertEquals(prefix.estimateSize() + suffix.estimateSize(), expected.size());
+
+        final List<Word<Integer>> actual = new ArrayList<>();
+        prefix.forEachRemaining(actual::add);
+        while (suffix.tryAdvance(actual::add)) {
+            // consume
+        }
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testParallelStream() {
+        final int depth = 3;
+        final List<Word<Integer>> expected = Lists.newArrayList(new WMethodTestsIterator<>(dfa, alphabet, depth));
+        final List<Word<Integer>> actual =
+                StreamSupport.stream(new WMethodTestsSpliterator<>(dfa, alphabet, depth), true)
+                             .collect(Collectors.toList());
+
+        Assert.assertEquals(actual, expected);
+    }
+}
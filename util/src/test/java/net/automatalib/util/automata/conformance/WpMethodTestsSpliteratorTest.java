@@ -0,0 +1,91 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.conformance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class WpMethodTestsSpliteratorTest {
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+    private final CompactMealy<Integer, Character> mealy =
+            RandomAutomata.randomMealy(new Random(42), 15, alphabet, Lists.newArrayList('a', 'b'));
+
+    @Test
+    public void testSequentialOrder() {
+        for (int depth = 0; depth <= 2; depth++) {
+            final List<Word<Integer>> expected = Lists.newArrayList(new WpMethodTestsIterator<>(mealy, alphabet, depth));
+            final List<Word<Integer>> actual = new ArrayList<>();
+
+            new WpMethodTestsSpliterator<>(mealy, alphabet, depth).forEachRemaining(actual::add);
+
+            Assert.assertEquals(actual, expected);
+        }
+    }
+
+    @Test
+    public void testSplitting() {
+        final int depth = 2;
+        final List<Word<Integer>> expected = Lists.newArrayList(new WpMethodTestsIterator<>(mealy, alphabet, depth));
+
+        final WpMethodTestsSpliterator<Integer> spliterator = new WpMethodTestsSpliterator<>(mealy, alphabet, depth);
+        Assert.assertTrue(spliterator.estimateSize() > 0);
+
+        final List<Spliterator<Word<Integer>>> splits = new ArrayList<>();
+        Spliterator<Word<Integer>> split;
+        while ((split = spliterator.trySplit()) != null && splits.size() < 8) {
+            splits.add(split);
+        }
+
+        final List<Word<Integer>> actual = new ArrayList<>();
+        if (split != null) {
+            splits.add(split);
+        }
+        splits.forEach(s -> s.forEachRemaining(actual::add));
+        while (spliterator.tryAdvance(actual::add)) {
+            // consume
+        }
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testParallelStream() {
+        final int depth = 3;
+        final List<Word<Integer>> expected = Lists.newArrayList(new WpMethodTestsIterator<>(mealy, alphabet, depth));
+        final List<Word<Integer>> actual =
+                StreamSupport.stream(new WpMethodTestsSpliterator<>(mealy, alphabet, depth), true)
+                             .collect(Collectors.toList());
+
+        Assert.assertEquals(actual, expected);
+    }
+}
@@ -0,0 +1,112 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.cover;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.Iterators;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class CoverTrieTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 3);
+
+    @Test
+    public void testCompleteAutomaton() {
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), 100, ALPHABET);
+        checkCoverTrie(dfa);
+    }
+
+    @Test
+    public void testPartialAutomaton() {
+        final Random random = new Random(1337);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, 100, ALPHABET, false);
+
+        // remove some transitions, which may also make some states unreachable
+        for (int i = 0; i < 100; i++) {
+            dfa.removeAllTransitions(random.nextInt(dfa.size()), ALPHABET.getSymbol(random.nextInt(ALPHABET.size())));
+        }
+
+        checkCoverTrie(dfa);
+    }
+
+    @Test
+    public void testEmptyAutomaton() {
+        final CompactDFA<Integer> dfa = new CompactDFA<>(ALPHABET);
+        final CoverTrie<Integer> trie = Covers.coverTrie(dfa, ALPHABET);
+
+        Assert.assertEquals(trie.size(), 0);
+        Assert.assertEquals(trie.getTransitionCoverSize(), 0);
+        Assert.assertFalse(trie.stateCoverIterator().hasNext());
+        Assert.assertFalse(trie.transitionCoverIterator().hasNext());
+    }
+
+    private static void checkCoverTrie(CompactDFA<Integer> dfa) {
+        final CoverTrie<Integer> trie = Covers.coverTrie(dfa, ALPHABET);
+
+        final List<Word<Integer>> stateCover = new ArrayList<>();
+        final List<Word<Integer>> transitionCover = new ArrayList<>();
+        Covers.cover(dfa, ALPHABET, stateCover, transitionCover);
+
+        final List<Word<Integer>> trieStateCover = new ArrayList<>();
+        final List<Word<Integer>> trieTransitionCover = new ArrayList<>();
+        Iterators.addAll(trieStateCover, trie.stateCoverIterator());
+        Iterators.addAll(trieTransitionCover, trie.transitionCoverIterator());
+
+        Assert.assertEquals(trieStateCover, stateCover);
+        Assert.assertEquals(trieTransitionCover, transitionCover);
+        Assert.assertEquals(trie.size(), stateCover.size());
+        Assert.assertEquals(trie.getTransitionCoverSize(), transitionCover.size());
+
+        // check the trie structure
+        Assert.assertEquals(trie.getParent(0), -1);
+        Assert.assertNull(trie.getSymbol(0));
+
+        int numChildren = 0;
+        for (int node = 0; node < trie.size(); node++) {
+            final Word<Integer> as = trie.getAccessSequence(node);
+            Assert.assertEquals(trie.getDepth(node), as.length());
+
+            for (int child : trie.getChildren(node)) {
+                Assert.assertEquals(trie.getParent(child), node);
+                Assert.assertEquals(trie.getAccessSequence(child), as.append(trie.getSymbol(child)));
+                numChildren++;
+            }
+        }
+        Assert.assertEquals(numChildren, trie.size() - 1);
+
+        // check the mapping of states
+        for (Integer s : dfa) {
+            final int node = trie.getNode(s);
+            if (node < 0) {
+                Assert.assertFalse(stateCover.stream().anyMatch(w -> s.equals(dfa.getState(w))));
+            } else {
+                Assert.assertEquals(dfa.getState(trie.getAccessSequence(node)), s);
+            }
+        }
+    }
+}
@@ -21,7 +21,10 @@ import java.util.Set;
 
 import net.automatalib.automata.Automaton;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.graphs.base.compact.CompactGraph;
 import net.automatalib.ts.modal.CompactMTS;
+import net.automatalib.ts.modal.transition.ModalEdgeProperty.ModalType;
+import net.automatalib.ts.modal.transition.ModalEdgePropertyImpl;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
@@ -79,6 +82,74 @@ public class BisimulationTest {
         Assert.assertFalse(equivalentStates.contains(Pair.of(as0, bs0)));
     }
 
+    @Test
+    public void strongBisimulationMTS() {
+
+        final Alphabet<String> alphabet = Alphabets.closedCharStringRange('a', 'b');
+        final CompactMTS<String> mts = new CompactMTS<>(alphabet);
+
+        final Integer s0 = mts.addInitialState();
+        final Integer s1 = mts.addState();
+        final Integer s2 = mts.addState();
+        final Integer s3 = mts.addState();
+
+        // s1 and s2 only differ in the number of (equivalent) successors
+        mts.addTransition(s0, "a", s1, new ModalEdgePropertyImpl(ModalType.MUST));
+        mts.addTransition(s0, "a", s2, new ModalEdgePropertyImpl(ModalType.MUST));
+        mts.addTransition(s1, "b", s3, new ModalEdgePropertyImpl(ModalType.MAY));
+        mts.addTransition(s2, "b", s3, new ModalEdgePropertyImpl(ModalType.MAY));
+        mts.addTransition(s2, "b", s1, new ModalEdgePropertyImpl(ModalType.MAY));
+        mts.addTransition(s3, "b", s3, new ModalEdgePropertyImpl(ModalType.MAY));
+
+        int[] classes = Bisimulation.strongBisimulation(mts, alphabet);
+        Assert.assertEquals(classes[s1], classes[s2]);
+        Assert.assertEquals(classes[s1], classes[s3]);
+        Assert.assertNotEquals(classes[s0], classes[s1]);
+
+        // modalities are part of the labels
+        mts.removeAllTransitions(s3);
+        mts.addTransition(s3, "b", s3, new ModalEdgePropertyImpl(ModalType.MUST));
+
+        classes = Bisimulation.strongBisimulation(mts, alphabet);
+        Assert.assertNotEquals(classes[s1], classes[s3]);
+        // s2 can now additionally move to the (no longer equivalent) s1
+        Assert.assertNotEquals(classes[s1], classes[s2]);
+    }
+
+    @Test
+    public void weakBisimulationGraph() {
+        final CompactGraph<Boolean, Character> graph = new CompactGraph<>();
+
+        // n0 -tau-> n1 -a-> n2 and n3 -a-> n4
+        final int n0 = graph.addIntNode(false);
+        final int n1 = graph.addIntNode(false);
+        final int n2 = graph.addIntNode(true);
+        final int n3 = graph.addIntNode(false);
+        final int n4 = graph.addIntNode(true);
+
+        final Character tau = 't';
+        final Character a = 'a';
+
+        graph.connect(n0, n1, tau);
+        graph.connect(n1, n2, a);
+        graph.connect(n3, n4, a);
+
+        final int[] strong = Bisimulation.strongBisimulation(graph);
+        Assert.assertNotEquals(strong[n0], strong[n3]);
+        Assert.assertEquals(strong[n1], strong[n3]);
+        Assert.assertEquals(strong[n2], strong[n4]);
+
+        final int[] weak = Bisimulation.weakBisimulation(graph, tau);
+        Assert.assertEquals(weak[n0], weak[n3]);
+        Assert.assertEquals(weak[n1], weak[n3]);
+        Assert.assertNotEquals(weak[n0], weak[n2]);
+
+        // node properties are respected
+        graph.setNodeProperty(n4, Boolean.FALSE);
+        Assert.assertNotEquals(Bisimulation.weakBisimulation(graph, tau)[n0],
+                               Bisimulation.weakBisimulation(graph, tau)[n3]);
+    }
+
     private static <AS, I, AT, A extends Automaton<AS, I, AT>, BS, BT, B extends Automaton<BS, I, BT>> boolean testBisimulationEquivalence(
             A a,
             B b,
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
@@ -79,6 +80,26 @@ public class CharacterizingSetsTest {
         checkCharacterizingSet(MEALY, state, characterizingSet);
     }
 
+    @Test
+    public void parallelCharacterizingSetTest() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final Random random = new Random(42);
+
+        try {
+            // non-minimized automata also cover states that are equivalent to the reference states of their blocks
+            final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, 500, INPUT_ALPHABET, false);
+            final CompactMealy<Integer, Character> mealy =
+                    RandomAutomata.randomMealy(random, 500, INPUT_ALPHABET, Alphabets.characters('a', 'b'), false);
+
+            checkParallelCharacterizingSet(DFA, pool);
+            checkParallelCharacterizingSet(MEALY, pool);
+            checkParallelCharacterizingSet(dfa, pool);
+            checkParallelCharacterizingSet(mealy, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /*
      * See https://github.com/LearnLib/automatalib/issues/36
      */
@@ -108,6 +129,14 @@ public class CharacterizingSetsTest {
         checkCharacterizingSet(machine, characterizingSet);
     }
 
+    private void checkParallelCharacterizingSet(UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> automaton,
+                                                ForkJoinPool pool) {
+        final List<Word<Integer>> parallel = Automata.characterizingSet(automaton, INPUT_ALPHABET, pool);
+
+        Assert.assertEquals(parallel, Automata.characterizingSet(automaton, INPUT_ALPHABET));
+        checkCharacterizingSet(automaton, parallel);
+    }
+
     private <S, I> void checkCharacterizingSet(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
                                                Collection<Word<I>> characterizingSet) {
         for (final S s : automaton) {
@@ -0,0 +1,191 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class SplittingTreeTest {
+
+    private static final int SIZE = 40;
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 2);
+
+    @Test
+    public void testDFA() {
+        final Random random = new Random(42);
+        // non-minimized automata also contain equivalent states
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, SIZE, ALPHABET, false);
+        checkSplittingTree(dfa);
+    }
+
+    @Test
+    public void testMealy() {
+        final Random random = new Random(42);
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(random, SIZE, ALPHABET, Alphabets.characters('a', 'b'), false);
+        checkSplittingTree(mealy);
+    }
+
+    @Test
+    public void testPartialDFA() {
+        final Random random = new Random(1337);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, SIZE, ALPHABET, false);
+
+        for (int i = 0; i < SIZE / 2; i++) {
+            dfa.removeAllTransitions(random.nextInt(SIZE), ALPHABET.getSymbol(random.nextInt(ALPHABET.size())));
+        }
+
+        checkSplittingTree(dfa);
+    }
+
+    private static <S, I> void checkSplittingTree(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton) {
+        final List<I> inputs = new ArrayList<>(ALPHABET.size());
+        for (Integer i : ALPHABET) {
+            @SuppressWarnings("unchecked")
+            final I cast = (I) i;
+            inputs.add(cast);
+        }
+
+        final SplittingTree<S, I> tree = new SplittingTree<>(automaton, inputs);
+        final Set<Integer> classes = new HashSet<>();
+
+        for (S s1 : automaton) {
+            boolean newClass = true;
+
+            for (S s2 : automaton) {
+                final Word<I> sepWord = tree.findSeparatingWord(s1, s2);
+                final Word<I> reference = NearLinearEquivalenceTest.findSeparatingWord(automaton, s1, s2, inputs);
+
+                Assert.assertEquals(sepWord == null, reference == null);
+                Assert.assertEquals(tree.areEquivalent(s1, s2), reference == null);
+
+                if (sepWord != null) {
+                    Assert.assertTrue(separates(automaton, s1, s2, sepWord));
+                    Assert.assertEquals(sepWord.length(), shortestSeparatingLength(automaton, s1, s2, inputs));
+                } else if (automaton.stateIDs().getStateId(s2) < automaton.stateIDs().getStateId(s1)) {
+                    newClass = false;
+                }
+            }
+
+            if (newClass) {
+                classes.add(automaton.stateIDs().getStateId(s1));
+            }
+
+            final List<Word<I>> localSet = new ArrayList<>();
+            tree.stateCharacterizingSet(s1, localSet);
+
+            for (S s2 : automaton) {
+                if (!tree.areEquivalent(s1, s2)) {
+                    Assert.assertTrue(localSet.stream().anyMatch(w -> separates(automaton, s1, s2, w)));
+                }
+            }
+        }
+
+        Assert.assertEquals(tree.getNumClasses(), classes.size());
+
+        final List<Word<I>> globalSet = new ArrayList<>();
+        tree.characterizingSet(globalSet);
+
+        for (S s1 : automaton) {
+            for (S s2 : automaton) {
+                if (!tree.areEquivalent(s1, s2)) {
+                    Assert.assertTrue(globalSet.stream().anyMatch(w -> separates(automaton, s1, s2, w)));
+                }
+            }
+        }
+    }
+
+    private static <S, I> boolean separates(UniversalDeterministicAutomaton<S, I, ?, ?, ?> automaton,
+                                            S s1,
+                                            S s2,
+                                            Word<I> word) {
+        return !Objects.equals(automaton.getStateProperty(s1), automaton.getStateProperty(s2)) ||
+               !CharacterizingSets.buildTrace(automaton, s1, word)
+                                  .equals(CharacterizingSets.buildTrace(automaton, s2, word));
+    }
+
+    private static <S, I, T> int shortestSeparatingLength(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
+                                                          S s1,
+                                                          S s2,
+                                                          List<I> inputs) {
+        final Set<Pair<S, S>> visited = new HashSet<>();
+        Queue<Pair<S, S>> current = new ArrayDeque<>();
+        current.add(Pair.of(s1, s2));
+        visited.add(Pair.of(s1, s2));
+
+        for (int depth = 0; !current.isEmpty(); depth++) {
+            final Queue<Pair<S, S>> next = new ArrayDeque<>();
+
+            // state properties separate with the current depth, transitions only with the next one
+            for (Pair<S, S> pair : current) {
+                if (!Objects.equals(automaton.getStateProperty(pair.getFirst()),
+                                    automaton.getStateProperty(pair.getSecond()))) {
+                    return depth;
+                }
+            }
+
+            for (Pair<S, S> pair : current) {
+                final S p = pair.getFirst();
+                final S q = pair.getSecond();
+
+                for (I i : inputs) {
+                    final T t1 = automaton.getTransition(p, i);
+                    final T t2 = automaton.getTransition(q, i);
+
+                    if (t1 == null || t2 == null) {
+                        if (t1 != t2) {
+                            return depth + 1;
+                        }
+                        continue;
+                    }
+
+                    if (!Objects.equals(automaton.getTransitionProperty(t1), automaton.getTransitionProperty(t2))) {
+                        return depth + 1;
+                    }
+
+                    final Pair<S, S> succ = Pair.of(automaton.getSuccessor(t1), automaton.getSuccessor(t2));
+                    if (visited.add(succ)) {
+                        next.add(succ);
+                    }
+                }
+            }
+
+            current = next;
+        }
+
+        return -1;
+    }
+}
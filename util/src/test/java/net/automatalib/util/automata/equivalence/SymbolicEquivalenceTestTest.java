@@ -0,0 +1,272 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.Objects;
+import java.util.Random;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class SymbolicEquivalenceTestTest {
+
+    private static final int SIZE = 30;
+    private static final int EXCEPTIONS = 3;
+    private static final int ROUNDS = 20;
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 199);
+
+    @Test
+    public void testEquivalentDFAs() {
+        final Random random = new Random(42);
+
+        for (int r = 0; r < ROUNDS; r++) {
+            final CompactDFA<Integer> dfa = randomSparseDFA(random);
+            final CompactDFA<Integer> copy = duplicateStates(random, dfa);
+
+            Assert.assertNull(SymbolicEquivalenceTest.findSeparatingWord(dfa, copy, ALPHABET));
+            Assert.assertTrue(SymbolicEquivalenceTest.testEquivalence(copy, dfa, ALPHABET));
+        }
+    }
+
+    @Test
+    public void testMutatedDFAs() {
+        final Random random = new Random(1337);
+
+        for (int r = 0; r < ROUNDS; r++) {
+            final CompactDFA<Integer> dfa = randomSparseDFA(random);
+            final CompactDFA<Integer> mutated = duplicateStates(random, dfa);
+
+            // mutate (and partially remove) some transitions
+            for (int i = 0; i < 3; i++) {
+                final int state = random.nextInt(mutated.size());
+                final Integer input = ALPHABET.getSymbol(random.nextInt(ALPHABET.size()));
+                if (random.nextBoolean()) {
+                    mutated.setTransition(state, input, (Integer) random.nextInt(mutated.size()));
+                } else {
+                    mutated.removeAllTransitions(state, input);
+                }
+            }
+
+            final SymbolicEquivalenceTest<Integer> test = new SymbolicEquivalenceTest<>(dfa, ALPHABET);
+            checkSeparatingWord(dfa, mutated, test.findSeparatingWord(mutated));
+        }
+    }
+
+    @Test
+    public void testMealy() {
+        final Random random = new Random(7);
+
+        for (int r = 0; r < ROUNDS; r++) {
+            final CompactMealy<Integer, Character> mealy1 = randomSparseMealy(random);
+            final CompactMealy<Integer, Character> mealy2 = randomSparseMealy(random);
+
+            // reuse the structure of the first machine but change a single output
+            final CompactMealy<Integer, Character> mealy3 = randomSparseMealy(random, mealy1);
+
+            final SymbolicEquivalenceTest<Integer> test = new SymbolicEquivalenceTest<>(mealy1, ALPHABET);
+            checkSeparatingWord(mealy1, mealy2, test.findSeparatingWord(mealy2));
+            checkSeparatingWord(mealy1, mealy3, test.findSeparatingWord(mealy3));
+            Assert.assertNull(test.findSeparatingWord(mealy1));
+        }
+    }
+
+    @Test
+    public void testPrebuiltTests() {
+        final Random random = new Random(42);
+
+        final CompactDFA<Integer> dfa = randomSparseDFA(random);
+        final CompactDFA<Integer> copy = duplicateStates(random, dfa);
+        final CompactDFA<Integer> other = randomSparseDFA(random);
+
+        final SymbolicEquivalenceTest<Integer> dfaTest = new SymbolicEquivalenceTest<>(dfa, ALPHABET);
+        final SymbolicEquivalenceTest<Integer> copyTest = new SymbolicEquivalenceTest<>(copy, ALPHABET);
+        final SymbolicEquivalenceTest<Integer> otherTest = new SymbolicEquivalenceTest<>(other, ALPHABET);
+
+        Assert.assertNull(dfaTest.findSeparatingWord(copyTest));
+        Assert.assertNull(copyTest.findSeparatingWord(dfaTest));
+        checkSeparatingWord(dfa, other, dfaTest.findSeparatingWord(otherTest));
+        checkSeparatingWord(other, copy, otherTest.findSeparatingWord(copyTest));
+    }
+
+    @Test
+    public void testStates() {
+        final Random random = new Random(42);
+        final CompactDFA<Integer> dfa = randomSparseDFA(random);
+
+        for (Integer s1 : dfa) {
+            for (Integer s2 : dfa) {
+                final Word<Integer> sepWord = SymbolicEquivalenceTest.findSeparatingWord(dfa, s1, s2, ALPHABET);
+                final Word<Integer> reference = NearLinearEquivalenceTest.findSeparatingWord(dfa, s1, s2, ALPHABET);
+
+                Assert.assertEquals(sepWord == null, reference == null);
+                if (sepWord != null) {
+                    Assert.assertTrue(separates(dfa, s1, dfa, s2, sepWord));
+                }
+            }
+        }
+    }
+
+    private static <S1, S2> void checkSeparatingWord(UniversalDeterministicAutomaton<S1, Integer, ?, ?, ?> a1,
+                                                     UniversalDeterministicAutomaton<S2, Integer, ?, ?, ?> a2,
+                                                     Word<Integer> sepWord) {
+        final Word<Integer> reference = NearLinearEquivalenceTest.findSeparatingWord(a1, a2, ALPHABET);
+
+        Assert.assertEquals(sepWord == null, reference == null);
+        if (sepWord != null) {
+            Assert.assertTrue(separates(a1, a1.getInitialState(), a2, a2.getInitialState(), sepWord));
+        }
+    }
+
+    private static <S1, S2, T1, T2> boolean separates(UniversalDeterministicAutomaton<S1, Integer, T1, ?, ?> a1,
+                                                      S1 init1,
+                                                      UniversalDeterministicAutomaton<S2, Integer, T2, ?, ?> a2,
+                                                      S2 init2,
+                                                      Word<Integer> word) {
+        S1 s1 = init1;
+        S2 s2 = init2;
+
+        for (Integer i : word) {
+            if (!Objects.equals(a1.getStateProperty(s1), a2.getStateProperty(s2))) {
+                return true;
+            }
+
+            final T1 t1 = a1.getTransition(s1, i);
+            final T2 t2 = a2.getTransition(s2, i);
+
+            if (t1 == null || t2 == null) {
+                return t1 != null || t2 != null;
+            }
+
+            if (!Objects.equals(a1.getTransitionProperty(t1), a2.getTransitionProperty(t2))) {
+                return true;
+            }
+
+            s1 = a1.getSuccessor(t1);
+            s2 = a2.getSuccessor(t2);
+        }
+
+        return !Objects.equals(a1.getStateProperty(s1), a2.getStateProperty(s2));
+    }
+
+    /**
+     * Creates a random DFA in which each state has a single default successor and only a few deviating transitions.
+     */
+    private static CompactDFA<Integer> randomSparseDFA(Random random) {
+        final CompactDFA<Integer> dfa = new CompactDFA<>(ALPHABET, SIZE);
+
+        for (int i = 0; i < SIZE; i++) {
+            dfa.addState(random.nextBoolean());
+        }
+        dfa.setInitialState(0);
+
+        for (int s = 0; s < SIZE; s++) {
+            final int defaultSucc = random.nextInt(SIZE);
+            for (Integer i : ALPHABET) {
+                dfa.setTransition(s, i, (Integer) defaultSucc);
+            }
+            for (int e = 0; e < EXCEPTIONS; e++) {
+                dfa.setTransition(s, ALPHABET.getSymbol(random.nextInt(ALPHABET.size())), (Integer) random.nextInt(SIZE));
+            }
+        }
+
+        return dfa;
+    }
+
+    /**
+     * Creates an equivalent DFA, in which each state is duplicated and transitions randomly point to either copy.
+     */
+    private static CompactDFA<Integer> duplicateStates(Random random, CompactDFA<Integer> dfa) {
+        final int size = dfa.size();
+        final CompactDFA<Integer> result = new CompactDFA<>(ALPHABET, 2 * size);
+
+        for (int c = 0; c < 2; c++) {
+            for (int s = 0; s < size; s++) {
+                result.addState(dfa.isAccepting(s));
+            }
+        }
+        result.setInitialState(size);
+
+        for (int c = 0; c < 2; c++) {
+            for (int s = 0; s < size; s++) {
+                for (Integer i : ALPHABET) {
+                    final Integer succ = dfa.getSuccessor(s, i);
+                    if (succ != null) {
+                        result.setTransition(c * size + s, i, (Integer) (succ + random.nextInt(2) * size));
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static CompactMealy<Integer, Character> randomSparseMealy(Random random) {
+        final CompactMealy<Integer, Character> mealy = new CompactMealy<>(ALPHABET, SIZE);
+
+        for (int i = 0; i < SIZE; i++) {
+            mealy.addState();
+        }
+        mealy.setInitialState(0);
+
+        for (int s = 0; s < SIZE; s++) {
+            final int defaultSucc = random.nextInt(SIZE);
+            final char defaultOutput = random.nextBoolean() ? 'a' : 'b';
+            for (Integer i : ALPHABET) {
+                mealy.setTransition((Integer) s, i, (Integer) defaultSucc, (Character) defaultOutput);
+            }
+            for (int e = 0; e < EXCEPTIONS; e++) {
+                mealy.setTransition((Integer) s,
+                                    ALPHABET.getSymbol(random.nextInt(ALPHABET.size())),
+                                    (Integer) random.nextInt(SIZE),
+                                    (Character) (random.nextBoolean() ? 'a' : 'b'));
+            }
+        }
+
+        return mealy;
+    }
+
+    private static CompactMealy<Integer, Character> randomSparseMealy(Random random,
+                                                                      CompactMealy<Integer, Character> template) {
+        final CompactMealy<Integer, Character> mealy = new CompactMealy<>(ALPHABET, template.size());
+
+        for (int i = 0; i < template.size(); i++) {
+            mealy.addState();
+        }
+        mealy.setInitialState(template.getInitialState());
+
+        for (int s = 0; s < template.size(); s++) {
+            for (Integer i : ALPHABET) {
+                mealy.setTransition(s, i, template.getSuccessor(s, i), template.getOutput(s, i));
+            }
+        }
+
+        final int state = random.nextInt(mealy.size());
+        final Integer input = ALPHABET.getSymbol(random.nextInt(ALPHABET.size()));
+        final Character output = mealy.getOutput(state, input);
+        mealy.setTransition(state, input, mealy.getSuccessor(state, input), (Character) (output == 'a' ? 'b' : 'a'));
+
+        return mealy;
+    }
+}
@@ -15,8 +15,11 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.Random;
+
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.util.automata.Automata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.Word;
 import net.automatalib.words.impl.Alphabets;
@@ -45,4 +48,122 @@ public class NFAsTest {
 
         Assert.assertEquals(dfa.size(), 2);
     }
+
+    public void testInclusion() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final Random random = new Random(42);
+        int included = 0;
+        int notIncluded = 0;
+
+        for (int i = 0; i < 100; i++) {
+            final CompactNFA<Integer> nfa1 = randomNFA(random, alphabet, 6);
+            final long seed = random.nextLong();
+            final CompactNFA<Integer> nfa2 = randomNFA(new Random(seed), alphabet, 6);
+
+            // nfa2 with additional transitions accepts a superset of the language of nfa2
+            final CompactNFA<Integer> superNFA = randomNFA(new Random(seed), alphabet, 6);
+            for (int j = 0; j < 4; j++) {
+                superNFA.addTransition(random.nextInt(6), random.nextInt(2), random.nextInt(6));
+            }
+
+            Assert.assertTrue(NFAs.testInclusion(nfa2, superNFA, alphabet));
+
+            final CompactDFA<Integer> dfa1 = NFAs.determinize(nfa1, alphabet);
+            final CompactDFA<Integer> dfa2 = NFAs.determinize(nfa2, alphabet);
+            final CompactDFA<Integer> difference = DFAs.and(dfa1, DFAs.complement(dfa2, alphabet), alphabet);
+            final Word<Integer> counterexample = NFAs.findInclusionCounterexample(nfa1, nfa2, alphabet);
+            final Word<Integer> plainCounterexample =
+                    AntichainInclusion.findInclusionCounterexample(nfa1, nfa2, alphabet, false);
+
+            Assert.assertEquals(plainCounterexample == null, counterexample == null);
+
+            if (DFAs.acceptsEmptyLanguage(difference)) {
+                Assert.assertNull(counterexample);
+                included++;
+            } else {
+                Assert.assertNotNull(counterexample);
+                Assert.assertTrue(nfa1.accepts(counterexample));
+                Assert.assertFalse(nfa2.accepts(counterexample));
+                Assert.assertEquals(counterexample.length(), shortestAccepted(difference, alphabet).length());
+                Assert.assertEquals(plainCounterexample.length(), counterexample.length());
+                notIncluded++;
+            }
+
+            final boolean equivalent = Automata.testEquivalence(dfa1, dfa2, alphabet);
+            final Word<Integer> sepWord = NFAs.findSeparatingWord(nfa1, nfa2, alphabet);
+
+            Assert.assertEquals(NFAs.testEquivalence(nfa1, nfa2, alphabet), equivalent);
+            Assert.assertEquals(sepWord == null, equivalent);
+            if (sepWord != null) {
+                Assert.assertNotEquals(nfa1.accepts(sepWord), nfa2.accepts(sepWord));
+            }
+        }
+
+        Assert.assertTrue(included > 0);
+        Assert.assertTrue(notIncluded > 0);
+    }
+
+    public void testUniversality() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 1);
+        final Random random = new Random(1337);
+        int universal = 0;
+        int notUniversal = 0;
+
+        for (int i = 0; i < 100; i++) {
+            final CompactNFA<Integer> nfa = randomNFA(random, alphabet, 5);
+            final CompactDFA<Integer> complement = DFAs.complement(NFAs.determinize(nfa, alphabet), alphabet);
+            final Word<Integer> counterexample = NFAs.findUniversalityCounterexample(nfa, alphabet);
+            final Word<Integer> plainCounterexample =
+                    AntichainInclusion.findUniversalityCounterexample(nfa, alphabet, false);
+
+            Assert.assertEquals(plainCounterexample == null, counterexample == null);
+
+            Assert.assertEquals(NFAs.isUniversal(nfa, alphabet), counterexample == null);
+
+            if (DFAs.acceptsEmptyLanguage(complement)) {
+                Assert.assertNull(counterexample);
+                universal++;
+            } else {
+                Assert.assertNotNull(counterexample);
+                Assert.assertFalse(nfa.accepts(counterexample));
+                Assert.assertEquals(counterexample.length(), shortestAccepted(complement, alphabet).length());
+                Assert.assertEquals(plainCounterexample.length(), counterexample.length());
+                notUniversal++;
+            }
+        }
+
+        Assert.assertTrue(universal > 0);
+        Assert.assertTrue(notUniversal > 0);
+    }
+
+    private static CompactNFA<Integer> randomNFA(Random random, Alphabet<Integer> alphabet, int size) {
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet, size);
+
+        for (int i = 0; i < size; i++) {
+            nfa.addState(random.nextBoolean());
+        }
+        nfa.setInitial(0, true);
+
+        for (int s = 0; s < size; s++) {
+            for (Integer i : alphabet) {
+                for (int t = random.nextInt(4); t > 0; t--) {
+                    nfa.addTransition(s, i, random.nextInt(size));
+                }
+            }
+        }
+
+        return nfa;
+    }
+
+    private static Word<Integer> shortestAccepted(CompactDFA<Integer> dfa, Alphabet<Integer> alphabet) {
+        final CompactDFA<Integer> empty = new CompactDFA<>(alphabet);
+        final Integer sink = empty.addInitialState(false);
+        for (Integer i : alphabet) {
+            empty.setTransition(sink, i, sink);
+        }
+
+        final Word<Integer> result = Automata.findShortestSeparatingWord(dfa, empty, alphabet);
+        Assert.assertNotNull(result);
+        return result;
+    }
 }
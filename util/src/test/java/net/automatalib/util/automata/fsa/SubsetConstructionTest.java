@@ -0,0 +1,165 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.ts.powerset.DirectPowersetDTS;
+import net.automatalib.util.ts.traversal.BFSOrderIterator;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class SubsetConstructionTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 2);
+
+    @Test
+    public void testSubsets() {
+        final CompactNFA<Integer> nfa = randomNFA(new Random(42), 16, 3);
+        final SubsetConstruction<Integer> subsets = new SubsetConstruction<>(nfa, ALPHABET);
+        final DirectPowersetDTS<Integer, Integer, Integer> powerset = new DirectPowersetDTS<>(nfa);
+
+        final List<Set<Integer>> reachable = new ArrayList<>();
+        new BFSOrderIterator<>(powerset, ALPHABET).forEachRemaining(reachable::add);
+
+        Assert.assertEquals(subsets.getInitialSubset(), 0);
+
+        // exploring the subsets in ID order is a breadth-first traversal
+        for (int subset = 0; subset < subsets.size(); subset++) {
+            Assert.assertEquals(toSet(subsets.getSubset(subset)), reachable.get(subset));
+            Assert.assertEquals(subsets.isAcceptingSubset(subset), nfa.isAccepting(reachable.get(subset)));
+
+            for (int i = 0; i < ALPHABET.size(); i++) {
+                final int succ = subsets.getSuccessorId(subset, i);
+                Assert.assertEquals(toSet(subsets.getSubset(succ)),
+                                    powerset.getSuccessor(reachable.get(subset), ALPHABET.getSymbol(i)));
+                // memoized
+                Assert.assertEquals(subsets.getSuccessorId(subset, i), succ);
+            }
+        }
+
+        Assert.assertEquals(subsets.size(), reachable.size());
+    }
+
+    @Test
+    public void testDeterminize() {
+        final Random random = new Random(1337);
+        final CompactNFA<Integer> nfa = randomNFA(random, 20, 2);
+
+        final CompactDFA<Integer> complete = NFAs.determinize(nfa, ALPHABET, false, false);
+        final CompactDFA<Integer> partial = NFAs.determinize(nfa, ALPHABET, true, false);
+        final CompactDFA<Integer> minimal = NFAs.determinize(nfa, ALPHABET);
+        final SubsetConstruction<Integer> subsets = new SubsetConstruction<>(nfa, ALPHABET);
+
+        for (int i = 0; i < 500; i++) {
+            final Word<Integer> word = randomWord(random, 12);
+            final boolean expected = nfa.accepts(word);
+
+            Assert.assertEquals(complete.accepts(word), expected);
+            Assert.assertEquals(partial.accepts(word), expected);
+            Assert.assertEquals(minimal.accepts(word), expected);
+            Assert.assertEquals(subsets.accepts(word), expected);
+        }
+
+        Assert.assertEquals(complete.size(), countReachable(nfa));
+        Assert.assertTrue(partial.size() <= complete.size());
+        Assert.assertTrue(minimal.size() <= partial.size() + 1);
+    }
+
+    @Test
+    public void testBoundedCache() {
+        final Random random = new Random(7);
+        final int capacity = 200;
+        final int length = 50;
+
+        // 500 states and (non-)deterministic transitions lead to a large number of reachable subsets
+        final CompactNFA<Integer> nfa = randomNFA(random, 500, 2);
+        final SubsetConstruction<Integer> subsets = new SubsetConstruction<>(nfa, ALPHABET, capacity);
+
+        int clears = 0;
+        int previousSize = 0;
+
+        for (int i = 0; i < 200; i++) {
+            final Word<Integer> word = randomWord(random, length);
+            Assert.assertEquals(subsets.accepts(word), nfa.accepts(word));
+            Assert.assertTrue(subsets.size() <= capacity + length + 1);
+
+            if (subsets.size() < previousSize) {
+                clears++;
+            }
+            previousSize = subsets.size();
+        }
+
+        Assert.assertTrue(clears > 0);
+
+        subsets.clear();
+        Assert.assertEquals(subsets.size(), 0);
+    }
+
+    private static CompactNFA<Integer> randomNFA(Random random, int size, int maxSuccessors) {
+        final CompactNFA<Integer> nfa = new CompactNFA<>(ALPHABET, size);
+
+        for (int i = 0; i < size; i++) {
+            nfa.addState(random.nextInt(4) == 0);
+        }
+        nfa.setInitial(0, true);
+
+        for (int s = 0; s < size; s++) {
+            for (Integer i : ALPHABET) {
+                for (int t = random.nextInt(maxSuccessors + 1); t > 0; t--) {
+                    nfa.addTransition(s, i, random.nextInt(size));
+                }
+            }
+        }
+
+        return nfa;
+    }
+
+    private static Word<Integer> randomWord(Random random, int length) {
+        final WordBuilder<Integer> wb = new WordBuilder<>(length);
+        for (int i = 0; i < length; i++) {
+            wb.append(ALPHABET.getSymbol(random.nextInt(ALPHABET.size())));
+        }
+        return wb.toWord();
+    }
+
+    private static int countReachable(CompactNFA<Integer> nfa) {
+        final int[] count = {0};
+        new BFSOrderIterator<>(new DirectPowersetDTS<>(nfa), ALPHABET).forEachRemaining(s -> count[0]++);
+        return count[0];
+    }
+
+    private static Set<Integer> toSet(int[] subset) {
+        final Set<Integer> result = new HashSet<>();
+        for (int s : subset) {
+            result.add(s);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.minimizer.paigetarjan.IncrementalPaigeTarjanMinimizer;
+import net.automatalib.util.automata.minimizer.paigetarjan.PaigeTarjanMinimization;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.annotations.Test;
+
+public class IncrementalPaigeTarjanMinimizerTest {
+
+    private static final int SIZE = 500;
+    private static final int ROUNDS = 50;
+
+    @Test
+    public void testDFA() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final Random random = new Random(42);
+
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, SIZE, alphabet, false);
+        final IncrementalPaigeTarjanMinimizer<Integer, Integer, Boolean, Void> minimizer =
+                IncrementalPaigeTarjanMinimizer.forDFA(dfa, alphabet);
+
+        MinimizationTestUtil.assertIdentical(minimizer.minimize(new CompactDFA.Creator<>()),
+                                             PaigeTarjanMinimization.minimizeDFA(dfa, alphabet),
+                                             alphabet);
+
+        for (int r = 0; r < ROUNDS; r++) {
+            final int numChanges = 1 + random.nextInt(3);
+            for (int c = 0; c < numChanges; c++) {
+                final int state = random.nextInt(dfa.size());
+                switch (random.nextInt(4)) {
+                    case 0:
+                        dfa.setAccepting(state, !dfa.isAccepting(state));
+                        break;
+                    case 1:
+                        dfa.removeAllTransitions(state, alphabet.getSymbol(random.nextInt(alphabet.size())));
+                        break;
+                    case 2:
+                        // add a copy of an existing state, which does not change the minimal automaton
+                        final Integer copy = dfa.addState(dfa.isAccepting(state));
+                        for (Integer i : alphabet) {
+                            final Integer succ = dfa.getSuccessor(state, i);
+                            if (succ != null) {
+                                dfa.setTransition(copy, i, succ);
+                            }
+                        }
+                        final int pred = random.nextInt(dfa.size());
+                        final Integer predInput = alphabet.getSymbol(random.nextInt(alphabet.size()));
+                        if (Integer.valueOf(state).equals(dfa.getSuccessor(pred, predInput))) {
+                            dfa.setTransition(pred, predInput, copy);
+                            minimizer.markModified(pred);
+                        }
+                        break;
+                    default:
+                        final Integer target = random.nextInt(dfa.size());
+                        dfa.setTransition(state, alphabet.getSymbol(random.nextInt(alphabet.size())), target);
+                }
+                minimizer.markModified(state);
+            }
+
+            MinimizationTestUtil.assertIdentical(minimizer.minimize(new CompactDFA.Creator<>()),
+                                                 PaigeTarjanMinimization.minimizeDFA(dfa, alphabet),
+                                                 alphabet);
+        }
+    }
+
+    @Test
+    public void testMealy() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final List<Character> outputs = Arrays.asList('a', 'b');
+        final Random random = new Random(1337);
+
+        final CompactMealy<Integer, Character> mealy = RandomAutomata.randomMealy(random, SIZE, alphabet, outputs, false);
+        final IncrementalPaigeTarjanMinimizer<Integer, Integer, Void, Character> minimizer =
+                IncrementalPaigeTarjanMinimizer.forMealy(mealy, alphabet);
+
+        for (int r = 0; r < ROUNDS; r++) {
+            MinimizationTestUtil.assertIdentical(minimizer.minimize(new CompactMealy.Creator<>()),
+                                                 PaigeTarjanMinimization.minimizeMealy(mealy, alphabet),
+                                                 alphabet);
+
+            final Integer state = random.nextInt(mealy.size());
+            final Integer input = alphabet.getSymbol(random.nextInt(alphabet.size()));
+
+            if (random.nextBoolean()) {
+                final Integer target = random.nextInt(mealy.size());
+                mealy.setTransition(state, input, target, outputs.get(random.nextInt(2)));
+            } else {
+                // redirect a transition to a fresh copy of its target
+                final Integer target = mealy.getSuccessor(state, input);
+                final Integer fresh = mealy.addState();
+                for (Integer i : alphabet) {
+                    final Integer succ = target == null ? null : mealy.getSuccessor(target, i);
+                    if (succ != null) {
+                        mealy.setTransition(fresh, i, succ, mealy.getOutput(target, i));
+                    }
+                }
+                if (target != null) {
+                    mealy.setTransition(state, input, fresh, mealy.getOutput(state, input));
+                }
+            }
+            minimizer.markModified(state);
+        }
+    }
+}
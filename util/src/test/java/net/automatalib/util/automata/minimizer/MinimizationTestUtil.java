@@ -0,0 +1,49 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.words.Alphabet;
+import org.testng.Assert;
+
+/**
+ * @author frohme
+ */
+final class MinimizationTestUtil {
+
+    private MinimizationTestUtil() {}
+
+    /**
+     * Asserts that the two given (integer-based) automata are not only equivalent, but also identical, i.e. have the
+     * same state IDs, transitions and properties.
+     */
+    static <I> void assertIdentical(UniversalDeterministicAutomaton<Integer, I, ?, ?, ?> actual,
+                                    UniversalDeterministicAutomaton<Integer, I, ?, ?, ?> expected,
+                                    Alphabet<I> alphabet) {
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertEquals(actual.getInitialState(), expected.getInitialState());
+        Assert.assertTrue(Automata.testEquivalence(actual, expected, alphabet));
+
+        for (int s = 0; s < expected.size(); s++) {
+            Assert.assertEquals(actual.getStateProperty(s), expected.getStateProperty(s));
+            for (I i : alphabet) {
+                Assert.assertEquals(actual.getSuccessor(s, i), expected.getSuccessor(s, i));
+                Assert.assertEquals(actual.getTransitionProperty(s, i), expected.getTransitionProperty(s, i));
+            }
+        }
+    }
+}
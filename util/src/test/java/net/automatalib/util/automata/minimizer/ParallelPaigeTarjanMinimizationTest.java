@@ -0,0 +1,86 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.MutableDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.MutableMealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.minimizer.paigetarjan.PaigeTarjanMinimization;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ParallelPaigeTarjanMinimizationTest extends AbstractMinimizationTest {
+
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    @Override
+    protected <I> DFA<?, I> minimizeDFA(MutableDFA<?, I> dfa, Alphabet<I> alphabet) {
+        return PaigeTarjanMinimization.minimizeDFA(dfa, alphabet, pool);
+    }
+
+    @Override
+    protected <I, O> MealyMachine<?, I, ?, O> minimizeMealy(MutableMealyMachine<?, I, ?, O> mealy,
+                                                            Alphabet<I> alphabet) {
+        return PaigeTarjanMinimization.minimizeMealy(mealy, alphabet, pool);
+    }
+
+    @Override
+    protected boolean isPruned() {
+        return true;
+    }
+
+    @Override
+    protected boolean supportsPartial() {
+        return true;
+    }
+
+    @Test
+    public void testLargeDFA() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), 20000, alphabet, false);
+
+        final CompactDFA<Integer> sequential = PaigeTarjanMinimization.minimizeDFA(dfa, alphabet);
+        final CompactDFA<Integer> parallel = PaigeTarjanMinimization.minimizeDFA(dfa, alphabet, pool);
+
+        MinimizationTestUtil.assertIdentical(parallel, sequential, alphabet);
+        Assert.assertTrue(Automata.testEquivalence(dfa, parallel, alphabet));
+    }
+
+    @Test
+    public void testLargeMealy() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(new Random(42), 20000, alphabet, Arrays.asList('a', 'b'), false);
+
+        final CompactMealy<Integer, Character> sequential = PaigeTarjanMinimization.minimizeMealy(mealy, alphabet);
+        final CompactMealy<Integer, Character> parallel =
+                Automata.minimize(mealy, alphabet, new CompactMealy.Creator<>(), pool);
+
+        MinimizationTestUtil.assertIdentical(parallel, sequential, alphabet);
+        Assert.assertTrue(Automata.testEquivalence(mealy, parallel, alphabet));
+    }
+}
@@ -0,0 +1,91 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.minimizer;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.MutableDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.MutableMealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.minimizer.paigetarjan.PaigeTarjanMinimization;
+import net.automatalib.util.automata.minimizer.signature.SignatureMinimization;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.partitionrefinement.AutomatonInitialPartitioning;
+import net.automatalib.util.partitionrefinement.PaigeTarjanTest;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.annotations.Test;
+
+public class SignatureMinimizationTest extends AbstractMinimizationTest {
+
+    @Override
+    protected <I> DFA<?, I> minimizeDFA(MutableDFA<?, I> dfa, Alphabet<I> alphabet) {
+        return SignatureMinimization.minimizeDFA(dfa, alphabet);
+    }
+
+    @Override
+    protected <I, O> MealyMachine<?, I, ?, O> minimizeMealy(MutableMealyMachine<?, I, ?, O> mealy,
+                                                            Alphabet<I> alphabet) {
+        return SignatureMinimization.minimizeMealy(mealy, alphabet);
+    }
+
+    @Override
+    protected boolean isPruned() {
+        return true;
+    }
+
+    @Override
+    protected boolean supportsPartial() {
+        return true;
+    }
+
+    @Test
+    public void testIdenticalToPaigeTarjan() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 9);
+        final Random random = new Random(42);
+
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, 5000, alphabet, false);
+        MinimizationTestUtil.assertIdentical(SignatureMinimization.minimizeDFA(dfa, alphabet),
+                        PaigeTarjanMinimization.minimizeDFA(dfa, alphabet),
+                        alphabet);
+
+        final CompactMealy<Integer, Character> mealy =
+                RandomAutomata.randomMealy(random, 5000, alphabet, Arrays.asList('a', 'b'), false);
+        MinimizationTestUtil.assertIdentical(SignatureMinimization.minimizeMealy(mealy, alphabet),
+                        PaigeTarjanMinimization.minimizeMealy(mealy, alphabet),
+                        alphabet);
+
+        final CompactMealy<Integer, String> partial = PaigeTarjanTest.getMealy();
+        final Alphabet<Integer> partialAlphabet = partial.getInputAlphabet();
+        for (AutomatonInitialPartitioning ap : AutomatonInitialPartitioning.values()) {
+            MinimizationTestUtil.assertIdentical(SignatureMinimization.minimizeUniversal(partial,
+                                                                    partialAlphabet,
+                                                                    new CompactMealy.Creator<>(),
+                                                                    ap,
+                                                                    null),
+                            PaigeTarjanMinimization.minimizeUniversal(partial,
+                                                                      partialAlphabet,
+                                                                      new CompactMealy.Creator<>(),
+                                                                      ap,
+                                                                      null),
+                            partialAlphabet);
+        }
+    }
+}
@@ -15,14 +15,25 @@
  */
 package net.automatalib.util.fixpoint;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.function.Function;
 
+import net.automatalib.automata.UniversalAutomaton;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
 import net.automatalib.commons.util.Pair;
+import net.automatalib.ts.TransitionPredicate;
 import net.automatalib.util.automata.predicates.TransitionPredicates;
+import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 import org.assertj.core.api.Assertions;
 import org.testng.Assert;
@@ -96,4 +107,115 @@ public class ClosuresTest {
         Assert.assertTrue(dfa2.accepts(Arrays.asList("a", "c")));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testClosureOperator() {
+        final Random random = new Random(42);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet);
+
+        for (int i = 0; i < 100; i++) {
+            nfa.addState();
+        }
+        for (int s = 0; s < nfa.size(); s++) {
+            for (Integer i : alphabet) {
+                for (int j = random.nextInt(3); j > 0; j--) {
+                    nfa.addTransition(s, i, random.nextInt(nfa.size()));
+                }
+            }
+        }
+        final TransitionPredicate<Integer, Integer, Integer> filter = (s, i, t) -> i != 0 && (s + t) % 3 != 0;
+
+        final Function<Set<Integer>, Set<Integer>> op = Closures.toClosureOperator(nfa, alphabet, filter);
+
+        Assert.assertEquals(op.apply(Collections.emptySet()), Collections.emptySet());
+
+        for (int i = 0; i < 50; i++) {
+            final Set<Integer> states = new HashSet<>();
+            for (int j = random.nextInt(4); j >= 0; j--) {
+                states.add(random.nextInt(nfa.size()));
+            }
+
+            Assert.assertEquals(op.apply(states), referenceClosure(nfa, alphabet, filter, states));
+        }
+    }
+
+    @Test
+    public void testSubsetClosure() {
+        final Random random = new Random(1337);
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final List<Integer> visibleInputs = Arrays.asList(1, 2, 3);
+
+        for (int r = 0; r < 10; r++) {
+            final CompactNFA<Integer> nfa = new CompactNFA<>(alphabet);
+
+            for (int i = 0; i < 30; i++) {
+                nfa.addState();
+            }
+            nfa.setInitial(0, true);
+            for (int s = 0; s < nfa.size(); s++) {
+                for (Integer i : alphabet) {
+                    for (int j = random.nextInt(3); j > 0; j--) {
+                        nfa.addTransition(s, i, random.nextInt(nfa.size()));
+                    }
+                }
+            }
+
+            final TransitionPredicate<Integer, Integer, Integer> filter = (s, i, t) -> (s + t) % 5 != 0;
+            final Function<Set<Integer>, Set<Integer>> op =
+                    Closures.toClosureOperator(nfa, alphabet, TransitionPredicates.inputIs(0));
+
+            // the operator created by toClosureOperator enables the bitset-based subset exploration ...
+            final Pair<Map<Set<Integer>, Integer>, CompactNFA<Integer>> actual =
+                    Closures.closure(nfa, visibleInputs, CompactNFA::new, op, filter);
+            // ... whereas an arbitrary operator falls back to the set-based one
+            final Pair<Map<Set<Integer>, Integer>, CompactNFA<Integer>> expected =
+                    Closures.closure(nfa, visibleInputs, CompactNFA::new, op::apply, filter);
+
+            final Map<Set<Integer>, Integer> actualMapping = actual.getFirst();
+            final Map<Set<Integer>, Integer> expectedMapping = expected.getFirst();
+            final CompactNFA<Integer> actualNFA = actual.getSecond();
+            final CompactNFA<Integer> expectedNFA = expected.getSecond();
+
+            Assert.assertEquals(actualMapping.keySet(), expectedMapping.keySet());
+            Assert.assertEquals(actualNFA.size(), expectedNFA.size());
+
+            final Map<Integer, Integer> isomorphism = new HashMap<>();
+            for (Map.Entry<Set<Integer>, Integer> e : expectedMapping.entrySet()) {
+                isomorphism.put(e.getValue(), actualMapping.get(e.getKey()));
+            }
+
+            for (Integer s : expectedNFA) {
+                for (Integer i : visibleInputs) {
+                    final Set<Integer> mappedSuccessors = new HashSet<>();
+                    for (Integer succ : expectedNFA.getSuccessors(s, i)) {
+                        mappedSuccessors.add(isomorphism.get(succ));
+                    }
+                    Assert.assertEquals(actualNFA.getSuccessors(isomorphism.get(s), i), mappedSuccessors);
+                }
+            }
+        }
+    }
+
+    private static <S, I, T> Set<S> referenceClosure(UniversalAutomaton<S, I, T, ?, ?> ts,
+                                                     Collection<I> inputs,
+                                                     TransitionPredicate<S, I, T> filter,
+                                                     Set<S> states) {
+        final Set<S> result = new HashSet<>(states);
+        boolean changed = true;
+
+        while (changed) {
+            changed = false;
+            for (S s : new ArrayList<>(result)) {
+                for (I i : inputs) {
+                    for (T t : ts.getTransitions(s, i)) {
+                        if (filter.apply(s, i, t)) {
+                            changed |= result.add(ts.getSuccessor(t));
+                        }
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+}
@@ -17,11 +17,15 @@ package net.automatalib.util.graphs;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.apsp.APSPResult;
+import net.automatalib.util.graphs.apsp.FloydWarshallAPSP;
+import net.automatalib.util.graphs.apsp.JohnsonAPSP;
 import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -103,6 +107,136 @@ public class APSPTest {
         assertSPNodes(apsp, n4, n3, n4, n1, n3);
     }
 
+    @Test
+    public void testSparseAPSP() {
+        APSPResult<Integer, CompactEdge<Float>> apsp = Graphs.findSparseAPSP(graph, weights);
+        APSPResult<Integer, CompactEdge<Float>> reference = FloydWarshallAPSP.findAPSP(graph, weights);
+
+        for (Integer src : graph) {
+            for (Integer tgt : graph) {
+                assertSPDist(apsp, src, tgt, reference.getShortestPathDistance(src, tgt));
+            }
+        }
+
+        assertSPNodes(apsp, n0, n4, n0, n1, n3, n4);
+        assertSPNodes(apsp, n3, n2, n3, n4, n1, n2);
+        Assert.assertNull(apsp.getShortestPath(n1, n0));
+        Assert.assertNull(apsp.getShortestPath(n1, n1));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(42);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // exceeds a single tile of the blocked implementation
+            for (int size : new int[] {20, 150}) {
+                final CompactSimpleGraph<Float> g = randomGraph(random, size, 4 * size, 1, 20);
+                final EdgeWeights<CompactEdge<Float>> ew = new PropertyEdgeWeights<>(g);
+                final APSPResult<Integer, CompactEdge<Float>> reference = FloydWarshallAPSP.findAPSP(g, ew);
+
+                checkAgainstReference(g, ew, reference, Graphs.findAPSP(g, ew));
+                checkAgainstReference(g, ew, reference, Graphs.findAPSP(g, ew, pool));
+                checkAgainstReference(g, ew, reference, Graphs.findSparseAPSP(g, ew));
+                checkAgainstReference(g, ew, reference, Graphs.findSparseAPSP(g, ew, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testZeroWeightCycles() {
+        final Random random = new Random(42);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // exceeds a single tile of the blocked implementation
+            for (int r = 0; r < 10; r++) {
+                final int size = 65 + random.nextInt(100);
+                final CompactSimpleGraph<Float> g = randomGraph(random, size, 4 * size, 0, 5);
+                final EdgeWeights<CompactEdge<Float>> ew = new PropertyEdgeWeights<>(g);
+                final APSPResult<Integer, CompactEdge<Float>> reference = JohnsonAPSP.findAPSP(g, ew);
+
+                checkAgainstReference(g, ew, reference, Graphs.findAPSP(g, ew));
+                checkAgainstReference(g, ew, reference, Graphs.findAPSP(g, ew, pool));
+                checkAgainstReference(g, ew, reference, FloydWarshallAPSP.findAPSP(g, ew));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testNegativeCycle() {
+        final CompactSimpleGraph<Float> g = new CompactSimpleGraph<>();
+        final Integer a = g.addNode(), b = g.addNode(), c = g.addNode();
+
+        g.connect(a, b, Float.valueOf(1.0f));
+        g.connect(b, c, Float.valueOf(-2.0f));
+        g.connect(c, b, Float.valueOf(1.0f));
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                            () -> JohnsonAPSP.findAPSP(g, new PropertyEdgeWeights<>(g)));
+    }
+
+    /**
+     * Creates a random graph with negative edge weights but without negative cycles, by adjusting non-negative weights
+     * (from {@code minWeight} inclusive to {@code minWeight + weightRange} exclusive) with random node potentials. If
+     * {@code minWeight} is zero, the graph may contain cycles with a zero edge weight sum.
+     */
+    private static CompactSimpleGraph<Float> randomGraph(Random random,
+                                                         int size,
+                                                         int numEdges,
+                                                         int minWeight,
+                                                         int weightRange) {
+        final CompactSimpleGraph<Float> g = new CompactSimpleGraph<>();
+        final int[] potentials = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            g.addNode();
+            potentials[i] = random.nextInt(10);
+        }
+
+        for (int i = 0; i < numEdges; i++) {
+            final Integer src = random.nextInt(size), tgt = random.nextInt(size);
+            final int weight = minWeight + random.nextInt(weightRange) + potentials[src] - potentials[tgt];
+            g.connect(src, tgt, Float.valueOf(weight));
+        }
+
+        return g;
+    }
+
+    private static void checkAgainstReference(CompactSimpleGraph<Float> g,
+                                              EdgeWeights<CompactEdge<Float>> ew,
+                                              APSPResult<Integer, CompactEdge<Float>> reference,
+                                              APSPResult<Integer, CompactEdge<Float>> actual) {
+        for (Integer src : g) {
+            for (Integer tgt : g) {
+                final float expected = reference.getShortestPathDistance(src, tgt);
+                Assert.assertEquals(actual.getShortestPathDistance(src, tgt), expected);
+
+                final List<CompactEdge<Float>> path = actual.getShortestPath(src, tgt);
+                if (expected == Graphs.INVALID_DISTANCE) {
+                    Assert.assertNull(path);
+                    continue;
+                }
+
+                Assert.assertNotNull(path);
+                float weight = 0;
+                Integer node = src;
+                for (CompactEdge<Float> edge : path) {
+                    Assert.assertTrue(g.getOutgoingEdges(node).contains(edge));
+                    weight += ew.getEdgeWeight(edge);
+                    node = g.getTarget(edge);
+                }
+                Assert.assertEquals(node, tgt);
+                Assert.assertEquals(weight, expected);
+            }
+        }
+    }
+
     private static <N> void assertSPDist(APSPResult<N, ?> res, N src, N tgt, float dist) {
         Assert.assertEquals(res.getShortestPathDistance(src, tgt), dist);
     }
@@ -0,0 +1,210 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.base.compact.CompactEdge;
+import net.automatalib.graphs.base.compact.CompactSimpleGraph;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.graphs.compressed.CompressedGraph;
+import net.automatalib.util.graphs.compressed.CompressedGraphs;
+import net.automatalib.util.graphs.compressed.CompressedSSSPResult;
+import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
+import net.automatalib.util.graphs.sssp.SSSPResult;
+import net.automatalib.util.graphs.traversal.GraphTraversal;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class CompressedGraphTest {
+
+    private static final int SIZE = 200;
+
+    private final CompactSimpleGraph<Float> graph;
+    private final CompressedGraph<Integer, CompactEdge<Float>> compressed;
+
+    public CompressedGraphTest() {
+        final Random random = new Random(42);
+        this.graph = new CompactSimpleGraph<>();
+
+        for (int i = 0; i < SIZE; i++) {
+            graph.addIntNode();
+        }
+        for (int i = 0; i < 3 * SIZE; i++) {
+            graph.connect(random.nextInt(SIZE), random.nextInt(SIZE), Float.valueOf(random.nextInt(100) / 10f));
+        }
+
+        this.compressed = CompressedGraph.of(graph, new PropertyEdgeWeights<>(graph));
+    }
+
+    @Test
+    public void testStructure() {
+        Assert.assertEquals(compressed.size(), SIZE);
+        Assert.assertEquals(compressed.getNumEdges(), 3 * SIZE);
+        Assert.assertTrue(compressed.isWeighted());
+
+        for (int n = 0; n < SIZE; n++) {
+            final List<CompactEdge<Float>> edges = new ArrayList<>(graph.getOutgoingEdges(n));
+            Assert.assertEquals(compressed.getOutDegree(n), edges.size());
+            Assert.assertEquals(compressed.getNode(n), Integer.valueOf(n));
+
+            for (int i = 0; i < edges.size(); i++) {
+                final int e = compressed.getEdgeOffset(n) + i;
+                Assert.assertEquals(compressed.getEdge(e), edges.get(i));
+                Assert.assertEquals(compressed.getTarget(e), edges.get(i).getTarget());
+                Assert.assertEquals(compressed.getWeight(e), edges.get(i).getProperty(), 0.0f);
+            }
+        }
+
+        Assert.assertThrows(IllegalStateException.class, () -> CompressedGraph.of(graph).getWeight(0));
+    }
+
+    @Test
+    public void testSSSP() {
+        for (int source = 0; source < SIZE; source += 17) {
+            final SSSPResult<Integer, CompactEdge<Float>> expected =
+                    Graphs.findSSSP(graph, source, new PropertyEdgeWeights<>(graph));
+            final CompressedSSSPResult<Integer, CompactEdge<Float>> actual =
+                    CompressedGraphs.findSSSP(compressed, source);
+
+            Assert.assertEquals(actual.getInitialNode(), Integer.valueOf(source));
+
+            for (int n = 0; n < SIZE; n++) {
+                final float dist = expected.getShortestPathDistance(n);
+                Assert.assertEquals(actual.getShortestPathDistance(n), dist, 1e-4f);
+
+                final List<CompactEdge<Float>> path = actual.getShortestPath(n);
+                if (dist == Graphs.INVALID_DISTANCE) {
+                    Assert.assertNull(path);
+                    Assert.assertNull(actual.getShortestPathEdges(n));
+                } else {
+                    Assert.assertNotNull(path);
+                    float sum = 0;
+                    int curr = source;
+                    for (CompactEdge<Float> e : path) {
+                        Assert.assertTrue(graph.getOutgoingEdges(curr).contains(e));
+                        sum += e.getProperty();
+                        curr = e.getTarget();
+                    }
+                    Assert.assertEquals(curr, n);
+                    Assert.assertEquals(sum, dist, 1e-4f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSCCs() {
+        final Set<Set<Integer>> expected = toSets(Graphs.collectSCCs(graph));
+
+        final List<List<Integer>> collected = new ArrayList<>();
+        CompressedGraphs.findSCCs(compressed, scc -> collected.add(new ArrayList<>(scc)));
+        Assert.assertEquals(toSets(collected), expected);
+
+        final int[] components = CompressedGraphs.findSCCs(compressed);
+        for (int i = 0; i < collected.size(); i++) {
+            for (Integer n : collected.get(i)) {
+                Assert.assertEquals(components[n], i);
+            }
+        }
+
+        // SCCs are reported in reverse topological order
+        for (int n = 0; n < SIZE; n++) {
+            for (CompactEdge<Float> e : graph.getOutgoingEdges(n)) {
+                Assert.assertTrue(components[e.getTarget()] <= components[n]);
+            }
+        }
+    }
+
+    @Test
+    public void testTraversal() {
+        for (int source = 0; source < SIZE; source += 23) {
+            final List<Integer> bfs = distinctBreadthFirstOrder(graph, source);
+            Assert.assertEquals(toList(CompressedGraphs.breadthFirstOrder(compressed, source)), bfs);
+
+            final List<Integer> dfs = toList(CompressedGraphs.depthFirstOrder(compressed, source));
+            Assert.assertEquals(new HashSet<>(dfs), new HashSet<>(bfs));
+            Assert.assertEquals(dfs.get(0), Integer.valueOf(source));
+
+            final BitSet reachable = CompressedGraphs.reachableNodes(compressed, source);
+            Assert.assertEquals(reachable.cardinality(), bfs.size());
+            for (Integer n : bfs) {
+                Assert.assertTrue(reachable.get(n));
+            }
+
+            final int[] distances = CompressedGraphs.breadthFirstDistances(compressed, source);
+            for (int n = 0; n < SIZE; n++) {
+                Assert.assertEquals(distances[n] >= 0, reachable.get(n));
+            }
+            for (int i = 1; i < bfs.size(); i++) {
+                Assert.assertTrue(distances[bfs.get(i - 1)] <= distances[bfs.get(i)]);
+            }
+        }
+    }
+
+    @Test
+    public void testAutomatonSnapshot() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(new Random(42), 50, alphabet);
+        final Graph<Integer, ?> view = dfa.transitionGraphView(alphabet);
+        final CompressedGraph<Integer, ?> snapshot = CompressedGraph.of(view);
+
+        Assert.assertEquals(snapshot.size(), dfa.size());
+        Assert.assertEquals(snapshot.getNumEdges(), dfa.size() * alphabet.size());
+        Assert.assertFalse(snapshot.isWeighted());
+
+        final int init = snapshot.getNodeId(dfa.getInitialState());
+        Assert.assertEquals(CompressedGraphs.reachableNodes(snapshot, init).cardinality(),
+                            distinctBreadthFirstOrder(view, dfa.getInitialState()).size());
+    }
+
+    private static <N> List<N> distinctBreadthFirstOrder(Graph<N, ?> graph, N source) {
+        // the traversal may re-visit the source node, if it is reachable from itself
+        final Iterable<N> order = GraphTraversal.breadthFirstOrder(graph, Collections.singleton(source));
+        return new ArrayList<>(new LinkedHashSet<>(Lists.newArrayList(order)));
+    }
+
+    private static List<Integer> toList(int[] array) {
+        final List<Integer> result = new ArrayList<>(array.length);
+        for (int i : array) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    private static Set<Set<Integer>> toSets(List<List<Integer>> lists) {
+        final Set<Set<Integer>> result = new HashSet<>();
+        for (List<Integer> l : lists) {
+            result.add(new HashSet<>(l));
+        }
+        return result;
+    }
+}
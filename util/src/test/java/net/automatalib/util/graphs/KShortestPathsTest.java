@@ -0,0 +1,210 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.google.common.collect.Iterables;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.graphs.IndefiniteGraph;
+import net.automatalib.graphs.base.compact.CompactEdge;
+import net.automatalib.graphs.base.compact.CompactSimpleGraph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
+import net.automatalib.util.graphs.sssp.DijkstraSearch;
+import net.automatalib.util.graphs.sssp.YenKShortestPaths;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class KShortestPathsTest {
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 20; i++) {
+            final CompactSimpleGraph<Float> graph = randomGraph(random, 10, 4);
+            final EdgeWeights<CompactEdge<Float>> weights = new PropertyEdgeWeights<>(graph);
+            final Set<Integer> targets = new HashSet<>(Arrays.asList(8, 9));
+
+            checkPaths(graph, weights, targets, Float.POSITIVE_INFINITY);
+            checkPaths(graph, weights, targets, 6f);
+        }
+    }
+
+    @Test
+    public void testIndefiniteGraph() {
+        // an infinite graph, in which each node n has an edge (of weight 1) to n + 1 and n + 2
+        final IndefiniteGraph<Integer, Pair<Integer, Integer>> graph =
+                new IndefiniteGraph<Integer, Pair<Integer, Integer>>() {
+
+                    @Override
+                    public Collection<Pair<Integer, Integer>> getOutgoingEdges(Integer node) {
+                        return Arrays.asList(Pair.of(node, node + 1), Pair.of(node, node + 2));
+                    }
+
+                    @Override
+                    public Integer getTarget(Pair<Integer, Integer> edge) {
+                        return edge.getSecond();
+                    }
+                };
+
+        final List<Path<Integer, Pair<Integer, Integer>>> paths = new ArrayList<>();
+        // the limit ensures termination, because paths that skip the target can be extended indefinitely
+        Iterables.addAll(paths, ShortestPaths.kShortestPaths(graph, e -> 1f, 0, 6f, 6));
+
+        // the number of compositions of 6 into parts 1 and 2
+        Assert.assertEquals(paths.size(), 13);
+        Assert.assertEquals(paths.get(0).size(), 3);
+        Assert.assertEquals(paths.get(paths.size() - 1).size(), 6);
+
+        for (int i = 0; i < paths.size(); i++) {
+            final Path<Integer, Pair<Integer, Integer>> path = paths.get(i);
+            Assert.assertEquals(path.endNode(), Integer.valueOf(6));
+            if (i > 0) {
+                Assert.assertTrue(paths.get(i - 1).size() <= path.size());
+            }
+        }
+
+        // lazy evaluation: retrieving the first path only should not require an enumeration of all paths
+        final YenKShortestPaths<Integer, Pair<Integer, Integer>> yen =
+                new YenKShortestPaths<>(graph, e -> 1f, 0, n -> n == 1000);
+        Assert.assertEquals(yen.next().length, 500);
+        Assert.assertEquals(yen.getNumPaths(), 1);
+    }
+
+    @Test
+    public void testShortestPath() {
+        final Random random = new Random(1337);
+        final CompactSimpleGraph<Float> graph = randomGraph(random, 50, 3);
+        final EdgeWeights<CompactEdge<Float>> weights = new PropertyEdgeWeights<>(graph);
+        final DijkstraSearch<Integer, CompactEdge<Float>> dijkstra = new DijkstraSearch<>(graph, weights);
+
+        for (int target = 1; target < graph.size(); target++) {
+            final Iterable<Path<Integer, CompactEdge<Float>>> paths =
+                    ShortestPaths.kShortestPaths(graph, weights, 0, Float.POSITIVE_INFINITY, target);
+
+            if (dijkstra.search(0, target)) {
+                final Path<Integer, CompactEdge<Float>> first = paths.iterator().next();
+                Assert.assertEquals(weight(first, weights), dijkstra.getDistance(target), 1e-4f);
+                Assert.assertEquals(first.endNode(), Integer.valueOf(target));
+            } else {
+                Assert.assertFalse(paths.iterator().hasNext());
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeWeights() {
+        final CompactSimpleGraph<Float> graph = new CompactSimpleGraph<>();
+        final Integer n0 = graph.addNode();
+        final Integer n1 = graph.addNode();
+        graph.connect(n0, n1, Float.valueOf(-1f));
+
+        final YenKShortestPaths<Integer, CompactEdge<Float>> yen =
+                new YenKShortestPaths<>(graph, new PropertyEdgeWeights<>(graph), n0, n1::equals);
+        Assert.assertThrows(IllegalArgumentException.class, yen::hasNext);
+    }
+
+    private static void checkPaths(CompactSimpleGraph<Float> graph,
+                                   EdgeWeights<CompactEdge<Float>> weights,
+                                   Set<Integer> targets,
+                                   float limit) {
+        final List<List<CompactEdge<Float>>> expected = new ArrayList<>();
+        collectPaths(graph, 0, targets::contains, new ArrayList<>(), new HashSet<>(Arrays.asList(0)), expected);
+        expected.removeIf(p -> weight(p, weights) > limit);
+        expected.sort(Comparator.comparingDouble(p -> weight(p, weights)));
+
+        final YenKShortestPaths<Integer, CompactEdge<Float>> yen =
+                new YenKShortestPaths<>(graph, weights, 0, targets::contains, limit);
+        final Set<List<CompactEdge<Float>>> actual = new HashSet<>();
+        int count = 0;
+
+        while (yen.hasNext()) {
+            final int[] path = yen.next();
+            final List<CompactEdge<Float>> edges = yen.toEdgeList(path);
+
+            Assert.assertEquals(yen.getWeight(path), weight(expected.get(count), weights), 1e-4f);
+            Assert.assertEquals(yen.toPath(path).edgeList(), edges);
+            Assert.assertTrue(actual.add(edges));
+            count++;
+        }
+
+        Assert.assertEquals(count, expected.size());
+        Assert.assertEquals(actual, new HashSet<>(expected));
+    }
+
+    /**
+     * Collects all loopless paths that end at (and only visit) a single target node.
+     */
+    private static void collectPaths(CompactSimpleGraph<Float> graph,
+                                     Integer node,
+                                     Predicate<Integer> targets,
+                                     List<CompactEdge<Float>> current,
+                                     Set<Integer> visited,
+                                     List<List<CompactEdge<Float>>> result) {
+        if (targets.test(node)) {
+            result.add(new ArrayList<>(current));
+            return;
+        }
+
+        for (CompactEdge<Float> edge : graph.getOutgoingEdges(node)) {
+            final Integer target = graph.getTarget(edge);
+            if (visited.add(target)) {
+                current.add(edge);
+                collectPaths(graph, target, targets, current, visited, result);
+                current.remove(current.size() - 1);
+                visited.remove(target);
+            }
+        }
+    }
+
+    private static CompactSimpleGraph<Float> randomGraph(Random random, int size, int maxDegree) {
+        final CompactSimpleGraph<Float> graph = new CompactSimpleGraph<>();
+
+        for (int i = 0; i < size; i++) {
+            graph.addNode();
+        }
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 2 + random.nextInt(maxDegree - 1); j > 0; j--) {
+                // small integral weights to provoke ties
+                graph.connect(i, random.nextInt(size), Float.valueOf(random.nextInt(4)));
+            }
+        }
+
+        return graph;
+    }
+
+    private static <E> float weight(List<E> path, EdgeWeights<E> weights) {
+        float result = 0;
+        for (E edge : path) {
+            result += weights.getEdgeWeight(edge);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,369 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.graphs.TransitionEdge;
+import net.automatalib.commons.util.Holder;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.IndefiniteGraph;
+import net.automatalib.ts.TransitionSystem;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.util.graphs.traversal.GraphTraversalAction;
+import net.automatalib.util.graphs.traversal.GraphTraversalVisitor;
+import net.automatalib.util.graphs.traversal.ParallelGraphTraversal;
+import net.automatalib.util.ts.acceptors.Acceptors;
+import net.automatalib.util.ts.traversal.ParallelTSTraversal;
+import net.automatalib.util.ts.traversal.TSTraversalAction;
+import net.automatalib.util.ts.traversal.TSTraversalVisitor;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class ParallelTraversalTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 3);
+
+    private ForkJoinPool pool;
+    private CompactDFA<Integer> dfa1;
+    private CompactDFA<Integer> dfa2;
+
+    @BeforeClass
+    public void setUp() {
+        final Random random = new Random(42);
+        pool = new ForkJoinPool(4);
+        dfa1 = RandomAutomata.randomDFA(random, 3000, ALPHABET, false);
+        dfa2 = RandomAutomata.randomDFA(random, 40, ALPHABET, false);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testTSTraversal() {
+        // IDs-based visited set
+        checkTSTraversal(dfa1);
+        // hash-based visited set
+        checkTSTraversal(Acceptors.and(dfa1, dfa2));
+    }
+
+    @Test
+    public void testGraphTraversal() {
+        final Graph<Integer, TransitionEdge<Integer, Integer>> graph = dfa1.transitionGraphView();
+        final IndefiniteGraph<Integer, TransitionEdge<Integer, Integer>> indefiniteGraph =
+                new IndefiniteGraph<Integer, TransitionEdge<Integer, Integer>>() {
+
+                    @Override
+                    public Collection<TransitionEdge<Integer, Integer>> getOutgoingEdges(Integer node) {
+                        return graph.getOutgoingEdges(node);
+                    }
+
+                    @Override
+                    public Integer getTarget(TransitionEdge<Integer, Integer> edge) {
+                        return graph.getTarget(edge);
+                    }
+                };
+
+        // IDs-based visited set
+        checkGraphTraversal(graph, dfa1.getInitialState());
+        // hash-based visited set
+        checkGraphTraversal(indefiniteGraph, dfa1.getInitialState());
+    }
+
+    @Test
+    public void testAbort() {
+        final DepthTSVisitor<Integer, Integer> tsVisitor = new DepthTSVisitor<>(2);
+        Assert.assertTrue(ParallelTSTraversal.breadthFirst(dfa1, -1, ALPHABET, tsVisitor, pool, false));
+        Assert.assertFalse(tsVisitor.explored.isEmpty());
+        Assert.assertTrue(tsVisitor.explored.values().stream().allMatch(d -> d <= 2));
+
+        final DepthGraphVisitor<Integer, TransitionEdge<Integer, Integer>> graphVisitor = new DepthGraphVisitor<>(2);
+        Assert.assertTrue(ParallelGraphTraversal.breadthFirst(dfa1.transitionGraphView(),
+                                                              dfa1.getInitialState(),
+                                                              graphVisitor,
+                                                              pool));
+        Assert.assertFalse(graphVisitor.explored.isEmpty());
+        Assert.assertTrue(graphVisitor.explored.values().stream().allMatch(d -> d <= 2));
+    }
+
+    @Test
+    public void testTSInputAborts() {
+        final Random random = new Random(1337);
+        final CompactNFA<Integer> nfa = new CompactNFA<>(ALPHABET);
+        final int size = 2000;
+
+        for (int s = 0; s < size; s++) {
+            nfa.addState();
+        }
+        for (int s = 0; s < size; s++) {
+            for (Integer i : ALPHABET) {
+                for (int t = random.nextInt(4); t > 0; t--) {
+                    nfa.addTransition(s, i, random.nextInt(size));
+                }
+            }
+        }
+        nfa.setInitial(0, true);
+
+        // skip the remaining transitions of an input at odd successors, and the remaining inputs at input 2
+        final Map<Integer, Integer> reference = sequentialBFS(nfa.getInitialStates(), s -> {
+            final List<Integer> result = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                for (Integer trans : nfa.getTransitions(s.intValue(), ALPHABET.getSymbol(i))) {
+                    final Integer succ = nfa.getSuccessor(trans);
+                    if (succ % 2 != 0) {
+                        break;
+                    }
+                    result.add(succ);
+                }
+            }
+            return result;
+        });
+
+        final InputAbortVisitor vis = new InputAbortVisitor();
+        Assert.assertTrue(ParallelTSTraversal.breadthFirst(nfa, -1, ALPHABET, vis, pool, true));
+        Assert.assertEquals(vis.explored, reference);
+    }
+
+    private <S, T> void checkTSTraversal(TransitionSystem<S, Integer, T> ts) {
+        final Map<S, Integer> reference = sequentialBFS(ts.getInitialStates(), s -> successors(ts, s));
+        final List<S> order = new ArrayList<>(reference.keySet());
+
+        for (boolean deterministic : new boolean[] {false, true}) {
+            final DepthTSVisitor<S, T> vis = new DepthTSVisitor<>(-1);
+            Assert.assertTrue(ParallelTSTraversal.breadthFirst(ts, -1, ALPHABET, vis, pool, deterministic));
+            Assert.assertEquals(vis.explored, reference);
+            Assert.assertEquals(vis.duplicates.get(), 0);
+
+            final int limit = order.size() / 2;
+            final DepthTSVisitor<S, T> limitVis = new DepthTSVisitor<>(-1);
+            Assert.assertFalse(ParallelTSTraversal.breadthFirst(ts, limit, ALPHABET, limitVis, pool, deterministic));
+            Assert.assertEquals(limitVis.explored.size(), limit);
+            if (deterministic) {
+                Assert.assertTrue(order.subList(0, limit).stream().allMatch(limitVis.explored::containsKey));
+            }
+        }
+    }
+
+    private <N, E> void checkGraphTraversal(IndefiniteGraph<N, E> graph, N init) {
+        final Map<N, Integer> reference =
+                sequentialBFS(Collections.singleton(init), graph::getAdjacentTargets);
+        final List<N> order = new ArrayList<>(reference.keySet());
+
+        for (boolean deterministic : new boolean[] {false, true}) {
+            final DepthGraphVisitor<N, E> vis = new DepthGraphVisitor<>(-1);
+            Assert.assertTrue(ParallelGraphTraversal.breadthFirst(graph,
+                                                                  -1,
+                                                                  Collections.singleton(init),
+                                                                  vis,
+                                                                  pool,
+                                                                  deterministic));
+            Assert.assertEquals(vis.explored, reference);
+            Assert.assertEquals(vis.duplicates.get(), 0);
+            Assert.assertEquals(vis.finished.get(), reference.size());
+
+            final int limit = order.size() / 2;
+            final DepthGraphVisitor<N, E> limitVis = new DepthGraphVisitor<>(-1);
+            Assert.assertFalse(ParallelGraphTraversal.breadthFirst(graph,
+                                                                   limit,
+                                                                   Collections.singleton(init),
+                                                                   limitVis,
+                                                                   pool,
+                                                                   deterministic));
+            Assert.assertEquals(limitVis.explored.size(), limit);
+            if (deterministic) {
+                Assert.assertTrue(order.subList(0, limit).stream().allMatch(limitVis.explored::containsKey));
+            }
+        }
+    }
+
+    private static <S> List<S> successors(TransitionSystem<S, Integer, ?> ts, S state) {
+        final List<S> result = new ArrayList<>();
+        for (Integer i : ALPHABET) {
+            result.addAll(ts.getSuccessors(state, i));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the BFS depths of all reachable nodes, in the order in which a sequential BFS explores them.
+     */
+    private static <N> Map<N, Integer> sequentialBFS(Collection<? extends N> initialNodes,
+                                                     Function<N, Collection<N>> successors) {
+        final Map<N, Integer> result = new LinkedHashMap<>();
+        final Queue<N> queue = new ArrayDeque<>();
+
+        for (N init : initialNodes) {
+            if (result.putIfAbsent(init, 0) == null) {
+                queue.add(init);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            final N curr = queue.poll();
+            final int depth = result.get(curr);
+
+            for (N succ : successors.apply(curr)) {
+                if (result.putIfAbsent(succ, depth + 1) == null) {
+                    queue.add(succ);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static final class DepthTSVisitor<S, T> implements TSTraversalVisitor<S, Integer, T, Integer> {
+
+        private final int abortDepth;
+        private final Map<S, Integer> explored = new ConcurrentHashMap<>();
+        private final AtomicInteger duplicates = new AtomicInteger();
+
+        DepthTSVisitor(int abortDepth) {
+            this.abortDepth = abortDepth;
+        }
+
+        @Override
+        public TSTraversalAction processInitial(S state, Holder<Integer> outData) {
+            outData.value = 0;
+            return TSTraversalAction.EXPLORE;
+        }
+
+        @Override
+        public boolean startExploration(S state, Integer data) {
+            if (explored.putIfAbsent(state, data) != null) {
+                duplicates.incrementAndGet();
+            }
+            return true;
+        }
+
+        @Override
+        public TSTraversalAction processTransition(S source,
+                                                   Integer srcData,
+                                                   Integer input,
+                                                   T transition,
+                                                   S succ,
+                                                   Holder<Integer> outData) {
+            if (srcData == abortDepth) {
+                return TSTraversalAction.ABORT_TRAVERSAL;
+            }
+            outData.value = srcData + 1;
+            return TSTraversalAction.EXPLORE;
+        }
+    }
+
+    private static final class InputAbortVisitor implements TSTraversalVisitor<Integer, Integer, Integer, Integer> {
+
+        private final Map<Integer, Integer> explored = new ConcurrentHashMap<>();
+
+        @Override
+        public TSTraversalAction processInitial(Integer state, Holder<Integer> outData) {
+            outData.value = 0;
+            return TSTraversalAction.EXPLORE;
+        }
+
+        @Override
+        public boolean startExploration(Integer state, Integer data) {
+            explored.put(state, data);
+            return true;
+        }
+
+        @Override
+        public TSTraversalAction processTransition(Integer source,
+                                                   Integer srcData,
+                                                   Integer input,
+                                                   Integer transition,
+                                                   Integer succ,
+                                                   Holder<Integer> outData) {
+            if (input == 2) {
+                return TSTraversalAction.ABORT_STATE;
+            } else if (succ % 2 != 0) {
+                return TSTraversalAction.ABORT_INPUT;
+            }
+            outData.value = srcData + 1;
+            return TSTraversalAction.EXPLORE;
+        }
+    }
+
+    private static final class DepthGraphVisitor<N, E> implements GraphTraversalVisitor<N, E, Integer> {
+
+        private final int abortDepth;
+        private final Map<N, Integer> explored = new ConcurrentHashMap<>();
+        private final AtomicInteger duplicates = new AtomicInteger();
+        private final AtomicInteger finished = new AtomicInteger();
+
+        DepthGraphVisitor(int abortDepth) {
+            this.abortDepth = abortDepth;
+        }
+
+        @Override
+        public GraphTraversalAction processInitial(N initialNode, Holder<Integer> outData) {
+            outData.value = 0;
+            return GraphTraversalAction.EXPLORE;
+        }
+
+        @Override
+        public boolean startExploration(N node, Integer data) {
+            if (explored.putIfAbsent(node, data) != null) {
+                duplicates.incrementAndGet();
+            }
+            return true;
+        }
+
+        @Override
+        public void finishExploration(N node, Integer inData) {
+            finished.incrementAndGet();
+        }
+
+        @Override
+        public GraphTraversalAction processEdge(N srcNode,
+                                                Integer srcData,
+                                                E edge,
+                                                N tgtNode,
+                                                Holder<Integer> outData) {
+            if (srcData == abortDepth) {
+                return GraphTraversalAction.ABORT_TRAVERSAL;
+            }
+            outData.value = srcData + 1;
+            return GraphTraversalAction.EXPLORE;
+        }
+
+        @Override
+        public void backtrackEdge(N srcNode, Integer srcData, E edge, N tgtNode, Integer tgtData) {}
+    }
+}
@@ -16,11 +16,19 @@
 package net.automatalib.util.graphs;
 
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Sets;
+import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
+import net.automatalib.util.graphs.scc.SCCCollector;
+import net.automatalib.util.graphs.scc.SCCs;
+import net.automatalib.util.graphs.scc.TarjanSCCVisitor;
+import net.automatalib.util.graphs.traversal.GraphTraversal;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -279,6 +287,57 @@ public class SCCTest {
         Assert.assertEquals(computedSCCs, expectedSCCs);
     }
 
+    @Test
+    public void testLargeRandomGraph() {
+        final Random random = new Random(42);
+        final CompactSimpleGraph<Void> graph = new CompactSimpleGraph<>();
+        final int size = 20000;
+
+        for (int i = 0; i < size; i++) {
+            graph.addNode();
+        }
+
+        // a sparse random graph (with a large SCC) and many small cycles
+        for (int i = 0; i < size; i++) {
+            graph.connect(random.nextInt(size), random.nextInt(size));
+            if (i % 10 != 9) {
+                graph.connect(i, i + 1);
+            } else if (random.nextBoolean()) {
+                graph.connect(i, i - 9);
+            }
+        }
+
+        // reference: the object-based Tarjan implementation
+        final SCCCollector<Integer> reference = new SCCCollector<>();
+        final TarjanSCCVisitor<Integer, CompactEdge<Void>> vis = new TarjanSCCVisitor<>(graph, reference);
+        for (Integer node : graph) {
+            if (!vis.hasVisited(node)) {
+                GraphTraversal.depthFirst(graph, node, vis);
+            }
+        }
+
+        final Set<Set<Integer>> expectedSCCs =
+                reference.getSCCList().stream().map(HashSet::new).collect(Collectors.toSet());
+        Assert.assertEquals(computeSCCs(graph), expectedSCCs);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final List<List<Integer>> parallelSCCs = SCCs.collectSCCs(graph, pool);
+            Assert.assertEquals(parallelSCCs.stream().map(HashSet::new).collect(Collectors.toSet()), expectedSCCs);
+            Assert.assertEquals(parallelSCCs.size(), expectedSCCs.size());
+
+            // SCCs are reported in ascending order of their smallest node
+            int lastMin = -1;
+            for (List<Integer> scc : parallelSCCs) {
+                final int min = scc.stream().mapToInt(Integer::intValue).min().getAsInt();
+                Assert.assertTrue(min > lastMin);
+                lastMin = min;
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     private Set<Set<Integer>> computeSCCs(CompactSimpleGraph<Void> graph) {
         return Graphs.collectSCCs(graph).stream().map(HashSet::new).collect(Collectors.toSet());
     }
@@ -16,12 +16,17 @@
 package net.automatalib.util.graphs;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
+import net.automatalib.graphs.base.compact.CompactBidiEdge;
 import net.automatalib.graphs.base.compact.CompactEdge;
+import net.automatalib.graphs.base.compact.CompactSimpleBidiGraph;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
+import net.automatalib.util.graphs.sssp.DijkstraSearch;
 import net.automatalib.util.graphs.sssp.SSSPResult;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -74,6 +79,82 @@ public class SSSPTest {
         assertSPDist(sssp, n5, Graphs.INVALID_DISTANCE);
     }
 
+    @Test
+    public void testSearch() {
+        final DijkstraSearch<Integer, CompactEdge<Float>> search = new DijkstraSearch<>(graph, weights);
+
+        Assert.assertTrue(search.search(n0, n2));
+        Assert.assertEquals(search.getDistance(n2), 5.3f);
+        Assert.assertEquals(Graphs.toNodeList(search.getPath(n2), graph, n0), Arrays.asList(n0, n1, n2));
+        Assert.assertEquals(search.getSource(n2), n0);
+        // the search terminates early, so farther nodes have not been settled
+        Assert.assertEquals(search.getDistance(n4), Graphs.INVALID_DISTANCE);
+        Assert.assertNull(search.getPath(n4));
+
+        // multiple sources, re-using the previous search
+        Assert.assertEquals(search.search(Arrays.asList(n0, n5), n -> n.equals(n3) || n.equals(n4)), n3);
+        Assert.assertEquals(search.getDistance(n3), 7.1f, 1e-5f); // n5 -> n1 -> n3
+        Assert.assertEquals(search.getSource(n3), n5);
+        Assert.assertEquals(Graphs.toNodeList(search.getPath(n3), graph, n5), Arrays.asList(n5, n1, n3));
+
+        Assert.assertFalse(search.search(n0, n5));
+        Assert.assertEquals(search.getDistance(n5), Graphs.INVALID_DISTANCE);
+        Assert.assertEquals(search.getDistance(n4), 10.3f);
+
+        final Path<Integer, CompactEdge<Float>> path =
+                Graphs.findShortestPath(graph, weights, Collections.singleton(n1), n -> n.equals(n4));
+        Assert.assertNotNull(path);
+        Assert.assertEquals(path.nodeList(), Arrays.asList(n1, n3, n4));
+        Assert.assertNull(Graphs.findShortestPath(graph, weights, Collections.singleton(n1), n -> n.equals(n0)));
+    }
+
+    @Test
+    public void testBidirectionalSearch() {
+        final Random random = new Random(42);
+        final int size = 100;
+        final CompactSimpleBidiGraph<Float> bidiGraph = new CompactSimpleBidiGraph<>();
+
+        for (int i = 0; i < size; i++) {
+            bidiGraph.addNode();
+        }
+
+        for (int i = 0; i < 3 * size; i++) {
+            final Integer src = random.nextInt(size), tgt = random.nextInt(size);
+            bidiGraph.connect(src, tgt, Float.valueOf(random.nextInt(20)));
+        }
+
+        final EdgeWeights<CompactBidiEdge<Float>> bidiWeights = new PropertyEdgeWeights<>(bidiGraph);
+
+        for (Integer src : bidiGraph) {
+            final SSSPResult<Integer, CompactBidiEdge<Float>> reference =
+                    Graphs.findSSSP(bidiGraph, src, bidiWeights);
+
+            for (Integer tgt : bidiGraph) {
+                final Path<Integer, CompactBidiEdge<Float>> path =
+                        Graphs.findShortestPath(bidiGraph, bidiWeights, src, tgt);
+                final float expected = reference.getShortestPathDistance(tgt);
+
+                if (expected == Graphs.INVALID_DISTANCE) {
+                    Assert.assertNull(path);
+                    continue;
+                }
+
+                Assert.assertNotNull(path);
+                Assert.assertEquals(path.firstNode(), src);
+                Assert.assertEquals(path.endNode(), tgt);
+
+                float weight = 0;
+                final List<Integer> nodes = path.nodeList();
+                for (int i = 0; i < path.size(); i++) {
+                    final CompactBidiEdge<Float> edge = path.get(i);
+                    Assert.assertEquals(bidiGraph.getSource(edge), nodes.get(i));
+                    weight += bidiWeights.getEdgeWeight(edge);
+                }
+                Assert.assertEquals(weight, expected);
+            }
+        }
+    }
+
     private static <N> void assertSPDist(SSSPResult<N, ?> res, N tgt, float dist) {
         Assert.assertEquals(res.getShortestPathDistance(tgt), dist);
     }
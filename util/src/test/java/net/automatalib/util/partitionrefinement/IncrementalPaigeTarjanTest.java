@@ -0,0 +1,129 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.partitionrefinement;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class IncrementalPaigeTarjanTest {
+
+    private static final int SIZE = 5000;
+    private static final int ROUNDS = 50;
+    private static final int MAX_AFFECTED = 10;
+
+    /**
+     * Adding a copy of a state and redirecting a transition to it does not change the coarsest stable partition. Hence,
+     * an update should only re-refine the modified states and must not touch the rest of the automaton.
+     */
+    @Test
+    public void testLocalUpdates() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 3);
+        final Random random = new Random(42);
+
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, SIZE, alphabet, false);
+        final SimpleDeterministicAutomaton.FullIntAbstraction abs = dfa.fullIntAbstraction(alphabet);
+        final IncrementalPaigeTarjan ipt = new IncrementalPaigeTarjan(abs, dfa::getStateProperty, Boolean.FALSE);
+
+        ipt.update();
+        final int numBlocks = ipt.getNumBlocks();
+
+        for (int r = 0; r < ROUNDS; r++) {
+            final int state = random.nextInt(dfa.size());
+            final int copy = dfa.addIntState(dfa.isAccepting(state));
+            for (int i = 0; i < alphabet.size(); i++) {
+                dfa.setTransition(copy, i, dfa.getSuccessor(state, i));
+            }
+
+            // redirect some transition pointing to the original state to the copy
+            redirect:
+            for (int p = random.nextInt(copy), k = 0; k < copy; k++, p = (p + 1) % copy) {
+                for (int i = 0; i < alphabet.size(); i++) {
+                    if (dfa.getSuccessor(p, i) == state) {
+                        dfa.setTransition(p, i, copy);
+                        ipt.markModified(p);
+                        break redirect;
+                    }
+                }
+            }
+            ipt.update();
+
+            Assert.assertEquals(ipt.getNumBlocks(), numBlocks);
+            Assert.assertEquals(ipt.getBlockId(copy), ipt.getBlockId(state));
+            Assert.assertTrue(ipt.getLastUpdateSize() <= MAX_AFFECTED,
+                              "Update touched " + ipt.getLastUpdateSize() + " states");
+        }
+
+        checkAgainstFreshPartition(dfa, alphabet, ipt);
+    }
+
+    @Test
+    public void testPartitionChangingUpdates() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final Random random = new Random(42);
+
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, 200, alphabet, false);
+        final SimpleDeterministicAutomaton.FullIntAbstraction abs = dfa.fullIntAbstraction(alphabet);
+        final IncrementalPaigeTarjan ipt = new IncrementalPaigeTarjan(abs, dfa::getStateProperty, Boolean.FALSE);
+
+        ipt.update();
+
+        for (int r = 0; r < ROUNDS; r++) {
+            final int state = random.nextInt(dfa.size());
+            if (random.nextBoolean()) {
+                dfa.setAccepting(state, !dfa.isAccepting(state));
+            } else {
+                dfa.setTransition(state, random.nextInt(alphabet.size()), random.nextInt(dfa.size()));
+            }
+            ipt.markModified(state);
+            ipt.update();
+
+            checkAgainstFreshPartition(dfa, alphabet, ipt);
+        }
+    }
+
+    private static void checkAgainstFreshPartition(CompactDFA<Integer> dfa,
+                                                   Alphabet<Integer> alphabet,
+                                                   IncrementalPaigeTarjan ipt) {
+        final IncrementalPaigeTarjan fresh =
+                new IncrementalPaigeTarjan(dfa.fullIntAbstraction(alphabet), dfa::getStateProperty, Boolean.FALSE);
+        fresh.update();
+
+        Assert.assertEquals(ipt.getNumBlocks(), fresh.getNumBlocks());
+
+        // partitions with the same number of blocks are equal, if one refines the other
+        final int[] representatives = new int[fresh.getBlockIdBound()];
+        Arrays.fill(representatives, -1);
+        for (int s = 0; s < dfa.size(); s++) {
+            final int block = fresh.getBlockId(s);
+            if (representatives[block] < 0) {
+                representatives[block] = s;
+            } else {
+                Assert.assertEquals(ipt.getBlockId(s), ipt.getBlockId(representatives[block]));
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.partitionrefinement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class RelationalPaigeTarjanTest {
+
+    private static final int NUM_LABELS = 3;
+
+    @Test
+    public void testStrongBisimulation() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 20; i++) {
+            final LTS lts = randomLTS(random, 10 + random.nextInt(200), 1 + random.nextInt(3));
+            final int[] expected =
+                    naiveBisimulation(lts.numStates, lts.initial, lts.sources, lts.labels, lts.targets);
+            final int[] actual = RelationalPaigeTarjan.strongBisimulation(lts.numStates,
+                                                                          lts.initial,
+                                                                          NUM_LABELS,
+                                                                          lts.sources,
+                                                                          lts.labels,
+                                                                          lts.targets);
+            Assert.assertEquals(actual, expected);
+        }
+    }
+
+    @Test
+    public void testWeakBisimulation() {
+        final Random random = new Random(1337);
+
+        for (int i = 0; i < 20; i++) {
+            final LTS lts = randomLTS(random, 10 + random.nextInt(100), 1);
+            final LTS saturated = saturate(lts, 0);
+            final int[] expected = naiveBisimulation(saturated.numStates,
+                                                     saturated.initial,
+                                                     saturated.sources,
+                                                     saturated.labels,
+                                                     saturated.targets);
+            final int[] actual = RelationalPaigeTarjan.weakBisimulation(lts.numStates,
+                                                                        lts.initial,
+                                                                        NUM_LABELS,
+                                                                        lts.sources,
+                                                                        lts.labels,
+                                                                        lts.targets,
+                                                                        0);
+            Assert.assertEquals(actual, expected);
+        }
+    }
+
+    @Test
+    public void testWeakCycle() {
+        // 0 -tau-> 1 -tau-> 0, 1 -a-> 2, 3 -a-> 4: all of 0, 1 and 3 are weakly bisimilar
+        final int[] sources = {0, 1, 1, 3};
+        final int[] labels = {0, 0, 1, 1};
+        final int[] targets = {1, 0, 2, 4};
+        final int[] initial = new int[5];
+
+        final int[] weak = RelationalPaigeTarjan.weakBisimulation(5, initial, 2, sources, labels, targets, 0);
+        Assert.assertEquals(weak, new int[] {0, 0, 1, 0, 1});
+
+        final int[] strong = RelationalPaigeTarjan.strongBisimulation(5, initial, 2, sources, labels, targets);
+        Assert.assertEquals(strong, new int[] {0, 1, 2, 3, 2});
+    }
+
+    @Test
+    public void testEmpty() {
+        final int[] none = new int[0];
+
+        Assert.assertEquals(RelationalPaigeTarjan.strongBisimulation(0, none, 0, none, none, none), none);
+        Assert.assertEquals(RelationalPaigeTarjan.strongBisimulation(3, new int[3], 0, none, none, none), new int[3]);
+    }
+
+    private static LTS randomLTS(Random random, int numStates, int numClasses) {
+        final int numTransitions = numStates + random.nextInt(2 * numStates);
+        final LTS lts = new LTS(numStates, numTransitions);
+
+        for (int s = 0; s < numStates; s++) {
+            lts.initial[s] = random.nextInt(numClasses);
+        }
+
+        for (int t = 0; t < numTransitions; t++) {
+            lts.sources[t] = random.nextInt(numStates);
+            lts.labels[t] = random.nextInt(NUM_LABELS);
+            // favor small "local" cycles to obtain non-trivial equivalence classes
+            lts.targets[t] = random.nextBoolean() ? random.nextInt(numStates) : random.nextInt(Math.min(5, numStates));
+        }
+
+        return lts;
+    }
+
+    private static LTS saturate(LTS lts, int tau) {
+        final int n = lts.numStates;
+        final BitSet[] closure = new BitSet[n];
+
+        for (int s = 0; s < n; s++) {
+            closure[s] = new BitSet(n);
+            closure[s].set(s);
+        }
+        for (int t = 0; t < lts.sources.length; t++) {
+            if (lts.labels[t] == tau) {
+                closure[lts.sources[t]].set(lts.targets[t]);
+            }
+        }
+        // Warshall
+        for (int k = 0; k < n; k++) {
+            for (int s = 0; s < n; s++) {
+                if (closure[s].get(k)) {
+                    closure[s].or(closure[k]);
+                }
+            }
+        }
+
+        final List<int[]> transitions = new ArrayList<>();
+        for (int s = 0; s < n; s++) {
+            for (int s1 = closure[s].nextSetBit(0); s1 >= 0; s1 = closure[s].nextSetBit(s1 + 1)) {
+                transitions.add(new int[] {s, tau, s1});
+                for (int t = 0; t < lts.sources.length; t++) {
+                    if (lts.sources[t] == s1 && lts.labels[t] != tau) {
+                        final BitSet targets = closure[lts.targets[t]];
+                        for (int s2 = targets.nextSetBit(0); s2 >= 0; s2 = targets.nextSetBit(s2 + 1)) {
+                            transitions.add(new int[] {s, lts.labels[t], s2});
+                        }
+                    }
+                }
+            }
+        }
+
+        final LTS result = new LTS(n, transitions.size());
+        System.arraycopy(lts.initial, 0, result.initial, 0, n);
+        for (int i = 0; i < transitions.size(); i++) {
+            result.sources[i] = transitions.get(i)[0];
+            result.labels[i] = transitions.get(i)[1];
+            result.targets[i] = transitions.get(i)[2];
+        }
+        return result;
+    }
+
+    private static int[] naiveBisimulation(int numStates, int[] initial, int[] sources, int[] labels, int[] targets) {
+        int[] classes = Arrays.copyOf(initial, numStates);
+        int numClasses = -1;
+
+        while (true) {
+            final Map<List<Object>, Integer> signatures = new HashMap<>();
+            final List<TreeSet<Long>> successors = new ArrayList<>(numStates);
+            for (int s = 0; s < numStates; s++) {
+                successors.add(new TreeSet<>());
+            }
+            for (int t = 0; t < sources.length; t++) {
+                successors.get(sources[t]).add(((long) labels[t] << 32) | classes[targets[t]]);
+            }
+
+            final int[] next = new int[numStates];
+            for (int s = 0; s < numStates; s++) {
+                final List<Object> sig = Arrays.asList(classes[s], successors.get(s));
+                next[s] = signatures.computeIfAbsent(sig, k -> signatures.size());
+            }
+
+            classes = next;
+            if (signatures.size() == numClasses) {
+                return classes;
+            }
+            numClasses = signatures.size();
+        }
+    }
+
+    private static final class LTS {
+
+        final int numStates;
+        final int[] initial;
+        final int[] sources;
+        final int[] labels;
+        final int[] targets;
+
+        LTS(int numStates, int numTransitions) {
+            this.numStates = numStates;
+            this.initial = new int[numStates];
+            this.sources = new int[numTransitions];
+            this.labels = new int[numTransitions];
+            this.targets = new int[numTransitions];
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/* Copyright (C) 2013-2021 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.exploration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.ts.powerset.DirectPowersetDTS;
+import net.automatalib.util.ts.traversal.BFSOrderIterator;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class CompactBFSExplorationTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 2);
+
+    private CompactNFA<Integer> nfa;
+    private DirectPowersetDTS<Integer, Integer, Integer> powerset;
+    private List<Set<Integer>> reference;
+
+    @BeforeClass
+    public void setUp() {
+        final Random random = new Random(42);
+        final int size = 14;
+
+        nfa = new CompactNFA<>(ALPHABET, size);
+        for (int i = 0; i < size; i++) {
+            nfa.addState(random.nextBoolean());
+        }
+        nfa.setInitial(0, true);
+
+        for (int s = 0; s < size; s++) {
+            for (Integer i : ALPHABET) {
+                for (int t = random.nextInt(3); t > 0; t--) {
+                    nfa.addTransition(s, i, random.nextInt(size));
+                }
+            }
+        }
+
+        powerset = new DirectPowersetDTS<>(nfa);
+        reference = new ArrayList<>();
+        new BFSOrderIterator<>(powerset, ALPHABET).forEachRemaining(reference::add);
+    }
+
+    @Test
+    public void testHashCompaction() {
+        final List<Set<Integer>> states = new ArrayList<>();
+        final ExplorationStatistics stats = createExploration().explore(states::add);
+
+        Assert.assertEquals(states, reference);
+        Assert.assertEquals(stats.getNumStates(), reference.size());
+        Assert.assertEquals(stats.getNumTransitions(), (long) reference.size() * ALPHABET.size());
+        Assert.assertEquals(stats.getNumSpilledStates(), 0);
+        Assert.assertTrue(stats.getOmissionProbability() < 1e-9);
+        Assert.assertTrue(stats.isComplete());
+    }
+
+    @Test
+    public void testBitstate() {
+        final List<Set<Integer>> states = new ArrayList<>();
+        final ExplorationStatistics stats = createExploration().withBitstate(10_000, 1e-9).explore(states::add);
+
+        Assert.assertEquals(states, reference);
+        Assert.assertEquals(stats.getNumStates(), reference.size());
+        Assert.assertTrue(stats.getOmissionProbability() < 1e-9);
+        Assert.assertTrue(stats.isComplete());
+    }
+
+    @Test
+    public void testSpilling() throws IOException {
+        final Path directory = Files.createTempDirectory("spill");
+
+        try {
+            final List<Set<Integer>> states = new ArrayList<>();
+            final ExplorationStatistics stats =
+                    createExploration().withFrontierLimit(4).withSpillDirectory(directory).explore(states::add);
+
+            Assert.assertEquals(states, reference);
+            Assert.assertTrue(stats.getNumSpilledStates() > 0);
+            Assert.assertTrue(stats.getNumSpillFiles() > 0);
+            Assert.assertTrue(stats.getMaxFrontierSize() > 8);
+
+            try (Stream<Path> files = Files.list(directory)) {
+                Assert.assertEquals(files.count(), 0);
+            }
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testLimitAndAbort() {
+        final int limit = reference.size() / 2;
+
+        final List<Set<Integer>> states = new ArrayList<>();
+        final ExplorationStatistics limited = createExploration().explore(limit, states::add);
+
+        Assert.assertEquals(limited.getNumStates(), limit);
+        Assert.assertFalse(limited.isComplete());
+        Assert.assertEquals(states, reference.subList(0, states.size()));
+
+        final ExplorationStatistics aborted = createExploration().explore(s -> s.size() < 2);
+        Assert.assertFalse(aborted.isComplete());
+    }
+
+    private CompactBFSExploration<Set<Integer>, Integer> createExploration() {
+        return new CompactBFSExploration<>(powerset, ALPHABET, StateCodecs.stateSets(nfa.stateIDs()));
+    }
+}
@@ -15,8 +15,18 @@
  */
 package net.automatalib.util.ts.modal;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
 import net.automatalib.commons.util.Pair;
 import net.automatalib.ts.modal.CompactMTS;
+import net.automatalib.ts.modal.MTSTransition;
+import net.automatalib.ts.modal.ModalTransitionSystem;
+import net.automatalib.ts.modal.transition.MutableModalEdgeProperty;
 import net.automatalib.ts.modal.transition.ModalEdgeProperty.ModalType;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
@@ -268,4 +278,179 @@ public class ModalRefinementTest {
         Assert.assertTrue(MTSUtil.isRefinementOf(s, t, alphabet));
     }
 
-}
\ No newline at end of file
+    @Test(description = "Compare the refinement relation with the (round-based) reference on random MTSs")
+    public void randomReferenceTest() {
+        final Alphabet<String> alphabet = Alphabets.closedCharStringRange('a', 'c');
+        final Random random = new Random(42);
+
+        for (int r = 0; r < 100; r++) {
+            final CompactMTS<String> impl = randomMTS(random, alphabet, 1 + random.nextInt(10));
+            final CompactMTS<String> spec = randomMTS(random, alphabet, 1 + random.nextInt(10));
+
+            Assert.assertEquals(ModalRefinement.refinementRelation(impl, spec, alphabet),
+                                referenceRelation(impl, spec, alphabet));
+        }
+    }
+
+    @Test(description = "Compare the refinement relation with the reference if only a must transition is missing")
+    public void randomMustMismatchTest() {
+        final Alphabet<String> alphabet = Alphabets.closedCharStringRange('a', 'c');
+        final Random random = new Random(1337);
+
+        for (int r = 0; r < 100; r++) {
+            final CompactMTS<String> impl = randomMTS(random, alphabet, 2 + random.nextInt(10));
+            final CompactMTS<String> spec = copy(impl, alphabet);
+
+            // the specification requires a transition that the implementation does not (necessarily) provide
+            spec.addModalTransition(random.nextInt(spec.size()),
+                                    alphabet.getSymbol(random.nextInt(alphabet.size())),
+                                    random.nextInt(spec.size()),
+                                    ModalType.MUST);
+
+            Assert.assertEquals(ModalRefinement.refinementRelation(impl, spec, alphabet),
+                                referenceRelation(impl, spec, alphabet));
+        }
+    }
+
+    @Test(description = "Compare the refinement relation with the reference if only a may transition is added")
+    public void randomMayMismatchTest() {
+        final Alphabet<String> alphabet = Alphabets.closedCharStringRange('a', 'c');
+        final Random random = new Random(7);
+
+        for (int r = 0; r < 100; r++) {
+            final CompactMTS<String> spec = randomMTS(random, alphabet, 2 + random.nextInt(10));
+            final CompactMTS<String> impl = copy(spec, alphabet);
+
+            // the implementation allows a transition that the specification does not (necessarily) allow
+            impl.addModalTransition(random.nextInt(impl.size()),
+                                    alphabet.getSymbol(random.nextInt(alphabet.size())),
+                                    random.nextInt(impl.size()),
+                                    ModalType.MAY);
+
+            Assert.assertEquals(ModalRefinement.refinementRelation(impl, spec, alphabet),
+                                referenceRelation(impl, spec, alphabet));
+        }
+    }
+
+    private static CompactMTS<String> randomMTS(Random random, Alphabet<String> alphabet, int size) {
+        final CompactMTS<String> mts = new CompactMTS<>(alphabet);
+
+        mts.addInitialState();
+        for (int i = 1; i < size; i++) {
+            mts.addState();
+        }
+
+        for (int s = 0; s < size; s++) {
+            for (String i : alphabet) {
+                for (int j = random.nextInt(3); j > 0; j--) {
+                    mts.addModalTransition(s,
+                                           i,
+                                           random.nextInt(size),
+                                           random.nextBoolean() ? ModalType.MAY : ModalType.MUST);
+                }
+            }
+        }
+
+        return mts;
+    }
+
+    private static CompactMTS<String> copy(CompactMTS<String> mts, Alphabet<String> alphabet) {
+        final CompactMTS<String> result = new CompactMTS<>(alphabet);
+
+        for (int i = 0; i < mts.size(); i++) {
+            result.addState();
+        }
+        for (Integer s : mts.getInitialStates()) {
+            result.setInitial(s, true);
+        }
+
+        for (Integer s : mts) {
+            for (String i : alphabet) {
+                for (MTSTransition<String, MutableModalEdgeProperty> t : mts.getTransitions(s, i)) {
+                    result.addModalTransition(s, i, mts.getSuccessor(t), mts.getTransitionProperty(t).getType());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * The (previous) round-based computation of the refinement relation, which re-checks every pair of states until
+     * no more pairs are removed.
+     */
+    private static <AS, BS, I> Set<Pair<AS, BS>> referenceRelation(ModalTransitionSystem<AS, I, ?, ?> implementation,
+                                                                  ModalTransitionSystem<BS, I, ?, ?> specification,
+                                                                  Collection<I> inputs) {
+        final Set<Pair<AS, BS>> refinement = new HashSet<>();
+
+        for (AS p : implementation.getStates()) {
+            for (BS q : specification.getStates()) {
+                refinement.add(Pair.of(p, q));
+            }
+        }
+
+        boolean update = true;
+        while (update) {
+            update = false;
+
+            final Iterator<Pair<AS, BS>> iterator = refinement.iterator();
+            while (iterator.hasNext()) {
+                final Pair<AS, BS> pair = iterator.next();
+
+                if (!referencePartner(implementation,
+                                      specification,
+                                      inputs,
+                                      (s, t) -> refinement.contains(Pair.of(s, t)),
+                                      pair.getFirst(),
+                                      pair.getSecond(),
+                                      false) ||
+                    !referencePartner(specification,
+                                      implementation,
+                                      inputs,
+                                      (s, t) -> refinement.contains(Pair.of(t, s)),
+                                      pair.getSecond(),
+                                      pair.getFirst(),
+                                      true)) {
+                    update = true;
+                    iterator.remove();
+                }
+            }
+        }
+
+        return refinement;
+    }
+
+    private static <AS, BS, I, AT, BT> boolean referencePartner(ModalTransitionSystem<AS, I, AT, ?> a,
+                                                                ModalTransitionSystem<BS, I, BT, ?> b,
+                                                                Collection<I> inputs,
+                                                                BiPredicate<AS, BS> inRelation,
+                                                                AS source,
+                                                                BS coSource,
+                                                                boolean mustOnly) {
+        for (I label : inputs) {
+            for (AT transition : a.getTransitions(source, label)) {
+                if (mustOnly && !a.getTransitionProperty(transition).isMust()) {
+                    continue;
+                }
+
+                final AS target = a.getSuccessor(transition);
+                boolean matched = false;
+
+                for (BT coTransition : b.getTransitions(coSource, label)) {
+                    if ((!mustOnly || b.getTransitionProperty(coTransition).isMust()) &&
+                        inRelation.test(target, b.getSuccessor(coTransition))) {
+                        matched = true;
+                        break;
+                    }
+                }
+
+                if (!matched) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}